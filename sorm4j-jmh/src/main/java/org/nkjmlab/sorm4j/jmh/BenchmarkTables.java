@@ -0,0 +1,116 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.common.container.RowMap;
+import org.nkjmlab.sorm4j.context.SormContext;
+
+/**
+ * Creates the in-memory databases and the tables used by the subsystem benchmarks. A table of
+ * {@code n} columns has an {@code id} primary key and {@code n - 1} columns whose types cycle
+ * through VARCHAR, INT, DOUBLE and TIMESTAMP.
+ */
+final class BenchmarkTables {
+
+  private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+  private static final String[] COLUMN_TYPES = {"VARCHAR(64)", "INT", "DOUBLE", "TIMESTAMP"};
+
+  private static final Timestamp TIMESTAMP = Timestamp.valueOf("2024-01-01 00:00:00");
+
+  private BenchmarkTables() {}
+
+  /**
+   * Creates a {@link Sorm} connected to a new in-memory database with a connection pool.
+   *
+   * @param context
+   * @return
+   */
+  static Sorm createSorm(SormContext context) {
+    return Sorm.create(
+        JdbcConnectionPool.create(
+            "jdbc:h2:mem:sorm4j_jmh_" + DATABASE_COUNTER.incrementAndGet() + ";DB_CLOSE_DELAY=-1",
+            "sa",
+            ""),
+        context);
+  }
+
+  static Sorm createSorm() {
+    return createSorm(SormContext.builder().build());
+  }
+
+  static String tableName(int columns) {
+    return "bench_" + columns;
+  }
+
+  static String columnName(int index) {
+    return index == 0 ? "id" : "col_" + index;
+  }
+
+  static List<String> columnNames(int columns) {
+    return IntStream.range(0, columns).mapToObj(BenchmarkTables::columnName).toList();
+  }
+
+  /**
+   * Creates the table of the given number of columns and inserts the given number of rows.
+   *
+   * @param sorm
+   * @param columns
+   * @param rows
+   * @return the table name
+   */
+  static String createTable(Sorm sorm, int columns, int rows) {
+    String tableName = tableName(columns);
+    sorm.executeUpdate(
+        "CREATE TABLE IF NOT EXISTS "
+            + tableName
+            + "(id INT PRIMARY KEY"
+            + IntStream.range(1, columns)
+                .mapToObj(i -> ", " + columnName(i) + " " + COLUMN_TYPES[(i - 1) % 4])
+                .collect(Collectors.joining())
+            + ")");
+    if (rows > 0) {
+      sorm.insertMapInto(tableName, createRows(0, columns, rows));
+    }
+    return tableName;
+  }
+
+  static List<RowMap> createRows(int firstId, int columns, int rows) {
+    return IntStream.range(firstId, firstId + rows).mapToObj(id -> createRow(id, columns)).toList();
+  }
+
+  static RowMap createRow(int id, int columns) {
+    RowMap ret = RowMap.create();
+    ret.put(columnName(0), id);
+    for (int i = 1; i < columns; i++) {
+      ret.put(columnName(i), createValue(id, i));
+    }
+    return ret;
+  }
+
+  /**
+   * Creates a value of the type of the column.
+   *
+   * @param id
+   * @param column
+   * @return
+   */
+  static Object createValue(int id, int column) {
+    switch ((column - 1) % 4) {
+      case 0:
+        return "text_" + id + "_" + column;
+      case 1:
+        return id + column;
+      case 2:
+        return id * 0.5 + column;
+      default:
+        return TIMESTAMP;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.nkjmlab.sorm4j.internal.util.CanonicalStringCache;
+import org.nkjmlab.sorm4j.internal.util.CanonicalStringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the lookups of {@link CanonicalStringCache#DEFAULT} for the column names of a table.
+ * {@link #canonicalize(Blackhole)} is the cost of a cache miss.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@State(Scope.Thread)
+public class CanonicalStringCacheBenchmark {
+
+  @Param({"4", "16", "64"})
+  public int columns;
+
+  private final CanonicalStringCache cache = CanonicalStringCache.DEFAULT;
+  private List<String> canonicalNames;
+  private String[] camelCaseNames;
+
+  @Setup
+  public void setup() {
+    List<String> columnNames = BenchmarkTables.columnNames(columns);
+    canonicalNames = columnNames.stream().map(cache::toCanonicalName).toList();
+    camelCaseNames =
+        columnNames.stream().map(CanonicalStringUtils::toCamelCase).toArray(String[]::new);
+    for (String name : camelCaseNames) {
+      cache.toCanonicalName(name);
+    }
+  }
+
+  @Benchmark
+  public void toCanonicalName(Blackhole blackhole) {
+    for (String name : camelCaseNames) {
+      blackhole.consume(cache.toCanonicalName(name));
+    }
+  }
+
+  @Benchmark
+  public void toCanonicalNameWithTableName(Blackhole blackhole) {
+    for (String name : camelCaseNames) {
+      blackhole.consume(cache.toCanonicalNameWithTableName("bench", name));
+    }
+  }
+
+  @Benchmark
+  public void containsCanonicalName(Blackhole blackhole) {
+    for (String name : camelCaseNames) {
+      blackhole.consume(cache.containsCanonicalName(canonicalNames, name));
+    }
+  }
+
+  @Benchmark
+  public void canonicalize(Blackhole blackhole) {
+    for (String name : camelCaseNames) {
+      blackhole.consume(CanonicalStringUtils.canonicalize(name));
+    }
+  }
+}
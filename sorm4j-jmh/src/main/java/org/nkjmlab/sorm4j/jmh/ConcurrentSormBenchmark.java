@@ -0,0 +1,116 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.common.container.RowMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Drives one {@link Sorm} shared by all the benchmark threads, so that the threads contend on the
+ * state shared through {@code SormContextImpl}, e.g. the mapping caches, {@code
+ * CanonicalStringCache.DEFAULT} and the loggers of the log context.
+ *
+ * <p>The number of threads is 1 by default. {@link ScalabilityBenchmarks} runs this class from 1
+ * to 64 threads on platform and virtual threads. The {@code mixed} group runs lookups and inserts
+ * at the same time.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+@Threads(1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentSormBenchmark {
+
+  static final int NUM_OF_ROWS = 10000;
+
+  private static final int MAX_CONNECTIONS = 256;
+
+  private static final String READ_LIST_SQL = "SELECT * FROM item WHERE id >= ? AND id < ?";
+
+  private final AtomicInteger idGenerator = new AtomicInteger(NUM_OF_ROWS);
+
+  private Sorm sorm;
+
+  @Setup
+  public void setup() {
+    JdbcConnectionPool dataSource =
+        JdbcConnectionPool.create("jdbc:h2:mem:sorm4j_jmh_concurrent;DB_CLOSE_DELAY=-1", "sa", "");
+    dataSource.setMaxConnections(MAX_CONNECTIONS);
+    sorm = Sorm.create(dataSource);
+    sorm.executeUpdate(
+        "CREATE TABLE IF NOT EXISTS item(id INT PRIMARY KEY, name VARCHAR(64), price INT)");
+    sorm.insert(IntStream.range(0, NUM_OF_ROWS).mapToObj(Item::create).toList());
+  }
+
+  /** Removes the inserted rows so that each iteration starts from the same table. */
+  @TearDown(Level.Iteration)
+  public void deleteInsertedRows() {
+    sorm.executeUpdate("DELETE FROM item WHERE id >= ?", NUM_OF_ROWS);
+    idGenerator.set(NUM_OF_ROWS);
+  }
+
+  @Benchmark
+  public List<Item> readList() {
+    int from = ThreadLocalRandom.current().nextInt(NUM_OF_ROWS - 10);
+    return sorm.readList(Item.class, READ_LIST_SQL, from, from + 10);
+  }
+
+  /** Maps the rows to {@link RowMap}, which looks up the canonical names of the columns. */
+  @Benchmark
+  public List<RowMap> readMapList() {
+    int from = ThreadLocalRandom.current().nextInt(NUM_OF_ROWS - 10);
+    return sorm.readList(RowMap.class, READ_LIST_SQL, from, from + 10);
+  }
+
+  @Benchmark
+  public Item selectByPrimaryKey() {
+    return sorm.selectByPrimaryKey(Item.class, ThreadLocalRandom.current().nextInt(NUM_OF_ROWS));
+  }
+
+  @Benchmark
+  public int insert() {
+    return sorm.insert(Item.create(idGenerator.getAndIncrement()));
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(3)
+  public Item mixedSelectByPrimaryKey() {
+    return selectByPrimaryKey();
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(1)
+  public int mixedInsert() {
+    return insert();
+  }
+
+  public static record Item(int id, String name, int price) {
+    static Item create(int id) {
+      return new Item(id, "item_" + id, id % 1000);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarizes the contention recorded by {@link ScalabilityBenchmarks} with {@code --contention}.
+ * The contended monitor enters and the parks of the benchmark threads are grouped by the class of
+ * the monitor or the blocker, the method where the thread blocked, the first caller outside the
+ * JDK and the first caller in sorm4j.
+ *
+ * <p>A contended {@code ConcurrentHashMap$Node} monitor is a hot bin of a {@code
+ * ConcurrentHashMap}. The blocked method tells whether the bin was locked by {@code
+ * computeIfAbsent} or by {@code putVal}, and the callers tell which map of sorm4j it is.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar org.nkjmlab.sorm4j.jmh.ContentionReport target/jfr [top]
+ * </pre>
+ */
+public class ContentionReport {
+
+  private static final int DEFAULT_TOP = 20;
+
+  private static final String SORM4J_PACKAGE = "org.nkjmlab.sorm4j.";
+  private static final String JMH_PACKAGE = "org.openjdk.jmh.";
+
+  public static void main(String[] args) throws IOException {
+    Path root = Path.of(args.length == 0 ? "target/jfr" : args[0]);
+    int top = args.length < 2 ? DEFAULT_TOP : Integer.parseInt(args[1]);
+    List<Path> recordings;
+    try (Stream<Path> files = Files.walk(root)) {
+      recordings = files.filter(p -> p.toString().endsWith(".jfr")).sorted().toList();
+    }
+    for (Path recording : recordings) {
+      System.out.println("### " + root.relativize(recording));
+      System.out.println(summarize(RecordingFile.readAllEvents(recording), top));
+    }
+  }
+
+  static String summarize(List<RecordedEvent> events, int top) {
+    Map<String, Contention> contentions = new HashMap<>();
+    for (RecordedEvent event : events) {
+      String kind = event.getEventType().getName();
+      RecordedClass blocker;
+      if (kind.equals("jdk.JavaMonitorEnter")) {
+        blocker = event.getClass("monitorClass");
+      } else if (kind.equals("jdk.ThreadPark")) {
+        blocker = event.getClass("parkedClass");
+      } else {
+        continue;
+      }
+      List<RecordedFrame> frames =
+          event.getStackTrace() == null
+              ? List.of()
+              : event.getStackTrace().getFrames().stream()
+                  .filter(RecordedFrame::isJavaFrame)
+                  .toList();
+      String caller = findFrame(frames, c -> !isJdkClass(c));
+      if (caller.equals("-") || caller.startsWith(JMH_PACKAGE)) {
+        // Waits of the JMH infrastructure.
+        continue;
+      }
+      String key =
+          String.format(
+              "%-20s %-55s %-60s %-60s %s",
+              kind.substring("jdk.".length()),
+              blocker == null ? "-" : blocker.getName(),
+              frames.isEmpty() ? "-" : toString(frames.get(0)),
+              caller,
+              findFrame(
+                  frames,
+                  c -> c.startsWith(SORM4J_PACKAGE) && !c.startsWith(SORM4J_PACKAGE + "jmh.")));
+      contentions.computeIfAbsent(key, k -> new Contention()).add(event.getDuration());
+    }
+    StringBuilder sb = new StringBuilder();
+    sb.append(
+        String.format(
+            "%8s %12s %-20s %-55s %-60s %-60s %s%n",
+            "Count",
+            "Total(us)",
+            "Event",
+            "Monitor or blocker",
+            "Blocked in",
+            "Caller",
+            "Caller in sorm4j"));
+    contentions.entrySet().stream()
+        .sorted(
+            Comparator.comparing((Map.Entry<String, Contention> e) -> e.getValue().total)
+                .reversed())
+        .limit(top)
+        .forEach(
+            e ->
+                sb.append(
+                    String.format(
+                        "%8d %12d %s%n",
+                        e.getValue().count, e.getValue().total.toNanos() / 1000, e.getKey())));
+    return sb.toString();
+  }
+
+  /**
+   * Returns the first frame below the top frame whose class name matches the condition.
+   *
+   * @param frames
+   * @param condition
+   * @return "-" if no frame matches
+   */
+  private static String findFrame(List<RecordedFrame> frames, Predicate<String> condition) {
+    return frames.stream()
+        .skip(1)
+        .filter(f -> condition.test(f.getMethod().getType().getName()))
+        .findFirst()
+        .map(ContentionReport::toString)
+        .orElse("-");
+  }
+
+  private static String toString(RecordedFrame frame) {
+    return frame.getMethod().getType().getName()
+        + "."
+        + frame.getMethod().getName()
+        + ":"
+        + frame.getLineNumber();
+  }
+
+  private static boolean isJdkClass(String className) {
+    return className.startsWith("java.")
+        || className.startsWith("jdk.")
+        || className.startsWith("sun.");
+  }
+
+  private static class Contention {
+    private long count;
+    private Duration total = Duration.ZERO;
+
+    private void add(Duration duration) {
+      count++;
+      total = total.plus(duration);
+    }
+  }
+}
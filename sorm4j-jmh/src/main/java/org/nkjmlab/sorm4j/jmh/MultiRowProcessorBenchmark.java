@@ -0,0 +1,75 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.common.container.RowMap;
+import org.nkjmlab.sorm4j.context.MultiRowProcessorFactory;
+import org.nkjmlab.sorm4j.context.MultiRowProcessorFactory.ProcessorType;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures inserting the rows by each {@link ProcessorType}. The {@code size} parameter is used as
+ * both the batch size and the multi-row size. The inserted rows are rolled back, so every
+ * invocation inserts into the same table.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@State(Scope.Thread)
+public class MultiRowProcessorBenchmark {
+
+  @Param({"SIMPLE_BATCH", "MULTI_ROW", "MULTI_ROW_AND_BATCH"})
+  public ProcessorType processorType;
+
+  @Param({"8", "32", "128"})
+  public int size;
+
+  @Param({"4", "16"})
+  public int columns;
+
+  @Param({"100", "10000"})
+  public int rows;
+
+  private Sorm sorm;
+  private String tableName;
+  private List<RowMap> rowMaps;
+
+  @Setup
+  public void setup() {
+    sorm =
+        BenchmarkTables.createSorm(
+            SormContext.builder()
+                .setMultiRowProcessorFactory(
+                    MultiRowProcessorFactory.builder()
+                        .setMultiRowProcessorType(processorType)
+                        .setBatchSize(size)
+                        .setMultiRowSize(size)
+                        .setBatchSizeWithMultiRow(size)
+                        .build())
+                .build());
+    tableName = BenchmarkTables.createTable(sorm, columns, 0);
+    rowMaps = BenchmarkTables.createRows(0, columns, rows);
+  }
+
+  @Benchmark
+  public int[] insert() {
+    return sorm.applyHandler(
+        Connection.TRANSACTION_READ_COMMITTED, tx -> tx.insertMapInto(tableName, rowMaps));
+  }
+}
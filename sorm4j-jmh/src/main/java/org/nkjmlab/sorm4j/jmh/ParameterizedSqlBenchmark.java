@@ -0,0 +1,75 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.nkjmlab.sorm4j.sql.parameterize.NamedParameterSqlBuilder;
+import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing the named parameters by {@link NamedParameterSqlBuilder} and expanding the
+ * {@code <?>} list placeholders. {@code columns} is the number of the conditions and {@code rows}
+ * is the size of each list bound to {@code <?>}.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@State(Scope.Thread)
+public class ParameterizedSqlBenchmark {
+
+  @Param({"1", "4", "16"})
+  public int columns;
+
+  @Param({"1", "100", "1000"})
+  public int rows;
+
+  private String namedParameterSql;
+  private Map<String, Object> namedParameters;
+  private String listPlaceholderSql;
+  private Object[] listParameters;
+
+  @Setup
+  public void setup() {
+    List<String> columnNames = BenchmarkTables.columnNames(columns);
+    namedParameterSql =
+        "SELECT * FROM bench WHERE "
+            + columnNames.stream().map(c -> c + " = :" + c).collect(Collectors.joining(" AND "));
+    namedParameters = new LinkedHashMap<>();
+    columnNames.forEach(c -> namedParameters.put(c, c));
+
+    listPlaceholderSql =
+        "SELECT * FROM bench WHERE "
+            + columnNames.stream().map(c -> c + " IN(<?>)").collect(Collectors.joining(" AND "));
+    List<Integer> list = IntStream.range(0, rows).boxed().toList();
+    listParameters = columnNames.stream().map(c -> list).toArray();
+  }
+
+  @Benchmark
+  public ParameterizedSql namedParameters() {
+    return NamedParameterSqlBuilder.builder(namedParameterSql)
+        .bindParameters(namedParameters)
+        .build();
+  }
+
+  @Benchmark
+  public ParameterizedSql listPlaceholders() {
+    return ParameterizedSql.withOrderedParameters(listPlaceholderSql, listParameters);
+  }
+}
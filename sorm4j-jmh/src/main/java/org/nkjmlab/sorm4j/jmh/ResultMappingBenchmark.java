@@ -0,0 +1,227 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmConstructor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares mapping the rows to a class with setters, a class with a constructor annotated by
+ * {@link OrmConstructor} and a record. The classes have the same 8 columns, so only the number of
+ * rows is a parameter. See {@link RowMapBenchmark} for the number of columns.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@State(Scope.Thread)
+public class ResultMappingBenchmark {
+
+  private static final String SELECT_SQL = "SELECT * FROM item WHERE id < ?";
+
+  @Param({"1", "100", "10000"})
+  public int rows;
+
+  private Sorm sorm;
+
+  @Setup
+  public void setup() {
+    sorm = BenchmarkTables.createSorm();
+    sorm.executeUpdate(
+        "CREATE TABLE item(id INT PRIMARY KEY, name VARCHAR(64), price INT, rate DOUBLE,"
+            + " created_at TIMESTAMP, code VARCHAR(64), quantity INT, score DOUBLE)");
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    sorm.insertInto(
+        "item",
+        IntStream.range(0, rows)
+            .mapToObj(
+                i ->
+                    new ItemRecord(
+                        i, "name_" + i, i * 10, i * 0.1, now, "code_" + i, i % 7, i * 0.3))
+            .toList());
+    // Creates the mappings before the measurement.
+    readListSetter();
+    readListConstructor();
+    readListRecord();
+  }
+
+  @Benchmark
+  public List<ItemBean> readListSetter() {
+    return sorm.readList(ItemBean.class, SELECT_SQL, rows);
+  }
+
+  @Benchmark
+  public List<ItemConstructor> readListConstructor() {
+    return sorm.readList(ItemConstructor.class, SELECT_SQL, rows);
+  }
+
+  @Benchmark
+  public List<ItemRecord> readListRecord() {
+    return sorm.readList(ItemRecord.class, SELECT_SQL, rows);
+  }
+
+  public static record ItemRecord(
+      int id,
+      String name,
+      Integer price,
+      Double rate,
+      Timestamp createdAt,
+      String code,
+      Integer quantity,
+      Double score) {}
+
+  public static class ItemConstructor {
+    private final int id;
+    private final String name;
+    private final Integer price;
+    private final Double rate;
+    private final Timestamp createdAt;
+    private final String code;
+    private final Integer quantity;
+    private final Double score;
+
+    @OrmConstructor({"id", "name", "price", "rate", "createdAt", "code", "quantity", "score"})
+    public ItemConstructor(
+        int id,
+        String name,
+        Integer price,
+        Double rate,
+        Timestamp createdAt,
+        String code,
+        Integer quantity,
+        Double score) {
+      this.id = id;
+      this.name = name;
+      this.price = price;
+      this.rate = rate;
+      this.createdAt = createdAt;
+      this.code = code;
+      this.quantity = quantity;
+      this.score = score;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public Integer getPrice() {
+      return price;
+    }
+
+    public Double getRate() {
+      return rate;
+    }
+
+    public Timestamp getCreatedAt() {
+      return createdAt;
+    }
+
+    public String getCode() {
+      return code;
+    }
+
+    public Integer getQuantity() {
+      return quantity;
+    }
+
+    public Double getScore() {
+      return score;
+    }
+  }
+
+  public static class ItemBean {
+    private int id;
+    private String name;
+    private Integer price;
+    private Double rate;
+    private Timestamp createdAt;
+    private String code;
+    private Integer quantity;
+    private Double score;
+
+    public ItemBean() {}
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(int id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public Integer getPrice() {
+      return price;
+    }
+
+    public void setPrice(Integer price) {
+      this.price = price;
+    }
+
+    public Double getRate() {
+      return rate;
+    }
+
+    public void setRate(Double rate) {
+      this.rate = rate;
+    }
+
+    public Timestamp getCreatedAt() {
+      return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+      this.createdAt = createdAt;
+    }
+
+    public String getCode() {
+      return code;
+    }
+
+    public void setCode(String code) {
+      this.code = code;
+    }
+
+    public Integer getQuantity() {
+      return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+      this.quantity = quantity;
+    }
+
+    public Double getScore() {
+      return score;
+    }
+
+    public void setScore(Double score) {
+      this.score = score;
+    }
+  }
+}
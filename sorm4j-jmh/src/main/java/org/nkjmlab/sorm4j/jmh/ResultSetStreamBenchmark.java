@@ -0,0 +1,63 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.common.container.RowMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link org.nkjmlab.sorm4j.sql.result.ResultSetStream} with {@code readList} for the
+ * same query.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@State(Scope.Thread)
+public class ResultSetStreamBenchmark {
+
+  @Param({"4", "16"})
+  public int columns;
+
+  @Param({"1", "100", "10000"})
+  public int rows;
+
+  private Sorm sorm;
+  private String selectSql;
+
+  @Setup
+  public void setup() {
+    sorm = BenchmarkTables.createSorm();
+    selectSql = "SELECT * FROM " + BenchmarkTables.createTable(sorm, columns, rows);
+  }
+
+  @Benchmark
+  public List<RowMap> readList() {
+    return sorm.readList(RowMap.class, selectSql);
+  }
+
+  @Benchmark
+  public List<RowMap> streamToList() {
+    return sorm.stream(RowMap.class, selectSql).apply(stream -> stream.toList());
+  }
+
+  /** Consumes the rows one by one without collecting them. */
+  @Benchmark
+  public void streamForEach(Blackhole blackhole) {
+    sorm.stream(RowMap.class, selectSql).accept(stream -> stream.forEach(blackhole::consume));
+  }
+}
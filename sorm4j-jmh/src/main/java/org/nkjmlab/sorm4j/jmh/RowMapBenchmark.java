@@ -0,0 +1,77 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.common.container.RowMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures reading the rows into {@link RowMap} and reading the values from {@link RowMap} by the
+ * column names.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@State(Scope.Thread)
+public class RowMapBenchmark {
+
+  @Param({"4", "16", "64"})
+  public int columns;
+
+  @Param({"1", "100", "10000"})
+  public int rows;
+
+  private Sorm sorm;
+  private String selectSql;
+  private List<RowMap> rowMaps;
+  private String[] upperCaseColumnNames;
+
+  @Setup
+  public void setup() {
+    sorm = BenchmarkTables.createSorm();
+    String tableName = BenchmarkTables.createTable(sorm, columns, rows);
+    selectSql = "SELECT * FROM " + tableName;
+    rowMaps = readList();
+    upperCaseColumnNames =
+        BenchmarkTables.columnNames(columns).stream()
+            .map(String::toUpperCase)
+            .toArray(String[]::new);
+  }
+
+  @Benchmark
+  public List<RowMap> readList() {
+    return sorm.readList(RowMap.class, selectSql);
+  }
+
+  /** Reads all the values by the column names in a different case from the keys. */
+  @Benchmark
+  public void getValues(Blackhole blackhole) {
+    for (RowMap rowMap : rowMaps) {
+      for (String columnName : upperCaseColumnNames) {
+        blackhole.consume(rowMap.get(columnName));
+      }
+    }
+  }
+
+  @Benchmark
+  public void getString(Blackhole blackhole) {
+    for (RowMap rowMap : rowMaps) {
+      blackhole.consume(rowMap.getString(upperCaseColumnNames[0]));
+    }
+  }
+}
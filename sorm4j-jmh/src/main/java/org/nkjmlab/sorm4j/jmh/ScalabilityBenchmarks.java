@@ -0,0 +1,110 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.profile.JavaFlightRecorderProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link ConcurrentSormBenchmark} from 1 to 64 threads and prints the throughput scaling
+ * curves. The benchmark threads are platform threads and, on Java 21 or later, virtual threads
+ * ({@code -Djmh.executor=VIRTUAL}).
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar org.nkjmlab.sorm4j.jmh.ScalabilityBenchmarks [regexp] [--contention]
+ * </pre>
+ *
+ * <p>With {@code --contention}, each run is recorded by Java Flight Recorder with {@code
+ * jfr/contention.jfc}, which records every contended monitor enter. The recordings are written
+ * under {@code target/jfr} and are summarized by {@link ContentionReport}.
+ */
+public class ScalabilityBenchmarks {
+
+  private static final String DEFAULT_INCLUDE =
+      ConcurrentSormBenchmark.class.getName().replace(".", "\\.")
+          + "\\.(readList|readMapList"
+          + "|selectByPrimaryKey|insert)$";
+
+  private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+  public static void main(String[] args) throws RunnerException {
+    List<String> arguments = new ArrayList<>(Arrays.asList(args));
+    boolean contention = arguments.remove("--contention");
+    String include = arguments.isEmpty() ? DEFAULT_INCLUDE : arguments.get(0);
+
+    List<String> executors = new ArrayList<>(List.of("PLATFORM"));
+    if (Runtime.version().feature() >= 21) {
+      executors.add("VIRTUAL");
+    } else {
+      System.err.println("Virtual threads are skipped because they require Java 21 or later.");
+    }
+
+    // benchmark -> executor -> threads -> ops/ms
+    Map<String, Map<String, Map<Integer, Double>>> scores = new LinkedHashMap<>();
+    for (String executor : executors) {
+      for (int threads : THREADS) {
+        ChainedOptionsBuilder options =
+            new OptionsBuilder()
+                .include(include)
+                .threads(threads)
+                .jvmArgsAppend("-Djmh.executor=" + executor);
+        if (contention) {
+          options.addProfiler(
+              JavaFlightRecorderProfiler.class,
+              "configName=jfr/contention.jfc;dir=target/jfr/" + executor + "-" + threads);
+        }
+        Collection<RunResult> results = new Runner(options.build()).run();
+        for (RunResult result : results) {
+          scores
+              .computeIfAbsent(result.getParams().getBenchmark(), k -> new LinkedHashMap<>())
+              .computeIfAbsent(executor, k -> new LinkedHashMap<>())
+              .put(threads, result.getPrimaryResult().getScore());
+        }
+      }
+    }
+    System.out.println(toScalingTable(scores));
+  }
+
+  /**
+   * Formats the scores with the speedup and the efficiency relative to 1 thread.
+   *
+   * @param scores
+   * @return
+   */
+  static String toScalingTable(Map<String, Map<String, Map<Integer, Double>>> scores) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(
+        String.format(
+            "%-70s %-8s %7s %12s %8s %10s%n",
+            "Benchmark", "Executor", "Threads", "ops/ms", "Speedup", "Efficiency"));
+    scores.forEach(
+        (benchmark, byExecutor) ->
+            byExecutor.forEach(
+                (executor, byThreads) -> {
+                  Double base = byThreads.get(1);
+                  byThreads.forEach(
+                      (threads, score) -> {
+                        double speedup = base == null || base == 0 ? Double.NaN : score / base;
+                        sb.append(
+                            String.format(
+                                "%-70s %-8s %7d %12.3f %8.2f %9.0f%%%n",
+                                benchmark,
+                                executor,
+                                threads,
+                                score,
+                                speedup,
+                                speedup / threads * 100));
+                      });
+                }));
+    return sb.toString();
+  }
+}
@@ -0,0 +1,74 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.internal.context.impl.DefaultSqlParametersSetter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures binding the parameters of a row by {@link DefaultSqlParametersSetter}. The statement is
+ * prepared once, so the driver cost is only the setter calls.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(2)
+@State(Scope.Thread)
+public class SqlParametersSetterBenchmark {
+
+  @Param({"4", "16", "64"})
+  public int columns;
+
+  private final DefaultSqlParametersSetter parametersSetter = new DefaultSqlParametersSetter();
+  private Connection connection;
+  private PreparedStatement statement;
+  private Object[] parameters;
+
+  @Setup
+  public void setup() throws SQLException {
+    Sorm sorm = BenchmarkTables.createSorm();
+    BenchmarkTables.createTable(sorm, columns, 0);
+    connection = sorm.openJdbcConnection();
+    statement =
+        connection.prepareStatement(
+            "INSERT INTO "
+                + BenchmarkTables.tableName(columns)
+                + " VALUES("
+                + String.join(", ", Collections.nCopies(columns, "?"))
+                + ")");
+    parameters =
+        IntStream.range(0, columns)
+            .mapToObj(i -> i == 0 ? Integer.valueOf(1) : BenchmarkTables.createValue(1, i))
+            .toArray();
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    statement.close();
+    connection.close();
+  }
+
+  @Benchmark
+  public PreparedStatement setParameters() throws SQLException {
+    parametersSetter.setParameters(statement, parameters);
+    return statement;
+  }
+}
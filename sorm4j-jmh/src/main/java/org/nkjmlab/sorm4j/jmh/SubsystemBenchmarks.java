@@ -0,0 +1,35 @@
+package org.nkjmlab.sorm4j.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the subsystem benchmarks with the allocation profiler, which is the same as {@code java
+ * -jar target/benchmarks.jar <regexp> -prof gc}. The results are written to {@code
+ * target/jmh-subsystem-results.json}.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar org.nkjmlab.sorm4j.jmh.SubsystemBenchmarks [regexp]
+ * </pre>
+ */
+public class SubsystemBenchmarks {
+
+  private static final String DEFAULT_INCLUDE =
+      "org\\.nkjmlab\\.sorm4j\\.jmh\\.(ResultMapping|RowMap|CanonicalStringCache"
+          + "|SqlParametersSetter|MultiRowProcessor|ResultSetStream|ParameterizedSql)Benchmark";
+
+  public static void main(String[] args) throws RunnerException {
+    Options options =
+        new OptionsBuilder()
+            .include(args.length == 0 ? DEFAULT_INCLUDE : args[0])
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("target/jmh-subsystem-results.json")
+            .build();
+    new Runner(options).run();
+  }
+}
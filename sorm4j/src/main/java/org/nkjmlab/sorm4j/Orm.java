@@ -3,6 +3,7 @@ package org.nkjmlab.sorm4j;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.Collection;
 import java.util.List;
 
 import org.nkjmlab.sorm4j.common.annotation.Internal;
@@ -21,6 +22,8 @@ import org.nkjmlab.sorm4j.sql.metadata.jdbc.JdbcDatabaseMetaData;
 import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
 import org.nkjmlab.sorm4j.sql.result.InsertResult;
 import org.nkjmlab.sorm4j.sql.result.ResultSetStream;
+import org.nkjmlab.sorm4j.sql.result.SyncResult;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
 
 /**
  * Main API for object relation mapping.
@@ -81,6 +84,17 @@ public interface Orm {
    */
   int deleteAllIn(String tableName);
 
+  /**
+   * Deletes the rows satisfying the condition from the table corresponding to the given table
+   * name by one statement.
+   *
+   * @param tableName
+   * @param condition the condition of the where clause. It could include placeholders.
+   * @param parameters the parameters for the placeholders in the condition.
+   * @return the number of deleted rows
+   */
+  int deleteWhereIn(String tableName, ConditionSql condition, Object... parameters);
+
   /**
    * Deletes a row from the table corresponding to the class the by primary key.
    *
@@ -686,6 +700,20 @@ public interface Orm {
    */
   <T> T selectByPrimaryKey(Class<T> type, Object... primaryKeyValues);
 
+  /**
+   * Reads objects by their primary keys from the table indicated by object class. The objects are
+   * read by one statement with an IN-list (or by a few statements if there are many keys) instead
+   * of one statement per key.
+   *
+   * @param <T>
+   * @param type
+   * @param primaryKeyValuesList each element is the primary key values of an object. The order of
+   *     the values should be the same as the column order.
+   * @return the objects in the same order as the given keys. The element is null if the object
+   *     with the key is not found.
+   */
+  <T> List<T> selectListByPrimaryKeys(Class<T> type, List<Object[]> primaryKeyValuesList);
+
   /**
    * Updates with objects in the table corresponding to the class of the given objects.
    *
@@ -737,6 +765,27 @@ public interface Orm {
    */
   int updateByPrimaryKeyIn(String tableName, RowMap object, Object... primaryKeyValues);
 
+  /**
+   * Updates the rows satisfying the condition in the table corresponding to the given table name
+   * by one statement. The values are bound as parameters.
+   *
+   * <p>For example,
+   *
+   * <pre>
+   * updateWhereIn("PLAYERS", RowMap.of("ADDRESS", "Tokyo"), cond("ADDRESS=?"), "Kyoto")
+   * executes
+   * "update PLAYERS set ADDRESS=? where ADDRESS=?" with "Tokyo" and "Kyoto"
+   * </pre>
+   *
+   * @param tableName
+   * @param setValues the column names and the values to set.
+   * @param condition the condition of the where clause. It could include placeholders.
+   * @param parameters the parameters for the placeholders in the condition.
+   * @return the number of updated rows
+   */
+  int updateWhereIn(
+      String tableName, RowMap setValues, ConditionSql condition, Object... parameters);
+
   /**
    * Updates with objects in the table corresponding to the given table name.
    *
@@ -768,6 +817,36 @@ public interface Orm {
   @SuppressWarnings("unchecked")
   <T> int[] updateWith(String tableName, T... objects);
 
+  /**
+   * Synchronizes the table corresponding to the given table name with the given objects. The rows
+   * of the table are matched with the objects by the primary keys, and only the missing objects
+   * are inserted, only the changed objects are updated and the rows not in the objects are deleted.
+   * The statements are executed in one transaction if the connection is in auto-commit mode.
+   *
+   * @param <T>
+   * @param tableName
+   * @param objectClass
+   * @param objects all the objects which the table should have
+   * @return
+   */
+  <T> SyncResult syncIn(String tableName, Class<T> objectClass, Collection<T> objects);
+
+  /**
+   * Synchronizes the rows of the table which satisfy the given condition with the given objects.
+   * The rows not satisfying the condition are not updated nor deleted, so the given objects should
+   * satisfy the condition.
+   *
+   * @param <T>
+   * @param tableName
+   * @param objectClass
+   * @param objects all the objects which the rows satisfying the condition should be
+   * @param condition
+   * @return
+   * @see #syncIn(String, Class, Collection)
+   */
+  <T> SyncResult syncIn(
+      String tableName, Class<T> objectClass, Collection<T> objects, ConditionSql condition);
+
   /**
    * Returns {@link ResultSetStream} represents all rows from the table indicated by object class.
    *
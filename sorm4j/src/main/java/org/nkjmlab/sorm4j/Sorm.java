@@ -7,6 +7,10 @@ import javax.sql.DataSource;
 import org.nkjmlab.sorm4j.common.handler.ConsumerHandler;
 import org.nkjmlab.sorm4j.common.handler.FunctionHandler;
 import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.metrics.ConnectionTracker;
+import org.nkjmlab.sorm4j.context.metrics.SlowQueryLog;
+import org.nkjmlab.sorm4j.context.metrics.SormMetrics;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer;
 import org.nkjmlab.sorm4j.internal.SormImpl;
 import org.nkjmlab.sorm4j.table.orm.Table;
 import org.nkjmlab.sorm4j.util.datasource.DataSourceFactory;
@@ -187,4 +191,55 @@ public interface Sorm extends Orm {
    * @return
    */
   <T> Table<T> getTable(Class<T> type, String tableName);
+
+  /**
+   * Reads the metadata of all the tables. The columns of all the tables are read in one pass and
+   * the primary keys are read for each table, because JDBC requires a table name to read them. The
+   * later mappings use the read metadata instead of querying the metadata of each table.
+   */
+  void preloadTableMetaData();
+
+  /**
+   * Builds the mappings and the table SQLs of the given classes concurrently. Each class should be
+   * mapped to a table. Calling this method before serving requests avoids building the mappings on
+   * the first requests.
+   *
+   * <p>{@link #preloadTableMetaData()} could be called before this method to read the columns of
+   * all the tables in one pass.
+   *
+   * @param objectClasses
+   */
+  void warmUp(Class<?>... objectClasses);
+
+  /**
+   * Returns the metrics of the statements executed by this object. This is a shortcut of {@code
+   * getContext().getMetrics()}.
+   *
+   * @return
+   */
+  SormMetrics getMetrics();
+
+  /**
+   * Returns the slow query log of the statements executed by this object. This is a shortcut of
+   * {@code getContext().getSlowQueryLog()}.
+   *
+   * @return
+   */
+  SlowQueryLog getSlowQueryLog();
+
+  /**
+   * Returns the tracker of the connections opened by this object. This is a shortcut of {@code
+   * getContext().getConnectionTracker()}.
+   *
+   * @return
+   */
+  ConnectionTracker getConnectionTracker();
+
+  /**
+   * Returns the tracer of the statements executed by this object. This is a shortcut of {@code
+   * getContext().getTracer()}.
+   *
+   * @return
+   */
+  SormTracer getTracer();
 }
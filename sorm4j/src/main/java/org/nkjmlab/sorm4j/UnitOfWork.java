@@ -0,0 +1,139 @@
+package org.nkjmlab.sorm4j;
+
+import java.util.List;
+
+import org.nkjmlab.sorm4j.internal.UnitOfWorkImpl;
+
+/**
+ * Records writes of objects across tables and executes them in one transaction when {@link
+ * #flush()} is called. On flush, the writes are grouped by table and operation, and each group is
+ * executed by the multi-row or batch statements. Inserts, merges and updates are executed from the
+ * referenced tables to the referencing tables following the foreign keys, and deletes are executed
+ * in the reverse order.
+ *
+ * <p>An instance of this class is not thread-safe.
+ *
+ * <p>Example usage:
+ *
+ * <pre>
+ * UnitOfWork uow = UnitOfWork.of(sorm);
+ * uow.insert(order);
+ * uow.insert(orderLines);
+ * uow.update(customer);
+ * uow.flush();
+ * </pre>
+ *
+ * @author nkjm
+ */
+public interface UnitOfWork {
+
+  /**
+   * Creates a new unit of work which writes by the given {@link Sorm}.
+   *
+   * @param sorm
+   * @return
+   */
+  static UnitOfWork of(Sorm sorm) {
+    return new UnitOfWorkImpl(sorm);
+  }
+
+  /**
+   * Registers objects to insert into the table corresponding to the class of the objects.
+   *
+   * @param <T>
+   * @param objects
+   */
+  @SuppressWarnings("unchecked")
+  <T> void insert(T... objects);
+
+  /**
+   * Registers objects to insert into the table corresponding to the class of the objects.
+   *
+   * @param <T>
+   * @param objects
+   */
+  <T> void insert(List<T> objects);
+
+  /**
+   * Registers objects to insert into the table corresponding to the given table name.
+   *
+   * @param <T>
+   * @param tableName
+   * @param objects
+   */
+  @SuppressWarnings("unchecked")
+  <T> void insertInto(String tableName, T... objects);
+
+  /**
+   * Registers objects to merge into the table corresponding to the class of the objects.
+   *
+   * @param <T>
+   * @param objects
+   */
+  @SuppressWarnings("unchecked")
+  <T> void merge(T... objects);
+
+  /**
+   * Registers objects to merge into the table corresponding to the given table name.
+   *
+   * @param <T>
+   * @param tableName
+   * @param objects
+   */
+  @SuppressWarnings("unchecked")
+  <T> void mergeIn(String tableName, T... objects);
+
+  /**
+   * Registers objects to update in the table corresponding to the class of the objects.
+   *
+   * @param <T>
+   * @param objects
+   */
+  @SuppressWarnings("unchecked")
+  <T> void update(T... objects);
+
+  /**
+   * Registers objects to update in the table corresponding to the given table name.
+   *
+   * @param <T>
+   * @param tableName
+   * @param objects
+   */
+  @SuppressWarnings("unchecked")
+  <T> void updateWith(String tableName, T... objects);
+
+  /**
+   * Registers objects to delete from the table corresponding to the class of the objects.
+   *
+   * @param <T>
+   * @param objects
+   */
+  @SuppressWarnings("unchecked")
+  <T> void delete(T... objects);
+
+  /**
+   * Registers objects to delete from the table corresponding to the given table name.
+   *
+   * @param <T>
+   * @param tableName
+   * @param objects
+   */
+  @SuppressWarnings("unchecked")
+  <T> void deleteIn(String tableName, T... objects);
+
+  /**
+   * Executes all the registered writes in one transaction and clears them. If the transaction
+   * fails, it is rolled back and the registered writes are kept.
+   */
+  void flush();
+
+  /** Discards all the registered writes. */
+  void clear();
+
+  /**
+   * Returns the number of the registered objects.
+   *
+   * @return
+   */
+  int size();
+}
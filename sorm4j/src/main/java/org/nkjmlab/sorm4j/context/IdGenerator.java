@@ -0,0 +1,78 @@
+package org.nkjmlab.sorm4j.context;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import org.nkjmlab.sorm4j.internal.context.impl.HiLoIdGenerator;
+import org.nkjmlab.sorm4j.internal.context.impl.SequenceIdGenerator;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmIdGenerator;
+
+/**
+ * A generator of ids assigned to the objects before insert. A generator reserves a block of ids
+ * from the database at once and assigns them on the client, so the objects can be inserted by the
+ * multi-row statements and the ids are known before insert. An implementation should be
+ * thread-safe.
+ *
+ * @see OrmIdGenerator
+ * @author nkjm
+ */
+public interface IdGenerator {
+
+  /**
+   * Returns the next id.
+   *
+   * @param connection connection used to reserve a new block of ids.
+   * @return
+   */
+  long nextId(Connection connection);
+
+  /**
+   * Returns the next id. The dialect is the one configured in {@link SormContext}, which is used by
+   * a generator building database specific SQL statements.
+   *
+   * @param connection connection used to reserve a new block of ids.
+   * @param sqlDialect
+   * @return
+   */
+  default long nextId(Connection connection, SqlDialect sqlDialect) {
+    return nextId(connection);
+  }
+
+  /**
+   * Creates a generator which reserves a block of ids by getting a value from a database sequence.
+   * A value {@code v} of the sequence reserves ids from {@code v} to {@code v + allocationSize -
+   * 1}, so the sequence should be created with {@code increment by allocationSize}.
+   *
+   * <pre>
+   * create sequence ORDERS_SEQ start with 1 increment by 50
+   * </pre>
+   *
+   * @param sequenceName
+   * @param allocationSize
+   * @return
+   */
+  static IdGenerator ofSequence(String sequenceName, int allocationSize) {
+    return new SequenceIdGenerator(sequenceName, allocationSize);
+  }
+
+  /**
+   * Creates a generator which reserves a block of ids by the hi/lo algorithm. A new hi value is
+   * taken by incrementing the single row of the given table in its own transaction on a connection
+   * from the data source. A hi value {@code h} reserves ids from {@code h * maxLo} to {@code (h +
+   * 1) * maxLo - 1}.
+   *
+   * <pre>
+   * create table ORDERS_HI (NEXT_HI bigint not null);
+   * insert into ORDERS_HI values (0);
+   * </pre>
+   *
+   * @param dataSource
+   * @param tableName
+   * @param maxLo
+   * @return
+   */
+  static IdGenerator ofHiLoTable(DataSource dataSource, String tableName, int maxLo) {
+    return new HiLoIdGenerator(dataSource, tableName, maxLo);
+  }
+}
@@ -3,6 +3,8 @@ package org.nkjmlab.sorm4j.context;
 import org.nkjmlab.sorm4j.context.logging.LogContext;
 import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
+import org.nkjmlab.sorm4j.internal.context.metrics.ExecutionRecorder;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
 import org.nkjmlab.sorm4j.internal.mapping.ContainerToTableMapper;
 import org.nkjmlab.sorm4j.internal.mapping.multirow.MultiRowProcessor;
 import org.nkjmlab.sorm4j.internal.mapping.multirow.MultiRowProcessorFactoryImpl;
@@ -11,6 +13,8 @@ public interface MultiRowProcessorFactory {
 
   <T> MultiRowProcessor<T> createMultiRowProcessor(
       LogContext loggerContext,
+      ExecutionRecorder executionRecorder,
+      SormTracerImpl tracer,
       SqlParametersSetter sqlParametersSetter,
       PreparedStatementSupplier statementSupplier,
       Class<T> objectClass,
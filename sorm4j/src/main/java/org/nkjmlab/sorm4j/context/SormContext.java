@@ -1,11 +1,17 @@
 package org.nkjmlab.sorm4j.context;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.nkjmlab.sorm4j.Sorm;
 import org.nkjmlab.sorm4j.common.annotation.Internal;
 import org.nkjmlab.sorm4j.context.logging.LogContext;
+import org.nkjmlab.sorm4j.context.metrics.ConnectionTracker;
+import org.nkjmlab.sorm4j.context.metrics.SlowQueryLog;
+import org.nkjmlab.sorm4j.context.metrics.SormMetrics;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer;
 import org.nkjmlab.sorm4j.internal.SormContextImpl;
 import org.nkjmlab.sorm4j.internal.SormImpl;
 import org.nkjmlab.sorm4j.internal.context.ColumnToFieldAccessorMapper;
@@ -21,6 +27,9 @@ import org.nkjmlab.sorm4j.internal.context.impl.DefaultPreparedStatementSupplier
 import org.nkjmlab.sorm4j.internal.context.impl.DefaultSqlParametersSetter;
 import org.nkjmlab.sorm4j.internal.context.impl.DefaultTableNameMapper;
 import org.nkjmlab.sorm4j.internal.context.impl.DefaultTableSqlFactory;
+import org.nkjmlab.sorm4j.internal.context.metrics.ConnectionTrackerImpl;
+import org.nkjmlab.sorm4j.internal.context.metrics.SlowQueryLogImpl;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
 import org.nkjmlab.sorm4j.internal.util.CanonicalStringCache;
 
 /**
@@ -64,6 +73,38 @@ public interface SormContext {
 
   LogContext getLogContext();
 
+  /**
+   * Returns the metrics of this context. The returned metrics are disabled unless they are enabled
+   * by {@link Builder#setMetricsEnabled(boolean)}.
+   *
+   * @return
+   */
+  SormMetrics getMetrics();
+
+  /**
+   * Returns the slow query log of this context. The returned log is disabled unless it is set by
+   * {@link Builder#setSlowQueryLog(SlowQueryLog)}.
+   *
+   * @return
+   */
+  SlowQueryLog getSlowQueryLog();
+
+  /**
+   * Returns the connection tracker of this context. The returned tracker is disabled unless it is
+   * set by {@link Builder#setConnectionTracker(ConnectionTracker)}.
+   *
+   * @return
+   */
+  ConnectionTracker getConnectionTracker();
+
+  /**
+   * Returns the tracer of this context. The returned tracer is disabled unless it is set by {@link
+   * Builder#setTracer(SormTracer)}.
+   *
+   * @return
+   */
+  SormTracer getTracer();
+
   PreparedStatementSupplier getPreparedStatementSupplier();
 
   SqlParametersSetter getSqlParametersSetter();
@@ -105,6 +146,20 @@ public interface SormContext {
     private List<ColumnValueToJavaObjectConverter> columnValueToJavaObjectConvertersList =
         new ArrayList<>();
 
+    private boolean changeTrackingEnabled = false;
+
+    private boolean metricsEnabled = false;
+
+    private SlowQueryLog slowQueryLog = SlowQueryLogImpl.DISABLED;
+
+    private int repeatedQueryThreshold = 0;
+
+    private ConnectionTracker connectionTracker = ConnectionTrackerImpl.DISABLED;
+
+    private SormTracer tracer = SormTracerImpl.DISABLED;
+
+    private final Map<String, IdGenerator> idGenerators = new LinkedHashMap<>();
+
     private Builder() {}
 
     public SormContext build() {
@@ -120,7 +175,14 @@ public interface SormContext {
               sqlParameterSettersList.toArray(SqlParameterSetter[]::new)),
           statementSupplier,
           tableSqlFactory,
-          multiRowProcessorFactory);
+          multiRowProcessorFactory,
+          changeTrackingEnabled,
+          metricsEnabled,
+          (SlowQueryLogImpl) slowQueryLog,
+          repeatedQueryThreshold,
+          (ConnectionTrackerImpl) connectionTracker,
+          (SormTracerImpl) tracer,
+          Map.copyOf(idGenerators));
     }
 
     public Builder addColumnValueToJavaObjectConverter(ColumnValueToJavaObjectConverter converter) {
@@ -148,6 +210,119 @@ public interface SormContext {
       return this;
     }
 
+    /**
+     * Enables change tracking. When it is enabled, the column values of objects loaded from the
+     * database are kept as snapshots, and {@code update} writes only the columns changed from the
+     * snapshot. An update of an object without changes executes no statement and returns 0. An
+     * object which is not loaded from the database is updated with all the columns.
+     *
+     * @param changeTrackingEnabled
+     * @return
+     */
+    public Builder setChangeTrackingEnabled(boolean changeTrackingEnabled) {
+      this.changeTrackingEnabled = changeTrackingEnabled;
+      return this;
+    }
+
+    /**
+     * Enables the metrics returned by {@link SormContext#getMetrics()}. When it is enabled, counts,
+     * errors, rows and latencies are recorded per operation category and SQL fingerprint. When it
+     * is disabled, recording costs nothing but a branch.
+     *
+     * @param metricsEnabled
+     * @return
+     */
+    public Builder setMetricsEnabled(boolean metricsEnabled) {
+      this.metricsEnabled = metricsEnabled;
+      return this;
+    }
+
+    /**
+     * Sets the {@link SlowQueryLog} which records the statements executed by the built context.
+     * The log is shared with the contexts built from the same log.
+     *
+     * @param slowQueryLog built by {@link SlowQueryLog#builder()}
+     * @return
+     */
+    public Builder setSlowQueryLog(SlowQueryLog slowQueryLog) {
+      this.slowQueryLog = slowQueryLog;
+      return this;
+    }
+
+    /**
+     * Sets the threshold of the N+1 query detection. When queries of the same SQL fingerprint are
+     * executed as many times as the threshold in one {@link org.nkjmlab.sorm4j.OrmConnection}
+     * without commit or rollback, a warning with the call site is logged. The default is 0, which
+     * disables the detection.
+     *
+     * <p>The repeated queries could be resolved by one query with {@link
+     * org.nkjmlab.sorm4j.table.orm.TableOrm#loader()}.
+     *
+     * @param repeatedQueryThreshold
+     * @return
+     */
+    public Builder setRepeatedQueryThreshold(int repeatedQueryThreshold) {
+      if (repeatedQueryThreshold < 0) {
+        throw new IllegalArgumentException(
+            "repeatedQueryThreshold should not be negative but was " + repeatedQueryThreshold);
+      }
+      this.repeatedQueryThreshold = repeatedQueryThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the {@link ConnectionTracker} which tracks the connections opened by the {@link Sorm}
+     * objects of the built context.
+     *
+     * <p><strong>Note:</strong> The tracker captures the stack trace of the caller each time a
+     * connection is opened, so tracking adds the cost of a stack walk to every open.
+     *
+     * @param connectionTracker built by {@link ConnectionTracker#builder()}
+     * @return
+     */
+    public Builder setConnectionTracker(ConnectionTracker connectionTracker) {
+      this.connectionTracker = connectionTracker;
+      return this;
+    }
+
+    /**
+     * Sets the {@link SormTracer} which exports the spans of the statements executed by the built
+     * context.
+     *
+     * @param tracer built by {@link SormTracer#builder()}
+     * @return
+     */
+    public Builder setTracer(SormTracer tracer) {
+      this.tracer = tracer;
+      return this;
+    }
+
+    /**
+     * Registers an {@link IdGenerator} with the name referred by {@link
+     * org.nkjmlab.sorm4j.mapping.annotation.OrmIdGenerator}.
+     *
+     * @param name
+     * @param idGenerator
+     * @return
+     */
+    public Builder addIdGenerator(String name, IdGenerator idGenerator) {
+      this.idGenerators.put(name, idGenerator);
+      return this;
+    }
+
+    /**
+     * Sets the {@link SqlDialect} used to generate SQL statements for tables. If it is not set, a
+     * dialect is picked from the database product name. Setting a dialect replaces the table SQL
+     * factory.
+     *
+     * @param sqlDialect
+     * @return
+     */
+    public Builder setSqlDialect(SqlDialect sqlDialect) {
+      this.tableSqlFactory = new DefaultTableSqlFactory(sqlDialect);
+      return this;
+    }
+
     @Internal
     public Builder setTableSqlFactory(TableSqlFactory tableSqlFactory) {
       this.tableSqlFactory = tableSqlFactory;
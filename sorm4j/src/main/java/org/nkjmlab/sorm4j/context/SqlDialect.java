@@ -0,0 +1,86 @@
+package org.nkjmlab.sorm4j.context;
+
+import java.util.List;
+
+import org.nkjmlab.sorm4j.internal.context.impl.DefaultSqlDialect;
+import org.nkjmlab.sorm4j.internal.context.impl.H2SqlDialect;
+import org.nkjmlab.sorm4j.internal.context.impl.MySqlDialect;
+import org.nkjmlab.sorm4j.internal.context.impl.PostgreSqlDialect;
+
+/**
+ * A database specific part of SQL statements generated for a table. A dialect is picked from the
+ * database product name by {@link #of(String)} unless it is given by {@link
+ * SormContext.Builder#setSqlDialect(SqlDialect)}.
+ *
+ * @author yuu_nkjm
+ */
+public interface SqlDialect {
+
+  /** Dialect which generates H2 style merge statements and simple placeholders. */
+  SqlDialect DEFAULT = new DefaultSqlDialect();
+
+  /** Dialect for H2. */
+  SqlDialect H2 = new H2SqlDialect();
+
+  /** Dialect for PostgreSQL. */
+  SqlDialect POSTGRESQL = new PostgreSqlDialect();
+
+  /** Dialect for MySQL and MariaDB. */
+  SqlDialect MYSQL = new MySqlDialect();
+
+  /**
+   * Returns the dialect corresponding to the given database product name.
+   *
+   * @param databaseProductName e.g. "H2", "PostgreSQL", "MySQL"
+   * @return {@link #DEFAULT} if no dialect corresponds to the name.
+   */
+  static SqlDialect of(String databaseProductName) {
+    String name = databaseProductName == null ? "" : databaseProductName.toLowerCase();
+    if (name.contains("h2")) {
+      return H2;
+    } else if (name.contains("postgresql")) {
+      return POSTGRESQL;
+    } else if (name.contains("mysql") || name.contains("mariadb")) {
+      return MYSQL;
+    } else {
+      return DEFAULT;
+    }
+  }
+
+  /**
+   * Returns a placeholder for a column of the given type.
+   *
+   * @param columnTypeName type name of the column. e.g. "JSON", "VARCHAR"
+   * @return e.g. "?", "? format json"
+   */
+  String getPlaceholder(String columnTypeName);
+
+  /**
+   * Returns the part of a merge (upsert) statement before the placeholders.
+   *
+   * @param tableName
+   * @param columns
+   * @param primaryKeys
+   * @return e.g. "merge into GUESTS (ID, NAME) key (ID) values"
+   */
+  String getMergeSqlPrefix(String tableName, List<String> columns, List<String> primaryKeys);
+
+  /**
+   * Returns the part of a merge (upsert) statement after the placeholders. The same suffix is
+   * used for the single-row and the multi-row statement.
+   *
+   * @param tableName
+   * @param columns
+   * @param primaryKeys
+   * @return e.g. "", " on conflict (ID) do update set NAME=excluded.NAME"
+   */
+  String getMergeSqlSuffix(String tableName, List<String> columns, List<String> primaryKeys);
+
+  /**
+   * Returns the query which gets the next value of the sequence.
+   *
+   * @param sequenceName
+   * @return e.g. "select next value for PLAYERS_SEQ"
+   */
+  String getNextSequenceValueSql(String sequenceName);
+}
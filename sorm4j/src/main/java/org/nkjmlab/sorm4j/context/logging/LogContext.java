@@ -36,16 +36,53 @@ public interface LogContext {
 
   boolean isEnable(Category category);
 
+  /**
+   * Returns whether the log points write to the logger asynchronously. See {@link
+   * Builder#setAsyncBufferSize(int)}.
+   *
+   * @return
+   */
+  boolean isAsync();
+
+  /**
+   * Returns the number of the log records dropped because the buffer of the asynchronous logging
+   * was full.
+   *
+   * @return 0 if the logging is synchronous.
+   */
+  long getDroppedCount();
+
   public static class Builder {
 
     private Supplier<SormLogger> loggerSupplier;
 
     private final Set<LogContext.Category> onCategories = new HashSet<>();
 
+    private int asyncBufferSize = 0;
+
     Builder() {}
 
     public LogContext build() {
-      return new LogContextImpl(loggerSupplier, onCategories);
+      return new LogContextImpl(loggerSupplier, onCategories, asyncBufferSize);
+    }
+
+    /**
+     * Enables the asynchronous logging. The log points capture immutable records of the SQL, a
+     * copy of the parameters, the elapsed time and the number of rows into a bounded ring buffer,
+     * and a daemon thread formats them and writes them to the logger. When the buffer is full, the
+     * records are dropped and counted by {@link LogContext#getDroppedCount()}. The daemon thread is
+     * shared by all the log contexts in the process and waits while no record is buffered.
+     *
+     * <p>In the asynchronous mode, the caller of the library and the database URL are not logged.
+     * The identity hash code of the connection is logged instead of the URL.
+     *
+     * @param asyncBufferSize the number of the records which could be buffered. 0 (the default)
+     *     means synchronous logging.
+     * @return
+     */
+    public Builder setAsyncBufferSize(int asyncBufferSize) {
+      this.asyncBufferSize = asyncBufferSize;
+      return this;
     }
 
     /**
@@ -0,0 +1,97 @@
+package org.nkjmlab.sorm4j.context.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.nkjmlab.sorm4j.context.metrics.SormMetricsSnapshot.LatencySnapshot;
+import org.nkjmlab.sorm4j.internal.context.metrics.ConnectionTrackerImpl;
+
+/**
+ * Tracks the connections opened by {@link org.nkjmlab.sorm4j.Sorm#open()} and {@link
+ * org.nkjmlab.sorm4j.Sorm#open(int)}, including the connections used inside the other methods of
+ * {@link org.nkjmlab.sorm4j.Sorm} and by {@link org.nkjmlab.sorm4j.sql.result.ResultSetStream}.
+ *
+ * <p>The acquire time and the call site of each connection are recorded until it is closed. A
+ * warning is logged when a connection is found to be held longer than the threshold, which is
+ * checked whenever a connection is opened or closed, and when a connection is garbage-collected
+ * without being closed. The hold times of the closed connections are counted in a histogram.
+ *
+ * <p>An instance is built by {@link #builder()} and set by {@link
+ * org.nkjmlab.sorm4j.context.SormContext.Builder#setConnectionTracker(ConnectionTracker)}.
+ */
+public interface ConnectionTracker {
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns whether the connections are tracked.
+   *
+   * @return
+   */
+  boolean isEnabled();
+
+  /**
+   * Returns the connections which are not closed yet, the oldest first.
+   *
+   * @return
+   */
+  List<OpenConnection> getOpenConnections();
+
+  /**
+   * Returns the histogram of the hold times of the closed connections.
+   *
+   * @return
+   */
+  LatencySnapshot getHoldTimes();
+
+  /**
+   * Returns the number of the connections garbage-collected without being closed.
+   *
+   * @return
+   */
+  long getLeakedCount();
+
+  /** Clears the histogram and the leaked count. The open connections are still tracked. */
+  void reset();
+
+  /**
+   * A connection which is not closed yet.
+   *
+   * @param id
+   * @param acquiredAt
+   * @param heldTime
+   * @param threadName the thread which opened the connection
+   * @param callerStack the stack of the caller outside the library
+   */
+  record OpenConnection(
+      long id,
+      Instant acquiredAt,
+      Duration heldTime,
+      String threadName,
+      List<StackTraceElement> callerStack) {}
+
+  public static class Builder {
+
+    private Duration holdTimeThreshold = Duration.ofSeconds(30);
+
+    Builder() {}
+
+    public ConnectionTracker build() {
+      return new ConnectionTrackerImpl(holdTimeThreshold);
+    }
+
+    /**
+     * Sets the threshold of the hold time to warn. The default is 30 seconds.
+     *
+     * @param holdTimeThreshold
+     * @return
+     */
+    public Builder setHoldTimeThreshold(Duration holdTimeThreshold) {
+      this.holdTimeThreshold = holdTimeThreshold;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package org.nkjmlab.sorm4j.context.metrics;
+
+import java.util.List;
+
+import org.nkjmlab.sorm4j.Orm;
+import org.nkjmlab.sorm4j.internal.context.metrics.QueryPlanAdvisorImpl;
+import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
+
+/**
+ * Captures the query plans of statements by {@code EXPLAIN} and recommends indexes.
+ *
+ * <p>A plan is parsed into the tables read by full scans and the indexes used. The plans of H2
+ * (e.g. {@code PUBLIC.PLAYERS.tableScan}) and PostgreSQL (e.g. {@code Seq Scan on players}) are
+ * supported. The plans of the other databases are captured but not parsed.
+ *
+ * <p>An index is recommended for the columns compared by {@code =} or {@code in} in the where
+ * clause of a single table query when no index of the table starts with one of the columns and the
+ * plan does not show the use of an index on the table. The statements created by {@link
+ * org.nkjmlab.sorm4j.table.orm.TableOrm#getAllEqualSql(Object...)} and the statements recorded by
+ * {@link SlowQueryLog} are typical inputs.
+ *
+ * <p>Example usage:
+ *
+ * <pre>
+ * QueryPlanAdvisor advisor = QueryPlanAdvisor.of(sorm);
+ * advisor.recommendIndexes(playersTable.getAllEqualSql("name", "Alice"));
+ * advisor.recommendIndexes(sorm.getSlowQueryLog());
+ * </pre>
+ */
+public interface QueryPlanAdvisor {
+
+  /**
+   * Creates an advisor which runs {@code EXPLAIN}.
+   *
+   * @param orm
+   * @return
+   */
+  static QueryPlanAdvisor of(Orm orm) {
+    return new QueryPlanAdvisorImpl(orm, false);
+  }
+
+  /**
+   * Creates an advisor which runs {@code EXPLAIN ANALYZE}. Note that the statements are executed to
+   * analyze them.
+   *
+   * @param orm
+   * @return
+   */
+  static QueryPlanAdvisor withAnalyze(Orm orm) {
+    return new QueryPlanAdvisorImpl(orm, true);
+  }
+
+  /**
+   * Captures the plan of the given statement. Only queries are explained.
+   *
+   * @param sql
+   * @param parameters
+   * @return
+   */
+  QueryPlan explain(String sql, Object... parameters);
+
+  /**
+   * Captures the plans of the slow statements and the sampled statements in the given log. A
+   * statement is explained once per SQL fingerprint.
+   *
+   * @param slowQueryLog
+   * @return
+   */
+  List<QueryPlan> explain(SlowQueryLog slowQueryLog);
+
+  /**
+   * Recommends indexes for the given statements.
+   *
+   * @param statements
+   * @return
+   */
+  List<IndexRecommendation> recommendIndexes(ParameterizedSql... statements);
+
+  /**
+   * Recommends indexes for the slow statements and the sampled statements in the given log.
+   *
+   * @param slowQueryLog
+   * @return
+   */
+  List<IndexRecommendation> recommendIndexes(SlowQueryLog slowQueryLog);
+
+  /**
+   * A captured query plan.
+   *
+   * @param sql
+   * @param plan the output of {@code EXPLAIN}
+   * @param scannedTables the tables read by full scans
+   * @param usedIndexes
+   */
+  record QueryPlan(String sql, String plan, List<String> scannedTables, List<String> usedIndexes) {
+
+    public boolean hasTableScan() {
+      return !scannedTables.isEmpty();
+    }
+  }
+
+  /**
+   * A recommended index.
+   *
+   * @param tableName
+   * @param columns
+   * @param sql the statement which would use the index
+   * @param plan the plan of the statement
+   * @param createIndexStatement
+   */
+  record IndexRecommendation(
+      String tableName,
+      List<String> columns,
+      String sql,
+      QueryPlan plan,
+      String createIndexStatement) {}
+}
@@ -0,0 +1,168 @@
+package org.nkjmlab.sorm4j.context.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.nkjmlab.sorm4j.context.logging.LogContext.Category;
+import org.nkjmlab.sorm4j.internal.context.metrics.SlowQueryLogImpl;
+
+/**
+ * A log of slow statements. A statement which takes longer than the threshold is kept with its
+ * parameters and the caller stack. A fraction of the other statements is sampled in the same way.
+ * All the statements are aggregated per SQL fingerprint for the top-N tables by total time and by
+ * count.
+ *
+ * <p>An instance is built by {@link #builder()} and set by {@link
+ * org.nkjmlab.sorm4j.context.SormContext.Builder#setSlowQueryLog(SlowQueryLog)}.
+ */
+public interface SlowQueryLog {
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns whether the statements are recorded.
+   *
+   * @return
+   */
+  boolean isEnabled();
+
+  /**
+   * Returns the recent statements which took longer than the threshold, the oldest first.
+   *
+   * @return
+   */
+  List<SlowQuery> getSlowQueries();
+
+  /**
+   * Returns the recent sampled statements which did not exceed the threshold, the oldest first.
+   *
+   * @return
+   */
+  List<SlowQuery> getSampledQueries();
+
+  /**
+   * Returns the SQL fingerprints with the largest total time in the current and the previous
+   * window.
+   *
+   * @param n
+   * @return
+   */
+  List<QueryStats> getTopByTotalTime(int n);
+
+  /**
+   * Returns the SQL fingerprints executed most in the current and the previous window.
+   *
+   * @param n
+   * @return
+   */
+  List<QueryStats> getTopByCount(int n);
+
+  /**
+   * Returns a human readable dump of the top-N tables and the slow statements.
+   *
+   * @param n the number of the rows of each top-N table
+   * @return
+   */
+  String dump(int n);
+
+  /** Clears all the recorded statements. */
+  void reset();
+
+  /**
+   * A recorded statement.
+   *
+   * @param timestamp
+   * @param category
+   * @param sql
+   * @param sqlFingerprint
+   * @param parameters the bound parameters. Empty for multi-row updates.
+   * @param rows
+   * @param elapsedNanos
+   * @param callerStack the stack of the caller outside the library
+   */
+  record SlowQuery(
+      Instant timestamp,
+      Category category,
+      String sql,
+      String sqlFingerprint,
+      List<Object> parameters,
+      long rows,
+      long elapsedNanos,
+      List<StackTraceElement> callerStack) {}
+
+  /**
+   * Aggregated statistics of a SQL fingerprint.
+   *
+   * @param sqlFingerprint
+   * @param count
+   * @param totalNanos
+   * @param maxNanos
+   */
+  record QueryStats(String sqlFingerprint, long count, long totalNanos, long maxNanos) {}
+
+  public static class Builder {
+
+    private Duration threshold = Duration.ofSeconds(1);
+    private double sampleRate = 0;
+    private int capacity = 100;
+    private Duration window = Duration.ofMinutes(5);
+
+    Builder() {}
+
+    public SlowQueryLog build() {
+      return new SlowQueryLogImpl(threshold, sampleRate, capacity, window);
+    }
+
+    /**
+     * Sets the threshold of slow statements. The default is 1 second.
+     *
+     * @param threshold
+     * @return
+     */
+    public Builder setThreshold(Duration threshold) {
+      this.threshold = threshold;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of the statements under the threshold to be sampled. The default is 0.
+     *
+     * @param sampleRate in the range of 0 to 1
+     * @return
+     */
+    public Builder setSampleRate(double sampleRate) {
+      if (sampleRate < 0 || sampleRate > 1) {
+        throw new IllegalArgumentException("sampleRate should be in [0, 1] but was " + sampleRate);
+      }
+      this.sampleRate = sampleRate;
+      return this;
+    }
+
+    /**
+     * Sets the number of the slow statements and the sampled statements to be kept. The older
+     * ones are discarded. The default is 100.
+     *
+     * @param capacity
+     * @return
+     */
+    public Builder setCapacity(int capacity) {
+      this.capacity = capacity;
+      return this;
+    }
+
+    /**
+     * Sets the length of the window of the top-N tables. The tables cover the statements in the
+     * current window and the previous window. The default is 5 minutes.
+     *
+     * @param window
+     * @return
+     */
+    public Builder setWindow(Duration window) {
+      this.window = window;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package org.nkjmlab.sorm4j.context.metrics;
+
+/**
+ * Metrics of the statements executed by a {@link org.nkjmlab.sorm4j.Sorm}. The metrics are
+ * recorded per operation category and SQL fingerprint when they are enabled by {@link
+ * org.nkjmlab.sorm4j.context.SormContext.Builder#setMetricsEnabled(boolean)}.
+ *
+ * <p>The elapsed time of a query is split into JDBC time, which is spent until {@code
+ * executeQuery} returns, and mapping time, which is spent in reading and mapping the result set.
+ */
+public interface SormMetrics {
+
+  /**
+   * Returns whether the metrics are recorded.
+   *
+   * @return
+   */
+  boolean isEnabled();
+
+  /**
+   * Returns an immutable snapshot of the current metrics.
+   *
+   * @return
+   */
+  SormMetricsSnapshot getSnapshot();
+
+  /** Clears the recorded metrics. */
+  void reset();
+}
@@ -0,0 +1,118 @@
+package org.nkjmlab.sorm4j.context.metrics;
+
+import static java.lang.System.lineSeparator;
+
+import java.util.List;
+
+import org.nkjmlab.sorm4j.context.logging.LogContext.Category;
+
+/**
+ * An immutable snapshot of {@link SormMetrics}.
+ *
+ * @param statements the metrics of each pair of category and SQL fingerprint
+ */
+public record SormMetricsSnapshot(List<StatementMetrics> statements) {
+
+  public SormMetricsSnapshot {
+    statements = List.copyOf(statements);
+  }
+
+  /**
+   * Returns the metrics of the given category and SQL fingerprint.
+   *
+   * @param category
+   * @param sqlFingerprint
+   * @return null if there are no metrics.
+   */
+  public StatementMetrics get(Category category, String sqlFingerprint) {
+    return statements.stream()
+        .filter(s -> s.category() == category && s.sqlFingerprint().equals(sqlFingerprint))
+        .findAny()
+        .orElse(null);
+  }
+
+  /**
+   * Returns the snapshot as tab-separated values with a header line. Times are in microseconds.
+   *
+   * @return
+   */
+  public String toTsv() {
+    StringBuilder sb =
+        new StringBuilder(
+            String.join(
+                "\t",
+                "category",
+                "sql",
+                "count",
+                "errors",
+                "rows",
+                "jdbc_mean",
+                "jdbc_p50",
+                "jdbc_p99",
+                "jdbc_max",
+                "mapping_mean",
+                "mapping_p50",
+                "mapping_p99",
+                "mapping_max"));
+    for (StatementMetrics s : statements) {
+      sb.append(lineSeparator())
+          .append(
+              String.join(
+                  "\t",
+                  s.category().name(),
+                  s.sqlFingerprint().replace('\t', ' ').replace('\n', ' ').replace('\r', ' '),
+                  String.valueOf(s.count()),
+                  String.valueOf(s.errors()),
+                  String.valueOf(s.rows()),
+                  s.jdbcTime().toTsv(),
+                  s.mappingTime().toTsv()));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Metrics of a pair of category and SQL fingerprint. For mapping categories, the SQL fingerprint
+   * is the name of the mapped class, optionally followed by the table name.
+   *
+   * @param category
+   * @param sqlFingerprint
+   * @param count the number of executions including errors
+   * @param errors the number of executions which threw an exception
+   * @param rows the number of rows read or modified
+   * @param jdbcTime
+   * @param mappingTime
+   */
+  public record StatementMetrics(
+      Category category,
+      String sqlFingerprint,
+      long count,
+      long errors,
+      long rows,
+      LatencySnapshot jdbcTime,
+      LatencySnapshot mappingTime) {}
+
+  /**
+   * A snapshot of a latency histogram. Values are in nanoseconds and percentiles are accurate to
+   * within about 6%.
+   *
+   * @param count
+   * @param min
+   * @param max
+   * @param mean
+   * @param p50
+   * @param p90
+   * @param p99
+   */
+  public record LatencySnapshot(
+      long count, long min, long max, double mean, long p50, long p90, long p99) {
+
+    private String toTsv() {
+      return String.join(
+          "\t",
+          String.valueOf(Math.round(mean / 1000)),
+          String.valueOf(p50 / 1000),
+          String.valueOf(p99 / 1000),
+          String.valueOf(max / 1000));
+    }
+  }
+}
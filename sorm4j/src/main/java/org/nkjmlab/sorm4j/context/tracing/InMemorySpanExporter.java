@@ -0,0 +1,30 @@
+package org.nkjmlab.sorm4j.context.tracing;
+
+import java.util.List;
+
+import org.nkjmlab.sorm4j.context.tracing.SormTracer.Span;
+import org.nkjmlab.sorm4j.internal.context.tracing.InMemorySpanExporterImpl;
+
+/** An exporter which keeps the recent spans in a ring buffer, mainly for tests. */
+public interface InMemorySpanExporter extends SpanExporter {
+
+  /**
+   * Creates an exporter which keeps the given number of the recent spans.
+   *
+   * @param capacity
+   * @return
+   */
+  static InMemorySpanExporter of(int capacity) {
+    return new InMemorySpanExporterImpl(capacity);
+  }
+
+  /**
+   * Returns the kept spans, the oldest first.
+   *
+   * @return
+   */
+  List<Span> getSpans();
+
+  /** Clears the kept spans. */
+  void reset();
+}
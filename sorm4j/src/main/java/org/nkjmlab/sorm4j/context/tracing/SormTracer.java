@@ -0,0 +1,170 @@
+package org.nkjmlab.sorm4j.context.tracing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
+
+/**
+ * Traces the database work of {@link org.nkjmlab.sorm4j.Sorm} as spans. A span is exported to the
+ * {@link SpanExporter} for each phase of a statement, that is acquiring the connection, preparing
+ * the statement, executing it and mapping the result. A batch or multi-row update is exported as
+ * one span.
+ *
+ * <p>The spans are linked to the parent {@link TraceContext} returned by the supplier set by {@link
+ * Builder#setParentSupplier(Supplier)}, e.g. {@code threadLocal::get}. The spans of a statement
+ * are siblings under the parent. If the supplier returns null, the spans of a statement share a new
+ * trace.
+ *
+ * <p>An instance is built by {@link #builder()} and set by {@link
+ * org.nkjmlab.sorm4j.context.SormContext.Builder#setTracer(SormTracer)}.
+ */
+public interface SormTracer {
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns whether the spans are exported.
+   *
+   * @return
+   */
+  boolean isEnabled();
+
+  /**
+   * Returns the exporter of the spans.
+   *
+   * @return
+   */
+  SpanExporter getExporter();
+
+  /** The phases traced as spans. */
+  enum SpanKind {
+    /** Getting a connection from the data source. */
+    ACQUIRE_CONNECTION,
+    /** Preparing a statement and setting the parameters. */
+    PREPARE,
+    /** Executing a statement in the driver. */
+    EXECUTE,
+    /**
+     * Fetching the rows from the result set and mapping them to objects. The rows are fetched by
+     * the driver during the mapping, so both are counted together.
+     */
+    MAP,
+    /**
+     * Preparing and executing the statements of a batch or multi-row update. The statements are
+     * prepared and executed in turn, so the whole update is counted as one span.
+     */
+    MULTI_ROW_UPDATE
+  }
+
+  /**
+   * The context to which the spans are linked.
+   *
+   * @param traceId
+   * @param spanId the parent span id. null if the spans have no parent.
+   */
+  record TraceContext(String traceId, String spanId) {
+
+    /**
+     * Creates a context of a new trace without a parent span.
+     *
+     * @return
+     */
+    public static TraceContext newTrace() {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      return new TraceContext(toHex(random.nextLong()) + toHex(random.nextLong()), null);
+    }
+
+    /**
+     * Creates a new span id.
+     *
+     * @return
+     */
+    public static String newSpanId() {
+      return toHex(ThreadLocalRandom.current().nextLong());
+    }
+
+    private static String toHex(long value) {
+      String hex = Long.toHexString(value);
+      return hex.length() == 16 ? hex : "0".repeat(16 - hex.length()) + hex;
+    }
+  }
+
+  /**
+   * A finished span.
+   *
+   * @param traceId
+   * @param spanId
+   * @param parentSpanId null if the span has no parent.
+   * @param kind
+   * @param startTime
+   * @param duration
+   * @param sql null for {@link SpanKind#ACQUIRE_CONNECTION}
+   * @param rows the number of the mapped rows for {@link SpanKind#MAP}, otherwise 0.
+   * @param error null if the phase succeeded.
+   */
+  record Span(
+      String traceId,
+      String spanId,
+      String parentSpanId,
+      SpanKind kind,
+      Instant startTime,
+      Duration duration,
+      String sql,
+      long rows,
+      Throwable error) {
+
+    /**
+     * Returns the name of the span, e.g. {@code sorm4j.execute}.
+     *
+     * @return
+     */
+    public String name() {
+      return "sorm4j." + kind.name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  public static class Builder {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private Supplier<TraceContext> parentSupplier = () -> null;
+    private SpanExporter exporter;
+
+    Builder() {}
+
+    public SormTracer build() {
+      return new SormTracerImpl(
+          parentSupplier, exporter != null ? exporter : InMemorySpanExporter.of(DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Sets the supplier of the parent context of the spans. The supplier is called on the thread
+     * executing the statement. The default supplier returns null.
+     *
+     * @param parentSupplier
+     * @return
+     */
+    public Builder setParentSupplier(Supplier<TraceContext> parentSupplier) {
+      this.parentSupplier = parentSupplier;
+      return this;
+    }
+
+    /**
+     * Sets the exporter of the spans. The default is an {@link InMemorySpanExporter} which keeps
+     * the recent 1024 spans.
+     *
+     * @param exporter
+     * @return
+     */
+    public Builder setExporter(SpanExporter exporter) {
+      this.exporter = exporter;
+      return this;
+    }
+  }
+}
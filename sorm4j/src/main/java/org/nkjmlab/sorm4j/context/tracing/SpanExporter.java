@@ -0,0 +1,13 @@
+package org.nkjmlab.sorm4j.context.tracing;
+
+import org.nkjmlab.sorm4j.context.tracing.SormTracer.Span;
+
+/**
+ * Exports finished spans, e.g. to a tracing system. The method is called on the thread executing
+ * the statement, so it should return quickly and should not throw exceptions.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+  void export(Span span);
+}
@@ -5,6 +5,7 @@ import static org.nkjmlab.sorm4j.sql.statement.SqlKeyword.JOIN;
 import static org.nkjmlab.sorm4j.sql.statement.SqlKeyword.LEFT;
 import static org.nkjmlab.sorm4j.sql.statement.SqlKeyword.ON;
 import static org.nkjmlab.sorm4j.sql.statement.SqlKeyword.SELECT;
+import static org.nkjmlab.sorm4j.sql.statement.SqlKeyword.WHERE;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -13,12 +14,18 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.nkjmlab.sorm4j.OrmConnection;
+import org.nkjmlab.sorm4j.OrmTransaction;
 import org.nkjmlab.sorm4j.common.container.RowMap;
 import org.nkjmlab.sorm4j.common.container.Tuple;
 import org.nkjmlab.sorm4j.common.container.Tuple.Tuple2;
@@ -28,17 +35,28 @@ import org.nkjmlab.sorm4j.common.handler.FunctionHandler;
 import org.nkjmlab.sorm4j.context.SormContext;
 import org.nkjmlab.sorm4j.context.logging.LogContext;
 import org.nkjmlab.sorm4j.context.logging.LogContext.Category;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer.SpanKind;
 import org.nkjmlab.sorm4j.internal.context.ColumnValueToJavaObjectConverters;
 import org.nkjmlab.sorm4j.internal.context.ColumnValueToMapValueConverters;
 import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
 import org.nkjmlab.sorm4j.internal.context.logging.LogPoint;
+import org.nkjmlab.sorm4j.internal.context.metrics.ConnectionTrackerImpl.TrackedConnection;
+import org.nkjmlab.sorm4j.internal.context.metrics.ExecutionRecorder;
+import org.nkjmlab.sorm4j.internal.context.metrics.RepeatedQueryDetector;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl.SpanRecorder;
+import org.nkjmlab.sorm4j.internal.jfr.QueryEvent;
+import org.nkjmlab.sorm4j.internal.jfr.UpdateEvent;
+import org.nkjmlab.sorm4j.internal.mapping.ContainerSnapshots;
 import org.nkjmlab.sorm4j.internal.mapping.ContainerToTableMapper;
+import org.nkjmlab.sorm4j.internal.mapping.RowMapParametersBinder;
 import org.nkjmlab.sorm4j.internal.mapping.result.ResultsToContainerMapper;
 import org.nkjmlab.sorm4j.internal.sql.metadata.TableMetaData;
 import org.nkjmlab.sorm4j.internal.sql.result.BasicRowMap;
 import org.nkjmlab.sorm4j.internal.sql.result.InsertResultImpl;
 import org.nkjmlab.sorm4j.internal.sql.result.ResultSetStreamOrmConnection;
+import org.nkjmlab.sorm4j.internal.sql.result.SyncResultImpl;
 import org.nkjmlab.sorm4j.internal.util.ParameterizedStringFormatter;
 import org.nkjmlab.sorm4j.mapping.ResultSetTraverser;
 import org.nkjmlab.sorm4j.mapping.RowMapper;
@@ -48,6 +66,9 @@ import org.nkjmlab.sorm4j.sql.metadata.jdbc.JdbcDatabaseMetaData;
 import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
 import org.nkjmlab.sorm4j.sql.result.InsertResult;
 import org.nkjmlab.sorm4j.sql.result.ResultSetStream;
+import org.nkjmlab.sorm4j.sql.result.SyncResult;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
+import org.nkjmlab.sorm4j.sql.statement.SelectSql;
 import org.nkjmlab.sorm4j.sql.statement.SqlStringUtils;
 import org.nkjmlab.sorm4j.table.orm.TableConnection;
 import org.nkjmlab.sorm4j.util.function.exception.Try;
@@ -64,10 +85,32 @@ public class OrmConnectionImpl implements OrmConnection {
 
   private static final Supplier<int[]> EMPTY_INT_SUPPLIER = () -> new int[0];
 
+  private static final int MAX_PARAMETERS_OF_SELECT_BY_PRIMARY_KEYS = 1000;
+
+  private static final int SYNC_DELETE_BATCH_SIZE = 1000;
+
   private final SormContextImpl sormContext;
 
   private final Connection connection;
 
+  /**
+   * The auto-commit mode of the connection tracked by this object. It is null until it is loaded
+   * from the connection. The mode should be changed via {@link #setAutoCommit(boolean)}.
+   */
+  private Boolean autoCommit;
+
+  /** Null if the N+1 query detection is disabled. */
+  private final RepeatedQueryDetector repeatedQueryDetector;
+
+  /**
+   * Objects of which the snapshots are refreshed by the writes not committed yet. Their snapshots
+   * are discarded on rollback. Null if there is no such object.
+   */
+  private List<Object> uncommittedSnapshotObjects;
+
+  /** Null if the connection is not tracked. */
+  private TrackedConnection trackedConnection;
+
   /**
    * Creates a instance that will use the default cache for table-object and column-object
    * sormConfig.
@@ -78,10 +121,17 @@ public class OrmConnectionImpl implements OrmConnection {
   public OrmConnectionImpl(Connection connection, SormContextImpl sormContext) {
     this.connection = connection;
     this.sormContext = sormContext;
+    this.repeatedQueryDetector =
+        sormContext.getRepeatedQueryThreshold() > 0
+            ? new RepeatedQueryDetector(
+                sormContext.getRepeatedQueryThreshold(),
+                sormContext.getLogContext().getLogger(RepeatedQueryDetector.class))
+            : null;
   }
 
   @Override
   public void close() {
+    invalidateUncommittedSnapshots();
     try {
       getJdbcConnection().close();
     } catch (SQLException e) {
@@ -89,12 +139,29 @@ public class OrmConnectionImpl implements OrmConnection {
           .getLogContext()
           .getLogger(OrmConnectionImpl.class)
           .warn("jdbc connection close error");
+    } finally {
+      if (trackedConnection != null) {
+        trackedConnection.close();
+        trackedConnection = null;
+      }
     }
   }
 
+  void setTrackedConnection(TrackedConnection trackedConnection) {
+    this.trackedConnection = trackedConnection;
+  }
+
   @Override
   public void commit() {
     Try.runOrThrow(() -> getJdbcConnection().commit(), Try::rethrow);
+    uncommittedSnapshotObjects = null;
+    resetRepeatedQueryDetector();
+  }
+
+  private void resetRepeatedQueryDetector() {
+    if (repeatedQueryDetector != null) {
+      repeatedQueryDetector.reset();
+    }
   }
 
   // private String createInsertSql(String tableName, List<String> cols) {
@@ -149,6 +216,11 @@ public class OrmConnectionImpl implements OrmConnection {
     return executeUpdate("DELETE FROM " + tableName);
   }
 
+  @Override
+  public int deleteWhereIn(String tableName, ConditionSql condition, Object... parameters) {
+    return executeUpdate("delete from " + tableName + WHERE + condition, parameters);
+  }
+
   @Override
   public <T> int deleteByPrimaryKey(Class<T> objectClass, Object... primaryKeyValues) {
     final String sql = getTableSql(objectClass).getDeleteSql();
@@ -200,7 +272,9 @@ public class OrmConnectionImpl implements OrmConnection {
       return notExists.get();
     }
     ContainerToTableMapper<T> mapping = getCastedTableMapping(tableName, objects[0].getClass());
-    return sqlFunction.apply(mapping);
+    return objects.length == 1
+        ? sqlFunction.apply(mapping)
+        : applyInTransactionIfAutoCommit(() -> sqlFunction.apply(mapping));
   }
 
   /**
@@ -212,7 +286,31 @@ public class OrmConnectionImpl implements OrmConnection {
       return notExists.get();
     }
     ContainerToTableMapper<T> mapping = getCastedTableMapping(objects[0].getClass());
-    return sqlFunction.apply(mapping);
+    return objects.length == 1
+        ? sqlFunction.apply(mapping)
+        : applyInTransactionIfAutoCommit(() -> sqlFunction.apply(mapping));
+  }
+
+  /**
+   * Applies the function which may execute several statements as one transaction. When the
+   * connection is not in auto-commit mode (e.g. in {@link OrmTransaction}), the function is just
+   * applied and the caller is responsible for commit or rollback.
+   */
+  private <R> R applyInTransactionIfAutoCommit(Supplier<R> sqlFunction) {
+    if (!getAutoCommit()) {
+      return sqlFunction.get();
+    }
+    setAutoCommit(false);
+    try {
+      R ret = sqlFunction.get();
+      commit();
+      return ret;
+    } catch (Throwable e) {
+      rollback();
+      throw Try.rethrow(e);
+    } finally {
+      setAutoCommit(true);
+    }
   }
 
   @Override
@@ -332,6 +430,14 @@ public class OrmConnectionImpl implements OrmConnection {
     return sormContext;
   }
 
+  public ExecutionRecorder getExecutionRecorder() {
+    return sormContext.getExecutionRecorder();
+  }
+
+  public SormTracerImpl getTracer() {
+    return sormContext.getTracer();
+  }
+
   @Override
   public JdbcDatabaseMetaData getJdbcDatabaseMetaData() {
     try {
@@ -412,14 +518,21 @@ public class OrmConnectionImpl implements OrmConnection {
   @Override
   public <T> int insert(T object) {
     ContainerToTableMapper<T> mapping = getCastedTableMapping(object.getClass());
-    return executeUpdate(mapping.getSql().getInsertSql(), mapping.getInsertParameters(object));
+    mapping.assignIds(getJdbcConnection(), object);
+    int ret = executeUpdate(mapping.getSql().getInsertSql(), mapping.getInsertParameters(object));
+    refreshWrittenSnapshot(mapping, true, object);
+    return ret;
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public <T> int[] insert(T... objects) {
     return execSqlIfParameterExists(
-        objects, mapping -> mapping.insert(getJdbcConnection(), objects), EMPTY_INT_SUPPLIER);
+        objects,
+        mapping ->
+            refreshWrittenSnapshots(
+                mapping, true, objects, mapping.insert(getJdbcConnection(), objects)),
+        EMPTY_INT_SUPPLIER);
   }
 
   @Override
@@ -430,7 +543,9 @@ public class OrmConnectionImpl implements OrmConnection {
   @Override
   public <T> InsertResult insertAndGet(T object) {
     ContainerToTableMapper<T> mapping = getCastedTableMapping(object.getClass());
-    return mapping.insertAndGet(getJdbcConnection(), object);
+    InsertResult ret = mapping.insertAndGet(getJdbcConnection(), object);
+    refreshWrittenSnapshot(mapping, true, object);
+    return ret;
   }
 
   @Override
@@ -438,7 +553,9 @@ public class OrmConnectionImpl implements OrmConnection {
   public <T> InsertResult insertAndGet(T... objects) {
     return execSqlIfParameterExists(
         objects,
-        mapping -> mapping.insertAndGet(getJdbcConnection(), objects),
+        mapping ->
+            refreshWrittenSnapshots(
+                mapping, true, objects, mapping.insertAndGet(getJdbcConnection(), objects)),
         () -> InsertResultImpl.EMPTY_INSERT_RESULT);
   }
 
@@ -450,7 +567,9 @@ public class OrmConnectionImpl implements OrmConnection {
   @Override
   public <T> InsertResult insertAndGetIn(String tableName, T object) {
     ContainerToTableMapper<T> mapping = getCastedTableMapping(tableName, object.getClass());
-    return mapping.insertAndGet(getJdbcConnection(), object);
+    InsertResult ret = mapping.insertAndGet(getJdbcConnection(), object);
+    refreshWrittenSnapshot(mapping, false, object);
+    return ret;
   }
 
   @Override
@@ -459,7 +578,9 @@ public class OrmConnectionImpl implements OrmConnection {
     return execSqlIfParameterExists(
         tableName,
         objects,
-        mapping -> mapping.insertAndGet(getJdbcConnection(), objects),
+        mapping ->
+            refreshWrittenSnapshots(
+                mapping, false, objects, mapping.insertAndGet(getJdbcConnection(), objects)),
         () -> InsertResultImpl.EMPTY_INSERT_RESULT);
   }
 
@@ -471,7 +592,10 @@ public class OrmConnectionImpl implements OrmConnection {
   @Override
   public <T> int insertInto(String tableName, T object) {
     ContainerToTableMapper<T> mapping = getCastedTableMapping(tableName, object.getClass());
-    return executeUpdate(mapping.getSql().getInsertSql(), mapping.getInsertParameters(object));
+    mapping.assignIds(getJdbcConnection(), object);
+    int ret = executeUpdate(mapping.getSql().getInsertSql(), mapping.getInsertParameters(object));
+    refreshWrittenSnapshot(mapping, false, object);
+    return ret;
   }
 
   @Override
@@ -480,34 +604,33 @@ public class OrmConnectionImpl implements OrmConnection {
     return execSqlIfParameterExists(
         tableName,
         objects,
-        mapping -> mapping.insert(getJdbcConnection(), objects),
+        mapping ->
+            refreshWrittenSnapshots(
+                mapping, false, objects, mapping.insert(getJdbcConnection(), objects)),
         EMPTY_INT_SUPPLIER);
   }
 
   @Override
   public int[] insertMapInto(String tableName, List<RowMap> objects) {
-    boolean origAutoCommit = getAutoCommit(connection);
-    try {
-      setAutoCommit(connection, false);
-      int[] ret = objects.stream().mapToInt(o -> insertMapInto(tableName, o)).toArray();
-      setAutoCommit(connection, true);
-      commit();
-      return ret;
-    } finally {
-      commitOrRollback(connection, origAutoCommit);
-      setAutoCommit(origAutoCommit);
+    if (objects.isEmpty()) {
+      return EMPTY_INT_SUPPLIER.get();
     }
+    ContainerToTableMapper<RowMap> mapping = getCastedTableMapping(tableName, RowMap.class);
+    RowMapParametersBinder binder = createRowMapParametersBinder(mapping);
+    return applyInTransactionIfAutoCommit(
+        () -> mapping.insert(connection, binder::bind, objects.toArray(RowMap[]::new)));
   }
 
   @Override
   public int insertMapInto(String tableName, RowMap object) {
-    String sql = getTableSql(tableName).getInsertSql();
-    return executeUpdate(sql, toInsertParameters(tableName, object));
+    ContainerToTableMapper<RowMap> mapping = getCastedTableMapping(tableName, RowMap.class);
+    return executeUpdate(
+        mapping.getSql().getInsertSql(), createRowMapParametersBinder(mapping).bind(object));
   }
 
-  private Object[] toInsertParameters(String tableName, RowMap object) {
-    List<String> cols = getTableMetaData(tableName).getNotAutoGeneratedColumns();
-    return cols.stream().map(col -> object.get(col)).toArray();
+  private static RowMapParametersBinder createRowMapParametersBinder(
+      ContainerToTableMapper<RowMap> mapping) {
+    return new RowMapParametersBinder(mapping.getTableMetaData().getNotAutoGeneratedColumns());
   }
 
   @Override
@@ -649,14 +772,21 @@ public class OrmConnectionImpl implements OrmConnection {
   @Override
   public <T> int merge(T object) {
     ContainerToTableMapper<T> mapping = getCastedTableMapping(object.getClass());
-    return executeUpdate(mapping.getSql().getMergeSql(), mapping.getMergeParameters(object));
+    mapping.assignIds(getJdbcConnection(), object);
+    int ret = executeUpdate(mapping.getSql().getMergeSql(), mapping.getMergeParameters(object));
+    refreshWrittenSnapshot(mapping, true, object);
+    return ret;
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public <T> int[] merge(T... objects) {
     return execSqlIfParameterExists(
-        objects, mapping -> mapping.merge(getJdbcConnection(), objects), EMPTY_INT_SUPPLIER);
+        objects,
+        mapping ->
+            refreshWrittenSnapshots(
+                mapping, true, objects, mapping.merge(getJdbcConnection(), objects)),
+        EMPTY_INT_SUPPLIER);
   }
 
   @Override
@@ -667,7 +797,10 @@ public class OrmConnectionImpl implements OrmConnection {
   @Override
   public <T> int mergeIn(String tableName, T object) {
     ContainerToTableMapper<T> mapping = getCastedTableMapping(tableName, object.getClass());
-    return executeUpdate(mapping.getSql().getMergeSql(), mapping.getMergeParameters(object));
+    mapping.assignIds(getJdbcConnection(), object);
+    int ret = executeUpdate(mapping.getSql().getMergeSql(), mapping.getMergeParameters(object));
+    refreshWrittenSnapshot(mapping, false, object);
+    return ret;
   }
 
   @Override
@@ -676,7 +809,9 @@ public class OrmConnectionImpl implements OrmConnection {
     return execSqlIfParameterExists(
         tableName,
         objects,
-        mapping -> mapping.merge(getJdbcConnection(), objects),
+        mapping ->
+            refreshWrittenSnapshots(
+                mapping, false, objects, mapping.merge(getJdbcConnection(), objects)),
         EMPTY_INT_SUPPLIER);
   }
 
@@ -834,7 +969,10 @@ public class OrmConnectionImpl implements OrmConnection {
       getJdbcConnection().rollback();
     } catch (SQLException e) {
       throw Try.rethrow(e);
+    } finally {
+      invalidateUncommittedSnapshots();
     }
+    resetRepeatedQueryDetector();
   }
 
   @Override
@@ -860,15 +998,92 @@ public class OrmConnectionImpl implements OrmConnection {
         });
   }
 
+  /**
+   * The keys are split into chunks so that a statement does not have too many parameters. The rows
+   * are matched with the keys by a hash lookup of the primary key values, where the integral values
+   * are compared as long values.
+   */
+  @Override
+  public <T> List<T> selectListByPrimaryKeys(
+      Class<T> objectClass, List<Object[]> primaryKeyValuesList) {
+    ContainerToTableMapper<T> mapping = getCastedTableMapping(objectClass);
+    TableMetaData tableMetaData = mapping.getTableMetaData();
+    if (!tableMetaData.hasPrimaryKey()) {
+      throw new SormException(
+          "This opperation requiers primary keys but Table ["
+              + tableMetaData.getTableName()
+              + "] doesn't have them.");
+    }
+    List<String> primaryKeys = tableMetaData.getPrimaryKeys();
+    List<List<Object>> keys =
+        primaryKeyValuesList.stream().map(OrmConnectionImpl::toPrimaryKey).distinct().toList();
+
+    Map<List<Object>, T> rows = new HashMap<>(keys.size() * 4 / 3 + 1);
+    int chunkSize = Math.max(1, MAX_PARAMETERS_OF_SELECT_BY_PRIMARY_KEYS / primaryKeys.size());
+    for (int from = 0; from < keys.size(); from += chunkSize) {
+      List<List<Object>> chunk = keys.subList(from, Math.min(keys.size(), from + chunkSize));
+      String condition =
+          primaryKeys.size() == 1
+              ? primaryKeys.get(0)
+                  + " in ("
+                  + String.join(", ", Collections.nCopies(chunk.size(), "?"))
+                  + ")"
+              : String.join(
+                  " or ",
+                  Collections.nCopies(
+                      chunk.size(), "(" + String.join("=? and ", primaryKeys) + "=?)"));
+      Object[] parameters = chunk.stream().flatMap(List::stream).toArray();
+      readList(
+              objectClass,
+              SelectSql.selectStarFrom(tableMetaData.getTableName()) + WHERE + condition,
+              parameters)
+          .forEach(row -> rows.put(toPrimaryKey(mapping.getPrimaryKeyParameters(row)), row));
+    }
+    List<T> ret = new ArrayList<>(primaryKeyValuesList.size());
+    primaryKeyValuesList.forEach(values -> ret.add(rows.get(toPrimaryKey(values))));
+    return ret;
+  }
+
+  private static List<Object> toPrimaryKey(Object[] primaryKeyValues) {
+    Object[] ret = new Object[primaryKeyValues.length];
+    for (int i = 0; i < ret.length; i++) {
+      Object v = primaryKeyValues[i];
+      ret[i] =
+          v instanceof Integer || v instanceof Short || v instanceof Byte
+              ? Long.valueOf(((Number) v).longValue())
+              : v;
+    }
+    return Arrays.asList(ret);
+  }
+
   @Override
   public void setAutoCommit(boolean autoCommit) {
+    if (this.autoCommit != null && this.autoCommit == autoCommit) {
+      return;
+    }
     try {
       getJdbcConnection().setAutoCommit(autoCommit);
+      this.autoCommit = autoCommit;
+      if (autoCommit) {
+        // The transaction is committed when the auto-commit mode is turned on.
+        uncommittedSnapshotObjects = null;
+      }
     } catch (SQLException e) {
       throw Try.rethrow(e);
     }
   }
 
+  private boolean getAutoCommit() {
+    if (autoCommit == null) {
+      try {
+        autoCommit = getJdbcConnection().getAutoCommit();
+      } catch (SQLException e) {
+        throw Try.rethrow(e);
+      }
+    }
+    return autoCommit;
+  }
+
   /**
    * Converts the result from database to a {@link RowMap} objects. The data of the column is
    * extracted by corresponding column types.
@@ -940,8 +1155,171 @@ public class OrmConnectionImpl implements OrmConnection {
    */
   @Override
   public <T> int update(T object) {
-    ContainerToTableMapper<T> mapping = getCastedTableMapping(object.getClass());
-    return executeUpdate(mapping.getSql().getUpdateSql(), mapping.getUpdateParameters(object));
+    return updateObject(getCastedTableMapping(object.getClass()), true, object);
+  }
+
+  /**
+   * Updates an object. When change tracking is enabled, only the columns changed from the snapshot
+   * are written.
+   *
+   * @param mapping
+   * @param loadedFromTable true if the table of the mapping is the one mapped to the class of the
+   *     object.
+   * @param object
+   * @return
+   */
+  private <T> int updateObject(
+      ContainerToTableMapper<T> mapping, boolean loadedFromTable, T object) {
+    List<String> dirtyColumns = getDirtyColumns(mapping, loadedFromTable, object);
+    if (dirtyColumns == null) {
+      int ret = executeUpdate(mapping.getSql().getUpdateSql(), mapping.getUpdateParameters(object));
+      refreshSnapshot(mapping, loadedFromTable, null, object);
+      return ret;
+    }
+    if (dirtyColumns.isEmpty()) {
+      return 0;
+    }
+    int ret =
+        executeUpdate(
+            mapping.getSql().getUpdateSql(dirtyColumns),
+            mapping.getUpdateParameters(object, dirtyColumns));
+    refreshSnapshot(mapping, loadedFromTable, dirtyColumns, object);
+    return ret;
+  }
+
+  /**
+   * Updates the objects by batch. When change tracking is enabled, the objects are grouped by the
+   * set of changed columns and each group is updated by the same statement.
+   */
+  private <T> int[] updateObjects(
+      ContainerToTableMapper<T> mapping, boolean loadedFromTable, T[] objects) {
+    ContainerSnapshots snapshots = sormContext.getContainerSnapshots();
+    if (snapshots == null) {
+      return mapping.batch(
+          connection,
+          mapping.getSql().getUpdateSql(),
+          obj -> mapping.getUpdateParameters(obj),
+          objects);
+    }
+    List<String> allColumns = mapping.getTableMetaData().getNotPrimaryKeys();
+    Map<List<String>, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < objects.length; i++) {
+      List<String> dirtyColumns = getDirtyColumns(mapping, loadedFromTable, objects[i]);
+      dirtyColumns = dirtyColumns == null ? allColumns : dirtyColumns;
+      if (!dirtyColumns.isEmpty()) {
+        groups.computeIfAbsent(dirtyColumns, k -> new ArrayList<>()).add(i);
+      }
+    }
+    int[] ret = new int[objects.length];
+    groups.forEach(
+        (columns, indexes) -> {
+          T[] group = Arrays.copyOf(objects, indexes.size());
+          for (int i = 0; i < group.length; i++) {
+            group[i] = objects[indexes.get(i)];
+          }
+          int[] result =
+              mapping.batch(
+                  connection,
+                  mapping.getSql().getUpdateSql(columns),
+                  obj -> mapping.getUpdateParameters(obj, columns),
+                  group);
+          for (int i = 0; i < group.length; i++) {
+            ret[indexes.get(i)] = result[i];
+            refreshSnapshot(mapping, loadedFromTable, columns, group[i]);
+          }
+        });
+    return ret;
+  }
+
+  /**
+   * Gets the columns changed from the snapshot.
+   *
+   * @return null if change tracking is not enabled or the object has no snapshot.
+   */
+  private <T> List<String> getDirtyColumns(
+      ContainerToTableMapper<T> mapping, boolean loadedFromTable, T object) {
+    ContainerSnapshots snapshots = sormContext.getContainerSnapshots();
+    if (snapshots == null) {
+      return null;
+    }
+    List<String> columns = mapping.getTableMetaData().getNotPrimaryKeys();
+    return snapshots.getDirtyColumns(
+        mapping.getTableMetaData().getTableName(),
+        loadedFromTable,
+        columns,
+        mapping.getParameters(object, columns),
+        object);
+  }
+
+  /**
+   * Refreshes the snapshot of the object with the written columns. If the connection is not in
+   * auto-commit mode, the snapshot is discarded when the transaction is rolled back.
+   *
+   * @param mapping
+   * @param loadedFromTable
+   * @param columns written columns. null means all the columns except the primary keys.
+   * @param object
+   */
+  private <T> void refreshSnapshot(
+      ContainerToTableMapper<T> mapping, boolean loadedFromTable, List<String> columns, T object) {
+    ContainerSnapshots snapshots = sormContext.getContainerSnapshots();
+    if (snapshots == null) {
+      return;
+    }
+    List<String> cols = columns == null ? mapping.getTableMetaData().getNotPrimaryKeys() : columns;
+    snapshots.refresh(
+        mapping.getTableMetaData().getTableName(),
+        loadedFromTable,
+        cols,
+        mapping.getParameters(object, cols),
+        object);
+    if (!getAutoCommit()) {
+      if (uncommittedSnapshotObjects == null) {
+        uncommittedSnapshotObjects = new ArrayList<>();
+      }
+      uncommittedSnapshotObjects.add(object);
+    }
+  }
+
+  /**
+   * Refreshes the snapshot of the inserted or merged object with the columns not generated by the
+   * database.
+   */
+  private <T> void refreshWrittenSnapshot(
+      ContainerToTableMapper<T> mapping, boolean loadedFromTable, T object) {
+    if (sormContext.getContainerSnapshots() == null) {
+      return;
+    }
+    refreshSnapshot(
+        mapping, loadedFromTable, mapping.getTableMetaData().getNotAutoGeneratedColumns(), object);
+  }
+
+  private <T, R> R refreshWrittenSnapshots(
+      ContainerToTableMapper<T> mapping, boolean loadedFromTable, T[] objects, R result) {
+    for (T object : objects) {
+      refreshWrittenSnapshot(mapping, loadedFromTable, object);
+    }
+    return result;
+  }
+
+  /**
+   * Discards the snapshots of all the objects for the table. It is used after the rows of the table
+   * are updated without objects, because the updated rows are not known.
+   */
+  private void invalidateSnapshots(String tableName) {
+    ContainerSnapshots snapshots = sormContext.getContainerSnapshots();
+    if (snapshots == null) {
+      return;
+    }
+    snapshots.invalidateTable(getTableMetaData(tableName).getTableName());
+  }
+
+  private void invalidateUncommittedSnapshots() {
+    if (uncommittedSnapshotObjects == null) {
+      return;
+    }
+    uncommittedSnapshotObjects.forEach(sormContext.getContainerSnapshots()::invalidate);
+    uncommittedSnapshotObjects = null;
   }
 
   @Override
@@ -949,7 +1327,9 @@ public class OrmConnectionImpl implements OrmConnection {
     final String sql = getTableSql(clazz).getUpdateSql(object);
     List<Object> params = new ArrayList<>(object.values());
     params.addAll(Arrays.asList(primaryKeyValues));
-    return executeUpdate(sql, params.toArray());
+    int ret = executeUpdate(sql, params.toArray());
+    invalidateSnapshots(getTableName(clazz));
+    return ret;
   }
 
   @Override
@@ -957,21 +1337,27 @@ public class OrmConnectionImpl implements OrmConnection {
     final String sql = getTableSql(tableName).getUpdateSql(object);
     List<Object> params = new ArrayList<>(object.values());
     params.addAll(Arrays.asList(primaryKeyValues));
-    return executeUpdate(sql, params.toArray());
+    int ret = executeUpdate(sql, params.toArray());
+    invalidateSnapshots(tableName);
+    return ret;
+  }
+
+  @Override
+  public int updateWhereIn(
+      String tableName, RowMap setValues, ConditionSql condition, Object... parameters) {
+    final String sql = getTableSql(tableName).getUpdateSql(setValues, condition);
+    List<Object> params = new ArrayList<>(setValues.values());
+    params.addAll(Arrays.asList(parameters));
+    int ret = executeUpdate(sql, params.toArray());
+    invalidateSnapshots(tableName);
+    return ret;
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public <T> int[] update(T... objects) {
     return execSqlIfParameterExists(
-        objects,
-        mapping ->
-            mapping.batch(
-                connection,
-                mapping.getSql().getUpdateSql(),
-                obj -> mapping.getUpdateParameters(obj),
-                objects),
-        EMPTY_INT_SUPPLIER);
+        objects, mapping -> updateObjects(mapping, true, objects), EMPTY_INT_SUPPLIER);
   }
 
   @Override
@@ -981,23 +1367,88 @@ public class OrmConnectionImpl implements OrmConnection {
 
   @Override
   public <T> int updateWith(String tableName, T object) {
-    ContainerToTableMapper<T> mapping = getCastedTableMapping(tableName, object.getClass());
-    return executeUpdate(mapping.getSql().getUpdateSql(), mapping.getUpdateParameters(object));
+    return updateObject(getCastedTableMapping(tableName, object.getClass()), false, object);
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public <T> int[] updateWith(String tableName, T... objects) {
     return execSqlIfParameterExists(
-        tableName,
-        objects,
-        mapping ->
-            mapping.batch(
-                connection,
-                mapping.getSql().getUpdateSql(),
-                obj -> mapping.getUpdateParameters(obj),
-                objects),
-        EMPTY_INT_SUPPLIER);
+        tableName, objects, mapping -> updateObjects(mapping, false, objects), EMPTY_INT_SUPPLIER);
+  }
+
+  @Override
+  public <T> SyncResult syncIn(String tableName, Class<T> objectClass, Collection<T> objects) {
+    return syncIn(tableName, objectClass, objects, null);
+  }
+
+  /**
+   * The existing rows are streamed and each row is matched with the objects by a hash lookup of the
+   * primary key values, so the rows are not ordered. The rows to be deleted are deleted while
+   * streaming in batches of {@value #SYNC_DELETE_BATCH_SIZE} rows.
+   */
+  @Override
+  public <T> SyncResult syncIn(
+      String tableName, Class<T> objectClass, Collection<T> objects, ConditionSql condition) {
+    ContainerToTableMapper<T> mapping = getCastedTableMapping(tableName, objectClass);
+    TableMetaData tableMetaData = mapping.getTableMetaData();
+    if (!tableMetaData.hasPrimaryKey()) {
+      throw new SormException(
+          "This opperation requiers primary keys but Table ["
+              + tableMetaData.getTableName()
+              + "] doesn't have them.");
+    }
+    List<String> columns = tableMetaData.getColumnsForUpdate();
+
+    Map<List<Object>, T> notSynced = new LinkedHashMap<>(objects.size() * 4 / 3 + 1);
+    for (T object : objects) {
+      if (notSynced.put(Arrays.asList(mapping.getPrimaryKeyParameters(object)), object) != null) {
+        Object[] params = {Arrays.toString(mapping.getPrimaryKeyParameters(object))};
+        throw new SormException(
+            ParameterizedStringFormatter.LENGTH_256.format(
+                "Objects should have unique primary keys but [{}] is duplicated.", params));
+      }
+    }
+
+    String sql =
+        SelectSql.selectStarFrom(tableMetaData.getTableName())
+            + (condition == null ? "" : WHERE + condition);
+
+    return applyInTransactionIfAutoCommit(
+        () -> {
+          List<T> updates = new ArrayList<>();
+          List<T> deletes = new ArrayList<>(SYNC_DELETE_BATCH_SIZE);
+          int[] deleted = {0};
+          stream(objectClass, sql)
+              .accept(
+                  rows ->
+                      rows.forEach(
+                          row -> {
+                            T object =
+                                notSynced.remove(
+                                    Arrays.asList(mapping.getPrimaryKeyParameters(row)));
+                            if (object == null) {
+                              deletes.add(row);
+                              if (deletes.size() == SYNC_DELETE_BATCH_SIZE) {
+                                deleted[0] += sum(deleteIn(tableName, deletes));
+                                deletes.clear();
+                              }
+                            } else if (!Arrays.deepEquals(
+                                mapping.getParameters(row, columns),
+                                mapping.getParameters(object, columns))) {
+                              updates.add(object);
+                            }
+                          }));
+          List<T> inserts = new ArrayList<>(notSynced.values());
+          deleted[0] += sum(deleteIn(tableName, deletes));
+          int updated = sum(updateWith(tableName, updates));
+          int inserted = sum(insertInto(tableName, inserts));
+          return new SyncResultImpl(inserted, updated, deleted[0]);
+        });
+  }
+
+  private static int sum(int[] rowsModified) {
+    return Arrays.stream(rowsModified).sum();
   }
 
   @SuppressWarnings("unchecked")
@@ -1017,23 +1468,27 @@ public class OrmConnectionImpl implements OrmConnection {
     }
   }
 
-  private static <R> boolean executeAndClose(
+  private <R> boolean executeAndClose(
       LogContext loggerContext,
       Connection connection,
       PreparedStatementSupplier statementSupplier,
       SqlParametersSetter sqlParametersSetter,
       String sql,
       Object[] parameters) {
+    SpanRecorder span = getTracer().start(SpanKind.PREPARE, sql);
     try (PreparedStatement stmt = statementSupplier.prepareStatement(connection, sql)) {
       sqlParametersSetter.setParameters(stmt, parameters);
+      span.next(SpanKind.EXECUTE);
       boolean ret = stmt.execute();
+      span.end(0);
       return ret;
-    } catch (SQLException e) {
+    } catch (SQLException | RuntimeException e) {
+      span.fail(e);
       throw Try.rethrow(e);
     }
   }
 
-  private static <R> R executeQueryAndClose(
+  private <R> R executeQueryAndClose(
       LogContext loggerContext,
       Connection connection,
       PreparedStatementSupplier statementSupplier,
@@ -1044,18 +1499,36 @@ public class OrmConnectionImpl implements OrmConnection {
     Optional<LogPoint> lp =
         loggerContext.createLogPoint(Category.EXECUTE_QUERY, OrmConnectionImpl.class);
     lp.ifPresent(_lp -> _lp.logBeforeSql(connection, sql, parameters));
+    QueryEvent event = new QueryEvent();
+    event.start();
+    ExecutionRecorder recorder = sormContext.getExecutionRecorder();
+    long startNanos = recorder.nanoTime();
+    SpanRecorder span = getTracer().start(SpanKind.PREPARE, sql);
     try (PreparedStatement stmt = statementSupplier.prepareStatement(connection, sql)) {
       sqlParametersSetter.setParameters(stmt, parameters);
+      span.next(SpanKind.EXECUTE);
       ResultSet resultSet = stmt.executeQuery();
+      event.endJdbc();
+      long jdbcEndNanos = recorder.nanoTime();
+      span.next(SpanKind.MAP);
       R ret = resultSetTraverser.traverseAndMap(resultSet);
       lp.ifPresent(_lp -> _lp.logAfterQuery(ret));
+      int rows = ret instanceof Collection ? ((Collection<?>) ret).size() : 1;
+      span.end(rows);
+      event.commit(connection, sql, rows);
+      recorder.record(Category.EXECUTE_QUERY, sql, parameters, rows, startNanos, jdbcEndNanos);
+      if (repeatedQueryDetector != null) {
+        repeatedQueryDetector.count(sql);
+      }
       return ret;
-    } catch (SQLException e) {
+    } catch (SQLException | RuntimeException e) {
+      span.fail(e);
+      recorder.recordError(Category.EXECUTE_QUERY, sql);
       throw Try.rethrow(e);
     }
   }
 
-  private static int executeUpdateAndClose(
+  private int executeUpdateAndClose(
       LogContext loggerContext,
       Connection connection,
       SqlParametersSetter sqlParametersSetter,
@@ -1065,12 +1538,24 @@ public class OrmConnectionImpl implements OrmConnection {
     Optional<LogPoint> lp =
         loggerContext.createLogPoint(Category.EXECUTE_UPDATE, OrmConnectionImpl.class);
     lp.ifPresent(_lp -> _lp.logBeforeSql(connection, sql, parameters));
+    UpdateEvent event = new UpdateEvent();
+    event.start();
+    ExecutionRecorder recorder = sormContext.getExecutionRecorder();
+    long startNanos = recorder.nanoTime();
+    SpanRecorder span = getTracer().start(SpanKind.PREPARE, sql);
     try (PreparedStatement stmt = statementSupplier.prepareStatement(connection, sql)) {
       sqlParametersSetter.setParameters(stmt, parameters);
+      span.next(SpanKind.EXECUTE);
       int ret = stmt.executeUpdate();
+      span.end(0);
       lp.ifPresent(_lp -> _lp.logAfterUpdate(ret));
+      event.commit(connection, sql, ret);
+      long endNanos = recorder.nanoTime();
+      recorder.record(Category.EXECUTE_UPDATE, sql, parameters, ret, startNanos, endNanos);
       return ret;
-    } catch (SQLException e) {
+    } catch (SQLException | RuntimeException e) {
+      span.fail(e);
+      recorder.recordError(Category.EXECUTE_UPDATE, sql);
       throw Try.rethrow(e);
     }
   }
@@ -1088,34 +1573,6 @@ public class OrmConnectionImpl implements OrmConnection {
     return metaData.getColumnType(1);
   }
 
-  public static boolean getAutoCommit(Connection connection) {
-    try {
-      return connection.getAutoCommit();
-    } catch (SQLException e) {
-      throw Try.rethrow(e);
-    }
-  }
-
-  public static void commitOrRollback(Connection connection, boolean origAutoCommit) {
-    try {
-      if (origAutoCommit) {
-        connection.commit();
-      } else {
-        connection.rollback();
-      }
-    } catch (SQLException e) {
-      throw Try.rethrow(e);
-    }
-  }
-
-  public static void setAutoCommit(Connection connection, boolean autoCommit) {
-    try {
-      connection.setAutoCommit(autoCommit);
-    } catch (SQLException e) {
-      throw Try.rethrow(e);
-    }
-  }
-
   public static class ColumnsAndTypes {
 
     public static ColumnsAndTypes createColumnsAndTypes(ResultSet resultSet) throws SQLException {
@@ -1,5 +1,8 @@
 package org.nkjmlab.sorm4j.internal;
 
+import java.util.Map;
+
+import org.nkjmlab.sorm4j.context.IdGenerator;
 import org.nkjmlab.sorm4j.context.MultiRowProcessorFactory;
 import org.nkjmlab.sorm4j.context.TableNameMapper;
 import org.nkjmlab.sorm4j.context.logging.LogContext;
@@ -11,6 +14,9 @@ import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
 import org.nkjmlab.sorm4j.internal.context.TableMetaDataParser;
 import org.nkjmlab.sorm4j.internal.context.TableSqlFactory;
 import org.nkjmlab.sorm4j.internal.context.impl.DefaultTableMetaDataParser;
+import org.nkjmlab.sorm4j.internal.context.metrics.ConnectionTrackerImpl;
+import org.nkjmlab.sorm4j.internal.context.metrics.SlowQueryLogImpl;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
 
 final class SormConfig {
 
@@ -23,6 +29,13 @@ final class SormConfig {
   private final PreparedStatementSupplier preparedStatementSupplier;
   private final LogContext loggerContext;
   private final TableSqlFactory tableSqlFactory;
+  private final boolean changeTrackingEnabled;
+  private final boolean metricsEnabled;
+  private final SlowQueryLogImpl slowQueryLog;
+  private final int repeatedQueryThreshold;
+  private final ConnectionTrackerImpl connectionTracker;
+  private final SormTracerImpl tracer;
+  private final Map<String, IdGenerator> idGenerators;
   private final TableMetaDataParser tableMetaDataReader = new DefaultTableMetaDataParser();
 
   SormConfig(
@@ -34,7 +47,14 @@ final class SormConfig {
       SqlParametersSetter sqlParametersSetter,
       PreparedStatementSupplier preparedStatementSupplier,
       TableSqlFactory tableSqlFactory,
-      MultiRowProcessorFactory multiRowProcessorFactory) {
+      MultiRowProcessorFactory multiRowProcessorFactory,
+      boolean changeTrackingEnabled,
+      boolean metricsEnabled,
+      SlowQueryLogImpl slowQueryLog,
+      int repeatedQueryThreshold,
+      ConnectionTrackerImpl connectionTracker,
+      SormTracerImpl tracer,
+      Map<String, IdGenerator> idGenerators) {
     this.loggerContext = loggerContext;
     this.tableNameMapper = tableNameMapper;
     this.columnFieldMapper = columnFieldMapper;
@@ -44,6 +64,41 @@ final class SormConfig {
     this.sqlParametersSetter = sqlParametersSetter;
     this.preparedStatementSupplier = preparedStatementSupplier;
     this.tableSqlFactory = tableSqlFactory;
+    this.changeTrackingEnabled = changeTrackingEnabled;
+    this.metricsEnabled = metricsEnabled;
+    this.slowQueryLog = slowQueryLog;
+    this.repeatedQueryThreshold = repeatedQueryThreshold;
+    this.connectionTracker = connectionTracker;
+    this.tracer = tracer;
+    this.idGenerators = idGenerators;
+  }
+
+  boolean isChangeTrackingEnabled() {
+    return changeTrackingEnabled;
+  }
+
+  boolean isMetricsEnabled() {
+    return metricsEnabled;
+  }
+
+  SlowQueryLogImpl getSlowQueryLog() {
+    return slowQueryLog;
+  }
+
+  int getRepeatedQueryThreshold() {
+    return repeatedQueryThreshold;
+  }
+
+  ConnectionTrackerImpl getConnectionTracker() {
+    return connectionTracker;
+  }
+
+  SormTracerImpl getTracer() {
+    return tracer;
+  }
+
+  Map<String, IdGenerator> getIdGenerators() {
+    return idGenerators;
   }
 
   TableMetaDataParser getTableMetaDataReader() {
@@ -104,6 +159,20 @@ final class SormConfig {
         + loggerContext
         + ", tableSqlFactory="
         + tableSqlFactory
+        + ", changeTrackingEnabled="
+        + changeTrackingEnabled
+        + ", metricsEnabled="
+        + metricsEnabled
+        + ", slowQueryLog="
+        + slowQueryLog
+        + ", repeatedQueryThreshold="
+        + repeatedQueryThreshold
+        + ", connectionTracker="
+        + connectionTracker
+        + ", tracer="
+        + tracer
+        + ", idGenerators="
+        + idGenerators
         + "]";
   }
 }
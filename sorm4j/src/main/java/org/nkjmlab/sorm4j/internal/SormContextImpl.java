@@ -2,17 +2,22 @@ package org.nkjmlab.sorm4j.internal;
 
 import static java.lang.System.lineSeparator;
 
+import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
+import org.nkjmlab.sorm4j.common.exception.SormException;
+import org.nkjmlab.sorm4j.context.IdGenerator;
 import org.nkjmlab.sorm4j.context.MultiRowProcessorFactory;
 import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.SqlDialect;
 import org.nkjmlab.sorm4j.context.TableNameMapper;
 import org.nkjmlab.sorm4j.context.logging.LogContext;
 import org.nkjmlab.sorm4j.internal.context.ColumnToFieldAccessorMapper;
@@ -20,36 +25,64 @@ import org.nkjmlab.sorm4j.internal.context.ColumnValueToJavaObjectConverters;
 import org.nkjmlab.sorm4j.internal.context.ColumnValueToMapValueConverters;
 import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
+import org.nkjmlab.sorm4j.internal.context.TableMetaDataParser;
 import org.nkjmlab.sorm4j.internal.context.TableSqlFactory;
+import org.nkjmlab.sorm4j.internal.context.common.ParsedTableMetaData;
 import org.nkjmlab.sorm4j.internal.context.common.TableMetaDataImpl;
+import org.nkjmlab.sorm4j.internal.context.impl.ContainerAccessor;
+import org.nkjmlab.sorm4j.internal.context.metrics.ConnectionTrackerImpl;
+import org.nkjmlab.sorm4j.internal.context.metrics.ExecutionRecorder;
+import org.nkjmlab.sorm4j.internal.context.metrics.SlowQueryLogImpl;
+import org.nkjmlab.sorm4j.internal.context.metrics.SormMetricsImpl;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
+import org.nkjmlab.sorm4j.internal.jfr.MappingEvent;
 import org.nkjmlab.sorm4j.internal.mapping.ColumnToAccessorMapping;
+import org.nkjmlab.sorm4j.internal.mapping.ContainerSnapshots;
 import org.nkjmlab.sorm4j.internal.mapping.ContainerToTableMapper;
+import org.nkjmlab.sorm4j.internal.mapping.GeneratedIdAssigner;
 import org.nkjmlab.sorm4j.internal.mapping.result.ResultsToContainerMapper;
 import org.nkjmlab.sorm4j.internal.sql.TableName;
-import org.nkjmlab.sorm4j.internal.sql.metadata.ColumnMetaData;
+import org.nkjmlab.sorm4j.internal.sql.metadata.DbMetaData;
 import org.nkjmlab.sorm4j.internal.sql.metadata.TableMetaData;
+import org.nkjmlab.sorm4j.internal.util.ConcurrentMemoizer;
+import org.nkjmlab.sorm4j.internal.util.ParameterizedStringFormatter;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmColumn;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmIdGenerator;
 import org.nkjmlab.sorm4j.sql.TableSql;
 import org.nkjmlab.sorm4j.util.function.exception.Try;
 
 public final class SormContextImpl implements SormContext {
 
-  private final ConcurrentMap<String, TableMetaData> tableMetaDataMap;
-  private final ConcurrentMap<String, TableSql> tableSqlMap;
-  private final ConcurrentMap<Class<?>, TableName> classNameToValidTableNameMap;
-  private final ConcurrentMap<String, TableName> tableNameToValidTableNameMap;
-  private final ConcurrentMap<Class<?>, Map<String, ContainerToTableMapper<?>>>
+  private final ConcurrentMemoizer<String, TableMetaData> tableMetaDataMap;
+  private final ConcurrentMap<String, ParsedTableMetaData> preloadedTableMetaDataMap;
+  private final ConcurrentMemoizer<String, TableSql> tableSqlMap;
+  private final ConcurrentMemoizer<Class<?>, TableName> classNameToValidTableNameMap;
+  private final ConcurrentMemoizer<String, TableName> tableNameToValidTableNameMap;
+  private final ConcurrentMap<Class<?>, ConcurrentMemoizer<String, ContainerToTableMapper<?>>>
       sqlParametersToTableMappings;
-  private final ConcurrentMap<Class<?>, ResultsToContainerMapper<?>> sqlResultToColumnsMappings;
+  private final ConcurrentMemoizer<Class<?>, ResultsToContainerMapper<?>>
+      sqlResultToColumnsMappings;
   private final SormConfig config;
+  private final ContainerSnapshots containerSnapshots;
+  private final SormMetricsImpl metrics;
+  private final ExecutionRecorder executionRecorder;
 
   SormContextImpl(SormConfig sormConfig) {
     this.config = sormConfig;
-    this.tableMetaDataMap = new ConcurrentHashMap<>();
-    this.tableSqlMap = new ConcurrentHashMap<>();
-    this.classNameToValidTableNameMap = new ConcurrentHashMap<>();
-    this.tableNameToValidTableNameMap = new ConcurrentHashMap<>();
+    this.containerSnapshots =
+        sormConfig.isChangeTrackingEnabled() ? new ContainerSnapshots() : null;
+    this.metrics = sormConfig.isMetricsEnabled() ? new SormMetricsImpl() : SormMetricsImpl.DISABLED;
+    this.executionRecorder =
+        metrics.isEnabled() || sormConfig.getSlowQueryLog().isEnabled()
+            ? new ExecutionRecorder(metrics, sormConfig.getSlowQueryLog())
+            : ExecutionRecorder.DISABLED;
+    this.tableMetaDataMap = new ConcurrentMemoizer<>();
+    this.preloadedTableMetaDataMap = new ConcurrentHashMap<>();
+    this.tableSqlMap = new ConcurrentMemoizer<>();
+    this.classNameToValidTableNameMap = new ConcurrentMemoizer<>();
+    this.tableNameToValidTableNameMap = new ConcurrentMemoizer<>();
     this.sqlParametersToTableMappings = new ConcurrentHashMap<>();
-    this.sqlResultToColumnsMappings = new ConcurrentHashMap<>();
+    this.sqlResultToColumnsMappings = new ConcurrentMemoizer<>();
   }
 
   public SormContextImpl(
@@ -61,7 +94,14 @@ public final class SormContextImpl implements SormContext {
       SqlParametersSetter sqlParametersSetter,
       PreparedStatementSupplier statementSupplier,
       TableSqlFactory tableSqlFactory,
-      MultiRowProcessorFactory multiRowProcessorFactory) {
+      MultiRowProcessorFactory multiRowProcessorFactory,
+      boolean changeTrackingEnabled,
+      boolean metricsEnabled,
+      SlowQueryLogImpl slowQueryLog,
+      int repeatedQueryThreshold,
+      ConnectionTrackerImpl connectionTracker,
+      SormTracerImpl tracer,
+      Map<String, IdGenerator> idGenerators) {
     this(
         new SormConfig(
             loggerContext,
@@ -72,7 +112,14 @@ public final class SormContextImpl implements SormContext {
             sqlParametersSetter,
             statementSupplier,
             tableSqlFactory,
-            multiRowProcessorFactory));
+            multiRowProcessorFactory,
+            changeTrackingEnabled,
+            metricsEnabled,
+            slowQueryLog,
+            repeatedQueryThreshold,
+            connectionTracker,
+            tracer,
+            idGenerators));
   }
 
   TableMetaData getTableMetaData(Connection connection, String tableName) {
@@ -103,10 +150,7 @@ public final class SormContextImpl implements SormContext {
           try {
             return config
                 .getTableSqlFactory()
-                .create(
-                    tableMetaData,
-                    org.nkjmlab.sorm4j.internal.sql.metadata.DbMetaData.of(
-                        connection.getMetaData()));
+                .create(tableMetaData, DbMetaData.of(connection.getMetaData()));
           } catch (SQLException e) {
             throw Try.rethrow(e);
           }
@@ -132,13 +176,21 @@ public final class SormContextImpl implements SormContext {
     ContainerToTableMapper<T> ret =
         (ContainerToTableMapper<T>)
             sqlParametersToTableMappings
-                .computeIfAbsent(objectClass, _k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(objectClass, _k -> new ConcurrentMemoizer<>())
                 .computeIfAbsent(
                     tableName.getName(),
                     _k -> {
                       try {
+                        MappingEvent event = new MappingEvent();
+                        event.begin();
+                        long startNanos = executionRecorder.nanoTime();
                         ContainerToTableMapper<T> m =
                             createTableMapping(objectClass, tableName.getName(), connection);
+                        event.commit(MappingEvent.TO_TABLE, objectClass, tableName.getName());
+                        executionRecorder.recordMapping(
+                            LogContext.Category.MAPPING_TO_TABLE,
+                            objectClass.getName() + " " + tableName.getName(),
+                            startNanos);
                         config
                             .getLoggerContext()
                             .createLogPoint(LogContext.Category.MAPPING_TO_TABLE, SormContext.class)
@@ -160,7 +212,10 @@ public final class SormContextImpl implements SormContext {
             config.getColumnToFieldAccessorMapper().getColumnAliasPrefix(objectClass));
 
     return new ResultsToContainerMapper<>(
-        config.getColumnValueToJavaObjectConverter(), objectClass, columnToAccessorMap);
+        config.getColumnValueToJavaObjectConverter(),
+        objectClass,
+        columnToAccessorMap,
+        containerSnapshots);
   }
 
   <T> ContainerToTableMapper<T> createTableMapping(
@@ -180,6 +235,8 @@ public final class SormContextImpl implements SormContext {
 
     return new ContainerToTableMapper<>(
         config.getLoggerContext(),
+        executionRecorder,
+        config.getTracer(),
         config.getColumnValueToJavaObjectConverter(),
         config.getSqlParametersSetter(),
         config.getPreparedStatementSupplier(),
@@ -187,7 +244,36 @@ public final class SormContextImpl implements SormContext {
         objectClass,
         columnToAccessorMap,
         tableMetaData,
-        sql);
+        sql,
+        createIdAssigner(
+            objectClass,
+            columnToAccessorMap,
+            config.getTableSqlFactory().getSqlDialect(DbMetaData.of(connection.getMetaData()))));
+  }
+
+  private GeneratedIdAssigner createIdAssigner(
+      Class<?> objectClass, ColumnToAccessorMapping columnToAccessorMap, SqlDialect sqlDialect) {
+    for (Class<?> c = objectClass; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        OrmIdGenerator ann = field.getAnnotation(OrmIdGenerator.class);
+        if (ann == null) {
+          continue;
+        }
+        IdGenerator idGenerator = config.getIdGenerators().get(ann.value());
+        OrmColumn column = field.getAnnotation(OrmColumn.class);
+        String columnName = column == null ? field.getName() : column.value();
+        ContainerAccessor accessor = columnToAccessorMap.get(columnName);
+        if (idGenerator == null || accessor == null) {
+          Object[] params = {ann.value(), objectClass.getName(), field.getName()};
+          throw new SormException(
+              ParameterizedStringFormatter.LENGTH_256.format(
+                  "IdGenerator [{}] is not registered or the field [{}.{}] is not mapped to a column.",
+                  params));
+        }
+        return new GeneratedIdAssigner(idGenerator, sqlDialect, columnName, accessor);
+      }
+    }
+    return null;
   }
 
   // private void validate(Class<?> objectClass, TableMetaData tableMetaData,
@@ -210,21 +296,46 @@ public final class SormContextImpl implements SormContext {
   private <T> TableMetaDataImpl createTableMetaData(
       Class<T> objectClass, String tableName, DatabaseMetaData metaData) throws SQLException {
 
-    List<ColumnMetaData> columns =
-        config.getTableMetaDataReader().getColumnsMetaData(metaData, tableName);
+    ParsedTableMetaData parsed = preloadedTableMetaDataMap.get(tableName);
+    if (parsed == null) {
+      parsed = config.getTableMetaDataReader().parse(metaData, tableName);
+    }
 
-    List<String> primaryKeys = config.getTableMetaDataReader().getPrimaryKeys(metaData, tableName);
+    String prefix = config.getColumnToFieldAccessorMapper().getColumnAliasPrefix(objectClass);
+    return new TableMetaDataImpl(
+        tableName, prefix, parsed.columns(), parsed.primaryKeys(), parsed.autoGeneratedColumns());
+  }
 
-    List<String> autoGeneratedColumns =
-        config.getTableMetaDataReader().getAutoGeneratedColumns(metaData, tableName);
+  /**
+   * Reads the columns of all the tables in one pass and the primary keys of each table, and keeps
+   * them for the later mappings.
+   *
+   * @param connection
+   */
+  void preloadTableMetaData(Connection connection) {
+    try {
+      DatabaseMetaData metaData = connection.getMetaData();
+      preloadedTableMetaDataMap.putAll(
+          readPrimaryKeys(metaData, config.getTableMetaDataReader().parseAllColumns(metaData)));
+    } catch (SQLException e) {
+      throw Try.rethrow(e);
+    }
+  }
 
-    String prefix = config.getColumnToFieldAccessorMapper().getColumnAliasPrefix(objectClass);
-    return new TableMetaDataImpl(tableName, prefix, columns, primaryKeys, autoGeneratedColumns);
+  private Map<String, ParsedTableMetaData> readPrimaryKeys(
+      DatabaseMetaData metaData, Map<String, ParsedTableMetaData> tables) throws SQLException {
+    TableMetaDataParser parser = config.getTableMetaDataReader();
+    Map<String, ParsedTableMetaData> ret = new LinkedHashMap<>();
+    for (ParsedTableMetaData table : tables.values()) {
+      ret.put(
+          table.tableName(),
+          table.withPrimaryKeys(parser.getPrimaryKeys(metaData, table.tableName())));
+    }
+    return ret;
   }
 
   @SuppressWarnings("unchecked")
-  <T> ContainerToTableMapper<T> getCastedTableMapping(
-      Connection connection, Class<?> objectClass) {
+  <T> ContainerToTableMapper<T> getCastedTableMapping(Connection connection, Class<?> objectClass) {
     return (ContainerToTableMapper<T>) getTableMapping(connection, objectClass);
   }
 
@@ -241,7 +352,13 @@ public final class SormContextImpl implements SormContext {
             sqlResultToColumnsMappings.computeIfAbsent(
                 objectClass,
                 _k -> {
+                  MappingEvent event = new MappingEvent();
+                  event.begin();
+                  long startNanos = executionRecorder.nanoTime();
                   ResultsToContainerMapper<T> m = createColumnsMapping(objectClass);
+                  event.commit(MappingEvent.TO_COLUMNS, objectClass, null);
+                  executionRecorder.recordMapping(
+                      LogContext.Category.MAPPING_TO_COLUMNS, objectClass.getName(), startNanos);
                   config
                       .getLoggerContext()
                       .createLogPoint(LogContext.Category.MAPPING_TO_COLUMNS, SormContext.class)
@@ -286,6 +403,34 @@ public final class SormContextImpl implements SormContext {
     return config.getLoggerContext();
   }
 
+  @Override
+  public SormMetricsImpl getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public SlowQueryLogImpl getSlowQueryLog() {
+    return config.getSlowQueryLog();
+  }
+
+  int getRepeatedQueryThreshold() {
+    return config.getRepeatedQueryThreshold();
+  }
+
+  @Override
+  public ConnectionTrackerImpl getConnectionTracker() {
+    return config.getConnectionTracker();
+  }
+
+  @Override
+  public SormTracerImpl getTracer() {
+    return config.getTracer();
+  }
+
+  ExecutionRecorder getExecutionRecorder() {
+    return executionRecorder;
+  }
+
   @Override
   public ColumnValueToJavaObjectConverters getColumnValueToJavaObjectConverter() {
     return config.getColumnValueToJavaObjectConverter();
@@ -313,7 +458,7 @@ public final class SormContextImpl implements SormContext {
         + lineSeparator()
         + "[Table metadata]"
         + lineSeparator()
-        + convertMapToString(tableMetaDataMap)
+        + convertMapToString(tableMetaDataMap.toMap())
         + lineSeparator()
         + "[SqlParameterToTableMappings]"
         + lineSeparator()
@@ -321,15 +466,15 @@ public final class SormContextImpl implements SormContext {
         + lineSeparator()
         + "[SqlResultToColumnsMapping]"
         + lineSeparator()
-        + convertClassMapToString(sqlResultToColumnsMappings)
+        + convertClassMapToString(sqlResultToColumnsMappings.toMap())
         + lineSeparator()
         + "[classNameToValidTableNameMap]"
         + lineSeparator()
-        + convertClassMapToString(classNameToValidTableNameMap)
+        + convertClassMapToString(classNameToValidTableNameMap.toMap())
         + lineSeparator()
         + "[tableNameToValidTableNameMap]"
         + lineSeparator()
-        + convertMapToString(tableNameToValidTableNameMap)
+        + convertMapToString(tableNameToValidTableNameMap.toMap())
         + lineSeparator()
         + "[SormConfig]"
         + lineSeparator()
@@ -352,12 +497,13 @@ public final class SormContextImpl implements SormContext {
   }
 
   private String convertNestedMapToString(
-      Map<Class<?>, Map<String, ContainerToTableMapper<?>>> sqlParametersToTableMappings) {
+      Map<Class<?>, ConcurrentMemoizer<String, ContainerToTableMapper<?>>>
+          sqlParametersToTableMappings) {
     return sqlParametersToTableMappings.entrySet().stream()
         .map(
             entry -> {
               Class<?> outerKey = entry.getKey();
-              Map<String, ? extends Object> innerMap = entry.getValue();
+              Map<String, ? extends Object> innerMap = entry.getValue().toMap();
               String innerMapStr =
                   innerMap.entrySet().stream()
                       .map(
@@ -370,11 +516,29 @@ public final class SormContextImpl implements SormContext {
   }
 
   public SormContext.Builder builder() {
-    return SormContext.builder()
-        .setLogContext(config.getLoggerContext())
-        .setMultiRowProcessorFactory(config.getMultiRowProcessorFactory())
-        .setTableNameMapper(config.getTableNameMapper())
-        .setTableSqlFactory(config.getTableSqlFactory());
+    SormContext.Builder builder =
+        SormContext.builder()
+            .setLogContext(config.getLoggerContext())
+            .setMultiRowProcessorFactory(config.getMultiRowProcessorFactory())
+            .setTableNameMapper(config.getTableNameMapper())
+            .setTableSqlFactory(config.getTableSqlFactory())
+            .setChangeTrackingEnabled(config.isChangeTrackingEnabled())
+            .setMetricsEnabled(config.isMetricsEnabled())
+            .setSlowQueryLog(config.getSlowQueryLog())
+            .setRepeatedQueryThreshold(config.getRepeatedQueryThreshold())
+            .setConnectionTracker(config.getConnectionTracker())
+            .setTracer(config.getTracer());
+    config.getIdGenerators().forEach(builder::addIdGenerator);
+    return builder;
+  }
+
+  /**
+   * Returns snapshots of the loaded containers.
+   *
+   * @return null if change tracking is not enabled.
+   */
+  ContainerSnapshots getContainerSnapshots() {
+    return containerSnapshots;
   }
 
   private static class NoValueType {}
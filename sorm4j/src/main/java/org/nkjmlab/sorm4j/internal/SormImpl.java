@@ -3,9 +3,15 @@ package org.nkjmlab.sorm4j.internal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.sql.DataSource;
 
@@ -18,6 +24,13 @@ import org.nkjmlab.sorm4j.common.container.Tuple.Tuple3;
 import org.nkjmlab.sorm4j.common.handler.ConsumerHandler;
 import org.nkjmlab.sorm4j.common.handler.FunctionHandler;
 import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.metrics.ConnectionTracker;
+import org.nkjmlab.sorm4j.context.metrics.SlowQueryLog;
+import org.nkjmlab.sorm4j.context.metrics.SormMetrics;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer.SpanKind;
+import org.nkjmlab.sorm4j.internal.context.metrics.ConnectionTrackerImpl;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl.SpanRecorder;
 import org.nkjmlab.sorm4j.internal.sql.result.ResultSetStreamSorm;
 import org.nkjmlab.sorm4j.internal.table.orm.SimpleTable;
 import org.nkjmlab.sorm4j.mapping.ResultSetTraverser;
@@ -28,6 +41,8 @@ import org.nkjmlab.sorm4j.sql.metadata.jdbc.JdbcDatabaseMetaData;
 import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
 import org.nkjmlab.sorm4j.sql.result.InsertResult;
 import org.nkjmlab.sorm4j.sql.result.ResultSetStream;
+import org.nkjmlab.sorm4j.sql.result.SyncResult;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
 import org.nkjmlab.sorm4j.table.orm.Table;
 import org.nkjmlab.sorm4j.util.function.exception.Try;
 
@@ -57,7 +72,7 @@ public final class SormImpl implements Sorm {
 
   @Override
   public OrmTransaction open(int isolationLevel) {
-    return new OrmTransactionImpl(openJdbcConnection(), sormContext, isolationLevel);
+    return track(new OrmTransactionImpl(openTracedJdbcConnection(), sormContext, isolationLevel));
   }
 
   @Override
@@ -98,7 +113,29 @@ public final class SormImpl implements Sorm {
 
   @Override
   public OrmConnectionImpl open() {
-    return new OrmConnectionImpl(openJdbcConnection(), sormContext);
+    return track(new OrmConnectionImpl(openTracedJdbcConnection(), sormContext));
+  }
+
+  private Connection openTracedJdbcConnection() {
+    SpanRecorder span = sormContext.getTracer().start(SpanKind.ACQUIRE_CONNECTION, null);
+    try {
+      Connection ret = openJdbcConnection();
+      span.end(0);
+      return ret;
+    } catch (RuntimeException e) {
+      span.fail(e);
+      throw e;
+    }
+  }
+
+  private <T extends OrmConnectionImpl> T track(T connection) {
+    ConnectionTrackerImpl tracker = sormContext.getConnectionTracker();
+    if (tracker.isEnabled()) {
+      connection.setTrackedConnection(
+          tracker.track(
+              connection, sormContext.getLogContext().getLogger(ConnectionTracker.class)));
+    }
+    return connection;
   }
 
   @Override
@@ -115,6 +152,67 @@ public final class SormImpl implements Sorm {
     }
   }
 
+  @Override
+  public void preloadTableMetaData() {
+    try (Connection conn = openJdbcConnection()) {
+      sormContext.preloadTableMetaData(conn);
+    } catch (SQLException e) {
+      throw Try.rethrow(e);
+    }
+  }
+
+  @Override
+  public void warmUp(Class<?>... objectClasses) {
+    if (objectClasses.length == 0) {
+      return;
+    }
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(objectClasses.length, Runtime.getRuntime().availableProcessors()));
+    try {
+      CompletableFuture.allOf(
+              Arrays.stream(objectClasses)
+                  .map(
+                      objectClass ->
+                          CompletableFuture.runAsync(() -> warmUp(objectClass), executor))
+                  .toArray(CompletableFuture[]::new))
+          .join();
+    } catch (CompletionException e) {
+      throw Try.rethrow(e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private void warmUp(Class<?> objectClass) {
+    try (Connection conn = openJdbcConnection()) {
+      sormContext.getTableMapping(conn, objectClass);
+      sormContext.getColumnsMapping(objectClass);
+    } catch (SQLException e) {
+      throw Try.rethrow(e);
+    }
+  }
+
+  @Override
+  public SormMetrics getMetrics() {
+    return sormContext.getMetrics();
+  }
+
+  @Override
+  public SlowQueryLog getSlowQueryLog() {
+    return sormContext.getSlowQueryLog();
+  }
+
+  @Override
+  public ConnectionTracker getConnectionTracker() {
+    return sormContext.getConnectionTracker();
+  }
+
+  @Override
+  public SormTracer getTracer() {
+    return sormContext.getTracer();
+  }
+
   @Override
   public void acceptHandler(ConsumerHandler<OrmConnection> handler) {
     try (OrmConnection conn = open()) {
@@ -147,6 +245,12 @@ public final class SormImpl implements Sorm {
     return applyAndClose(conn -> conn.selectByPrimaryKey(objectClass, primaryKeyValues));
   }
 
+  @Override
+  public <T> List<T> selectListByPrimaryKeys(
+      Class<T> objectClass, List<Object[]> primaryKeyValuesList) {
+    return applyAndClose(conn -> conn.selectListByPrimaryKeys(objectClass, primaryKeyValuesList));
+  }
+
   @Override
   public <T> T readFirst(Class<T> objectClass, ParameterizedSql sql) {
     return applyAndClose(conn -> conn.readFirst(objectClass, sql));
@@ -300,6 +404,11 @@ public final class SormImpl implements Sorm {
     return applyAndClose(conn -> conn.deleteAllIn(tableName));
   }
 
+  @Override
+  public int deleteWhereIn(String tableName, ConditionSql condition, Object... parameters) {
+    return applyAndClose(conn -> conn.deleteWhereIn(tableName, condition, parameters));
+  }
+
   @Override
   public <T> int deleteByPrimaryKey(Class<T> type, Object... primaryKeyValues) {
     return applyAndClose(conn -> conn.deleteByPrimaryKey(type, primaryKeyValues));
@@ -447,6 +556,12 @@ public final class SormImpl implements Sorm {
     return applyAndClose(conn -> conn.updateByPrimaryKeyIn(tableName, object, primaryKeyValues));
   }
 
+  @Override
+  public int updateWhereIn(
+      String tableName, RowMap setValues, ConditionSql condition, Object... parameters) {
+    return applyAndClose(conn -> conn.updateWhereIn(tableName, setValues, condition, parameters));
+  }
+
   @Override
   public <T> int[] updateWith(String tableName, List<T> objects) {
     return applyAndClose(conn -> conn.updateWith(tableName, objects));
@@ -463,6 +578,17 @@ public final class SormImpl implements Sorm {
     return applyAndClose(conn -> conn.updateWith(tableName, objects));
   }
 
+  @Override
+  public <T> SyncResult syncIn(String tableName, Class<T> objectClass, Collection<T> objects) {
+    return applyAndClose(conn -> conn.syncIn(tableName, objectClass, objects));
+  }
+
+  @Override
+  public <T> SyncResult syncIn(
+      String tableName, Class<T> objectClass, Collection<T> objects, ConditionSql condition) {
+    return applyAndClose(conn -> conn.syncIn(tableName, objectClass, objects, condition));
+  }
+
   @Override
   public String getTableName(Class<?> objectClass) {
     return applyAndClose(conn -> conn.getTableName(objectClass));
@@ -0,0 +1,231 @@
+package org.nkjmlab.sorm4j.internal;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.nkjmlab.sorm4j.OrmConnection;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.UnitOfWork;
+import org.nkjmlab.sorm4j.internal.sql.metadata.jdbc.JdbcDatabaseMetaDataImpl;
+import org.nkjmlab.sorm4j.sql.metadata.jdbc.JdbcForeignKeyMetaData;
+import org.nkjmlab.sorm4j.util.function.exception.Try;
+
+public final class UnitOfWorkImpl implements UnitOfWork {
+
+  private enum Operation {
+    INSERT,
+    MERGE,
+    UPDATE,
+    DELETE
+  }
+
+  /** A table name is null if the table corresponds to the object class. */
+  private record WriteGroup(String tableName, Operation operation, Class<?> objectClass) {}
+
+  private final Sorm sorm;
+  private final Map<WriteGroup, List<Object>> pendingWrites = new LinkedHashMap<>();
+  private int size;
+
+  public UnitOfWorkImpl(Sorm sorm) {
+    this.sorm = sorm;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> void insert(T... objects) {
+    register(null, Operation.INSERT, objects);
+  }
+
+  @Override
+  public <T> void insert(List<T> objects) {
+    register(null, Operation.INSERT, objects.toArray());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> void insertInto(String tableName, T... objects) {
+    register(tableName, Operation.INSERT, objects);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> void merge(T... objects) {
+    register(null, Operation.MERGE, objects);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> void mergeIn(String tableName, T... objects) {
+    register(tableName, Operation.MERGE, objects);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> void update(T... objects) {
+    register(null, Operation.UPDATE, objects);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> void updateWith(String tableName, T... objects) {
+    register(tableName, Operation.UPDATE, objects);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> void delete(T... objects) {
+    register(null, Operation.DELETE, objects);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> void deleteIn(String tableName, T... objects) {
+    register(tableName, Operation.DELETE, objects);
+  }
+
+  private void register(String tableName, Operation operation, Object[] objects) {
+    for (Object object : objects) {
+      pendingWrites
+          .computeIfAbsent(
+              new WriteGroup(tableName, operation, object.getClass()), k -> new ArrayList<>())
+          .add(object);
+      size++;
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (pendingWrites.isEmpty()) {
+      return;
+    }
+    sorm.acceptHandler(
+        Connection.TRANSACTION_READ_COMMITTED,
+        tr -> {
+          flush(tr);
+          tr.commit();
+        });
+    clear();
+  }
+
+  /**
+   * The table names are resolved to the names on the database as the other metadata lookups do, so
+   * they can be passed to {@link DatabaseMetaData} on a case sensitive database.
+   */
+  private void flush(OrmConnection conn) {
+    Map<WriteGroup, String> tableNames = new LinkedHashMap<>();
+    for (WriteGroup group : pendingWrites.keySet()) {
+      tableNames.put(
+          group,
+          group.tableName() != null
+              ? conn.getOrmTableMetaData(group.tableName()).getTableName()
+              : conn.getTableName(group.objectClass()));
+    }
+    List<String> tables = sortByForeignKeys(conn.getJdbcConnection(), tableNames.values());
+    for (String table : tables) {
+      execute(conn, tableNames, table, Operation.INSERT);
+      execute(conn, tableNames, table, Operation.MERGE);
+      execute(conn, tableNames, table, Operation.UPDATE);
+    }
+    Collections.reverse(tables);
+    for (String table : tables) {
+      execute(conn, tableNames, table, Operation.DELETE);
+    }
+  }
+
+  private void execute(
+      OrmConnection conn,
+      Map<WriteGroup, String> tableNames,
+      String tableName,
+      Operation operation) {
+    for (Map.Entry<WriteGroup, List<Object>> e : pendingWrites.entrySet()) {
+      WriteGroup group = e.getKey();
+      if (!tableNames.get(group).equals(tableName) || group.operation() != operation) {
+        continue;
+      }
+      Object[] objects = e.getValue().toArray();
+      switch (operation) {
+        case INSERT:
+          conn.insertInto(tableName, objects);
+          break;
+        case MERGE:
+          conn.mergeIn(tableName, objects);
+          break;
+        case UPDATE:
+          conn.updateWith(tableName, objects);
+          break;
+        case DELETE:
+          conn.deleteIn(tableName, objects);
+          break;
+      }
+    }
+  }
+
+  /**
+   * Sorts the tables so that a table referenced by foreign keys comes before the referencing
+   * tables. The tables without dependencies and the tables in a cycle keep the registration order.
+   */
+  private List<String> sortByForeignKeys(Connection connection, Collection<String> tableNames) {
+    Set<String> tables = new LinkedHashSet<>(tableNames);
+
+    Map<String, Set<String>> parents = new HashMap<>();
+    try {
+      DatabaseMetaData metaData = connection.getMetaData();
+      for (String table : tables) {
+        Set<String> ps = new HashSet<>();
+        for (JdbcForeignKeyMetaData fk : JdbcDatabaseMetaDataImpl.getForeignKeys(metaData, table)) {
+          String parent = fk.getPkTable();
+          if (!parent.equals(table) && tables.contains(parent)) {
+            ps.add(parent);
+          }
+        }
+        parents.put(table, ps);
+      }
+    } catch (SQLException e) {
+      throw Try.rethrow(e);
+    }
+
+    List<String> ret = new ArrayList<>(tables.size());
+    Set<String> remaining = new LinkedHashSet<>(tables);
+    while (!remaining.isEmpty()) {
+      String next =
+          remaining.stream()
+              .filter(t -> ret.containsAll(parents.get(t)))
+              .findFirst()
+              .orElse(remaining.iterator().next());
+      remaining.remove(next);
+      ret.add(next);
+    }
+    return ret;
+  }
+
+  @Override
+  public void clear() {
+    pendingWrites.clear();
+    size = 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "UnitOfWorkImpl [pendingWrites="
+        + pendingWrites.entrySet().stream()
+            .map(e -> e.getKey() + "=" + e.getValue().size())
+            .toList()
+        + "]";
+  }
+}
@@ -3,7 +3,9 @@ package org.nkjmlab.sorm4j.internal.context;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
+import org.nkjmlab.sorm4j.internal.context.common.ParsedTableMetaData;
 import org.nkjmlab.sorm4j.internal.sql.metadata.ColumnMetaData;
 
 public interface TableMetaDataParser {
@@ -38,4 +40,26 @@ public interface TableMetaDataParser {
    * @throws SQLException
    */
   List<String> getPrimaryKeys(DatabaseMetaData metaData, String tableName) throws SQLException;
+
+  /**
+   * Parses the columns, the auto-generated columns and the primary keys of the given table. The
+   * columns and the auto-generated columns are read with a single query.
+   *
+   * @param metaData
+   * @param tableName
+   * @return
+   * @throws SQLException
+   */
+  ParsedTableMetaData parse(DatabaseMetaData metaData, String tableName) throws SQLException;
+
+  /**
+   * Parses the columns and the auto-generated columns of all the user tables in one pass. The
+   * primary keys of the returned objects are empty because JDBC requires a table name to read
+   * them; use {@link #getPrimaryKeys(DatabaseMetaData, String)} for each table.
+   *
+   * @param metaData
+   * @return a map of a table name to its metadata
+   * @throws SQLException
+   */
+  Map<String, ParsedTableMetaData> parseAllColumns(DatabaseMetaData metaData) throws SQLException;
 }
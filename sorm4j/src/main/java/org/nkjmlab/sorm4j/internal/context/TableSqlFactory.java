@@ -1,5 +1,6 @@
 package org.nkjmlab.sorm4j.internal.context;
 
+import org.nkjmlab.sorm4j.context.SqlDialect;
 import org.nkjmlab.sorm4j.internal.sql.metadata.DbMetaData;
 import org.nkjmlab.sorm4j.internal.sql.metadata.TableMetaData;
 import org.nkjmlab.sorm4j.sql.TableSql;
@@ -7,4 +8,14 @@ import org.nkjmlab.sorm4j.sql.TableSql;
 public interface TableSqlFactory {
 
   TableSql create(TableMetaData tableMetaData, DbMetaData databaseMetaData);
+
+  /**
+   * Gets the dialect of the SQL statements generated by this factory.
+   *
+   * @param databaseMetaData
+   * @return
+   */
+  default SqlDialect getSqlDialect(DbMetaData databaseMetaData) {
+    return SqlDialect.of(databaseMetaData.getDatabaseProductName());
+  }
 }
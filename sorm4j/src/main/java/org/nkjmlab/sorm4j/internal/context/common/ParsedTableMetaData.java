@@ -0,0 +1,27 @@
+package org.nkjmlab.sorm4j.internal.context.common;
+
+import java.util.List;
+
+import org.nkjmlab.sorm4j.internal.sql.metadata.ColumnMetaData;
+
+/**
+ * Table metadata as read from the database, before a column alias prefix is applied.
+ *
+ * @author nkjm
+ */
+public record ParsedTableMetaData(
+    String tableName,
+    List<ColumnMetaData> columns,
+    List<String> primaryKeys,
+    List<String> autoGeneratedColumns) {
+
+  public ParsedTableMetaData {
+    columns = List.copyOf(columns);
+    primaryKeys = List.copyOf(primaryKeys);
+    autoGeneratedColumns = List.copyOf(autoGeneratedColumns);
+  }
+
+  public ParsedTableMetaData withPrimaryKeys(List<String> primaryKeys) {
+    return new ParsedTableMetaData(tableName, columns, primaryKeys, autoGeneratedColumns);
+  }
+}
@@ -3,8 +3,11 @@ package org.nkjmlab.sorm4j.internal.context.impl;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.nkjmlab.sorm4j.common.exception.SormException;
+import org.nkjmlab.sorm4j.mapping.GeneratedMapping;
 
 /**
  * Field accessor mapping to the columnName.
@@ -32,6 +35,26 @@ public final class ContainerAccessor {
             : field != null ? new FieldSetter(field) : EMPTY_SETTER;
   }
 
+  /**
+   * Creates an accessor from a column of {@link GeneratedMapping}.
+   *
+   * @param column
+   */
+  @SuppressWarnings("unchecked")
+  public ContainerAccessor(GeneratedMapping.Column<?> column) {
+    this.columnName = column.name();
+    this.getter =
+        column.getter() != null
+            ? new GeneratedGetter(
+                (Function<Object, Object>) column.getter(), column.getterReturnType())
+            : EMPTY_GETTER;
+    this.setter =
+        column.setter() != null
+            ? new GeneratedSetter(
+                (BiConsumer<Object, Object>) column.setter(), column.setterParameterType())
+            : EMPTY_SETTER;
+  }
+
   /**
    * Gets the value from the corresponding field by getter method/field access.
    *
@@ -163,6 +186,32 @@ public final class ContainerAccessor {
     }
   }
 
+  private static final class GeneratedGetter implements GetterAccessor {
+
+    private final Function<Object, Object> getter;
+    private final Class<?> returnType;
+
+    public GeneratedGetter(Function<Object, Object> getter, Class<?> returnType) {
+      this.getter = getter;
+      this.returnType = returnType;
+    }
+
+    @Override
+    public Object get(Object object) {
+      return getter.apply(object);
+    }
+
+    @Override
+    public String toString() {
+      return "generated " + returnType.getSimpleName() + " getter";
+    }
+
+    @Override
+    public Class<?> getReturnType() {
+      return returnType;
+    }
+  }
+
   private static interface SetterAccessor {
 
     void set(Object object, Object value)
@@ -216,6 +265,36 @@ public final class ContainerAccessor {
     }
   }
 
+  private static final class GeneratedSetter implements SetterAccessor {
+
+    private final BiConsumer<Object, Object> setter;
+    private final Class<?> parameterType;
+
+    public GeneratedSetter(BiConsumer<Object, Object> setter, Class<?> parameterType) {
+      this.setter = setter;
+      this.parameterType = parameterType;
+    }
+
+    @Override
+    public Class<?> getParameterType() {
+      return parameterType;
+    }
+
+    @Override
+    public void set(Object object, Object value) {
+      try {
+        setter.accept(object, value);
+      } catch (ClassCastException | NullPointerException e) {
+        throw new IllegalArgumentException(e);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "generated " + parameterType.getSimpleName() + " setter";
+    }
+  }
+
   private static final class FieldSetter implements SetterAccessor {
 
     private final Field field;
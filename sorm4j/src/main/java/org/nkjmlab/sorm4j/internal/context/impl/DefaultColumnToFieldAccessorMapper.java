@@ -16,7 +16,9 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.nkjmlab.sorm4j.context.SormContext;
 import org.nkjmlab.sorm4j.internal.context.ColumnToFieldAccessorMapper;
+import org.nkjmlab.sorm4j.internal.mapping.GeneratedMappings;
 import org.nkjmlab.sorm4j.internal.util.reflection.RefrectionOrmComponentUtils;
+import org.nkjmlab.sorm4j.mapping.GeneratedMapping;
 import org.nkjmlab.sorm4j.mapping.annotation.OrmColumn;
 import org.nkjmlab.sorm4j.mapping.annotation.OrmColumnAliasPrefix;
 import org.nkjmlab.sorm4j.mapping.annotation.OrmGetter;
@@ -35,6 +37,10 @@ public final class DefaultColumnToFieldAccessorMapper implements ColumnToFieldAc
 
   @Override
   public Map<String, ContainerAccessor> createMapping(Class<?> objectClass) {
+    GeneratedMapping<?> generatedMapping = GeneratedMappings.get(objectClass);
+    if (generatedMapping != null) {
+      return createMapping(generatedMapping);
+    }
     Set<String> acceptableColumnNames = createAcceptableColumnNames(objectClass);
     Map<String, Field> fields = getAllFields(objectClass);
     Map<String, Method> getters = getAllGetters(objectClass);
@@ -58,6 +64,12 @@ public final class DefaultColumnToFieldAccessorMapper implements ColumnToFieldAc
     return ret;
   }
 
+  private static Map<String, ContainerAccessor> createMapping(GeneratedMapping<?> mapping) {
+    Map<String, ContainerAccessor> ret = new HashMap<>();
+    mapping.getColumns().forEach(column -> ret.put(column.name(), new ContainerAccessor(column)));
+    return ret;
+  }
+
   private Field procField(
       Map<String, Field> annotatedFields, Map<String, Field> fields, String acceptableColName) {
     return Stream.of(annotatedFields.get(acceptableColName), fields.get(acceptableColName))
@@ -0,0 +1,53 @@
+package org.nkjmlab.sorm4j.internal.context.impl;
+
+import java.util.List;
+
+import org.nkjmlab.sorm4j.context.SqlDialect;
+
+public class DefaultSqlDialect implements SqlDialect {
+
+  @Override
+  public String getPlaceholder(String columnTypeName) {
+    return "?";
+  }
+
+  @Override
+  public String getMergeSqlPrefix(
+      String tableName, List<String> columns, List<String> primaryKeys) {
+    return "merge into "
+        + tableName
+        + " ("
+        + String.join(", ", columns)
+        + ")"
+        + " key ("
+        + String.join(",", primaryKeys)
+        + ") values";
+  }
+
+  @Override
+  public String getMergeSqlSuffix(
+      String tableName, List<String> columns, List<String> primaryKeys) {
+    return "";
+  }
+
+  @Override
+  public String getNextSequenceValueSql(String sequenceName) {
+    return "select next value for " + sequenceName;
+  }
+
+  /**
+   * Returns the columns updated when a row of the key already exists.
+   *
+   * @param columns
+   * @param primaryKeys
+   * @return
+   */
+  protected static List<String> getUpdateColumns(List<String> columns, List<String> primaryKeys) {
+    return columns.stream().filter(col -> !primaryKeys.contains(col)).toList();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName();
+  }
+}
@@ -4,13 +4,20 @@ import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.nkjmlab.sorm4j.internal.context.TableMetaDataParser;
 import org.nkjmlab.sorm4j.internal.context.common.ColumnMetaDataImpl;
+import org.nkjmlab.sorm4j.internal.context.common.ParsedTableMetaData;
 import org.nkjmlab.sorm4j.internal.sql.metadata.ColumnMetaData;
 
 public final class DefaultTableMetaDataParser implements TableMetaDataParser {
+
+  private static final Set<String> SYSTEM_SCHEMAS = Set.of("INFORMATION_SCHEMA", "PG_CATALOG");
+
   /**
    * @see DatabaseMetaData#getColumns(String, String, String, String)
    */
@@ -62,6 +69,67 @@ public final class DefaultTableMetaDataParser implements TableMetaDataParser {
     }
   }
 
+  @Override
+  public ParsedTableMetaData parse(DatabaseMetaData metaData, String tableName)
+      throws SQLException {
+    try (ResultSet resultSet =
+        metaData.getColumns(null, getSchemaPattern(metaData), tableName, "%")) {
+      ColumnsCollector collector = new ColumnsCollector(tableName);
+      while (resultSet.next()) {
+        collector.add(resultSet);
+      }
+      return collector.build().withPrimaryKeys(getPrimaryKeys(metaData, tableName));
+    }
+  }
+
+  @Override
+  public Map<String, ParsedTableMetaData> parseAllColumns(DatabaseMetaData metaData)
+      throws SQLException {
+    final Map<String, String> tableToSchema = new LinkedHashMap<>();
+    final Map<String, ColumnsCollector> collectors = new LinkedHashMap<>();
+    try (ResultSet resultSet = metaData.getColumns(null, getSchemaPattern(metaData), "%", "%")) {
+      while (resultSet.next()) {
+        String schemaName = resultSet.getString(2);
+        if (schemaName != null && SYSTEM_SCHEMAS.contains(schemaName.toUpperCase())) {
+          continue;
+        }
+        String tableName = resultSet.getString(3);
+        // a table name found in several schemas is resolved to the first schema.
+        if (!String.valueOf(schemaName)
+            .equals(tableToSchema.computeIfAbsent(tableName, k -> String.valueOf(schemaName)))) {
+          continue;
+        }
+        collectors.computeIfAbsent(tableName, ColumnsCollector::new).add(resultSet);
+      }
+    }
+    final Map<String, ParsedTableMetaData> ret = new LinkedHashMap<>();
+    collectors.forEach((tableName, collector) -> ret.put(tableName, collector.build()));
+    return ret;
+  }
+
+  /** Collects the columns of a table from the rows of {@link DatabaseMetaData#getColumns}. */
+  private static final class ColumnsCollector {
+    private final String tableName;
+    private final List<ColumnMetaData> columns = new ArrayList<>();
+    private final List<String> autoGeneratedColumns = new ArrayList<>();
+
+    private ColumnsCollector(String tableName) {
+      this.tableName = tableName;
+    }
+
+    private void add(ResultSet resultSet) throws SQLException {
+      String columnName = resultSet.getString(4);
+      columns.add(new ColumnMetaDataImpl(columnName, resultSet.getString(6)));
+      if ("YES".equals(resultSet.getString(23)) || "YES".equals(resultSet.getString(24))) {
+        autoGeneratedColumns.add(columnName);
+      }
+    }
+
+    private ParsedTableMetaData build() {
+      return new ParsedTableMetaData(tableName, columns, List.of(), autoGeneratedColumns);
+    }
+  }
+
   /**
    * Gets schema pattern for accessing {@link DatabaseMetaData}.
    *
@@ -10,6 +10,7 @@ import org.nkjmlab.sorm4j.internal.context.TableSqlFactory;
 import org.nkjmlab.sorm4j.internal.context.impl.DefaultTableSqlFactory.UpdateSqlFactory;
 import org.nkjmlab.sorm4j.internal.util.ConcurrentCache;
 import org.nkjmlab.sorm4j.sql.TableSql;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
 
 /**
  * SQL statements generated by {@link TableSqlFactory}.
@@ -18,7 +19,9 @@ import org.nkjmlab.sorm4j.sql.TableSql;
  */
 public final class DefaultTableSql implements TableSql {
 
-  private final Map<String, String> multiRowSqlMap = new ConcurrentCache<>(256);
+  private final Map<Integer, String> multiRowInsertSqlMap = new ConcurrentCache<>(256);
+  private final Map<Integer, String> multiRowMergeSqlMap = new ConcurrentCache<>(256);
+  private final Map<List<String>, String> updateSqlMap = new ConcurrentCache<>(256);
 
   private final String insertPlaceholders;
   private final String mergePlaceholders;
@@ -31,6 +34,7 @@ public final class DefaultTableSql implements TableSql {
   private final String existsSql;
   private final String insertSqlPrefix;
   private final String mergeSqlPrefix;
+  private final String mergeSqlSuffix;
   private final UpdateSqlFactory updateSqlFactory;
 
   /**
@@ -48,6 +52,7 @@ public final class DefaultTableSql implements TableSql {
    * insertPlaceholders= (?,?)
    * mergeSqlPrefix=merge into GUESTS (ID, NAME, ADDRESS) key (ID) values
    * mergePlaceholders= (?,?,?)
+   * mergeSqlSuffix=
    * </pre>
    *
    * @param inserPlaceholders
@@ -61,6 +66,7 @@ public final class DefaultTableSql implements TableSql {
    * @param existsSql
    * @param insertSqlPrefix
    * @param mergeSqlPrefix
+   * @param mergeSqlSuffix e.g. " on conflict (ID) do update set NAME=excluded.NAME"
    * @param updateSqlFactory
    * @param primaryKeys
    */
@@ -76,6 +82,7 @@ public final class DefaultTableSql implements TableSql {
       String existsSql,
       String insertSqlPrefix,
       String mergeSqlPrefix,
+      String mergeSqlSuffix,
       UpdateSqlFactory updateSqlFactory,
       List<String> primaryKeys) {
     this.insertPlaceholders = inserPlaceholders;
@@ -89,6 +96,7 @@ public final class DefaultTableSql implements TableSql {
     this.existsSql = existsSql;
     this.insertSqlPrefix = insertSqlPrefix;
     this.mergeSqlPrefix = mergeSqlPrefix;
+    this.mergeSqlSuffix = mergeSqlSuffix;
     this.updateSqlFactory = updateSqlFactory;
   }
 
@@ -109,30 +117,30 @@ public String getMergeSql() {
 
   @Override
 public String getMultirowInsertSql(int num) {
-    return getSqlWithMultirowPlaceholders(insertSqlPrefix, insertPlaceholders, num);
+    return multiRowInsertSqlMap.computeIfAbsent(
+        num, n -> getSqlWithMultirowPlaceholders(insertSqlPrefix, insertPlaceholders, "", n));
   }
 
   @Override
 public String getMultirowMergeSql(int num) {
-    return getSqlWithMultirowPlaceholders(mergeSqlPrefix, mergePlaceholders, num);
+    return multiRowMergeSqlMap.computeIfAbsent(
+        num,
+        n -> getSqlWithMultirowPlaceholders(mergeSqlPrefix, mergePlaceholders, mergeSqlSuffix, n));
   }
 
   /**
    * @param sqlPrefix
    * @param placeHolders e.g. (?,?,?)
+   * @param sqlSuffix
    * @param repeat
    * @return
    */
-  private String getSqlWithMultirowPlaceholders(String sqlPrefix, String placeHolders, int repeat) {
-    return multiRowSqlMap.computeIfAbsent(
-        sqlPrefix + repeat,
-        n ->
-            sqlPrefix
-                + String.join(
-                    ",",
-                    Stream.generate(() -> placeHolders)
-                        .limit(repeat)
-                        .collect(Collectors.toList())));
+  private static String getSqlWithMultirowPlaceholders(
+      String sqlPrefix, String placeHolders, String sqlSuffix, int repeat) {
+    return sqlPrefix
+        + String.join(
+            ",", Stream.generate(() -> placeHolders).limit(repeat).collect(Collectors.toList()))
+        + sqlSuffix;
   }
 
   @Override
@@ -179,6 +187,8 @@ public String getExistsSql() {
         + insertSqlPrefix
         + ", mergeSqlPrefix="
         + mergeSqlPrefix
+        + ", mergeSqlSuffix="
+        + mergeSqlSuffix
         + "]";
   }
 
@@ -186,4 +196,14 @@ public String getExistsSql() {
 public String getUpdateSql(RowMap object) {
     return updateSqlFactory.createUpdateSql(object.keySet());
   }
+
+  @Override
+  public String getUpdateSql(RowMap setValues, ConditionSql condition) {
+    return updateSqlFactory.createUpdateSql(setValues.keySet(), condition);
+  }
+
+  @Override
+  public String getUpdateSql(List<String> columns) {
+    return updateSqlMap.computeIfAbsent(columns, cols -> updateSqlFactory.createUpdateSql(cols));
+  }
 }
@@ -1,24 +1,53 @@
 package org.nkjmlab.sorm4j.internal.context.impl;
 
+import static org.nkjmlab.sorm4j.sql.statement.SqlKeyword.WHERE;
+
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import org.nkjmlab.sorm4j.common.exception.SormException;
 import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.SqlDialect;
 import org.nkjmlab.sorm4j.internal.context.TableSqlFactory;
 import org.nkjmlab.sorm4j.internal.sql.metadata.DbMetaData;
 import org.nkjmlab.sorm4j.internal.sql.metadata.TableMetaData;
+import org.nkjmlab.sorm4j.internal.util.ParameterizedStringFormatter;
 import org.nkjmlab.sorm4j.sql.TableSql;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
 
 // "select * " is faster than "select col1, col2, ..., coln" in H2 2.1.210. the former is also
 // faster than "select tablname.col1, tablname.col2, ..., tablname.coln".
 
 public final class DefaultTableSqlFactory implements TableSqlFactory {
 
+  private final SqlDialect sqlDialect;
+
+  /** Creates a factory which picks a {@link SqlDialect} from the database product name. */
+  public DefaultTableSqlFactory() {
+    this(null);
+  }
+
+  /**
+   * Creates a factory which uses the given {@link SqlDialect}.
+   *
+   * @param sqlDialect if null, the dialect is picked from the database product name.
+   */
+  public DefaultTableSqlFactory(SqlDialect sqlDialect) {
+    this.sqlDialect = sqlDialect;
+  }
+
+  @Override
+  public SqlDialect getSqlDialect(DbMetaData databaseMetaData) {
+    return sqlDialect != null
+        ? sqlDialect
+        : SqlDialect.of(databaseMetaData.getDatabaseProductName());
+  }
+
   @Override
   public TableSql create(TableMetaData tableMetaData, DbMetaData databaseMetaData) {
+    SqlDialect dialect = getSqlDialect(databaseMetaData);
     String tableName = tableMetaData.getTableName();
 
     List<String> columns = tableMetaData.getColumns();
@@ -28,9 +57,7 @@ public final class DefaultTableSqlFactory implements TableSqlFactory {
     String insertSqlPrefix =
         "insert into " + tableName + " (" + String.join(", ", notAutoGeneratedColumns) + ") values";
     String insertPlaceholders =
-        " ("
-            + generatePlaceholders(databaseMetaData, tableMetaData, notAutoGeneratedColumns)
-            + ") ";
+        " (" + generatePlaceholders(dialect, tableMetaData, notAutoGeneratedColumns) + ") ";
     String insertSql = insertSqlPrefix + insertPlaceholders;
 
     List<String> primaryKeys = tableMetaData.getPrimaryKeys();
@@ -58,21 +85,19 @@ public final class DefaultTableSqlFactory implements TableSqlFactory {
             ? errorMsg
             : "delete from " + tableName + whereClauseIdentifyByPrimaryKeys;
 
-    String mergePlaceholders =
-        " (" + generatePlaceholders(databaseMetaData, tableMetaData, columns) + ") ";
+    String mergePlaceholders = " (" + generatePlaceholders(dialect, tableMetaData, columns) + ") ";
     String mergeSqlPrefix =
         !tableMetaData.hasPrimaryKey()
             ? ""
-            : "merge into "
-                + tableName
-                + " ("
-                + String.join(", ", columns)
-                + ")"
-                + " key ("
-                + String.join(",", primaryKeys)
-                + ") values";
+            : dialect.getMergeSqlPrefix(tableName, columns, primaryKeys);
+    String mergeSqlSuffix =
+        !tableMetaData.hasPrimaryKey()
+            ? ""
+            : dialect.getMergeSqlSuffix(tableName, columns, primaryKeys);
     String mergeSql =
-        !tableMetaData.hasPrimaryKey() ? errorMsg : mergeSqlPrefix + mergePlaceholders;
+        !tableMetaData.hasPrimaryKey()
+            ? errorMsg
+            : mergeSqlPrefix + mergePlaceholders + mergeSqlSuffix;
 
     String selectByPrimaryKeySql =
         !tableMetaData.hasPrimaryKey() ? "" : selectAllSql + " " + whereClauseIdentifyByPrimaryKeys;
@@ -89,6 +114,7 @@ public final class DefaultTableSqlFactory implements TableSqlFactory {
         existsSql,
         insertSqlPrefix,
         mergeSqlPrefix,
+        mergeSqlSuffix,
         updateSqlFactory,
         primaryKeys);
   }
@@ -128,6 +154,27 @@ public final class DefaultTableSqlFactory implements TableSqlFactory {
               + whereClauseIdentifyByPrimaryKeys;
     }
 
+    /**
+     * Creates an update statement which sets the given columns to the rows satisfying the
+     * condition. The statement does not require primary keys.
+     *
+     * @param columns
+     * @param condition
+     * @return
+     */
+    public String createUpdateSql(Collection<String> columns, ConditionSql condition) {
+      for (String col : columns) {
+        if (!canonicalNameToDbColumnMap.containsKey(
+            SormContext.getDefaultCanonicalStringCache().toCanonicalName(col))) {
+          Object[] params = {col, tableName, canonicalNameToDbColumnMap.values()};
+          throw new SormException(
+              ParameterizedStringFormatter.LENGTH_256.format(
+                  "Column [{}] is not found in Table [{}]. The columns are {}.", params));
+        }
+      }
+      return "update " + tableName + createUpdateSetClause(columns) + WHERE + condition;
+    }
+
     private String createUpdateSetClause(Collection<String> columns) {
       return " set "
           + String.join(
@@ -149,17 +196,17 @@ public final class DefaultTableSqlFactory implements TableSqlFactory {
   }
 
   protected String generatePlaceholders(
-      DbMetaData databaseMetaData, TableMetaData tableMetaData, List<String> targetColumns) {
-    if (databaseMetaData.getDatabaseProductName().toLowerCase().contains("h2")) {
-      return String.join(
-          ",",
-          tableMetaData.getColumnsMetaData().stream()
-              .filter(c -> targetColumns.contains(c.getColumnName()))
-              .map(c -> c.getTypeName().equalsIgnoreCase("json") ? "? format json" : "?")
-              .toArray(String[]::new));
-    } else {
-      return String.join(
-          ",", Stream.generate(() -> "?").limit(targetColumns.size()).collect(Collectors.toList()));
-    }
+      SqlDialect dialect, TableMetaData tableMetaData, List<String> targetColumns) {
+    return String.join(
+        ",",
+        tableMetaData.getColumnsMetaData().stream()
+            .filter(c -> targetColumns.contains(c.getColumnName()))
+            .map(c -> dialect.getPlaceholder(c.getTypeName()))
+            .toArray(String[]::new));
+  }
+
+  @Override
+  public String toString() {
+    return "DefaultTableSqlFactory [sqlDialect=" + sqlDialect + "]";
   }
 }
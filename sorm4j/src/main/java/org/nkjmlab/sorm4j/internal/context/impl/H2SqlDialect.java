@@ -0,0 +1,9 @@
+package org.nkjmlab.sorm4j.internal.context.impl;
+
+public final class H2SqlDialect extends DefaultSqlDialect {
+
+  @Override
+  public String getPlaceholder(String columnTypeName) {
+    return columnTypeName.equalsIgnoreCase("json") ? "? format json" : "?";
+  }
+}
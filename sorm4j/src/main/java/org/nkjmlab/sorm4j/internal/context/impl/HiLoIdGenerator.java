@@ -0,0 +1,75 @@
+package org.nkjmlab.sorm4j.internal.context.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.nkjmlab.sorm4j.common.exception.SormException;
+import org.nkjmlab.sorm4j.context.IdGenerator;
+import org.nkjmlab.sorm4j.util.function.exception.Try;
+
+public final class HiLoIdGenerator implements IdGenerator {
+
+  private final DataSource dataSource;
+  private final String tableName;
+  private final int maxLo;
+
+  private long nextId;
+  private long limit;
+
+  public HiLoIdGenerator(DataSource dataSource, String tableName, int maxLo) {
+    if (maxLo < 1) {
+      throw new IllegalArgumentException("maxLo should be positive.");
+    }
+    this.dataSource = dataSource;
+    this.tableName = tableName;
+    this.maxLo = maxLo;
+  }
+
+  /**
+   * The given connection is not used because the hi value should be committed regardless of the
+   * transaction of the caller.
+   */
+  @Override
+  public synchronized long nextId(Connection connection) {
+    if (nextId >= limit) {
+      long hi = getNextHi();
+      nextId = hi * maxLo;
+      limit = nextId + maxLo;
+    }
+    return nextId++;
+  }
+
+  private long getNextHi() {
+    try (Connection con = dataSource.getConnection()) {
+      con.setAutoCommit(false);
+      try (PreparedStatement update =
+              con.prepareStatement("update " + tableName + " set NEXT_HI = NEXT_HI + 1");
+          PreparedStatement select = con.prepareStatement("select NEXT_HI from " + tableName)) {
+        if (update.executeUpdate() != 1) {
+          throw new SormException(
+              "Table [" + tableName + "] should have exactly one row for hi values.");
+        }
+        try (ResultSet rs = select.executeQuery()) {
+          rs.next();
+          long ret = rs.getLong(1);
+          con.commit();
+          return ret;
+        }
+      } catch (Exception e) {
+        con.rollback();
+        throw e;
+      }
+    } catch (SQLException e) {
+      throw Try.rethrow(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "HiLoIdGenerator [tableName=" + tableName + ", maxLo=" + maxLo + "]";
+  }
+}
@@ -0,0 +1,37 @@
+package org.nkjmlab.sorm4j.internal.context.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <pre>
+ * insert into GUESTS (ID, NAME) values (?,?),(?,?) on duplicate key update NAME=values(NAME)
+ * </pre>
+ */
+public final class MySqlDialect extends DefaultSqlDialect {
+
+  /** Sequences are supported by MariaDB. */
+  @Override
+  public String getNextSequenceValueSql(String sequenceName) {
+    return "select nextval(" + sequenceName + ")";
+  }
+
+  @Override
+  public String getMergeSqlPrefix(
+      String tableName, List<String> columns, List<String> primaryKeys) {
+    return "insert into " + tableName + " (" + String.join(", ", columns) + ") values";
+  }
+
+  @Override
+  public String getMergeSqlSuffix(
+      String tableName, List<String> columns, List<String> primaryKeys) {
+    List<String> updateColumns = getUpdateColumns(columns, primaryKeys);
+    // MySQL has no "do nothing" clause. Assigning a key to itself leaves the row unchanged.
+    return " on duplicate key update "
+        + (updateColumns.isEmpty()
+            ? primaryKeys.get(0) + "=" + primaryKeys.get(0)
+            : updateColumns.stream()
+                .map(col -> col + "=values(" + col + ")")
+                .collect(Collectors.joining(", ")));
+  }
+}
@@ -0,0 +1,46 @@
+package org.nkjmlab.sorm4j.internal.context.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <pre>
+ * insert into GUESTS (ID, NAME) values (?,?),(?,?)
+ *   on conflict (ID) do update set NAME=excluded.NAME
+ * </pre>
+ */
+public final class PostgreSqlDialect extends DefaultSqlDialect {
+
+  @Override
+  public String getPlaceholder(String columnTypeName) {
+    return columnTypeName.equalsIgnoreCase("json")
+        ? "?::json"
+        : columnTypeName.equalsIgnoreCase("jsonb") ? "?::jsonb" : "?";
+  }
+
+  @Override
+  public String getNextSequenceValueSql(String sequenceName) {
+    return "select nextval('" + sequenceName + "')";
+  }
+
+  @Override
+  public String getMergeSqlPrefix(
+      String tableName, List<String> columns, List<String> primaryKeys) {
+    return "insert into " + tableName + " (" + String.join(", ", columns) + ") values";
+  }
+
+  @Override
+  public String getMergeSqlSuffix(
+      String tableName, List<String> columns, List<String> primaryKeys) {
+    List<String> updateColumns = getUpdateColumns(columns, primaryKeys);
+    return " on conflict ("
+        + String.join(", ", primaryKeys)
+        + ")"
+        + (updateColumns.isEmpty()
+            ? " do nothing"
+            : " do update set "
+                + updateColumns.stream()
+                    .map(col -> col + "=excluded." + col)
+                    .collect(Collectors.joining(", ")));
+  }
+}
@@ -0,0 +1,91 @@
+package org.nkjmlab.sorm4j.internal.context.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.nkjmlab.sorm4j.context.IdGenerator;
+import org.nkjmlab.sorm4j.context.SqlDialect;
+import org.nkjmlab.sorm4j.util.function.exception.Try;
+
+/**
+ * Reserves blocks of ids from a database sequence. A new block is fetched outside the lock of this
+ * generator, so the other threads keep assigning ids from the current block during the round-trip.
+ * When several threads fetch a block at the same time, the blocks not used yet are buffered for the
+ * later calls.
+ */
+public final class SequenceIdGenerator implements IdGenerator {
+
+  private final String sequenceName;
+  private final int allocationSize;
+
+  /** First ids of the reserved blocks not used yet. Guarded by this. */
+  private final Deque<Long> reservedBlocks = new ArrayDeque<>();
+
+  private long nextId;
+  private long limit;
+
+  public SequenceIdGenerator(String sequenceName, int allocationSize) {
+    if (allocationSize < 1) {
+      throw new IllegalArgumentException("allocationSize should be positive.");
+    }
+    this.sequenceName = sequenceName;
+    this.allocationSize = allocationSize;
+  }
+
+  /** The dialect is picked from the database product name of the connection. */
+  @Override
+  public long nextId(Connection connection) {
+    return nextId(connection, null);
+  }
+
+  @Override
+  public long nextId(Connection connection, SqlDialect sqlDialect) {
+    while (true) {
+      synchronized (this) {
+        if (nextId < limit) {
+          return nextId++;
+        }
+        Long block = reservedBlocks.poll();
+        if (block != null) {
+          nextId = block;
+          limit = block + allocationSize;
+          return nextId++;
+        }
+      }
+      long block = getNextSequenceValue(connection, sqlDialect);
+      synchronized (this) {
+        reservedBlocks.add(block);
+      }
+    }
+  }
+
+  private long getNextSequenceValue(Connection connection, SqlDialect sqlDialect) {
+    try {
+      SqlDialect dialect =
+          sqlDialect != null
+              ? sqlDialect
+              : SqlDialect.of(connection.getMetaData().getDatabaseProductName());
+      String sql = dialect.getNextSequenceValueSql(sequenceName);
+      try (PreparedStatement stmt = connection.prepareStatement(sql);
+          ResultSet rs = stmt.executeQuery()) {
+        rs.next();
+        return rs.getLong(1);
+      }
+    } catch (SQLException e) {
+      throw Try.rethrow(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SequenceIdGenerator [sequenceName="
+        + sequenceName
+        + ", allocationSize="
+        + allocationSize
+        + "]";
+  }
+}
@@ -0,0 +1,67 @@
+package org.nkjmlab.sorm4j.internal.context.logging;
+
+import org.nkjmlab.sorm4j.context.logging.SormLogger;
+import org.nkjmlab.sorm4j.internal.util.ParameterizedStringFormatter;
+import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
+
+/**
+ * An immutable record captured by a {@link LogPoint} in the asynchronous mode. A record holds only
+ * references and numbers, and is formatted by {@link AsyncLogWriter} on its own thread.
+ */
+sealed interface AsyncLogRecord {
+
+  SormLogger logger();
+
+  /** Formats this record and writes it to the logger. */
+  void write();
+
+  record BeforeSql(
+      SormLogger logger, String tag, int connectionHash, String sql, Object[] parameters)
+      implements AsyncLogRecord {
+    @Override
+    public void write() {
+      String executableSql =
+          parameters == null || parameters.length == 0
+              ? sql
+              : ParameterizedSql.withOrderedParameters(sql, parameters).getExecutableSql();
+      Object[] params = {tag, executableSql, Integer.toHexString(connectionHash)};
+      logger.debug(
+          ParameterizedStringFormatter.LENGTH_256.format(
+              "[{}] Execute SQL [{}] on connection [{}]", params));
+    }
+  }
+
+  record BeforeMultiRow(
+      SormLogger logger,
+      String tag,
+      int connectionHash,
+      Class<?> objectClass,
+      int length,
+      String tableName)
+      implements AsyncLogRecord {
+    @Override
+    public void write() {
+      Object[] params = {tag, length, objectClass, tableName, Integer.toHexString(connectionHash)};
+      logger.debug(
+          ParameterizedStringFormatter.LENGTH_256.format(
+              "[{}] Execute multirow insert with [{}] objects of [{}] into [{}] on connection [{}]",
+              params));
+    }
+  }
+
+  record AfterSql(SormLogger logger, String tag, long elapsedTime, String format, long rows)
+      implements AsyncLogRecord {
+    @Override
+    public void write() {
+      Object[] params = {tag, String.format("%.3f", (double) elapsedTime / 1000 / 1000), rows};
+      logger.debug(ParameterizedStringFormatter.LENGTH_256.format(format, params));
+    }
+  }
+
+  record Mapping(SormLogger logger, String tag, String mappingInfo) implements AsyncLogRecord {
+    @Override
+    public void write() {
+      logger.logMapping(tag, mappingInfo);
+    }
+  }
+}
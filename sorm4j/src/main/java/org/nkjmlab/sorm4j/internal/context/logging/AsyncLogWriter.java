@@ -0,0 +1,161 @@
+package org.nkjmlab.sorm4j.internal.context.logging;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.nkjmlab.sorm4j.context.logging.SormLogger;
+import org.nkjmlab.sorm4j.internal.util.MpscRingBuffer;
+
+/**
+ * Writes {@link AsyncLogRecord}s to their loggers on a daemon thread. Records are put into a
+ * bounded ring buffer without blocking, and dropped with a count when the buffer is full. The
+ * count of the dropped records is also reported to the logger by a warning.
+ *
+ * <p>All the writers in the process share one daemon thread and one shutdown hook. The thread
+ * parks while no writer has a record, and a writer holds no thread of its own, so an unused writer
+ * is garbage collected with its log context.
+ */
+final class AsyncLogWriter {
+
+  private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final MpscRingBuffer<AsyncLogRecord> buffer;
+  private final AtomicLong droppedCount = new AtomicLong();
+  // true while the writer is in the queue of the worker.
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private long reportedDroppedCount;
+  private volatile SormLogger lastLogger;
+
+  AsyncLogWriter(int bufferSize) {
+    this.buffer = new MpscRingBuffer<>(bufferSize);
+  }
+
+  /**
+   * Puts the record into the buffer.
+   *
+   * @param record
+   * @return false if the record is dropped.
+   */
+  boolean offer(AsyncLogRecord record) {
+    if (buffer.offer(record)) {
+      schedule();
+      return true;
+    }
+    droppedCount.incrementAndGet();
+    return false;
+  }
+
+  long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Waits until the buffer becomes empty or the timeout elapses.
+   *
+   * @param timeout
+   * @param unit
+   * @return true if the buffer becomes empty
+   */
+  boolean awaitEmpty(long timeout, TimeUnit unit) {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!buffer.isEmpty()) {
+      if (System.nanoTime() > deadline) {
+        return false;
+      }
+      LockSupport.parkNanos(PARK_NANOS);
+    }
+    // waits for the record being written.
+    drain();
+    return true;
+  }
+
+  private void schedule() {
+    if (scheduled.compareAndSet(false, true)) {
+      Worker.INSTANCE.submit(this);
+    }
+  }
+
+  /** Drains the buffer on the worker and schedules again if a record is put in the meantime. */
+  private void drainScheduled() {
+    drain();
+    scheduled.set(false);
+    if (!buffer.isEmpty()) {
+      schedule();
+    }
+  }
+
+  /** Writes the buffered records. */
+  private synchronized void drain() {
+    AsyncLogRecord record;
+    while ((record = buffer.poll()) != null) {
+      lastLogger = record.logger();
+      try {
+        record.write();
+      } catch (RuntimeException e) {
+        // a failure of a logger should not stop the writer.
+      }
+    }
+    reportDropped();
+  }
+
+  private void reportDropped() {
+    long dropped = droppedCount.get();
+    SormLogger logger = lastLogger;
+    if (dropped == reportedDroppedCount || logger == null) {
+      return;
+    }
+    logger.warn(
+        "[{}] log records are dropped because the buffer of [{}] records is full",
+        dropped - reportedDroppedCount,
+        buffer.capacity());
+    reportedDroppedCount = dropped;
+  }
+
+  /**
+   * The daemon thread shared by all the writers. It is started when a record is put for the first
+   * time, and drains the writers which have records in the order they are scheduled.
+   */
+  private static final class Worker {
+
+    private static final Worker INSTANCE = new Worker();
+
+    private final Queue<AsyncLogWriter> scheduledWriters = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+
+    private Worker() {
+      this.thread = new Thread(this::run, "sorm4j-async-logger");
+      thread.setDaemon(true);
+      thread.start();
+      Runtime.getRuntime()
+          .addShutdownHook(new Thread(this::drainAll, "sorm4j-async-logger-shutdown"));
+    }
+
+    private void submit(AsyncLogWriter writer) {
+      scheduledWriters.add(writer);
+      LockSupport.unpark(thread);
+    }
+
+    private void run() {
+      while (!Thread.currentThread().isInterrupted()) {
+        AsyncLogWriter writer = scheduledWriters.poll();
+        if (writer == null) {
+          // a writer submitted after the poll unparks this thread before or during parking.
+          LockSupport.park(this);
+        } else {
+          writer.drainScheduled();
+        }
+      }
+    }
+
+    private void drainAll() {
+      AsyncLogWriter writer;
+      while ((writer = scheduledWriters.poll()) != null) {
+        writer.drain();
+      }
+    }
+  }
+}
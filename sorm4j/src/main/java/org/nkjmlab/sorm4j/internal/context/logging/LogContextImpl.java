@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.nkjmlab.sorm4j.context.logging.LogContext;
@@ -21,13 +22,41 @@ public class LogContextImpl implements LogContext {
 
   private final Map<Class<?>, SormLogger> loggers = new ConcurrentHashMap<>();
 
+  private final AsyncLogWriter asyncWriter;
+
   public LogContextImpl(
       Supplier<SormLogger> loggerSupplier, Set<LogContext.Category> enabledCategories) {
+    this(loggerSupplier, enabledCategories, 0);
+  }
+
+  /**
+   * @param loggerSupplier
+   * @param enabledCategories
+   * @param asyncBufferSize the size of the buffer of the asynchronous logging. 0 means synchronous
+   *     logging.
+   */
+  public LogContextImpl(
+      Supplier<SormLogger> loggerSupplier,
+      Set<LogContext.Category> enabledCategories,
+      int asyncBufferSize) {
     this.loggerSupplier = loggerSupplier != null ? loggerSupplier : getDefaultLoggerSupplier();
     this.enabledCategories =
         enabledCategories.size() == 0 ? Collections.emptySet() : EnumSet.copyOf(enabledCategories);
+    this.asyncWriter =
+        asyncBufferSize > 0 && !this.enabledCategories.isEmpty()
+            ? new AsyncLogWriter(asyncBufferSize)
+            : null;
   }
 
+  /**
+   * Gets the supplier of the logger found at the classpath. The order is Log4j2, SLF4J and JUL.
+   *
+   * <p>The detection is done in the static initializers of the logger classes, which are
+   * initialized at build time by the native image metadata shipped in the jar, so that the unused
+   * backends are removed from a GraalVM native image.
+   *
+   * @return
+   */
   public static Supplier<SormLogger> getDefaultLoggerSupplier() {
     return Log4jSormLogger.enableLogger
         ? Log4jSormLogger::getLogger
@@ -37,7 +66,7 @@ public class LogContextImpl implements LogContext {
   @Override
   public Optional<LogPoint> createLogPoint(LogContext.Category category, Class<?> callerClass) {
     return isEnable(category)
-        ? Optional.of(new LogPoint(category.name(), getLogger(callerClass)))
+        ? Optional.of(new LogPoint(category.name(), getLogger(callerClass), asyncWriter))
         : Optional.empty();
   }
 
@@ -51,10 +80,33 @@ public class LogContextImpl implements LogContext {
     return enabledCategories.contains(category);
   }
 
+  @Override
+  public boolean isAsync() {
+    return asyncWriter != null;
+  }
+
+  @Override
+  public long getDroppedCount() {
+    return asyncWriter == null ? 0 : asyncWriter.getDroppedCount();
+  }
+
+  /**
+   * Waits until the buffered records of the asynchronous logging are written. This is for test.
+   *
+   * @param timeout
+   * @param unit
+   * @return true if all the records are written
+   */
+  boolean awaitAsyncWrite(long timeout, TimeUnit unit) {
+    return asyncWriter == null || asyncWriter.awaitEmpty(timeout, unit);
+  }
+
   @Override
   public String toString() {
     return "LoggerContext [enabledCategories="
         + enabledCategories
+        + ", async="
+        + isAsync()
         + ", logger="
         + getLogger(LogContext.class)
         + "]";
@@ -1,6 +1,8 @@
 package org.nkjmlab.sorm4j.internal.context.logging;
 
 import java.sql.Connection;
+import java.util.Collection;
+import java.util.stream.IntStream;
 
 import org.nkjmlab.sorm4j.context.logging.SormLogger;
 import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
@@ -9,11 +11,22 @@ public final class LogPoint {
 
   private final String name;
   private final SormLogger logger;
+  private final AsyncLogWriter asyncWriter;
   private long startTime;
 
   LogPoint(String name, SormLogger logger) {
+    this(name, logger, null);
+  }
+
+  /**
+   * @param name
+   * @param logger
+   * @param asyncWriter null if the log point writes to the logger synchronously
+   */
+  LogPoint(String name, SormLogger logger, AsyncLogWriter asyncWriter) {
     this.name = name;
     this.logger = logger;
+    this.asyncWriter = asyncWriter;
   }
 
   private long getElapsedTime() {
@@ -25,34 +38,88 @@ public final class LogPoint {
   }
 
   public void logAfterMultiRow(int[] result) {
+    if (asyncWriter != null) {
+      asyncWriter.offer(
+          new AsyncLogRecord.AfterSql(
+              logger,
+              name,
+              getElapsedTime(),
+              "[{}] [{} msec] : Affect [{}] objects",
+              IntStream.of(result).sum()));
+      return;
+    }
     logger.logAfterMultiRow(name, getElapsedTime(), result);
   }
 
   public void logAfterQuery(Object ret) {
+    if (asyncWriter != null) {
+      asyncWriter.offer(
+          new AsyncLogRecord.AfterSql(
+              logger,
+              getTag(),
+              getElapsedTime(),
+              "[{}] [{} msec] : Read [{}] objects",
+              ret instanceof Collection ? ((Collection<?>) ret).size() : 1));
+      return;
+    }
     logger.logAfterQuery(getTag(), getElapsedTime(), ret);
   }
 
   public void logAfterUpdate(int ret) {
+    if (asyncWriter != null) {
+      asyncWriter.offer(
+          new AsyncLogRecord.AfterSql(
+              logger, name, getElapsedTime(), "[{}] [{} msec] : Affect [{}] rows", ret));
+      return;
+    }
     logger.logAfterUpdate(name, getElapsedTime(), ret);
   }
 
   public void logBeforeMultiRow(
       Connection con, Class<?> objectClass, int length, String tableName) {
-    logger.logBeforeMultiRow(getTag(), con, objectClass, length, tableName);
+    if (asyncWriter != null) {
+      asyncWriter.offer(
+          new AsyncLogRecord.BeforeMultiRow(
+              logger, getTag(), System.identityHashCode(con), objectClass, length, tableName));
+    } else {
+      logger.logBeforeMultiRow(getTag(), con, objectClass, length, tableName);
+    }
     this.startTime = System.nanoTime();
   }
 
   public void logBeforeSql(Connection connection, ParameterizedSql sql) {
-    logger.logBeforeSql(getTag(), connection, sql);
+    if (asyncWriter != null) {
+      offerBeforeSql(connection, sql.getSql(), sql.getParameters());
+    } else {
+      logger.logBeforeSql(getTag(), connection, sql);
+    }
     this.startTime = System.nanoTime();
   }
 
   public void logBeforeSql(Connection connection, String sql, Object... parameters) {
-    logger.logBeforeSql(getTag(), connection, sql, parameters);
+    if (asyncWriter != null) {
+      offerBeforeSql(connection, sql, parameters);
+    } else {
+      logger.logBeforeSql(getTag(), connection, sql, parameters);
+    }
     this.startTime = System.nanoTime();
   }
 
   public void logMapping(String mappingInfo) {
+    if (asyncWriter != null) {
+      asyncWriter.offer(new AsyncLogRecord.Mapping(logger, getTag(), mappingInfo));
+      return;
+    }
     logger.logMapping(getTag(), mappingInfo);
   }
+
+  private void offerBeforeSql(Connection connection, String sql, Object[] parameters) {
+    asyncWriter.offer(
+        new AsyncLogRecord.BeforeSql(
+            logger,
+            getTag(),
+            System.identityHashCode(connection),
+            sql,
+            parameters == null ? null : parameters.clone()));
+  }
 }
@@ -0,0 +1,219 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import java.lang.ref.Cleaner;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.nkjmlab.sorm4j.context.logging.SormLogger;
+import org.nkjmlab.sorm4j.context.metrics.ConnectionTracker;
+import org.nkjmlab.sorm4j.context.metrics.SormMetricsSnapshot.LatencySnapshot;
+import org.nkjmlab.sorm4j.internal.util.LatencyHistogram;
+import org.nkjmlab.sorm4j.internal.util.MethodInvokerInfoUtils;
+
+/**
+ * The implementation of {@link ConnectionTracker}.
+ *
+ * <p>Each tracked connection is registered to a {@link Cleaner} with a {@link TrackedConnection}
+ * which does not refer to the connection. The cleaning action is run by {@link
+ * TrackedConnection#close()} when the connection is closed, or by the cleaner thread when the
+ * connection becomes unreachable without being closed.
+ *
+ * <p>The hold time of a connection is checked when it is closed. The connections which are still
+ * open are swept for the ones held longer than the threshold at most once per half of the
+ * threshold, on opening or closing a connection.
+ */
+public final class ConnectionTrackerImpl implements ConnectionTracker {
+
+  public static final ConnectionTrackerImpl DISABLED = new ConnectionTrackerImpl();
+
+  private static final String LIBRARY_PACKAGE = "org.nkjmlab.sorm4j.";
+  private static final int MAX_STACK_DEPTH = 32;
+
+  /** The cleaner thread is started at the first tracking. */
+  private static final class CleanerHolder {
+    private static final Cleaner CLEANER = Cleaner.create();
+  }
+
+  private final boolean enabled;
+  private final long holdTimeThresholdNanos;
+  private final long sweepIntervalNanos;
+  private final AtomicLong nextSweepNanos;
+  private final AtomicLong idGenerator = new AtomicLong();
+  private final Map<Long, TrackedConnection> openConnections = new ConcurrentHashMap<>();
+  private final LongAdder leakedCount = new LongAdder();
+  private volatile LatencyHistogram holdTimes = new LatencyHistogram();
+
+  private ConnectionTrackerImpl() {
+    this.enabled = false;
+    this.holdTimeThresholdNanos = Long.MAX_VALUE;
+    this.sweepIntervalNanos = Long.MAX_VALUE;
+    this.nextSweepNanos = new AtomicLong();
+  }
+
+  public ConnectionTrackerImpl(Duration holdTimeThreshold) {
+    this.enabled = true;
+    this.holdTimeThresholdNanos = holdTimeThreshold.toNanos();
+    this.sweepIntervalNanos = holdTimeThresholdNanos / 2;
+    this.nextSweepNanos = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts tracking the given connection.
+   *
+   * @param connection the object whose reachability is tracked
+   * @param logger
+   * @return the handle to be closed when the connection is closed
+   */
+  public TrackedConnection track(Object connection, SormLogger logger) {
+    sweepLongHeldConnections(System.nanoTime());
+    TrackedConnection ret =
+        new TrackedConnection(
+            this,
+            idGenerator.incrementAndGet(),
+            logger,
+            List.of(MethodInvokerInfoUtils.getOutsideStackTrace(LIBRARY_PACKAGE, MAX_STACK_DEPTH)));
+    openConnections.put(ret.id, ret);
+    ret.cleanable = CleanerHolder.CLEANER.register(connection, ret);
+    return ret;
+  }
+
+  private void untrack(TrackedConnection connection, boolean closed) {
+    long now = System.nanoTime();
+    openConnections.remove(connection.id);
+    long heldNanos = now - connection.acquiredNanos;
+    holdTimes.record(heldNanos);
+    if (!closed) {
+      leakedCount.increment();
+      connection.logger.warn(
+          "Connection [{}] opened by [{}] at {} was garbage-collected without being closed after"
+              + " [{}] msec.",
+          connection.id,
+          connection.threadName,
+          connection.getCallSite(),
+          TimeUnit.NANOSECONDS.toMillis(heldNanos));
+    } else if (heldNanos > holdTimeThresholdNanos && !connection.warned) {
+      connection.logger.warn(
+          "Connection [{}] opened by [{}] at {} was held for [{}] msec.",
+          connection.id,
+          connection.threadName,
+          connection.getCallSite(),
+          TimeUnit.NANOSECONDS.toMillis(heldNanos));
+    }
+    sweepLongHeldConnections(now);
+  }
+
+  /**
+   * Warns the open connections held longer than the threshold. Nothing is done if the last sweep
+   * was within the sweep interval.
+   */
+  private void sweepLongHeldConnections(long now) {
+    long next = nextSweepNanos.get();
+    if (now - next < 0 || !nextSweepNanos.compareAndSet(next, now + sweepIntervalNanos)) {
+      return;
+    }
+    for (TrackedConnection c : openConnections.values()) {
+      if (!c.warned && now - c.acquiredNanos > holdTimeThresholdNanos) {
+        c.warned = true;
+        c.logger.warn(
+            "Connection [{}] opened by [{}] at {} has been held for [{}] msec.",
+            c.id,
+            c.threadName,
+            c.getCallSite(),
+            TimeUnit.NANOSECONDS.toMillis(now - c.acquiredNanos));
+      }
+    }
+  }
+
+  @Override
+  public List<OpenConnection> getOpenConnections() {
+    long now = System.nanoTime();
+    return openConnections.values().stream()
+        .sorted(Comparator.comparingLong(c -> c.id))
+        .map(
+            c ->
+                new OpenConnection(
+                    c.id,
+                    c.acquiredAt,
+                    Duration.ofNanos(now - c.acquiredNanos),
+                    c.threadName,
+                    c.callerStack))
+        .toList();
+  }
+
+  @Override
+  public LatencySnapshot getHoldTimes() {
+    return SormMetricsImpl.toSnapshot(holdTimes);
+  }
+
+  @Override
+  public long getLeakedCount() {
+    return leakedCount.sum();
+  }
+
+  @Override
+  public void reset() {
+    holdTimes = new LatencyHistogram();
+    leakedCount.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "ConnectionTracker [enabled="
+        + enabled
+        + ", holdTimeThresholdNanos="
+        + holdTimeThresholdNanos
+        + "]";
+  }
+
+  /** The state of a tracked connection. This object should not refer to the connection. */
+  public static final class TrackedConnection implements Runnable {
+    private final ConnectionTrackerImpl tracker;
+    private final long id;
+    private final long acquiredNanos = System.nanoTime();
+    private final Instant acquiredAt = Instant.now();
+    private final String threadName = Thread.currentThread().getName();
+    private final SormLogger logger;
+    private final List<StackTraceElement> callerStack;
+    private volatile Cleaner.Cleanable cleanable;
+    private volatile boolean warned;
+    private volatile boolean closed;
+
+    private TrackedConnection(
+        ConnectionTrackerImpl tracker,
+        long id,
+        SormLogger logger,
+        List<StackTraceElement> callerStack) {
+      this.tracker = tracker;
+      this.id = id;
+      this.logger = logger;
+      this.callerStack = callerStack;
+    }
+
+    /** Stops tracking because the connection is closed. */
+    public void close() {
+      closed = true;
+      cleanable.clean();
+    }
+
+    @Override
+    public void run() {
+      tracker.untrack(this, closed);
+    }
+
+    private String getCallSite() {
+      return callerStack.isEmpty() ? "" : callerStack.get(0).toString();
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import org.nkjmlab.sorm4j.context.logging.LogContext.Category;
+import org.nkjmlab.sorm4j.internal.util.SqlFingerprints;
+
+/**
+ * Records executions of statements to {@link SormMetricsImpl} and {@link SlowQueryLogImpl}. A call
+ * site takes time stamps by {@link #nanoTime()} and passes them to the record methods. When both
+ * of them are disabled, {@link #nanoTime()} returns 0 and the record methods return immediately,
+ * so that the call site neither reads the clock nor allocates.
+ */
+public final class ExecutionRecorder {
+
+  public static final ExecutionRecorder DISABLED =
+      new ExecutionRecorder(SormMetricsImpl.DISABLED, SlowQueryLogImpl.DISABLED);
+
+  private final SormMetricsImpl metrics;
+  private final SlowQueryLogImpl slowQueryLog;
+  private final boolean enabled;
+
+  public ExecutionRecorder(SormMetricsImpl metrics, SlowQueryLogImpl slowQueryLog) {
+    this.metrics = metrics;
+    this.slowQueryLog = slowQueryLog;
+    this.enabled = metrics.isEnabled() || slowQueryLog.isEnabled();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the current value of the clock.
+   *
+   * @return 0 if the recorder is disabled.
+   */
+  public long nanoTime() {
+    return enabled ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Records a successful execution of a statement.
+   *
+   * @param category
+   * @param sql
+   * @param parameters null for multi-row updates
+   * @param rows
+   * @param startNanos
+   * @param jdbcEndNanos the time when the JDBC part finished. The rest is counted as mapping time.
+   */
+  public void record(
+      Category category,
+      String sql,
+      Object[] parameters,
+      long rows,
+      long startNanos,
+      long jdbcEndNanos) {
+    if (!enabled) {
+      return;
+    }
+    long endNanos = System.nanoTime();
+    String fingerprint = SqlFingerprints.of(sql);
+    metrics.record(category, fingerprint, rows, startNanos, jdbcEndNanos, endNanos);
+    slowQueryLog.record(category, sql, fingerprint, parameters, rows, startNanos, endNanos);
+  }
+
+  /**
+   * Records a failed execution of a statement.
+   *
+   * @param category
+   * @param sql
+   */
+  public void recordError(Category category, String sql) {
+    if (!enabled) {
+      return;
+    }
+    metrics.recordError(category, SqlFingerprints.of(sql));
+  }
+
+  /**
+   * Records a creation of a mapping. The whole time is counted as mapping time.
+   *
+   * @param category
+   * @param key
+   * @param startNanos
+   */
+  public void recordMapping(Category category, String key, long startNanos) {
+    if (!enabled) {
+      return;
+    }
+    metrics.record(category, key, 0, startNanos, startNanos, System.nanoTime());
+  }
+}
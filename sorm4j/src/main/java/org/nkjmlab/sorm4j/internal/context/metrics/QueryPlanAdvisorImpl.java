@@ -0,0 +1,192 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.nkjmlab.sorm4j.Orm;
+import org.nkjmlab.sorm4j.common.container.RowMap;
+import org.nkjmlab.sorm4j.common.exception.SormException;
+import org.nkjmlab.sorm4j.context.metrics.QueryPlanAdvisor;
+import org.nkjmlab.sorm4j.context.metrics.SlowQueryLog;
+import org.nkjmlab.sorm4j.context.metrics.SlowQueryLog.SlowQuery;
+import org.nkjmlab.sorm4j.internal.util.SqlFingerprints;
+import org.nkjmlab.sorm4j.sql.metadata.jdbc.JdbcDatabaseMetaData.TableName;
+import org.nkjmlab.sorm4j.sql.metadata.jdbc.JdbcIndexMetaData;
+import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
+
+/**
+ * The implementation of {@link QueryPlanAdvisor}.
+ *
+ * <p>The where clause is parsed by regular expressions rather than a SQL parser. Statements
+ * joining tables or using sub queries are not advised.
+ */
+public final class QueryPlanAdvisorImpl implements QueryPlanAdvisor {
+
+  private static final Pattern H2_TABLE_SCAN =
+      Pattern.compile("/\\*\\s*[\\w$]+\\.([\\w$]+)\\.tableScan\\b");
+  private static final Pattern H2_INDEX =
+      Pattern.compile("/\\*\\s*[\\w$]+\\.([\\w$]+)\\s*(?::|\\*/)");
+  private static final Pattern POSTGRESQL_TABLE_SCAN = Pattern.compile("Seq Scan on (\\S+)");
+  private static final Pattern POSTGRESQL_INDEX =
+      Pattern.compile("(?:Index (?:Only )?Scan(?: Backward)? using|Bitmap Index Scan on) (\\S+)");
+
+  private static final Pattern SINGLE_TABLE_QUERY =
+      Pattern.compile(
+          "^\\s*select\\s.+?\\sfrom\\s+([\\w.\"$]+)(?:\\s+(?:as\\s+)?[\\w$]+)?\\s+where\\s+(.+?)"
+              + "(?:\\s+(?:group\\s+by|order\\s+by|limit|offset|fetch|for\\s+update)\\b.*)?$",
+          Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+  private static final Pattern EQUAL_CONDITION =
+      Pattern.compile(
+          "(?:^|\\band\\b|\\bor\\b|\\()\\s*(?:[\\w$]+\\.)?\"?([\\w$]+)\"?\\s*(?:=|\\bin\\s*\\()",
+          Pattern.CASE_INSENSITIVE);
+  private static final Pattern NOT_SINGLE_TABLE =
+      Pattern.compile("\\bjoin\\b|\\(\\s*select\\b", Pattern.CASE_INSENSITIVE);
+
+  private final Orm orm;
+  private final boolean analyze;
+
+  public QueryPlanAdvisorImpl(Orm orm, boolean analyze) {
+    this.orm = orm;
+    this.analyze = analyze;
+  }
+
+  @Override
+  public QueryPlan explain(String sql, Object... parameters) {
+    if (!isQuery(sql)) {
+      throw new SormException("Only queries can be explained but [" + sql + "] is not a query.");
+    }
+    String plan =
+        orm
+            .readList(RowMap.class, (analyze ? "explain analyze " : "explain ") + sql, parameters)
+            .stream()
+            .map(row -> row.values().stream().map(String::valueOf).collect(Collectors.joining(" ")))
+            .collect(Collectors.joining(System.lineSeparator()));
+    return new QueryPlan(
+        sql,
+        plan,
+        findAll(plan, H2_TABLE_SCAN, POSTGRESQL_TABLE_SCAN),
+        findAll(plan, H2_INDEX, POSTGRESQL_INDEX));
+  }
+
+  @Override
+  public List<QueryPlan> explain(SlowQueryLog slowQueryLog) {
+    return getQueries(slowQueryLog).stream()
+        .map(q -> explain(q.getSql(), q.getParameters()))
+        .toList();
+  }
+
+  @Override
+  public List<IndexRecommendation> recommendIndexes(ParameterizedSql... statements) {
+    return recommendIndexes(List.of(statements));
+  }
+
+  @Override
+  public List<IndexRecommendation> recommendIndexes(SlowQueryLog slowQueryLog) {
+    return recommendIndexes(getQueries(slowQueryLog));
+  }
+
+  private List<IndexRecommendation> recommendIndexes(List<ParameterizedSql> statements) {
+    Map<TableName, Map<String, JdbcIndexMetaData>> indexes =
+        orm.getJdbcDatabaseMetaData().getJdbcIndexesMetaData();
+    Map<String, IndexRecommendation> ret = new LinkedHashMap<>();
+    for (ParameterizedSql statement : statements) {
+      String sql = statement.getSql();
+      Matcher m = SINGLE_TABLE_QUERY.matcher(sql);
+      if (!m.matches() || NOT_SINGLE_TABLE.matcher(sql).find()) {
+        continue;
+      }
+      String tableName = m.group(1).replace("\"", "");
+      tableName = tableName.substring(tableName.lastIndexOf('.') + 1);
+      List<String> columns = getEqualColumns(m.group(2));
+      if (columns.isEmpty()
+          || isLeadingColumnOfIndex(indexes.get(TableName.of(tableName)), columns)) {
+        continue;
+      }
+      QueryPlan plan = explain(sql, statement.getParameters());
+      if (usesIndex(plan, tableName)) {
+        continue;
+      }
+      String createIndexStatement =
+          "create index if not exists "
+              + ("index_in_" + tableName + "_on_" + String.join("_", columns))
+                  .toUpperCase(Locale.ROOT)
+              + " on "
+              + tableName
+              + "("
+              + String.join(", ", columns)
+              + ")";
+      ret.putIfAbsent(
+          createIndexStatement,
+          new IndexRecommendation(tableName, columns, sql, plan, createIndexStatement));
+    }
+    return new ArrayList<>(ret.values());
+  }
+
+  private static List<String> getEqualColumns(String whereClause) {
+    Set<String> ret = new LinkedHashSet<>();
+    Matcher m = EQUAL_CONDITION.matcher(whereClause);
+    while (m.find()) {
+      ret.add(m.group(1));
+    }
+    return new ArrayList<>(ret);
+  }
+
+  private static boolean isLeadingColumnOfIndex(
+      Map<String, JdbcIndexMetaData> indexes, List<String> columns) {
+    if (indexes == null) {
+      return false;
+    }
+    // JdbcIndexMetaData keeps the first column of each index.
+    return indexes.values().stream()
+        .map(JdbcIndexMetaData::getColumnName)
+        .anyMatch(c -> columns.stream().anyMatch(col -> col.equalsIgnoreCase(c)));
+  }
+
+  /**
+   * Returns true if the plan shows that the table is not scanned fully. If the plan is not parsed,
+   * the table is regarded as scanned.
+   */
+  private static boolean usesIndex(QueryPlan plan, String tableName) {
+    if (plan.scannedTables().stream().anyMatch(t -> t.equalsIgnoreCase(tableName))) {
+      return false;
+    }
+    return !plan.usedIndexes().isEmpty();
+  }
+
+  private static List<ParameterizedSql> getQueries(SlowQueryLog slowQueryLog) {
+    Map<String, ParameterizedSql> ret = new LinkedHashMap<>();
+    Stream.concat(slowQueryLog.getSlowQueries().stream(), slowQueryLog.getSampledQueries().stream())
+        .filter(q -> isQuery(q.sql()))
+        .forEach(q -> ret.putIfAbsent(SqlFingerprints.of(q.sql()), toParameterizedSql(q)));
+    return new ArrayList<>(ret.values());
+  }
+
+  private static ParameterizedSql toParameterizedSql(SlowQuery query) {
+    return ParameterizedSql.withOrderedParameters(query.sql(), query.parameters().toArray());
+  }
+
+  private static boolean isQuery(String sql) {
+    String s = sql.stripLeading().toLowerCase(Locale.ROOT);
+    return s.startsWith("select") || s.startsWith("with");
+  }
+
+  private static List<String> findAll(String plan, Pattern... patterns) {
+    Set<String> ret = new LinkedHashSet<>();
+    for (Pattern pattern : patterns) {
+      Matcher m = pattern.matcher(plan);
+      while (m.find()) {
+        ret.add(m.group(1));
+      }
+    }
+    return new ArrayList<>(ret);
+  }
+}
@@ -0,0 +1,57 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.nkjmlab.sorm4j.context.logging.SormLogger;
+import org.nkjmlab.sorm4j.internal.util.MethodInvokerInfoUtils;
+import org.nkjmlab.sorm4j.internal.util.SqlFingerprints;
+
+/**
+ * Detects N+1 query problems in one connection. The queries are counted per SQL fingerprint, and a
+ * warning with the call site is logged when a fingerprint reaches the threshold. The counts are
+ * cleared by {@link #reset()} at the boundaries of transactions.
+ *
+ * <p>Instances of this class are not thread safe as well as the connection.
+ */
+public final class RepeatedQueryDetector {
+
+  private final int threshold;
+  private final SormLogger logger;
+  private final Map<String, int[]> counts = new HashMap<>();
+
+  public RepeatedQueryDetector(int threshold, SormLogger logger) {
+    this.threshold = threshold;
+    this.logger = logger;
+  }
+
+  /**
+   * Counts an execution of the query.
+   *
+   * @param sql
+   * @return true if the count of the fingerprint of the query reaches the threshold by this call.
+   */
+  public boolean count(String sql) {
+    String fingerprint = SqlFingerprints.of(sql);
+    int[] count = counts.computeIfAbsent(fingerprint, k -> new int[1]);
+    if (++count[0] != threshold) {
+      return false;
+    }
+    logger.warn(
+        "[{}] queries of the same shape [{}] are executed in one connection at {}. It could be an"
+            + " N+1 query problem. Consider loading the rows by one query, e.g. TableOrm#loader().",
+        threshold,
+        fingerprint,
+        MethodInvokerInfoUtils.getOutsideInvoker("org.nkjmlab.sorm4j"));
+    return true;
+  }
+
+  public int getCount(String sql) {
+    int[] count = counts.get(SqlFingerprints.of(sql));
+    return count == null ? 0 : count[0];
+  }
+
+  public void reset() {
+    counts.clear();
+  }
+}
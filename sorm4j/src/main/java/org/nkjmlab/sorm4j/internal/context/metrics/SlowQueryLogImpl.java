@@ -0,0 +1,304 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import static java.lang.System.lineSeparator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.nkjmlab.sorm4j.context.logging.LogContext.Category;
+import org.nkjmlab.sorm4j.context.metrics.SlowQueryLog;
+import org.nkjmlab.sorm4j.internal.util.MethodInvokerInfoUtils;
+
+/**
+ * The implementation of {@link SlowQueryLog}. The statements are recorded through {@link
+ * ExecutionRecorder}.
+ *
+ * <p>The aggregation of the top-N tables is kept in two windows. When the current window expires,
+ * it becomes the previous window and a new window starts, so that the tables cover between one and
+ * two windows of statements.
+ */
+public final class SlowQueryLogImpl implements SlowQueryLog {
+
+  public static final SlowQueryLogImpl DISABLED = new SlowQueryLogImpl();
+
+  private static final String LIBRARY_PACKAGE = "org.nkjmlab.sorm4j.";
+  private static final int MAX_STACK_DEPTH = 32;
+  private static final int MAX_FINGERPRINTS_IN_WINDOW = 4096;
+
+  private final boolean enabled;
+  private final long thresholdNanos;
+  private final double sampleRate;
+  private final int capacity;
+  private final long windowNanos;
+
+  private final ArrayDeque<SlowQuery> slowQueries = new ArrayDeque<>();
+  private final ArrayDeque<SlowQuery> sampledQueries = new ArrayDeque<>();
+
+  private volatile Window currentWindow;
+  private volatile Window previousWindow;
+
+  private SlowQueryLogImpl() {
+    this.enabled = false;
+    this.thresholdNanos = Long.MAX_VALUE;
+    this.sampleRate = 0;
+    this.capacity = 0;
+    this.windowNanos = Long.MAX_VALUE;
+    this.currentWindow = new Window(0);
+    this.previousWindow = new Window(0);
+  }
+
+  public SlowQueryLogImpl(Duration threshold, double sampleRate, int capacity, Duration window) {
+    this.enabled = true;
+    this.thresholdNanos = threshold.toNanos();
+    this.sampleRate = sampleRate;
+    this.capacity = capacity;
+    this.windowNanos = window.toNanos();
+    this.currentWindow = new Window(System.nanoTime());
+    this.previousWindow = new Window(System.nanoTime());
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Records an execution.
+   *
+   * @param category
+   * @param sql
+   * @param sqlFingerprint
+   * @param parameters null for multi-row updates
+   * @param rows
+   * @param startNanos
+   * @param endNanos
+   */
+  void record(
+      Category category,
+      String sql,
+      String sqlFingerprint,
+      Object[] parameters,
+      long rows,
+      long startNanos,
+      long endNanos) {
+    if (!enabled) {
+      return;
+    }
+    long elapsedNanos = endNanos - startNanos;
+    getWindow(endNanos).add(sqlFingerprint, elapsedNanos);
+    if (elapsedNanos >= thresholdNanos) {
+      add(
+          slowQueries,
+          createSlowQuery(category, sql, sqlFingerprint, parameters, rows, elapsedNanos));
+    } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+      add(
+          sampledQueries,
+          createSlowQuery(category, sql, sqlFingerprint, parameters, rows, elapsedNanos));
+    }
+  }
+
+  private Window getWindow(long nowNanos) {
+    Window ret = currentWindow;
+    if (nowNanos - ret.startNanos < windowNanos) {
+      return ret;
+    }
+    synchronized (this) {
+      ret = currentWindow;
+      if (nowNanos - ret.startNanos >= windowNanos) {
+        previousWindow = ret;
+        ret = new Window(nowNanos);
+        currentWindow = ret;
+      }
+      return ret;
+    }
+  }
+
+  private static SlowQuery createSlowQuery(
+      Category category,
+      String sql,
+      String sqlFingerprint,
+      Object[] parameters,
+      long rows,
+      long elapsedNanos) {
+    return new SlowQuery(
+        Instant.now(),
+        category,
+        sql,
+        sqlFingerprint,
+        parameters == null
+            ? Collections.emptyList()
+            : Collections.unmodifiableList(Arrays.asList(parameters.clone())),
+        rows,
+        elapsedNanos,
+        List.of(MethodInvokerInfoUtils.getOutsideStackTrace(LIBRARY_PACKAGE, MAX_STACK_DEPTH)));
+  }
+
+  private void add(ArrayDeque<SlowQuery> queries, SlowQuery query) {
+    synchronized (queries) {
+      if (queries.size() >= capacity) {
+        queries.pollFirst();
+      }
+      queries.addLast(query);
+    }
+  }
+
+  @Override
+  public List<SlowQuery> getSlowQueries() {
+    synchronized (slowQueries) {
+      return List.copyOf(slowQueries);
+    }
+  }
+
+  @Override
+  public List<SlowQuery> getSampledQueries() {
+    synchronized (sampledQueries) {
+      return List.copyOf(sampledQueries);
+    }
+  }
+
+  @Override
+  public List<QueryStats> getTopByTotalTime(int n) {
+    return getTop(n, Comparator.comparingLong(QueryStats::totalNanos).reversed());
+  }
+
+  @Override
+  public List<QueryStats> getTopByCount(int n) {
+    return getTop(n, Comparator.comparingLong(QueryStats::count).reversed());
+  }
+
+  private List<QueryStats> getTop(int n, Comparator<QueryStats> comparator) {
+    Map<String, QueryStats> merged = new HashMap<>();
+    for (Window window : new Window[] {previousWindow, currentWindow}) {
+      window.stats.forEach(
+          (fingerprint, stats) ->
+              merged.merge(
+                  fingerprint,
+                  stats.toQueryStats(fingerprint),
+                  (a, b) ->
+                      new QueryStats(
+                          fingerprint,
+                          a.count() + b.count(),
+                          a.totalNanos() + b.totalNanos(),
+                          Math.max(a.maxNanos(), b.maxNanos()))));
+    }
+    return merged.values().stream().sorted(comparator).limit(n).toList();
+  }
+
+  @Override
+  public String dump(int n) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("[Top ").append(n).append(" by total time]").append(lineSeparator());
+    getTopByTotalTime(n).forEach(s -> appendStats(sb, s));
+    sb.append("[Top ").append(n).append(" by count]").append(lineSeparator());
+    getTopByCount(n).forEach(s -> appendStats(sb, s));
+    sb.append("[Slow queries]").append(lineSeparator());
+    List<SlowQuery> queries = new ArrayList<>(getSlowQueries());
+    Collections.reverse(queries);
+    queries.forEach(
+        q ->
+            sb.append(q.timestamp())
+                .append(" ")
+                .append(toMillis(q.elapsedNanos()))
+                .append(" msec ")
+                .append(q.category())
+                .append(" [")
+                .append(q.sql())
+                .append("] ")
+                .append(q.parameters())
+                .append(" at ")
+                .append(q.callerStack().isEmpty() ? "" : q.callerStack().get(0))
+                .append(lineSeparator()));
+    return sb.toString();
+  }
+
+  private static void appendStats(StringBuilder sb, QueryStats s) {
+    sb.append(s.count())
+        .append(" times, total ")
+        .append(toMillis(s.totalNanos()))
+        .append(" msec, max ")
+        .append(toMillis(s.maxNanos()))
+        .append(" msec [")
+        .append(s.sqlFingerprint())
+        .append("]")
+        .append(lineSeparator());
+  }
+
+  private static String toMillis(long nanos) {
+    return String.format("%.3f", (double) nanos / 1000 / 1000);
+  }
+
+  @Override
+  public void reset() {
+    synchronized (this) {
+      currentWindow = new Window(System.nanoTime());
+      previousWindow = new Window(System.nanoTime());
+    }
+    synchronized (slowQueries) {
+      slowQueries.clear();
+    }
+    synchronized (sampledQueries) {
+      sampledQueries.clear();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SlowQueryLog [enabled="
+        + enabled
+        + ", thresholdNanos="
+        + thresholdNanos
+        + ", sampleRate="
+        + sampleRate
+        + ", capacity="
+        + capacity
+        + ", windowNanos="
+        + windowNanos
+        + "]";
+  }
+
+  private static final class Window {
+    private final long startNanos;
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    Window(long startNanos) {
+      this.startNanos = startNanos;
+    }
+
+    void add(String fingerprint, long elapsedNanos) {
+      Stats s = stats.get(fingerprint);
+      if (s == null) {
+        if (stats.size() >= MAX_FINGERPRINTS_IN_WINDOW) {
+          return;
+        }
+        s = stats.computeIfAbsent(fingerprint, k -> new Stats());
+      }
+      s.count.increment();
+      s.totalNanos.add(elapsedNanos);
+      long cur;
+      while (elapsedNanos > (cur = s.maxNanos.get())
+          && !s.maxNanos.compareAndSet(cur, elapsedNanos)) {}
+    }
+  }
+
+  private static final class Stats {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    QueryStats toQueryStats(String fingerprint) {
+      return new QueryStats(fingerprint, count.sum(), totalNanos.sum(), maxNanos.get());
+    }
+  }
+}
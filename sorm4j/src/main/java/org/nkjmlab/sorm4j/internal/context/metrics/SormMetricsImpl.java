@@ -0,0 +1,135 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.nkjmlab.sorm4j.context.logging.LogContext.Category;
+import org.nkjmlab.sorm4j.context.metrics.SormMetrics;
+import org.nkjmlab.sorm4j.context.metrics.SormMetricsSnapshot;
+import org.nkjmlab.sorm4j.context.metrics.SormMetricsSnapshot.LatencySnapshot;
+import org.nkjmlab.sorm4j.context.metrics.SormMetricsSnapshot.StatementMetrics;
+import org.nkjmlab.sorm4j.internal.util.LatencyHistogram;
+
+/**
+ * The implementation of {@link SormMetrics}. The metrics are recorded through {@link
+ * ExecutionRecorder}.
+ */
+public final class SormMetricsImpl implements SormMetrics {
+
+  public static final SormMetricsImpl DISABLED = new SormMetricsImpl(false);
+
+  private final boolean enabled;
+  private final Map<Category, ConcurrentHashMap<String, StatementRecorder>> recorders =
+      new EnumMap<>(Category.class);
+
+  public SormMetricsImpl() {
+    this(true);
+  }
+
+  private SormMetricsImpl(boolean enabled) {
+    this.enabled = enabled;
+    for (Category category : Category.values()) {
+      recorders.put(category, new ConcurrentHashMap<>());
+    }
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Records a successful execution.
+   *
+   * @param category
+   * @param key the SQL fingerprint or the key of the mapping
+   * @param rows
+   * @param startNanos
+   * @param jdbcEndNanos the time when the JDBC part finished. The rest is counted as mapping time.
+   * @param endNanos
+   */
+  void record(
+      Category category, String key, long rows, long startNanos, long jdbcEndNanos, long endNanos) {
+    if (!enabled) {
+      return;
+    }
+    StatementRecorder recorder = getRecorder(category, key);
+    recorder.count.increment();
+    recorder.rows.add(rows);
+    recorder.jdbcTime.record(jdbcEndNanos - startNanos);
+    recorder.mappingTime.record(endNanos - jdbcEndNanos);
+  }
+
+  /**
+   * Records a failed execution.
+   *
+   * @param category
+   * @param key
+   */
+  void recordError(Category category, String key) {
+    if (!enabled) {
+      return;
+    }
+    StatementRecorder recorder = getRecorder(category, key);
+    recorder.count.increment();
+    recorder.errors.increment();
+  }
+
+  private StatementRecorder getRecorder(Category category, String key) {
+    ConcurrentHashMap<String, StatementRecorder> map = recorders.get(category);
+    StatementRecorder ret = map.get(key);
+    return ret != null ? ret : map.computeIfAbsent(key, k -> new StatementRecorder());
+  }
+
+  @Override
+  public SormMetricsSnapshot getSnapshot() {
+    List<StatementMetrics> ret = new ArrayList<>();
+    recorders.forEach(
+        (category, map) ->
+            map.forEach(
+                (key, recorder) ->
+                    ret.add(
+                        new StatementMetrics(
+                            category,
+                            key,
+                            recorder.count.sum(),
+                            recorder.errors.sum(),
+                            recorder.rows.sum(),
+                            toSnapshot(recorder.jdbcTime),
+                            toSnapshot(recorder.mappingTime)))));
+    return new SormMetricsSnapshot(ret);
+  }
+
+  static LatencySnapshot toSnapshot(LatencyHistogram histogram) {
+    return new LatencySnapshot(
+        histogram.getCount(),
+        histogram.getMin(),
+        histogram.getMax(),
+        histogram.getMean(),
+        histogram.getValueAtPercentile(50),
+        histogram.getValueAtPercentile(90),
+        histogram.getValueAtPercentile(99));
+  }
+
+  @Override
+  public void reset() {
+    recorders.values().forEach(Map::clear);
+  }
+
+  @Override
+  public String toString() {
+    return "SormMetrics [enabled=" + enabled + "]";
+  }
+
+  private static final class StatementRecorder {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LatencyHistogram jdbcTime = new LatencyHistogram();
+    private final LatencyHistogram mappingTime = new LatencyHistogram();
+  }
+}
@@ -0,0 +1,49 @@
+package org.nkjmlab.sorm4j.internal.context.tracing;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import org.nkjmlab.sorm4j.context.tracing.InMemorySpanExporter;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer.Span;
+
+public final class InMemorySpanExporterImpl implements InMemorySpanExporter {
+
+  private final int capacity;
+  private final ArrayDeque<Span> spans = new ArrayDeque<>();
+
+  public InMemorySpanExporterImpl(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity should be positive but was " + capacity);
+    }
+    this.capacity = capacity;
+  }
+
+  @Override
+  public void export(Span span) {
+    synchronized (spans) {
+      if (spans.size() >= capacity) {
+        spans.pollFirst();
+      }
+      spans.addLast(span);
+    }
+  }
+
+  @Override
+  public List<Span> getSpans() {
+    synchronized (spans) {
+      return List.copyOf(spans);
+    }
+  }
+
+  @Override
+  public void reset() {
+    synchronized (spans) {
+      spans.clear();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "InMemorySpanExporter [capacity=" + capacity + "]";
+  }
+}
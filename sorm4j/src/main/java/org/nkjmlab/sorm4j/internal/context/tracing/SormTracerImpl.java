@@ -0,0 +1,152 @@
+package org.nkjmlab.sorm4j.internal.context.tracing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import org.nkjmlab.sorm4j.context.tracing.SormTracer;
+import org.nkjmlab.sorm4j.context.tracing.SpanExporter;
+
+/**
+ * The implementation of {@link SormTracer}. A call site starts a {@link SpanRecorder} by {@link
+ * #start(SpanKind, String)}. When the tracer is disabled, {@link SpanRecorder#NOOP} is returned, so
+ * that the call site neither reads the clock nor allocates.
+ */
+public final class SormTracerImpl implements SormTracer {
+
+  public static final SormTracerImpl DISABLED = new SormTracerImpl();
+
+  private final boolean enabled;
+  private final Supplier<TraceContext> parentSupplier;
+  private final SpanExporter exporter;
+
+  private SormTracerImpl() {
+    this.enabled = false;
+    this.parentSupplier = () -> null;
+    this.exporter = span -> {};
+  }
+
+  public SormTracerImpl(Supplier<TraceContext> parentSupplier, SpanExporter exporter) {
+    this.enabled = true;
+    this.parentSupplier = parentSupplier;
+    this.exporter = exporter;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @Override
+  public SpanExporter getExporter() {
+    return exporter;
+  }
+
+  /**
+   * Starts the first phase of a statement.
+   *
+   * @param kind
+   * @param sql
+   * @return {@link SpanRecorder#NOOP} if the tracer is disabled.
+   */
+  public SpanRecorder start(SpanKind kind, String sql) {
+    if (!enabled) {
+      return SpanRecorder.NOOP;
+    }
+    TraceContext parent = parentSupplier.get();
+    return new SpanRecorder(this, parent != null ? parent : TraceContext.newTrace(), kind, sql);
+  }
+
+  private void export(
+      TraceContext parent,
+      SpanKind kind,
+      String sql,
+      long startNanos,
+      long endNanos,
+      long rows,
+      Throwable error) {
+    Instant startTime = Instant.now().minusNanos(System.nanoTime() - startNanos);
+    exporter.export(
+        new Span(
+            parent.traceId(),
+            TraceContext.newSpanId(),
+            parent.spanId(),
+            kind,
+            startTime,
+            Duration.ofNanos(endNanos - startNanos),
+            sql,
+            rows,
+            error));
+  }
+
+  @Override
+  public String toString() {
+    return "SormTracer [enabled=" + enabled + ", exporter=" + exporter + "]";
+  }
+
+  /**
+   * Records the consecutive phases of a statement. An instance is used by one thread. The recorder
+   * exports nothing after {@link #end(long)} or {@link #fail(Throwable)}, so a failure after the
+   * end does not export the same phase again.
+   */
+  public static final class SpanRecorder {
+
+    public static final SpanRecorder NOOP = new SpanRecorder(null, null, null, null);
+
+    private final SormTracerImpl tracer;
+    private final TraceContext parent;
+    private final String sql;
+    private SpanKind kind;
+    private long startNanos;
+    private boolean ended;
+
+    private SpanRecorder(SormTracerImpl tracer, TraceContext parent, SpanKind kind, String sql) {
+      this.tracer = tracer;
+      this.parent = parent;
+      this.kind = kind;
+      this.sql = sql;
+      this.startNanos = tracer == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Ends the current phase and starts the next phase.
+     *
+     * @param next
+     */
+    public void next(SpanKind next) {
+      if (tracer == null || ended) {
+        return;
+      }
+      long now = System.nanoTime();
+      tracer.export(parent, kind, sql, startNanos, now, 0, null);
+      kind = next;
+      startNanos = now;
+    }
+
+    /**
+     * Ends the current phase successfully.
+     *
+     * @param rows
+     */
+    public void end(long rows) {
+      if (tracer == null || ended) {
+        return;
+      }
+      ended = true;
+      tracer.export(parent, kind, sql, startNanos, System.nanoTime(), rows, null);
+    }
+
+    /**
+     * Ends the current phase with the error.
+     *
+     * @param error
+     */
+    public void fail(Throwable error) {
+      if (tracer == null || ended) {
+        return;
+      }
+      ended = true;
+      tracer.export(parent, kind, sql, startNanos, System.nanoTime(), 0, error);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package org.nkjmlab.sorm4j.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.nkjmlab.sorm4j.Mapping")
+@Label("Mapping Creation")
+@Description("Creation of a mapping between a container class and a table or result columns")
+@Category("Sorm4j")
+@StackTrace(false)
+public final class MappingEvent extends Event {
+
+  public static final String TO_TABLE = "TO_TABLE";
+  public static final String TO_COLUMNS = "TO_COLUMNS";
+
+  @Label("Kind")
+  String kind;
+
+  @Label("Object Class")
+  Class<?> objectClass;
+
+  @Label("Table Name")
+  String tableName;
+
+  /**
+   * Commits the event if it passes the settings of the recording.
+   *
+   * @param kind {@link #TO_TABLE} or {@link #TO_COLUMNS}
+   * @param objectClass
+   * @param tableName null for {@link #TO_COLUMNS}
+   */
+  public void commit(String kind, Class<?> objectClass, String tableName) {
+    if (!isEnabled()) {
+      return;
+    }
+    end();
+    if (!shouldCommit()) {
+      return;
+    }
+    this.kind = kind;
+    this.objectClass = objectClass;
+    this.tableName = tableName;
+    commit();
+  }
+}
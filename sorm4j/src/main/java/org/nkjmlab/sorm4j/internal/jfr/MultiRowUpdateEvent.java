@@ -0,0 +1,39 @@
+package org.nkjmlab.sorm4j.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.nkjmlab.sorm4j.MultiRowUpdate")
+@Label("Multi-Row Update")
+@Description(
+    "A batch or multi-row update. Parameters are bound while the statements are built, so the"
+        + " whole time is counted as JDBC time")
+public final class MultiRowUpdateEvent extends SormJdbcEvent {
+
+  @Label("Table Name")
+  String tableName;
+
+  @Label("Objects")
+  int objects;
+
+  @Label("Batch Size")
+  int batchSize;
+
+  /**
+   * Sets the fields specific to multi-row updates. Call this before {@link
+   * #commit(java.sql.Connection, String, long)}.
+   *
+   * @param tableName
+   * @param objects
+   * @param batchSize
+   */
+  public void set(String tableName, int objects, int batchSize) {
+    if (!isEnabled()) {
+      return;
+    }
+    this.tableName = tableName;
+    this.objects = objects;
+    this.batchSize = batchSize;
+  }
+}
@@ -0,0 +1,10 @@
+package org.nkjmlab.sorm4j.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.nkjmlab.sorm4j.Query")
+@Label("Query")
+@Description("A query whose result set is read and mapped before the statement is closed")
+public final class QueryEvent extends SormJdbcEvent {}
@@ -0,0 +1,88 @@
+package org.nkjmlab.sorm4j.internal.jfr;
+
+import java.sql.Connection;
+
+import org.nkjmlab.sorm4j.internal.util.SqlFingerprints;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Base of the JFR events which wrap a JDBC round trip. The elapsed time is split into the JDBC
+ * time (from {@link #start()} to {@link #endJdbc()}) and the mapping time (from {@link #endJdbc()}
+ * to {@link #commit(Connection, String, long)}).
+ *
+ * <p>All the methods return immediately when the event is not enabled in any recording, and the
+ * SQL fingerprint is only computed for the events which are actually committed.
+ */
+@Category("Sorm4j")
+@StackTrace(false)
+public abstract class SormJdbcEvent extends Event {
+
+  @Label("SQL Fingerprint")
+  String sqlFingerprint;
+
+  @Label("Rows")
+  long rows;
+
+  @Label("JDBC Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long jdbcTime;
+
+  @Label("Mapping Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long mappingTime;
+
+  @Label("Connection Hash")
+  int connectionHash;
+
+  private transient long startNanos;
+  private transient long jdbcEndNanos;
+
+  /** Begins the timing of the event. */
+  public final void start() {
+    if (!isEnabled()) {
+      return;
+    }
+    begin();
+    startNanos = System.nanoTime();
+    jdbcEndNanos = -1;
+  }
+
+  /** Marks the end of the JDBC part. The rest of the elapsed time is counted as mapping time. */
+  public final void endJdbc() {
+    if (!isEnabled()) {
+      return;
+    }
+    jdbcEndNanos = System.nanoTime();
+  }
+
+  /**
+   * Commits the event if it passes the settings of the recording. When {@link #endJdbc()} has not
+   * been called, the whole elapsed time is counted as JDBC time.
+   *
+   * @param connection
+   * @param sql
+   * @param rows the number of rows read or modified
+   */
+  public final void commit(Connection connection, String sql, long rows) {
+    if (!isEnabled()) {
+      return;
+    }
+    end();
+    if (!shouldCommit()) {
+      return;
+    }
+    long endNanos = System.nanoTime();
+    long _jdbcEndNanos = jdbcEndNanos < 0 ? endNanos : jdbcEndNanos;
+    this.sqlFingerprint = SqlFingerprints.of(sql);
+    this.rows = rows;
+    this.jdbcTime = _jdbcEndNanos - startNanos;
+    this.mappingTime = endNanos - _jdbcEndNanos;
+    this.connectionHash = System.identityHashCode(connection);
+    commit();
+  }
+}
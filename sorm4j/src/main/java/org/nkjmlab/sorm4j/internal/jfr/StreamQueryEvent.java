@@ -0,0 +1,11 @@
+package org.nkjmlab.sorm4j.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.nkjmlab.sorm4j.StreamQuery")
+@Label("Stream Query")
+@Description(
+    "A query whose result set is consumed as a stream. The mapping time includes the handler")
+public final class StreamQueryEvent extends SormJdbcEvent {}
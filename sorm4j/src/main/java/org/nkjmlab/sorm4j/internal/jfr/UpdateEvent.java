@@ -0,0 +1,10 @@
+package org.nkjmlab.sorm4j.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.nkjmlab.sorm4j.Update")
+@Label("Update")
+@Description("An update statement")
+public final class UpdateEvent extends SormJdbcEvent {}
@@ -0,0 +1,340 @@
+package org.nkjmlab.sorm4j.internal.mapping;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.nkjmlab.sorm4j.context.SormContext;
+
+/**
+ * Snapshots of the column values of container objects loaded from the database. The snapshots are
+ * used to find the columns changed after loading. A container object is identified by its
+ * identity, and its snapshots are discarded when the object is garbage collected.
+ *
+ * <p>The snapshot taken at loading does not know the table which the object came from, so it is
+ * only used for the table mapped to the class of the object. After a write, the object has a
+ * snapshot per table which it was written to.
+ *
+ * <p>When rows of a table are updated without container objects, all the snapshots for the table
+ * are discarded at once. Each snapshot records the time of the clock when it is taken, and a snapshot
+ * older than the last invalidation of its table is not used.
+ *
+ * <p>The values are copied when they are kept. A value of a type which can not be copied, e.g. a
+ * user defined mutable class, is not kept and its column is always regarded as changed.
+ *
+ * @author nkjm
+ */
+public final class ContainerSnapshots {
+
+  /** A value which is not kept in a snapshot. */
+  private static final Object UNTRACKED = new Object();
+
+  private static final Set<Class<?>> IMMUTABLE_TYPES =
+      Set.of(
+          String.class,
+          Boolean.class,
+          Character.class,
+          Byte.class,
+          Short.class,
+          Integer.class,
+          Long.class,
+          Float.class,
+          Double.class,
+          BigDecimal.class,
+          BigInteger.class,
+          UUID.class);
+
+  private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+  private final ConcurrentMap<IdentityWeakReference, Snapshots> snapshots =
+      new ConcurrentHashMap<>();
+
+  /** Logical clock ticked by the invalidations of tables. */
+  private final AtomicLong clock = new AtomicLong();
+
+  /** The clock time of the last invalidation per table. */
+  private final ConcurrentMap<String, Long> tableInvalidations = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the columns of snapshots of the given result columns. The columns which do not have a
+   * corresponding accessor are not included.
+   *
+   * @param columnToAccessorMap
+   * @param columns columns of the result set
+   * @return
+   */
+  public SnapshotColumns createSnapshotColumns(
+      ColumnToAccessorMapping columnToAccessorMap, String[] columns) {
+    List<String> ret = new ArrayList<>(columns.length);
+    for (String column : columns) {
+      if (columnToAccessorMap.get(column) != null) {
+        ret.add(SormContext.getDefaultCanonicalStringCache().toCanonicalName(column));
+      }
+    }
+    return new SnapshotColumns(ret);
+  }
+
+  public void put(
+      ColumnToAccessorMapping columnToAccessorMap, SnapshotColumns columns, Object container) {
+    Object[] values = new Object[columns.columns.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = copyValue(columnToAccessorMap.getValue(container, columns.columns.get(i)));
+    }
+    expungeStaleEntries();
+    snapshots.put(
+        new IdentityWeakReference(container, queue),
+        new Snapshots(new Snapshot(columns, values, clock.get())));
+  }
+
+  /**
+   * Gets the columns of which the values are changed from the snapshot for the table.
+   *
+   * @param tableName
+   * @param loadedFromTable true if the table is the one mapped to the class of the container. The
+   *     snapshot taken at loading is used if the container has not been written to the table.
+   * @param columns candidate columns
+   * @param values current values of the candidate columns
+   * @param container
+   * @return null if the container has no snapshot for the table. A column which is not included in
+   *     the snapshot is regarded as changed.
+   */
+  public List<String> getDirtyColumns(
+      String tableName,
+      boolean loadedFromTable,
+      List<String> columns,
+      Object[] values,
+      Object container) {
+    Snapshot snapshot = getSnapshot(tableName, loadedFromTable, container);
+    if (snapshot == null) {
+      return null;
+    }
+    List<String> ret = new ArrayList<>(columns.size());
+    for (int i = 0; i < columns.size(); i++) {
+      int index = snapshot.columns.indexOf(columns.get(i));
+      if (index < 0
+          || snapshot.values[index] == UNTRACKED
+          || !Objects.deepEquals(snapshot.values[index], values[i])) {
+        ret.add(columns.get(i));
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Updates the snapshot of the container for the table with the values written to the database.
+   * Nothing is done if the container has not been loaded.
+   *
+   * @param tableName
+   * @param loadedFromTable
+   * @param columns
+   * @param values
+   * @param container
+   */
+  public void refresh(
+      String tableName,
+      boolean loadedFromTable,
+      List<String> columns,
+      Object[] values,
+      Object container) {
+    Snapshots entry = snapshots.get(new IdentityWeakReference(container));
+    if (entry == null) {
+      return;
+    }
+    Snapshot snapshot = getValidSnapshot(tableName, entry.get(tableName, loadedFromTable));
+    List<String> newColumns = new ArrayList<>();
+    if (snapshot != null) {
+      newColumns.addAll(snapshot.columns.columns);
+    }
+    for (String column : columns) {
+      String canonical = SormContext.getDefaultCanonicalStringCache().toCanonicalName(column);
+      if (snapshot == null || snapshot.columns.indexOf(canonical) < 0) {
+        newColumns.add(canonical);
+      }
+    }
+    SnapshotColumns snapshotColumns =
+        snapshot != null && newColumns.size() == snapshot.columns.columns.size()
+            ? snapshot.columns
+            : new SnapshotColumns(newColumns);
+    Object[] newValues =
+        snapshot == null
+            ? new Object[newColumns.size()]
+            : Arrays.copyOf(snapshot.values, newColumns.size());
+    for (int i = 0; i < columns.size(); i++) {
+      newValues[snapshotColumns.indexOf(columns.get(i))] = copyValue(values[i]);
+    }
+    entry.tables.put(tableName, new Snapshot(snapshotColumns, newValues, clock.get()));
+  }
+
+  /**
+   * Discards the snapshots of the container, e.g. when the written values are rolled back. The next
+   * update of the container writes all the columns, and the container is tracked again after it.
+   *
+   * @param container
+   */
+  public void invalidate(Object container) {
+    snapshots.computeIfPresent(new IdentityWeakReference(container), (k, v) -> new Snapshots(null));
+  }
+
+  /**
+   * Discards the snapshots of all the containers for the table, e.g. when rows of the table are
+   * updated by a condition. The next update of each container writes all the columns.
+   *
+   * @param tableName
+   */
+  public void invalidateTable(String tableName) {
+    tableInvalidations.merge(tableName, clock.incrementAndGet(), Math::max);
+  }
+
+  private Snapshot getSnapshot(String tableName, boolean loadedFromTable, Object container) {
+    Snapshots entry = snapshots.get(new IdentityWeakReference(container));
+    return entry == null
+        ? null
+        : getValidSnapshot(tableName, entry.get(tableName, loadedFromTable));
+  }
+
+  private Snapshot getValidSnapshot(String tableName, Snapshot snapshot) {
+    if (snapshot == null) {
+      return null;
+    }
+    Long invalidated = tableInvalidations.get(tableName);
+    return invalidated == null || invalidated <= snapshot.time ? snapshot : null;
+  }
+
+  /**
+   * Copies the value so that the snapshot is not changed with the container.
+   *
+   * @param value
+   * @return {@link #UNTRACKED} if the value can not be copied.
+   */
+  private static Object copyValue(Object value) {
+    if (value == null
+        || IMMUTABLE_TYPES.contains(value.getClass())
+        || value instanceof Enum
+        || value.getClass().getPackageName().equals("java.time")) {
+      return value;
+    }
+    if (value instanceof byte[]) {
+      return ((byte[]) value).clone();
+    }
+    if (value instanceof Date) {
+      return ((Date) value).clone();
+    }
+    if (value.getClass().isArray()) {
+      int length = Array.getLength(value);
+      Object ret = Array.newInstance(value.getClass().getComponentType(), length);
+      for (int i = 0; i < length; i++) {
+        Object elem = copyValue(Array.get(value, i));
+        if (elem == UNTRACKED) {
+          return UNTRACKED;
+        }
+        Array.set(ret, i, elem);
+      }
+      return ret;
+    }
+    return UNTRACKED;
+  }
+
+  int size() {
+    expungeStaleEntries();
+    return snapshots.size();
+  }
+
+  private void expungeStaleEntries() {
+    Reference<? extends Object> ref;
+    while ((ref = queue.poll()) != null) {
+      snapshots.remove(ref);
+    }
+  }
+
+  /** Canonical column names of snapshots. An instance is shared by the rows of a result set. */
+  public static final class SnapshotColumns {
+    private final List<String> columns;
+    private final Map<String, Integer> indexes;
+
+    private SnapshotColumns(List<String> columns) {
+      this.columns = columns;
+      this.indexes = new HashMap<>(columns.size() * 2);
+      for (int i = 0; i < columns.size(); i++) {
+        indexes.put(columns.get(i), i);
+      }
+    }
+
+    private int indexOf(String column) {
+      Integer ret =
+          indexes.get(SormContext.getDefaultCanonicalStringCache().toCanonicalName(column));
+      return ret == null ? -1 : ret;
+    }
+  }
+
+  /** The snapshot taken at loading and the snapshots per table written to. */
+  private static final class Snapshots {
+    private final Snapshot loaded;
+    private final ConcurrentMap<String, Snapshot> tables = new ConcurrentHashMap<>();
+
+    private Snapshots(Snapshot loaded) {
+      this.loaded = loaded;
+    }
+
+    private Snapshot get(String tableName, boolean loadedFromTable) {
+      Snapshot ret = tables.get(tableName);
+      return ret == null && loadedFromTable ? loaded : ret;
+    }
+  }
+
+  private static final class Snapshot {
+    private final SnapshotColumns columns;
+    private final Object[] values;
+    private final long time;
+
+    private Snapshot(SnapshotColumns columns, Object[] values, long time) {
+      this.columns = columns;
+      this.values = values;
+      this.time = time;
+    }
+  }
+
+  private static final class IdentityWeakReference extends WeakReference<Object> {
+    private final int hash;
+
+    private IdentityWeakReference(Object referent) {
+      super(referent);
+      this.hash = System.identityHashCode(referent);
+    }
+
+    private IdentityWeakReference(Object referent, ReferenceQueue<Object> queue) {
+      super(referent, queue);
+      this.hash = System.identityHashCode(referent);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof IdentityWeakReference)) {
+        return false;
+      }
+      Object referent = get();
+      return referent != null && referent == ((IdentityWeakReference) obj).get();
+    }
+  }
+}
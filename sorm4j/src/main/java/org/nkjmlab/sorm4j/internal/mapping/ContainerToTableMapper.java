@@ -7,7 +7,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -20,11 +21,12 @@ import org.nkjmlab.sorm4j.internal.context.ColumnValueToJavaObjectConverters;
 import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
 import org.nkjmlab.sorm4j.internal.context.logging.LogPoint;
+import org.nkjmlab.sorm4j.internal.context.metrics.ExecutionRecorder;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
 import org.nkjmlab.sorm4j.internal.mapping.multirow.MultiRowProcessor;
 import org.nkjmlab.sorm4j.internal.sql.metadata.TableMetaData;
 import org.nkjmlab.sorm4j.internal.sql.result.BasicRowMap;
 import org.nkjmlab.sorm4j.internal.sql.result.InsertResultImpl;
-import org.nkjmlab.sorm4j.internal.util.ArrayUtils;
 import org.nkjmlab.sorm4j.internal.util.ParameterizedStringFormatter;
 import org.nkjmlab.sorm4j.sql.TableSql;
 import org.nkjmlab.sorm4j.sql.result.InsertResult;
@@ -43,9 +45,12 @@ public final class ContainerToTableMapper<T> {
   private final TableMetaData tableMetaData;
   private final TableSql sql;
   private final LogContext loggerContext;
+  private final GeneratedIdAssigner idAssigner;
 
   public ContainerToTableMapper(
       LogContext loggerContext,
+      ExecutionRecorder executionRecorder,
+      SormTracerImpl tracer,
       ColumnValueToJavaObjectConverters columnValueConverter,
       SqlParametersSetter sqlParametersSetter,
       PreparedStatementSupplier statementSupplier,
@@ -53,7 +58,8 @@ public final class ContainerToTableMapper<T> {
       Class<T> objectClass,
       ColumnToAccessorMapping columnToAccessorMap,
       TableMetaData tableMetaData,
-      TableSql sql) {
+      TableSql sql,
+      GeneratedIdAssigner idAssigner) {
     this.columnValueConverter = columnValueConverter;
     this.objectClass = objectClass;
     this.columnToAccessorMap = columnToAccessorMap;
@@ -62,9 +68,16 @@ public final class ContainerToTableMapper<T> {
     this.sql = sql;
     this.sqlParametersSetter = sqlParametersSetter;
     this.statementSupplier = statementSupplier;
+    this.idAssigner = idAssigner;
     this.multiRowProcessor =
         multiRowProcessorFactory.createMultiRowProcessor(
-            loggerContext, sqlParametersSetter, statementSupplier, objectClass, this);
+            loggerContext,
+            executionRecorder,
+            tracer,
+            sqlParametersSetter,
+            statementSupplier,
+            objectClass,
+            this);
   }
 
   public int[] batch(
@@ -81,6 +94,29 @@ public final class ContainerToTableMapper<T> {
     return columnToAccessorMap;
   }
 
+  /**
+   * Assigns generated ids to the object if the mapped class has a field annotated by {@link
+   * org.nkjmlab.sorm4j.mapping.annotation.OrmIdGenerator}.
+   *
+   * @param con
+   * @param object
+   */
+  public void assignIds(Connection con, T object) {
+    if (idAssigner == null) {
+      return;
+    }
+    idAssigner.assignIfAbsent(con, object);
+  }
+
+  private void assignIds(Connection con, T[] objects) {
+    if (idAssigner == null) {
+      return;
+    }
+    for (T object : objects) {
+      idAssigner.assignIfAbsent(con, object);
+    }
+  }
+
   public Object[] getDeleteParameters(T object) {
     return getParameters(object, tableMetaData.getPrimaryKeys());
   }
@@ -129,12 +165,35 @@ public final class ContainerToTableMapper<T> {
     return getParameters(object, tableMetaData.getColumnsForUpdate());
   }
 
+  /**
+   * Gets the parameters of the update statement which sets the given columns.
+   *
+   * @param object
+   * @param columns columns to set
+   * @return the values of the columns followed by the values of the primary keys.
+   */
+  public Object[] getUpdateParameters(T object, List<String> columns) {
+    throwExeptionIfPrimaryKeyIsNotExist();
+    List<String> primaryKeys = tableMetaData.getPrimaryKeys();
+    List<String> cols = new ArrayList<>(columns.size() + primaryKeys.size());
+    cols.addAll(columns);
+    cols.addAll(primaryKeys);
+    return getParameters(object, cols);
+  }
+
   public final int[] insert(Connection con, T[] objects) {
+    assignIds(con, objects);
     return multiRowProcessor.multiRowInsert(con, objects);
   }
 
+  public final int[] insert(Connection con, Function<T, Object[]> parameterCreator, T[] objects) {
+    assignIds(con, objects);
+    return multiRowProcessor.multiRowInsert(con, parameterCreator, objects);
+  }
+
   public InsertResult insertAndGet(Connection connection, T object) {
     String insertSql = sql.getInsertSql();
+    assignIds(connection, object);
 
     try (PreparedStatement stmt =
         !tableMetaData.hasAutoGeneratedColumns()
@@ -154,7 +213,7 @@ public final class ContainerToTableMapper<T> {
 
       lp.ifPresent(_lp -> _lp.logAfterUpdate(rowsModified));
 
-      RowMap keys = getGeneratedKeys(stmt, object);
+      List<RowMap> keys = getGeneratedKeys(stmt);
 
       return new InsertResultImpl(new int[] {rowsModified}, keys);
     } catch (SQLException e) {
@@ -163,39 +222,50 @@ public final class ContainerToTableMapper<T> {
   }
 
   /**
+   * Inserts the objects through the multi-row processor and gets the auto-generated keys of all
+   * the rows.
+   *
    * @param con
    * @param objects not allow {@code null} or {@code 0} length
    * @return
    */
   public final InsertResult insertAndGet(Connection con, T[] objects) {
-    @SuppressWarnings("unchecked")
-    T[] objsWithoutLast =
-        (T[]) Arrays.asList(objects).subList(0, objects.length - 1).toArray(Object[]::new);
-    T last = objects[objects.length - 1];
-    int[] resultWithoutLast = insert(con, objsWithoutLast);
-
-    InsertResult insertResult = insertAndGet(con, last);
-    int[] result = ArrayUtils.add(resultWithoutLast, insertResult.getRowsModified()[0]);
-
-    return new InsertResultImpl(result, insertResult.getGeneratedKeys());
+    if (!tableMetaData.hasAutoGeneratedColumns()) {
+      return new InsertResultImpl(insert(con, objects), Collections.emptyList());
+    }
+    assignIds(con, objects);
+    return multiRowProcessor.multiRowInsertAndGet(con, objects);
   }
 
-  private RowMap getGeneratedKeys(PreparedStatement stmt, T object) throws SQLException {
+  /**
+   * Gets the auto-generated keys from the given statement. The keys of each row are stored into
+   * one {@link RowMap} in the order of the rows.
+   *
+   * @param stmt a statement prepared with the auto-generated columns and already executed
+   * @return
+   * @throws SQLException
+   */
+  public List<RowMap> getGeneratedKeys(PreparedStatement stmt) throws SQLException {
     try (ResultSet resultSet = stmt.getGeneratedKeys()) {
-      ResultSetMetaData metaData = resultSet.getMetaData();
-      RowMap ret = new BasicRowMap();
-      while (resultSet.next()) {
-        String columnName = metaData.getColumnName(1);
-        int columnType = metaData.getColumnType(1);
-        Class<?> classType = columnToAccessorMap.get(columnName).getGetterReturnType();
-        Object value = columnValueConverter.convertTo(resultSet, 1, columnType, classType);
-        ret.put(columnName, value);
+      final List<RowMap> ret = new ArrayList<>();
+      if (!resultSet.next()) {
+        return ret;
       }
+      ResultSetMetaData metaData = resultSet.getMetaData();
+      String columnName = metaData.getColumnName(1);
+      int columnType = metaData.getColumnType(1);
+      Class<?> classType = columnToAccessorMap.get(columnName).getGetterReturnType();
+      do {
+        RowMap keys = new BasicRowMap();
+        keys.put(columnName, columnValueConverter.convertTo(resultSet, 1, columnType, classType));
+        ret.add(keys);
+      } while (resultSet.next());
       return ret;
     }
   }
 
   public int[] merge(Connection con, T[] objects) {
+    assignIds(con, objects);
     int[] result = multiRowProcessor.multiRowMerge(con, objects);
     return result;
   }
@@ -223,6 +293,7 @@ public final class ContainerToTableMapper<T> {
         + lineSeparator()
         + "  with ["
         + multiRowProcessor.getClass().getSimpleName()
-        + "]";
+        + "]"
+        + (idAssigner == null ? "" : lineSeparator() + "  with [" + idAssigner + "]");
   }
 }
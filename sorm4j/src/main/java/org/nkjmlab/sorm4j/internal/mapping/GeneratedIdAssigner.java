@@ -0,0 +1,82 @@
+package org.nkjmlab.sorm4j.internal.mapping;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+
+import org.nkjmlab.sorm4j.common.exception.SormException;
+import org.nkjmlab.sorm4j.context.IdGenerator;
+import org.nkjmlab.sorm4j.context.SqlDialect;
+import org.nkjmlab.sorm4j.internal.context.impl.ContainerAccessor;
+import org.nkjmlab.sorm4j.internal.util.ParameterizedStringFormatter;
+
+/**
+ * Assigns ids generated by an {@link IdGenerator} to the field of objects which does not have an
+ * id yet.
+ *
+ * @author nkjm
+ */
+public final class GeneratedIdAssigner {
+
+  private final IdGenerator idGenerator;
+  private final SqlDialect sqlDialect;
+  private final String columnName;
+  private final ContainerAccessor accessor;
+  private final Class<?> idType;
+
+  /**
+   * @param idGenerator
+   * @param sqlDialect dialect of the database in which the ids are generated
+   * @param columnName
+   * @param accessor
+   */
+  public GeneratedIdAssigner(
+      IdGenerator idGenerator,
+      SqlDialect sqlDialect,
+      String columnName,
+      ContainerAccessor accessor) {
+    this.idGenerator = idGenerator;
+    this.sqlDialect = sqlDialect;
+    this.columnName = columnName;
+    this.accessor = accessor;
+    this.idType = accessor.getSetterParameterType();
+    if (!isSupportedType(idType)) {
+      Object[] params = {columnName, idType};
+      throw new SormException(
+          ParameterizedStringFormatter.LENGTH_256.format(
+              "Column [{}] can not be assigned a generated id because the type [{}] is not long, int or their wrapper class.",
+              params));
+    }
+  }
+
+  private static boolean isSupportedType(Class<?> type) {
+    return type == long.class || type == Long.class || type == int.class || type == Integer.class;
+  }
+
+  /**
+   * Assigns a generated id to the object if the current id is null or 0.
+   *
+   * @param connection
+   * @param object
+   */
+  public void assignIfAbsent(Connection connection, Object object) {
+    try {
+      Object current = accessor.get(object);
+      if (current != null && ((Number) current).longValue() != 0) {
+        return;
+      }
+      long id = idGenerator.nextId(connection, sqlDialect);
+      accessor.set(object, idType == long.class || idType == Long.class ? id : Math.toIntExact(id));
+    } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+      Object[] params = {columnName, object};
+      throw new SormException(
+          ParameterizedStringFormatter.LENGTH_256.format(
+              "Could not assign a generated id to column [{}] of [{}]", params),
+          e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "GeneratedIdAssigner [columnName=" + columnName + ", idGenerator=" + idGenerator + "]";
+  }
+}
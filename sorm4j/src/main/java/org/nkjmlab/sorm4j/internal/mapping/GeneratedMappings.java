@@ -0,0 +1,75 @@
+package org.nkjmlab.sorm4j.internal.mapping;
+
+import java.util.Optional;
+
+import org.nkjmlab.sorm4j.common.exception.SormException;
+import org.nkjmlab.sorm4j.internal.util.ParameterizedStringFormatter;
+import org.nkjmlab.sorm4j.mapping.GeneratedMapping;
+
+/**
+ * Finds {@link GeneratedMapping} of container classes.
+ *
+ * @author nkjm
+ */
+public final class GeneratedMappings {
+
+  private static final ClassValue<Optional<GeneratedMapping<?>>> MAPPINGS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<GeneratedMapping<?>> computeValue(Class<?> objectClass) {
+          return Optional.ofNullable(load(objectClass));
+        }
+      };
+
+  private GeneratedMappings() {}
+
+  /**
+   * Gets the generated mapping of the given class.
+   *
+   * @param <T>
+   * @param objectClass
+   * @return null if the mapping is not generated
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> GeneratedMapping<T> get(Class<T> objectClass) {
+    return (GeneratedMapping<T>) MAPPINGS.get(objectClass).orElse(null);
+  }
+
+  /**
+   * Gets the name of the generated mapping class of the given class.
+   *
+   * @param binaryName binary name of the container class
+   * @return
+   */
+  public static String toMappingClassName(String binaryName) {
+    int lastDot = binaryName.lastIndexOf('.');
+    return binaryName.substring(0, lastDot + 1)
+        + binaryName.substring(lastDot + 1).replace('$', '_')
+        + GeneratedMapping.CLASS_NAME_SUFFIX;
+  }
+
+  private static GeneratedMapping<?> load(Class<?> objectClass) {
+    if (objectClass.isPrimitive() || objectClass.isArray()) {
+      return null;
+    }
+    Class<?> mappingClass;
+    try {
+      mappingClass =
+          Class.forName(
+              toMappingClassName(objectClass.getName()), true, objectClass.getClassLoader());
+    } catch (ClassNotFoundException | LinkageError e) {
+      return null;
+    }
+    try {
+      GeneratedMapping<?> mapping =
+          (GeneratedMapping<?>) mappingClass.getDeclaredConstructor().newInstance();
+      return mapping.getObjectClass() == objectClass ? mapping : null;
+    } catch (ReflectiveOperationException | ClassCastException e) {
+      Object[] params = {mappingClass.getName()};
+      throw new SormException(
+          ParameterizedStringFormatter.LENGTH_256.format(
+              "Generated mapping [{}] could not be instantiated.", params),
+          e);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.nkjmlab.sorm4j.internal.mapping;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.nkjmlab.sorm4j.common.container.RowMap;
+import org.nkjmlab.sorm4j.context.SormContext;
+
+/**
+ * Binds the values of {@link RowMap} objects to the given columns by index. The column index of
+ * each key is resolved once for each order of keys, and the maps which have the same keys are
+ * bound by iterating their values. The values of the missing columns are bound as null, and the
+ * keys which do not match any column are ignored.
+ *
+ * <p>An instance of this class is not thread-safe.
+ */
+public final class RowMapParametersBinder {
+
+  private final int columnsSize;
+  private final Map<String, Integer> columnIndexes = new HashMap<>();
+  private final Map<List<String>, int[]> columnIndexesOfKeys = new HashMap<>();
+
+  private List<String> lastKeys;
+  private int[] lastColumnIndexes;
+
+  public RowMapParametersBinder(List<String> columns) {
+    this.columnsSize = columns.size();
+    for (int i = 0; i < columns.size(); i++) {
+      columnIndexes.put(
+          SormContext.getDefaultCanonicalStringCache().toCanonicalName(columns.get(i)), i);
+    }
+  }
+
+  public Object[] bind(RowMap object) {
+    if (!hasLastKeys(object)) {
+      lastKeys = new ArrayList<>(object.keySet());
+      lastColumnIndexes = columnIndexesOfKeys.computeIfAbsent(lastKeys, this::toColumnIndexes);
+    }
+    final Object[] ret = new Object[columnsSize];
+    int i = 0;
+    for (Object value : object.values()) {
+      int columnIndex = lastColumnIndexes[i++];
+      if (columnIndex >= 0) {
+        ret[columnIndex] = value;
+      }
+    }
+    return ret;
+  }
+
+  private boolean hasLastKeys(RowMap object) {
+    if (lastKeys == null || lastKeys.size() != object.size()) {
+      return false;
+    }
+    Iterator<String> itr = lastKeys.iterator();
+    for (String key : object.keySet()) {
+      if (!key.equals(itr.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int[] toColumnIndexes(List<String> keys) {
+    return keys.stream()
+        .mapToInt(
+            key ->
+                columnIndexes.getOrDefault(
+                    SormContext.getDefaultCanonicalStringCache().toCanonicalName(key), -1))
+        .toArray();
+  }
+}
@@ -6,16 +6,32 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
+import org.nkjmlab.sorm4j.util.function.exception.Try;
+import org.nkjmlab.sorm4j.util.function.exception.TryConsumer;
+
 final class BatchHelper {
 
   private final int batchSize;
   private final PreparedStatement stmt;
   private int counter;
   private final List<int[]> result = new ArrayList<>();
+  private final TryConsumer<PreparedStatement> afterExecuteBatch;
 
   public BatchHelper(int batchSize, PreparedStatement stmt) {
+    this(batchSize, stmt, _stmt -> {});
+  }
+
+  /**
+   * @param batchSize
+   * @param stmt
+   * @param afterExecuteBatch is called after each {@link PreparedStatement#executeBatch()}. e.g.
+   *     reading generated keys.
+   */
+  public BatchHelper(
+      int batchSize, PreparedStatement stmt, TryConsumer<PreparedStatement> afterExecuteBatch) {
     this.batchSize = batchSize;
     this.stmt = stmt;
+    this.afterExecuteBatch = afterExecuteBatch;
   }
 
   public void addBatchAndExecuteIfReachedThreshold() throws SQLException {
@@ -42,5 +58,10 @@ final class BatchHelper {
     int[] tmp = stmt.executeBatch();
     result.add(tmp);
     counter = 0;
+    try {
+      afterExecuteBatch.accept(stmt);
+    } catch (Exception e) {
+      throw Try.rethrow(e);
+    }
   }
 }
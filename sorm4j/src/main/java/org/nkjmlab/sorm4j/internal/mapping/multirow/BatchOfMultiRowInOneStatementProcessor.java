@@ -2,17 +2,24 @@ package org.nkjmlab.sorm4j.internal.mapping.multirow;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
+import org.nkjmlab.sorm4j.common.container.RowMap;
 import org.nkjmlab.sorm4j.context.SormContext;
 import org.nkjmlab.sorm4j.context.logging.LogContext;
-import org.nkjmlab.sorm4j.internal.OrmConnectionImpl;
 import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
+import org.nkjmlab.sorm4j.internal.context.metrics.ExecutionRecorder;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
 import org.nkjmlab.sorm4j.internal.mapping.ContainerToTableMapper;
+import org.nkjmlab.sorm4j.internal.sql.result.InsertResultImpl;
 import org.nkjmlab.sorm4j.internal.util.ArrayUtils;
+import org.nkjmlab.sorm4j.sql.result.InsertResult;
 import org.nkjmlab.sorm4j.util.function.exception.Try;
 import org.nkjmlab.sorm4j.util.function.exception.TryBiConsumer;
+import org.nkjmlab.sorm4j.util.function.exception.TryConsumer;
 import org.nkjmlab.sorm4j.util.function.exception.TryFunction;
 
 /**
@@ -29,27 +36,39 @@ public final class BatchOfMultiRowInOneStatementProcessor<T> extends MultiRowPro
 
   public BatchOfMultiRowInOneStatementProcessor(
       LogContext loggerContext,
+      ExecutionRecorder executionRecorder,
+      SormTracerImpl tracer,
       SqlParametersSetter sqlParametersSetter,
       PreparedStatementSupplier statementSupplier,
       ContainerToTableMapper<T> tableMapping,
       int batchSize,
       int multiRowSize,
       int batchSizeWithMultiRow) {
-    super(loggerContext, sqlParametersSetter, statementSupplier, tableMapping, batchSize);
+    super(
+        loggerContext,
+        executionRecorder,
+        tracer,
+        sqlParametersSetter,
+        statementSupplier,
+        tableMapping,
+        batchSize);
     this.multiRowSize = multiRowSize;
     this.batchSizeWithMultiRow = batchSizeWithMultiRow;
   }
 
   @Override
-  public final int[] multiRowInsert(Connection con, T[] objects) {
+  public final int[] multiRowInsert(
+      Connection con, Function<T, Object[]> parameterCreator, T[] objects) {
     return execMultiRowProcIfValidObjects(
         con,
+        getSql().getInsertSql(),
         objects,
         nonNullObjects ->
             procMultiRowOneStatementAndBatch(
                 con,
                 num -> prepareStatement(con, getSql().getMultirowInsertSql(num)),
-                (stmt, objs) -> setPrametersOfMultiRow(stmt, objs),
+                (stmt, objs) -> setPrametersOfMultiRow(stmt, parameterCreator, objs),
+                _stmt -> {},
                 nonNullObjects));
   }
 
@@ -57,20 +76,43 @@ public final class BatchOfMultiRowInOneStatementProcessor<T> extends MultiRowPro
   public final int[] multiRowMerge(Connection con, T[] objects) {
     return execMultiRowProcIfValidObjects(
         con,
+        getSql().getMergeSql(),
         objects,
         nonNullObjects ->
             procMultiRowOneStatementAndBatch(
                 con,
                 num -> prepareStatement(con, getSql().getMultirowMergeSql(num)),
                 (stmt, objs) -> setPrametersOfMultiRow(stmt, objs),
+                _stmt -> {},
                 nonNullObjects));
   }
 
+  @Override
+  public final InsertResult multiRowInsertAndGet(Connection con, T[] objects) {
+    final List<RowMap> generatedKeys = new ArrayList<>(objects.length);
+    int[] result =
+        execMultiRowProcIfValidObjects(
+            con,
+            getSql().getInsertSql(),
+            objects,
+            nonNullObjects ->
+                procMultiRowOneStatementAndBatch(
+                    con,
+                    num ->
+                        prepareStatementReturningGeneratedKeys(
+                            con, getSql().getMultirowInsertSql(num)),
+                    (stmt, objs) -> setPrametersOfMultiRow(stmt, objs),
+                    stmt -> generatedKeys.addAll(getGeneratedKeys(stmt)),
+                    nonNullObjects));
+    return new InsertResultImpl(result, generatedKeys);
+  }
+
   /**
    * addBatch with multi-row. In H2 addBatch is not effictive.
    *
    * @param sqlCreator
    * @param parameterCreator
+   * @param afterExecute is called after each execution of the statements
    * @param objects
    * @return
    */
@@ -78,16 +120,15 @@ public final class BatchOfMultiRowInOneStatementProcessor<T> extends MultiRowPro
       Connection con,
       TryFunction<Integer, PreparedStatement> multiRowStatementCreator,
       TryBiConsumer<PreparedStatement, T[]> parametersSetter,
+      TryConsumer<PreparedStatement> afterExecute,
       T[] objects) {
 
     final List<T[]> objsPartitions = ArrayUtils.split(multiRowSize, objects);
     final int[] result = new int[objsPartitions.size()];
-    final boolean origAutoCommit = OrmConnectionImpl.getAutoCommit(con);
 
     try {
-      OrmConnectionImpl.setAutoCommit(con, false);
       try (PreparedStatement stmt = multiRowStatementCreator.apply(multiRowSize)) {
-        final BatchHelper helper = new BatchHelper(batchSizeWithMultiRow, stmt);
+        final BatchHelper helper = new BatchHelper(batchSizeWithMultiRow, stmt, afterExecute);
         for (int partitionNum = 0; partitionNum < objsPartitions.size() - 1; partitionNum++) {
           T[] objectsInOnePartition = objsPartitions.get(partitionNum);
           parametersSetter.accept(stmt, objectsInOnePartition);
@@ -103,13 +144,11 @@ public final class BatchOfMultiRowInOneStatementProcessor<T> extends MultiRowPro
           multiRowStatementCreator.apply(objectsInLastPartition.length)) {
         parametersSetter.accept(lastStmt, objectsInLastPartition);
         result[lastPartition] = lastStmt.executeUpdate();
+        afterExecute.accept(lastStmt);
         return result;
       }
     } catch (Throwable e) {
       throw Try.rethrow(e);
-    } finally {
-      OrmConnectionImpl.commitOrRollback(con, origAutoCommit);
-      OrmConnectionImpl.setAutoCommit(con, origAutoCommit);
     }
   }
 }
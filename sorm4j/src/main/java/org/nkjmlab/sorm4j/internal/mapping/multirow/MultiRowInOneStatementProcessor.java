@@ -2,16 +2,23 @@ package org.nkjmlab.sorm4j.internal.mapping.multirow;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
+import org.nkjmlab.sorm4j.common.container.RowMap;
 import org.nkjmlab.sorm4j.context.logging.LogContext;
-import org.nkjmlab.sorm4j.internal.OrmConnectionImpl;
 import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
+import org.nkjmlab.sorm4j.internal.context.metrics.ExecutionRecorder;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
 import org.nkjmlab.sorm4j.internal.mapping.ContainerToTableMapper;
+import org.nkjmlab.sorm4j.internal.sql.result.InsertResultImpl;
 import org.nkjmlab.sorm4j.internal.util.ArrayUtils;
+import org.nkjmlab.sorm4j.sql.result.InsertResult;
 import org.nkjmlab.sorm4j.util.function.exception.Try;
 import org.nkjmlab.sorm4j.util.function.exception.TryBiConsumer;
+import org.nkjmlab.sorm4j.util.function.exception.TryConsumer;
 import org.nkjmlab.sorm4j.util.function.exception.TryFunction;
 
 public final class MultiRowInOneStatementProcessor<T> extends MultiRowProcessorBase<T> {
@@ -20,25 +27,37 @@ public final class MultiRowInOneStatementProcessor<T> extends MultiRowProcessorB
 
   public MultiRowInOneStatementProcessor(
       LogContext loggerContext,
+      ExecutionRecorder executionRecorder,
+      SormTracerImpl tracer,
       SqlParametersSetter sqlParametersSetter,
       PreparedStatementSupplier statementSupplier,
       ContainerToTableMapper<T> tableMapping,
       int batchSize,
       int multiRowSize) {
-    super(loggerContext, sqlParametersSetter, statementSupplier, tableMapping, batchSize);
+    super(
+        loggerContext,
+        executionRecorder,
+        tracer,
+        sqlParametersSetter,
+        statementSupplier,
+        tableMapping,
+        batchSize);
     this.multiRowSize = multiRowSize;
   }
 
   @Override
-  public final int[] multiRowInsert(Connection con, T[] objects) {
+  public final int[] multiRowInsert(
+      Connection con, Function<T, Object[]> parameterCreator, T[] objects) {
     return execMultiRowProcIfValidObjects(
         con,
+        getSql().getInsertSql(),
         objects,
         nonNullObjects ->
             procMultiRowOneStatement(
                 con,
                 num -> prepareStatement(con, getSql().getMultirowInsertSql(num)),
-                (stmt, objs) -> setPrametersOfMultiRow(stmt, objs),
+                (stmt, objs) -> setPrametersOfMultiRow(stmt, parameterCreator, objs),
+                _stmt -> {},
                 nonNullObjects));
   }
 
@@ -46,32 +65,54 @@ public final class MultiRowInOneStatementProcessor<T> extends MultiRowProcessorB
   public final int[] multiRowMerge(Connection con, T[] objects) {
     return execMultiRowProcIfValidObjects(
         con,
+        getSql().getMergeSql(),
         objects,
         nonNullObjects ->
             procMultiRowOneStatement(
                 con,
                 num -> prepareStatement(con, getSql().getMultirowMergeSql(num)),
                 (stmt, objs) -> setPrametersOfMultiRow(stmt, objs),
+                _stmt -> {},
                 nonNullObjects));
   }
 
+  @Override
+  public final InsertResult multiRowInsertAndGet(Connection con, T[] objects) {
+    final List<RowMap> generatedKeys = new ArrayList<>(objects.length);
+    int[] result =
+        execMultiRowProcIfValidObjects(
+            con,
+            getSql().getInsertSql(),
+            objects,
+            nonNullObjects ->
+                procMultiRowOneStatement(
+                    con,
+                    num ->
+                        prepareStatementReturningGeneratedKeys(
+                            con, getSql().getMultirowInsertSql(num)),
+                    (stmt, objs) -> setPrametersOfMultiRow(stmt, objs),
+                    stmt -> generatedKeys.addAll(getGeneratedKeys(stmt)),
+                    nonNullObjects));
+    return new InsertResultImpl(result, generatedKeys);
+  }
+
   private final int[] procMultiRowOneStatement(
       Connection con,
       TryFunction<Integer, PreparedStatement> multiRowStatementCreator,
       TryBiConsumer<PreparedStatement, T[]> parametersSetter,
+      TryConsumer<PreparedStatement> afterExecuteUpdate,
       T[] objects) {
     final List<T[]> objsPartitions = ArrayUtils.split(multiRowSize, objects);
     final int[] result = new int[objsPartitions.size()];
-    final boolean origAutoCommit = OrmConnectionImpl.getAutoCommit(con);
 
     try {
-      OrmConnectionImpl.setAutoCommit(con, false);
       try (PreparedStatement stmt = multiRowStatementCreator.apply(multiRowSize)) {
         final int partitionSizeMinusOne = objsPartitions.size() - 1;
         for (int partitionNum = 0; partitionNum < partitionSizeMinusOne; partitionNum++) {
           final T[] objectsInOnePartition = objsPartitions.get(partitionNum);
           parametersSetter.accept(stmt, objectsInOnePartition);
           result[partitionNum] = stmt.executeUpdate();
+          afterExecuteUpdate.accept(stmt);
         }
       }
       final int lastPartition = objsPartitions.size() - 1;
@@ -79,13 +120,11 @@ public final class MultiRowInOneStatementProcessor<T> extends MultiRowProcessorB
       try (PreparedStatement stmt = multiRowStatementCreator.apply(objectsInLastPartition.length)) {
         parametersSetter.accept(stmt, objectsInLastPartition);
         result[lastPartition] = stmt.executeUpdate();
+        afterExecuteUpdate.accept(stmt);
         return result;
       }
     } catch (Throwable e) {
       throw Try.rethrow(e);
-    } finally {
-      OrmConnectionImpl.commitOrRollback(con, origAutoCommit);
-      OrmConnectionImpl.setAutoCommit(con, origAutoCommit);
     }
   }
 }
@@ -5,12 +5,35 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.function.Function;
 
+import org.nkjmlab.sorm4j.sql.result.InsertResult;
+
 public interface MultiRowProcessor<T> {
 
   int[] multiRowInsert(Connection con, T[] objects);
 
+  /**
+   * Inserts the objects with the parameters created by the given function. The function must
+   * return the parameters in the order of the columns of the insert statement.
+   *
+   * @param con
+   * @param parameterCreator
+   * @param objects
+   * @return
+   */
+  int[] multiRowInsert(Connection con, Function<T, Object[]> parameterCreator, T[] objects);
+
   int[] multiRowMerge(Connection con, T[] objects);
 
+  /**
+   * Inserts the objects and gets the auto-generated keys of all the rows in the order of the
+   * objects.
+   *
+   * @param con
+   * @param objects
+   * @return
+   */
+  InsertResult multiRowInsertAndGet(Connection con, T[] objects);
+
   void setPrametersOfMultiRow(PreparedStatement stmt, T[] objects) throws SQLException;
 
   int[] batch(Connection con, String sql, Function<T, Object[]> parameterCreator, T[] objects);
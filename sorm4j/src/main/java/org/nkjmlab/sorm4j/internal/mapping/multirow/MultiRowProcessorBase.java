@@ -3,18 +3,29 @@ package org.nkjmlab.sorm4j.internal.mapping.multirow;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
+import org.nkjmlab.sorm4j.common.container.RowMap;
 import org.nkjmlab.sorm4j.context.logging.LogContext;
-import org.nkjmlab.sorm4j.internal.OrmConnectionImpl;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer.SpanKind;
 import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
 import org.nkjmlab.sorm4j.internal.context.logging.LogPoint;
+import org.nkjmlab.sorm4j.internal.context.metrics.ExecutionRecorder;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl.SpanRecorder;
+import org.nkjmlab.sorm4j.internal.jfr.MultiRowUpdateEvent;
 import org.nkjmlab.sorm4j.internal.mapping.ContainerToTableMapper;
+import org.nkjmlab.sorm4j.internal.sql.result.InsertResultImpl;
 import org.nkjmlab.sorm4j.sql.TableSql;
+import org.nkjmlab.sorm4j.sql.result.InsertResult;
 import org.nkjmlab.sorm4j.util.function.exception.Try;
+import org.nkjmlab.sorm4j.util.function.exception.TryConsumer;
+import org.nkjmlab.sorm4j.util.function.exception.TrySupplier;
 
 public abstract class MultiRowProcessorBase<T> implements MultiRowProcessor<T> {
 
@@ -23,14 +34,20 @@ public abstract class MultiRowProcessorBase<T> implements MultiRowProcessor<T> {
   private final SqlParametersSetter sqlParametersSetter;
   private final ContainerToTableMapper<T> tableMapping;
   private final LogContext loggerContext;
+  private final ExecutionRecorder executionRecorder;
+  private final SormTracerImpl tracer;
 
   MultiRowProcessorBase(
       LogContext loggerContext,
+      ExecutionRecorder executionRecorder,
+      SormTracerImpl tracer,
       SqlParametersSetter sqlParametersSetter,
       PreparedStatementSupplier statementSupplier,
       ContainerToTableMapper<T> tableMapping,
       int batchSize) {
     this.loggerContext = loggerContext;
+    this.executionRecorder = executionRecorder;
+    this.tracer = tracer;
     this.statementSupplier = statementSupplier;
     this.sqlParametersSetter = sqlParametersSetter;
     this.tableMapping = tableMapping;
@@ -38,11 +55,20 @@ public abstract class MultiRowProcessorBase<T> implements MultiRowProcessor<T> {
   }
 
   @Override
-  public abstract int[] multiRowInsert(Connection con, T[] objects);
+  public final int[] multiRowInsert(Connection con, T[] objects) {
+    return multiRowInsert(con, obj -> getInsertParameters(obj), objects);
+  }
+
+  @Override
+  public abstract int[] multiRowInsert(
+      Connection con, Function<T, Object[]> parameterCreator, T[] objects);
 
   @Override
   public abstract int[] multiRowMerge(Connection con, T[] objects);
 
+  @Override
+  public abstract InsertResult multiRowInsertAndGet(Connection con, T[] objects);
+
   protected final TableSql getSql() {
     return tableMapping.getSql();
   }
@@ -58,10 +84,16 @@ public abstract class MultiRowProcessorBase<T> implements MultiRowProcessor<T> {
   @Override
   public final void setPrametersOfMultiRow(PreparedStatement stmt, T[] objects)
       throws SQLException {
+    setPrametersOfMultiRow(
+        stmt, obj -> tableMapping.getParametersWithoutAutoGeneratedColumns(obj), objects);
+  }
+
+  protected final void setPrametersOfMultiRow(
+      PreparedStatement stmt, Function<T, Object[]> parameterCreator, T[] objects)
+      throws SQLException {
     Object[] parameters =
         Arrays.stream(objects)
-            .flatMap(
-                obj -> Arrays.stream(tableMapping.getParametersWithoutAutoGeneratedColumns(obj)))
+            .flatMap(obj -> Arrays.stream(parameterCreator.apply(obj)))
             .toArray(Object[]::new);
     sqlParametersSetter.setParameters(stmt, parameters);
   }
@@ -71,36 +103,70 @@ public abstract class MultiRowProcessorBase<T> implements MultiRowProcessor<T> {
       Connection con, String sql, Function<T, Object[]> parameterCreator, T[] objects) {
     return execMultiRowProcIfValidObjects(
         con,
+        sql,
         objects,
-        nonNullObjects -> {
-          int[] result = new int[0];
-          boolean origAutoCommit = OrmConnectionImpl.getAutoCommit(con);
-
-          try (PreparedStatement stmt = statementSupplier.prepareStatement(con, sql)) {
-            OrmConnectionImpl.setAutoCommit(con, false);
-            final BatchHelper batchHelper = new BatchHelper(batchSize, stmt);
-            for (int i = 0; i < objects.length; i++) {
-              T obj = objects[i];
-              this.sqlParametersSetter.setParameters(stmt, parameterCreator.apply(obj));
-              batchHelper.addBatchAndExecuteIfReachedThreshold();
-            }
-            result = batchHelper.finish();
-            return result;
-          } catch (SQLException e) {
-            throw Try.rethrow(e);
-          } finally {
-            OrmConnectionImpl.commitOrRollback(con, origAutoCommit);
-            OrmConnectionImpl.setAutoCommit(con, origAutoCommit);
-          }
-        });
+        nonNullObjects ->
+            procBatch(
+                con,
+                () -> statementSupplier.prepareStatement(con, sql),
+                parameterCreator,
+                _stmt -> {},
+                nonNullObjects));
+  }
+
+  /**
+   * Executes the insert statement by batch and gets the auto-generated keys of each batch.
+   *
+   * @param con
+   * @param objects
+   * @return
+   */
+  final InsertResult batchInsertAndGet(Connection con, T[] objects) {
+    final List<RowMap> generatedKeys = new ArrayList<>(objects.length);
+    int[] result =
+        execMultiRowProcIfValidObjects(
+            con,
+            getSql().getInsertSql(),
+            objects,
+            nonNullObjects ->
+                procBatch(
+                    con,
+                    () -> prepareStatementReturningGeneratedKeys(con, getSql().getInsertSql()),
+                    obj -> getInsertParameters(obj),
+                    stmt -> generatedKeys.addAll(getGeneratedKeys(stmt)),
+                    nonNullObjects));
+    return new InsertResultImpl(result, generatedKeys);
+  }
+
+  private int[] procBatch(
+      Connection con,
+      TrySupplier<PreparedStatement> statementCreator,
+      Function<T, Object[]> parameterCreator,
+      TryConsumer<PreparedStatement> afterExecuteBatch,
+      T[] objects) {
+
+    try (PreparedStatement stmt = statementCreator.get()) {
+      final BatchHelper batchHelper = new BatchHelper(batchSize, stmt, afterExecuteBatch);
+      for (int i = 0; i < objects.length; i++) {
+        T obj = objects[i];
+        this.sqlParametersSetter.setParameters(stmt, parameterCreator.apply(obj));
+        batchHelper.addBatchAndExecuteIfReachedThreshold();
+      }
+      return batchHelper.finish();
+    } catch (Exception e) {
+      throw Try.rethrow(e);
+    }
   }
 
   /**
    * Execute multirow sql function. objects when objects[0] is null, {@code NullPointerException}
    * are throw.
+   *
+   * @param sql the representative sql of the function, which is used for the JFR event and the
+   *     span
    */
   final int[] execMultiRowProcIfValidObjects(
-      Connection con, T[] objects, Function<T[], int[]> exec) {
+      Connection con, String sql, T[] objects, Function<T[], int[]> exec) {
     if (objects == null || objects.length == 0) {
       return new int[0];
     }
@@ -114,14 +180,47 @@ public abstract class MultiRowProcessorBase<T> implements MultiRowProcessor<T> {
                 objects[0].getClass(),
                 objects.length,
                 tableMapping.getTableMetaData().getTableName()));
-
-    final int[] result = exec.apply(objects);
+    MultiRowUpdateEvent event = new MultiRowUpdateEvent();
+    event.start();
+    long startNanos = executionRecorder.nanoTime();
+    SpanRecorder span = tracer.start(SpanKind.MULTI_ROW_UPDATE, sql);
+
+    final int[] result;
+    try {
+      result = exec.apply(objects);
+    } catch (Exception e) {
+      // SQLException is thrown sneakily by the processors.
+      span.fail(e);
+      executionRecorder.recordError(LogContext.Category.EXECUTE_MULTI_ROW_UPDATE, sql);
+      throw Try.rethrow(e);
+    }
+    int rows = Arrays.stream(result).sum();
+    span.end(rows);
 
     lp.ifPresent(_lp -> _lp.logAfterMultiRow(result));
+    event.set(tableMapping.getTableMetaData().getTableName(), objects.length, batchSize);
+    event.commit(con, sql, rows);
+    executionRecorder.record(
+        LogContext.Category.EXECUTE_MULTI_ROW_UPDATE,
+        sql,
+        null,
+        rows,
+        startNanos,
+        executionRecorder.nanoTime());
     return result;
   }
 
   protected PreparedStatement prepareStatement(Connection con, String sql) throws SQLException {
     return statementSupplier.prepareStatement(con, sql);
   }
+
+  protected PreparedStatement prepareStatementReturningGeneratedKeys(Connection con, String sql)
+      throws SQLException {
+    return statementSupplier.prepareStatement(
+        con, sql, tableMapping.getTableMetaData().getAutoGeneratedColumnsArray());
+  }
+
+  protected List<RowMap> getGeneratedKeys(PreparedStatement stmt) throws SQLException {
+    return tableMapping.getGeneratedKeys(stmt);
+  }
 }
@@ -4,6 +4,8 @@ import org.nkjmlab.sorm4j.context.MultiRowProcessorFactory;
 import org.nkjmlab.sorm4j.context.logging.LogContext;
 import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
+import org.nkjmlab.sorm4j.internal.context.metrics.ExecutionRecorder;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
 import org.nkjmlab.sorm4j.internal.mapping.ContainerToTableMapper;
 
 public class MultiRowProcessorFactoryImpl implements MultiRowProcessorFactory {
@@ -26,6 +28,8 @@ public class MultiRowProcessorFactoryImpl implements MultiRowProcessorFactory {
   @Override
   public <T> MultiRowProcessor<T> createMultiRowProcessor(
       LogContext loggerContext,
+      ExecutionRecorder executionRecorder,
+      SormTracerImpl tracer,
       SqlParametersSetter sqlParametersSetter,
       PreparedStatementSupplier statementSupplier,
       Class<T> objectClass,
@@ -33,10 +37,18 @@ public class MultiRowProcessorFactoryImpl implements MultiRowProcessorFactory {
     switch (multiRowProcessorType) {
       case SIMPLE_BATCH:
         return new SimpleBatchProcessor<>(
-            loggerContext, sqlParametersSetter, statementSupplier, tableMapping, batchSize);
+            loggerContext,
+            executionRecorder,
+            tracer,
+            sqlParametersSetter,
+            statementSupplier,
+            tableMapping,
+            batchSize);
       case MULTI_ROW:
         return new MultiRowInOneStatementProcessor<>(
             loggerContext,
+            executionRecorder,
+            tracer,
             sqlParametersSetter,
             statementSupplier,
             tableMapping,
@@ -45,6 +57,8 @@ public class MultiRowProcessorFactoryImpl implements MultiRowProcessorFactory {
       case MULTI_ROW_AND_BATCH:
         return new BatchOfMultiRowInOneStatementProcessor<>(
             loggerContext,
+            executionRecorder,
+            tracer,
             sqlParametersSetter,
             statementSupplier,
             tableMapping,
@@ -1,29 +1,48 @@
 package org.nkjmlab.sorm4j.internal.mapping.multirow;
 
 import java.sql.Connection;
+import java.util.function.Function;
 
 import org.nkjmlab.sorm4j.context.logging.LogContext;
 import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
+import org.nkjmlab.sorm4j.internal.context.metrics.ExecutionRecorder;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl;
 import org.nkjmlab.sorm4j.internal.mapping.ContainerToTableMapper;
+import org.nkjmlab.sorm4j.sql.result.InsertResult;
 
 final class SimpleBatchProcessor<T> extends MultiRowProcessorBase<T> {
   public SimpleBatchProcessor(
       LogContext loggerContext,
+      ExecutionRecorder executionRecorder,
+      SormTracerImpl tracer,
       SqlParametersSetter sqlParametersSetter,
       PreparedStatementSupplier statementSupplier,
       ContainerToTableMapper<T> tableMapping,
       int batchSize) {
-    super(loggerContext, sqlParametersSetter, statementSupplier, tableMapping, batchSize);
+    super(
+        loggerContext,
+        executionRecorder,
+        tracer,
+        sqlParametersSetter,
+        statementSupplier,
+        tableMapping,
+        batchSize);
   }
 
   @Override
-  public final int[] multiRowInsert(Connection con, T[] objects) {
-    return batch(con, getSql().getInsertSql(), obj -> getInsertParameters(obj), objects);
+  public final int[] multiRowInsert(
+      Connection con, Function<T, Object[]> parameterCreator, T[] objects) {
+    return batch(con, getSql().getInsertSql(), parameterCreator, objects);
   }
 
   @Override
   public final int[] multiRowMerge(Connection con, T[] objects) {
     return batch(con, getSql().getMergeSql(), obj -> getMergeParameters(obj), objects);
   }
+
+  @Override
+  public final InsertResult multiRowInsertAndGet(Connection con, T[] objects) {
+    return batchInsertAndGet(con, objects);
+  }
 }
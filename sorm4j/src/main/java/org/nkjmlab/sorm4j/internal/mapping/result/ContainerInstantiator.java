@@ -0,0 +1,13 @@
+package org.nkjmlab.sorm4j.internal.mapping.result;
+
+/**
+ * Creates a container object from constructor arguments.
+ *
+ * @author nkjm
+ * @param <T>
+ */
+@FunctionalInterface
+interface ContainerInstantiator<T> {
+
+  T newInstance(Object[] args) throws ReflectiveOperationException;
+}
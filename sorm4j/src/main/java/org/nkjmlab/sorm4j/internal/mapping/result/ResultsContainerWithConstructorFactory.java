@@ -2,7 +2,6 @@ package org.nkjmlab.sorm4j.internal.mapping.result;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Parameter;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -18,11 +17,12 @@ import org.nkjmlab.sorm4j.context.SormContext;
 import org.nkjmlab.sorm4j.internal.OrmConnectionImpl.ColumnsAndTypes;
 import org.nkjmlab.sorm4j.internal.context.ColumnValueToJavaObjectConverters;
 import org.nkjmlab.sorm4j.internal.mapping.ColumnToAccessorMapping;
+import org.nkjmlab.sorm4j.internal.util.ClassUtils;
 import org.nkjmlab.sorm4j.internal.util.JdbcTypeUtils;
 import org.nkjmlab.sorm4j.internal.util.ParameterizedStringFormatter;
+import org.nkjmlab.sorm4j.util.function.exception.Try;
 
-final class ResultsContainerWithConstructorFactory<T>
-    implements ResultsContainerFactory<T> {
+final class ResultsContainerWithConstructorFactory<T> implements ResultsContainerFactory<T> {
 
   private final Map<String, ConstructorParameter> constructorParametersMap = new HashMap<>();
   private final int constructorParametersLength;
@@ -30,22 +30,48 @@ final class ResultsContainerWithConstructorFactory<T>
   private final Map<List<String>, ConstructorParameter[]> columnAndConstructorParameterMapping =
       new ConcurrentHashMap<>();
 
-  private final Constructor<T> constructor;
+  private final Object constructor;
+  private final Class<?> containerClass;
+  private final ContainerInstantiator<T> instantiator;
 
   public ResultsContainerWithConstructorFactory(
       ColumnToAccessorMapping columnToAccessorMap,
       Constructor<T> constructor,
       String[] parameterNames) {
+    this(
+        columnToAccessorMap,
+        constructor,
+        constructor.getDeclaringClass(),
+        constructor.getParameterTypes(),
+        parameterNames,
+        constructor::newInstance);
+  }
+
+  /**
+   * @param columnToAccessorMap
+   * @param constructor description of the constructor
+   * @param containerClass
+   * @param parameterTypes
+   * @param parameterNames
+   * @param instantiator
+   */
+  ResultsContainerWithConstructorFactory(
+      ColumnToAccessorMapping columnToAccessorMap,
+      Object constructor,
+      Class<?> containerClass,
+      Class<?>[] parameterTypes,
+      String[] parameterNames,
+      ContainerInstantiator<T> instantiator) {
     this.constructor = constructor;
+    this.containerClass = containerClass;
+    this.instantiator = instantiator;
     String columnAliasPrefix = columnToAccessorMap.getColumnAliasPrefix();
-    Parameter[] parameters = constructor.getParameters();
-    this.constructorParametersLength = parameters.length;
+    this.constructorParametersLength = parameterTypes.length;
 
     for (int i = 0; i < constructorParametersLength; i++) {
-      Parameter parameter = parameters[i];
       String canonicalName =
           SormContext.getDefaultCanonicalStringCache().toCanonicalName(parameterNames[i]);
-      ConstructorParameter cp = new ConstructorParameter(canonicalName, i, parameter.getType());
+      ConstructorParameter cp = new ConstructorParameter(canonicalName, i, parameterTypes[i]);
       constructorParametersMap.put(canonicalName, cp);
       if (columnAliasPrefix != null && columnAliasPrefix.length() != 0) {
         constructorParametersMap.put(
@@ -96,15 +122,12 @@ final class ResultsContainerWithConstructorFactory<T>
             columnValueConverter.convertTo(
                 resultSet, i + 1, sqlTypes[i], constructorParameters[i].getType());
       }
-      return constructor.newInstance(params);
-    } catch (IllegalArgumentException
-        | SecurityException
-        | InstantiationException
-        | IllegalAccessException
-        | InvocationTargetException e) {
-      Object[] params = {
-        constructor.getDeclaringClass(), JdbcTypeUtils.convert(sqlTypes), constructorParameters
-      };
+      return instantiator.newInstance(params);
+    } catch (InvocationTargetException e) {
+      // an exception thrown by the constructor itself is not a mapping failure.
+      throw Try.rethrow(e.getCause());
+    } catch (IllegalArgumentException | SecurityException | ReflectiveOperationException e) {
+      Object[] params = {containerClass, JdbcTypeUtils.convert(sqlTypes), constructorParameters};
       throw new SormException(
           ParameterizedStringFormatter.NO_LENGTH_LIMIT.format(
               "Constructor with parameters of container class [{}] for object-relation mapping is not match with columns. param={}, sqltypes={}",
@@ -113,6 +136,34 @@ final class ResultsContainerWithConstructorFactory<T>
     }
   }
 
+  /**
+   * Checks the arguments before calling the given instantiator which casts them without checking,
+   * e.g. the generated code. An argument not assignable to the parameter fails with {@link
+   * IllegalArgumentException} as {@link Constructor#newInstance} does, so that a {@link
+   * ClassCastException} or a {@link NullPointerException} thrown by the constructor itself is not
+   * taken as a mapping failure.
+   *
+   * @param <T>
+   * @param parameterTypes
+   * @param instantiator
+   * @return
+   */
+  static <T> ContainerInstantiator<T> checkArguments(
+      Class<?>[] parameterTypes, ContainerInstantiator<T> instantiator) {
+    return args -> {
+      for (int i = 0; i < parameterTypes.length; i++) {
+        Class<?> type =
+            parameterTypes[i].isPrimitive()
+                ? ClassUtils.primitiveToWrapper(parameterTypes[i])
+                : parameterTypes[i];
+        if (args[i] == null ? parameterTypes[i].isPrimitive() : !type.isInstance(args[i])) {
+          throw new IllegalArgumentException("argument type mismatch at index " + i);
+        }
+      }
+      return instantiator.newInstance(args);
+    };
+  }
+
   private ConstructorParameter[] getCorrespondingParameter(String[] columns) {
     return columnAndConstructorParameterMapping.computeIfAbsent(
         Arrays.asList(columns),
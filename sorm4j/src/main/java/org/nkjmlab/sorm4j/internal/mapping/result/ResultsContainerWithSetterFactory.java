@@ -1,7 +1,6 @@
 package org.nkjmlab.sorm4j.internal.mapping.result;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -16,18 +15,27 @@ import org.nkjmlab.sorm4j.internal.OrmConnectionImpl.ColumnsAndTypes;
 import org.nkjmlab.sorm4j.internal.context.ColumnValueToJavaObjectConverters;
 import org.nkjmlab.sorm4j.internal.mapping.ColumnToAccessorMapping;
 
-final class ResultsContainerWithSetterFactory<T>
-    implements ResultsContainerFactory<T> {
+final class ResultsContainerWithSetterFactory<T> implements ResultsContainerFactory<T> {
   // 2021-03-26 Effectiveness of this cache is confirmed by JMH.
   // https://github.com/yuu-nkjm/sorm4j/issues/26
   private final Map<List<String>, Class<?>[]> setterTypesMap = new ConcurrentHashMap<>();
-  private final Constructor<T> constructor;
+  private static final Object[] EMPTY_ARGS = new Object[0];
+  private final ContainerInstantiator<T> instantiator;
   private final ColumnToAccessorMapping columnToAccessorMap;
 
   public ResultsContainerWithSetterFactory(
       ColumnToAccessorMapping columnToAccessorMap, Constructor<T> constructor) {
+    this(columnToAccessorMap, args -> constructor.newInstance());
+  }
+
+  /**
+   * @param columnToAccessorMap
+   * @param instantiator creates a container with the default constructor
+   */
+  ResultsContainerWithSetterFactory(
+      ColumnToAccessorMapping columnToAccessorMap, ContainerInstantiator<T> instantiator) {
     this.columnToAccessorMap = columnToAccessorMap;
-    this.constructor = constructor;
+    this.instantiator = instantiator;
   }
 
   private Class<?>[] getSetterTypes(String[] columns) {
@@ -75,7 +83,7 @@ final class ResultsContainerWithSetterFactory<T>
     try {
       final String[] columns = columnsAndTypes.getColumns();
       final int[] sqlTypes = columnsAndTypes.getColumnTypes();
-      final T ret = constructor.newInstance();
+      final T ret = instantiator.newInstance(EMPTY_ARGS);
       for (int i = 1; i <= columns.length; i++) {
         final String columnName = columns[i - 1];
         if (columnToAccessorMap.get(columnName) == null) {
@@ -90,11 +98,7 @@ final class ResultsContainerWithSetterFactory<T>
         columnToAccessorMap.setValue(ret, columnName, value);
       }
       return ret;
-    } catch (IllegalArgumentException
-        | SecurityException
-        | InstantiationException
-        | IllegalAccessException
-        | InvocationTargetException e) {
+    } catch (IllegalArgumentException | SecurityException | ReflectiveOperationException e) {
       throw new SormException(
           "Container class for object relation mapping must have the public default constructor.",
           e);
@@ -11,9 +11,13 @@ import org.nkjmlab.sorm4j.internal.OrmConnectionImpl;
 import org.nkjmlab.sorm4j.internal.OrmConnectionImpl.ColumnsAndTypes;
 import org.nkjmlab.sorm4j.internal.context.ColumnValueToJavaObjectConverters;
 import org.nkjmlab.sorm4j.internal.mapping.ColumnToAccessorMapping;
+import org.nkjmlab.sorm4j.internal.mapping.ContainerSnapshots;
+import org.nkjmlab.sorm4j.internal.mapping.ContainerSnapshots.SnapshotColumns;
+import org.nkjmlab.sorm4j.internal.mapping.GeneratedMappings;
 import org.nkjmlab.sorm4j.internal.util.ParameterizedStringFormatter;
 import org.nkjmlab.sorm4j.internal.util.reflection.ReflectionConstrucorsUtils;
 import org.nkjmlab.sorm4j.internal.util.reflection.ReflectionConstrucorsUtils.OrmConstructorDefinition;
+import org.nkjmlab.sorm4j.mapping.GeneratedMapping;
 import org.nkjmlab.sorm4j.mapping.annotation.OrmConstructor;
 import org.nkjmlab.sorm4j.mapping.annotation.OrmRecordCompatibleConstructor;
 import org.nkjmlab.sorm4j.util.function.exception.Try;
@@ -46,19 +50,50 @@ public final class ResultsToContainerMapper<T> {
   private final ColumnValueToJavaObjectConverters columnValueConverter;
   private final ColumnToAccessorMapping columnToAccessorMap;
   private final ResultsContainerFactory<T> resultsContainerFactory;
+  private final ContainerSnapshots containerSnapshots;
 
   public ResultsToContainerMapper(
       ColumnValueToJavaObjectConverters converter,
       Class<T> objectClass,
       ColumnToAccessorMapping columnToAccessorMap) {
+    this(converter, objectClass, columnToAccessorMap, null);
+  }
+
+  /**
+   * @param converter
+   * @param objectClass
+   * @param columnToAccessorMap
+   * @param containerSnapshots if not null, snapshots of the loaded containers are taken.
+   */
+  public ResultsToContainerMapper(
+      ColumnValueToJavaObjectConverters converter,
+      Class<T> objectClass,
+      ColumnToAccessorMapping columnToAccessorMap,
+      ContainerSnapshots containerSnapshots) {
     this.columnValueConverter = converter;
     this.objectClass = objectClass;
     this.columnToAccessorMap = columnToAccessorMap;
+    this.containerSnapshots = containerSnapshots;
 
     this.resultsContainerFactory = createResultsContainerFactory();
   }
 
   private ResultsContainerFactory<T> createResultsContainerFactory() {
+    GeneratedMapping<T> generatedMapping = GeneratedMappings.get(objectClass);
+    if (generatedMapping != null) {
+      return generatedMapping.getConstructorParameterNames() != null
+          ? new ResultsContainerWithConstructorFactory<>(
+              getColumnToAccessorMap(),
+              generatedMapping,
+              objectClass,
+              generatedMapping.getConstructorParameterTypes(),
+              generatedMapping.getConstructorParameterNames(),
+              ResultsContainerWithConstructorFactory.checkArguments(
+                  generatedMapping.getConstructorParameterTypes(), generatedMapping::newInstance))
+          : new ResultsContainerWithSetterFactory<>(
+              getColumnToAccessorMap(), generatedMapping::newInstance);
+    }
+
     OrmConstructorDefinition<T> constructorDef =
         ReflectionConstrucorsUtils.createOrmConstructorDefinition(objectClass);
 
@@ -89,8 +124,14 @@ public final class ResultsToContainerMapper<T> {
     ColumnsAndTypes columnsAndTypes =
         OrmConnectionImpl.ColumnsAndTypes.createColumnsAndTypes(resultSet);
 
-    return resultsContainerFactory.createContainerList(
-        columnValueConverter, resultSet, columnsAndTypes);
+    List<T> ret =
+        resultsContainerFactory.createContainerList(
+            columnValueConverter, resultSet, columnsAndTypes);
+    if (containerSnapshots != null && !ret.isEmpty()) {
+      SnapshotColumns columns = createSnapshotColumns(columnsAndTypes);
+      ret.forEach(container -> containerSnapshots.put(columnToAccessorMap, columns, container));
+    }
+    return ret;
   }
 
   public T mapResultsToContainer(ResultSet resultSet) throws SQLException {
@@ -98,8 +139,9 @@ public final class ResultsToContainerMapper<T> {
     ColumnsAndTypes columnsAndTypes =
         OrmConnectionImpl.ColumnsAndTypes.createColumnsAndTypes(resultSet);
 
-    return resultsContainerFactory.createContainer(
-        columnValueConverter, resultSet, columnsAndTypes);
+    return takeSnapshot(
+        columnsAndTypes,
+        resultsContainerFactory.createContainer(columnValueConverter, resultSet, columnsAndTypes));
   }
 
   public T mapResultsToContainerByPrimaryKey(Class<T> objectClass, ResultSet resultSet)
@@ -109,8 +151,22 @@ public final class ResultsToContainerMapper<T> {
         metaDataForSelectByPrimaryKey.computeIfAbsent(
             objectClass, key -> createColumnsAndTypes(resultSet));
 
-    return resultsContainerFactory.createContainer(
-        columnValueConverter, resultSet, columnsAndTypes);
+    return takeSnapshot(
+        columnsAndTypes,
+        resultsContainerFactory.createContainer(columnValueConverter, resultSet, columnsAndTypes));
+  }
+
+  private T takeSnapshot(ColumnsAndTypes columnsAndTypes, T container) {
+    if (containerSnapshots != null && container != null) {
+      containerSnapshots.put(
+          columnToAccessorMap, createSnapshotColumns(columnsAndTypes), container);
+    }
+    return container;
+  }
+
+  private SnapshotColumns createSnapshotColumns(ColumnsAndTypes columnsAndTypes) {
+    return containerSnapshots.createSnapshotColumns(
+        columnToAccessorMap, columnsAndTypes.getColumns());
   }
 
   private static ColumnsAndTypes createColumnsAndTypes(ResultSet resultSet) {
@@ -420,25 +420,37 @@ public final class JdbcDatabaseMetaDataImpl implements JdbcDatabaseMetaData {
 
     while (tablesResultSet.next()) {
       String tableName = tablesResultSet.getString("TABLE_NAME");
-      List<JdbcForeignKeyMetaData> fkList = new ArrayList<>();
-
-      try (ResultSet fkResultSet = metaData.getImportedKeys(null, null, tableName)) {
-        while (fkResultSet.next()) {
-          fkList.add(
-              new JdbcForeignKeyMetaDataImpl(
-                  fkResultSet.getString("FKTABLE_NAME"),
-                  fkResultSet.getString("FKCOLUMN_NAME"),
-                  fkResultSet.getString("PKTABLE_NAME"),
-                  fkResultSet.getString("PKCOLUMN_NAME"),
-                  fkResultSet.getShort("UPDATE_RULE"),
-                  fkResultSet.getShort("DELETE_RULE")));
-        }
-      }
-      foreignKeys.put(TableName.of(tableName), fkList);
+      foreignKeys.put(TableName.of(tableName), getForeignKeys(metaData, tableName));
     }
     return foreignKeys;
   }
 
+  /**
+   * Gets the foreign keys of the given table.
+   *
+   * @param metaData
+   * @param tableName
+   * @return
+   * @throws SQLException
+   */
+  public static List<JdbcForeignKeyMetaData> getForeignKeys(
+      DatabaseMetaData metaData, String tableName) throws SQLException {
+    List<JdbcForeignKeyMetaData> fkList = new ArrayList<>();
+    try (ResultSet fkResultSet = metaData.getImportedKeys(null, null, tableName)) {
+      while (fkResultSet.next()) {
+        fkList.add(
+            new JdbcForeignKeyMetaDataImpl(
+                fkResultSet.getString("FKTABLE_NAME"),
+                fkResultSet.getString("FKCOLUMN_NAME"),
+                fkResultSet.getString("PKTABLE_NAME"),
+                fkResultSet.getString("PKCOLUMN_NAME"),
+                fkResultSet.getShort("UPDATE_RULE"),
+                fkResultSet.getShort("DELETE_RULE")));
+      }
+    }
+    return fkList;
+  }
+
   private static List<Map<String, Object>> mapColumnsInResultSetToMap(
       ResultSet resultSet, List<String> columns) throws SQLException {
     List<Map<String, Object>> result = new ArrayList<>();
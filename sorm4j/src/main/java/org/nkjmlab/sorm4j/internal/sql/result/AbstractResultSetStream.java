@@ -13,10 +13,14 @@ import org.nkjmlab.sorm4j.common.handler.FunctionHandler;
 import org.nkjmlab.sorm4j.context.SormContext;
 import org.nkjmlab.sorm4j.context.logging.LogContext;
 import org.nkjmlab.sorm4j.context.logging.LogContext.Category;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer.SpanKind;
 import org.nkjmlab.sorm4j.internal.OrmConnectionImpl;
 import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
 import org.nkjmlab.sorm4j.internal.context.logging.LogPoint;
+import org.nkjmlab.sorm4j.internal.context.metrics.ExecutionRecorder;
+import org.nkjmlab.sorm4j.internal.context.tracing.SormTracerImpl.SpanRecorder;
+import org.nkjmlab.sorm4j.internal.jfr.StreamQueryEvent;
 import org.nkjmlab.sorm4j.sql.result.ResultSetStream;
 import org.nkjmlab.sorm4j.util.function.exception.Try;
 
@@ -45,26 +49,45 @@ abstract class AbstractResultSetStream<T> implements ResultSetStream<T> {
     LogContext loggerContext = context.getLogContext();
     PreparedStatementSupplier statementSupplier = context.getPreparedStatementSupplier();
     SqlParametersSetter parametersSetter = context.getSqlParametersSetter();
+    StreamQueryEvent event = new StreamQueryEvent();
+    event.start();
+    ExecutionRecorder recorder = ormConn.getExecutionRecorder();
+    long startNanos = recorder.nanoTime();
+    SpanRecorder span = ormConn.getTracer().start(SpanKind.PREPARE, sql);
 
     try (PreparedStatement stmt =
         statementSupplier.prepareStatement(ormConn.getJdbcConnection(), sql)) {
 
       parametersSetter.setParameters(stmt, parameters);
+      span.next(SpanKind.EXECUTE);
 
       Optional<LogPoint> lp = loggerContext.createLogPoint(Category.EXECUTE_QUERY, objectClass);
       lp.ifPresent(_lp -> _lp.logBeforeSql(ormConn.getJdbcConnection(), sql, parameters));
 
       try (ResultSet resultSet = stmt.executeQuery()) {
+        event.endJdbc();
+        long jdbcEndNanos = recorder.nanoTime();
+        span.next(SpanKind.MAP);
+        ResultSetIterator<T> iterator = new ResultSetIterator<T>(ormConn, objectClass, resultSet);
         Stream<T> stream =
             StreamSupport.stream(
-                Spliterators.spliteratorUnknownSize(
-                    new ResultSetIterator<T>(ormConn, objectClass, resultSet), Spliterator.ORDERED),
-                false);
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
         R ret = handler.apply(stream);
+        span.end(iterator.getRowCount());
         lp.ifPresent(_lp -> _lp.logAfterQuery(ret));
+        event.commit(ormConn.getJdbcConnection(), sql, iterator.getRowCount());
+        recorder.record(
+            Category.EXECUTE_QUERY,
+            sql,
+            parameters,
+            iterator.getRowCount(),
+            startNanos,
+            jdbcEndNanos);
         return ret;
       }
     } catch (Exception e) {
+      span.fail(e);
+      recorder.recordError(Category.EXECUTE_QUERY, sql);
       throw Try.rethrow(e);
     }
   }
@@ -1,6 +1,8 @@
 package org.nkjmlab.sorm4j.internal.sql.result;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.IntStream;
 
 import org.nkjmlab.sorm4j.common.container.RowMap;
@@ -10,18 +12,23 @@ import org.nkjmlab.sorm4j.sql.result.InsertResult;
 public final class InsertResultImpl implements InsertResult {
 
   public static final InsertResult EMPTY_INSERT_RESULT =
-      new InsertResultImpl(new int[0], RowMap.create());
+      new InsertResultImpl(new int[0], Collections.emptyList());
   private final int[] rowsModified;
+  private final List<RowMap> generatedKeysList;
   private final RowMap generatedKeys;
   private final int countRowsModified;
 
   /**
    * @param rowsModified Returns the row count by executing a insert statement
-   * @param generatedKeys auto-generated keys by executing a insert statement
+   * @param generatedKeysList auto-generated keys of each row by executing a insert statement
    */
-  public InsertResultImpl(int[] rowsModified, RowMap generatedKeys) {
+  public InsertResultImpl(int[] rowsModified, List<RowMap> generatedKeysList) {
     this.rowsModified = rowsModified;
-    this.generatedKeys = generatedKeys;
+    this.generatedKeysList = Collections.unmodifiableList(generatedKeysList);
+    this.generatedKeys =
+        generatedKeysList.isEmpty()
+            ? RowMap.create()
+            : generatedKeysList.get(generatedKeysList.size() - 1);
     this.countRowsModified = IntStream.of(rowsModified).sum();
   }
 
@@ -35,7 +42,7 @@ public final class InsertResultImpl implements InsertResult {
   }
 
   /**
-   * Returns auto-generated keys.
+   * Returns auto-generated keys of the last inserted row.
    *
    * @return
    */
@@ -44,12 +51,17 @@ public final class InsertResultImpl implements InsertResult {
     return generatedKeys;
   }
 
+  @Override
+  public List<RowMap> getGeneratedKeysList() {
+    return generatedKeysList;
+  }
+
   @Override
   public String toString() {
     return "InsertResultImpl [rowsModified="
         + Arrays.toString(rowsModified)
         + ", generatedKeys="
-        + generatedKeys
+        + generatedKeysList
         + "]";
   }
 
@@ -12,6 +12,7 @@ class ResultSetIterator<T> implements Iterator<T> {
   private final OrmConnectionImpl ormConnection;
   private final Class<T> objectClass;
   private final ResultSet resultSet;
+  private long rowCount;
 
   public ResultSetIterator(
       OrmConnectionImpl connection, Class<T> objectClass, ResultSet resultSet) {
@@ -33,12 +34,18 @@ class ResultSetIterator<T> implements Iterator<T> {
   @Override
   public T next() {
     try {
-      return ormConnection.mapRowToObject(objectClass, resultSet);
+      T ret = ormConnection.mapRowToObject(objectClass, resultSet);
+      rowCount++;
+      return ret;
     } catch (SQLException e) {
       throw Try.rethrow(e);
     }
   }
 
+  long getRowCount() {
+    return rowCount;
+  }
+
   @Override
   public void remove() {
     throw new UnsupportedOperationException();
@@ -0,0 +1,43 @@
+package org.nkjmlab.sorm4j.internal.sql.result;
+
+import org.nkjmlab.sorm4j.sql.result.SyncResult;
+
+/** Represents a result from a synchronization of objects with a table. */
+public final class SyncResultImpl implements SyncResult {
+
+  private final int inserted;
+  private final int updated;
+  private final int deleted;
+
+  public SyncResultImpl(int inserted, int updated, int deleted) {
+    this.inserted = inserted;
+    this.updated = updated;
+    this.deleted = deleted;
+  }
+
+  @Override
+  public int countInserted() {
+    return inserted;
+  }
+
+  @Override
+  public int countUpdated() {
+    return updated;
+  }
+
+  @Override
+  public int countDeleted() {
+    return deleted;
+  }
+
+  @Override
+  public String toString() {
+    return "SyncResultImpl [inserted="
+        + inserted
+        + ", updated="
+        + updated
+        + ", deleted="
+        + deleted
+        + "]";
+  }
+}
@@ -0,0 +1,87 @@
+package org.nkjmlab.sorm4j.internal.table.orm;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.table.orm.DefinedTable;
+import org.nkjmlab.sorm4j.util.function.exception.Try;
+
+/**
+ * Loads objects into a defined table before creating the indexes of the table.
+ *
+ * @author nkjm
+ */
+public final class BulkLoader {
+
+  private BulkLoader() {}
+
+  public static <T> void load(
+      DefinedTable<T> table, Stream<T> objects, int chunkSize, Executor executor) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize should be positive.");
+    }
+    table.getTableDefinition().createTableIfNotExists(table.getOrm());
+    Throwable failure = null;
+    try {
+      Iterator<T> iterator = objects.iterator();
+      List<T> chunk = new ArrayList<>(chunkSize);
+      while (iterator.hasNext()) {
+        chunk.add(iterator.next());
+        if (chunk.size() == chunkSize) {
+          table.insert(chunk);
+          chunk.clear();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        table.insert(chunk);
+      }
+    } catch (Throwable e) {
+      failure = e;
+      throw e;
+    } finally {
+      try {
+        createIndexesIfNotExists(
+            table.getOrm(),
+            table.getTableDefinition().getCreateIndexIfNotExistsStatements(),
+            executor);
+      } catch (Throwable e) {
+        if (failure == null) {
+          throw e;
+        }
+        failure.addSuppressed(e);
+      }
+    }
+  }
+
+  /**
+   * Executes the create index statements. If the executor is not null, each statement is executed
+   * on its own connection in parallel.
+   *
+   * @param orm
+   * @param statements
+   * @param executor
+   */
+  public static void createIndexesIfNotExists(
+      Sorm orm, List<String> statements, Executor executor) {
+    if (executor == null || statements.size() < 2) {
+      statements.forEach(s -> orm.executeUpdate(s));
+      return;
+    }
+    List<CompletableFuture<Integer>> futures =
+        statements.stream()
+            .map(s -> CompletableFuture.supplyAsync(() -> orm.executeUpdate(s), executor))
+            .collect(Collectors.toList());
+    try {
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    } catch (CompletionException e) {
+      throw Try.rethrow(e.getCause());
+    }
+  }
+}
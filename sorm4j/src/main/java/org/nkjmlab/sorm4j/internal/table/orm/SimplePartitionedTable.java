@@ -0,0 +1,167 @@
+package org.nkjmlab.sorm4j.internal.table.orm;
+
+import static org.nkjmlab.sorm4j.sql.statement.SqlKeyword.WHERE;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.nkjmlab.sorm4j.Orm;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
+import org.nkjmlab.sorm4j.sql.statement.SelectSql;
+import org.nkjmlab.sorm4j.table.orm.PartitionedTable;
+import org.nkjmlab.sorm4j.table.orm.Table;
+import org.nkjmlab.sorm4j.util.function.exception.Try;
+
+public final class SimplePartitionedTable<T> implements PartitionedTable<T> {
+
+  private final Sorm orm;
+  private final Class<T> valueType;
+  private final Function<T, String> router;
+  private final Executor executor;
+  private final ConcurrentMap<String, Table<T>> partitions = new ConcurrentHashMap<>();
+
+  /**
+   * @param orm
+   * @param valueType
+   * @param router
+   * @param executor null if the partitions are processed sequentially.
+   */
+  public SimplePartitionedTable(
+      Sorm orm, Class<T> valueType, Function<T, String> router, Executor executor) {
+    this.orm = orm;
+    this.valueType = valueType;
+    this.router = router;
+    this.executor = executor;
+  }
+
+  @Override
+  public Sorm getOrm() {
+    return orm;
+  }
+
+  @Override
+  public Class<T> getValueType() {
+    return valueType;
+  }
+
+  @Override
+  public String getTableName(T object) {
+    return router.apply(object);
+  }
+
+  @Override
+  public Table<T> getPartition(String tableName) {
+    return partitions.computeIfAbsent(tableName, k -> Table.of(orm, valueType, tableName));
+  }
+
+  @Override
+  public int[] insert(List<T> objects) {
+    return writeEachPartition(
+        objects, (target, tableName, partition) -> target.insertInto(tableName, partition));
+  }
+
+  @Override
+  public int[] merge(List<T> objects) {
+    return writeEachPartition(
+        objects, (target, tableName, partition) -> target.mergeIn(tableName, partition));
+  }
+
+  /**
+   * Writes the objects grouped per partition. The partitions are written in one transaction if they
+   * are processed sequentially. Otherwise each partition is written in its own transaction.
+   */
+  private int[] writeEachPartition(List<T> objects, PartitionWriter<T> writer) {
+    Map<String, List<T>> groups = new LinkedHashMap<>();
+    for (T object : objects) {
+      groups.computeIfAbsent(getTableName(object), k -> new ArrayList<>()).add(object);
+    }
+    List<int[]> results;
+    if (executor == null || groups.size() < 2) {
+      results =
+          orm.applyHandler(
+              Connection.TRANSACTION_READ_COMMITTED,
+              tr -> {
+                List<int[]> ret = new ArrayList<>(groups.size());
+                groups.forEach((tableName, group) -> ret.add(writer.write(tr, tableName, group)));
+                tr.commit();
+                return ret;
+              });
+    } else {
+      results =
+          applyEachPartition(
+              groups.keySet(), tableName -> writer.write(orm, tableName, groups.get(tableName)));
+    }
+    return results.stream().flatMapToInt(IntStream::of).toArray();
+  }
+
+  @FunctionalInterface
+  private interface PartitionWriter<T> {
+    int[] write(Orm target, String tableName, List<T> objects);
+  }
+
+  @Override
+  public List<T> selectAll(Collection<String> tableNames) {
+    return readEachPartition(
+        tableNames,
+        tableName -> getPartition(tableName).readList(SelectSql.selectStarFrom(tableName)));
+  }
+
+  @Override
+  public List<T> selectList(
+      Collection<String> tableNames, ConditionSql condition, Object... parameters) {
+    return readEachPartition(
+        tableNames,
+        tableName ->
+            getPartition(tableName)
+                .readList(SelectSql.selectStarFrom(tableName) + WHERE + condition, parameters));
+  }
+
+  private List<T> readEachPartition(
+      Collection<String> tableNames, Function<String, List<T>> reader) {
+    return applyEachPartition(tableNames, reader).stream()
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+  }
+
+  private <R> List<R> applyEachPartition(
+      Collection<String> tableNames, Function<String, R> function) {
+    if (executor == null || tableNames.size() < 2) {
+      return tableNames.stream().map(function).collect(Collectors.toList());
+    }
+    List<CompletableFuture<R>> futures =
+        tableNames.stream()
+            .map(
+                tableName ->
+                    CompletableFuture.supplyAsync(() -> function.apply(tableName), executor))
+            .collect(Collectors.toList());
+    try {
+      return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    } catch (CompletionException e) {
+      throw Try.rethrow(e.getCause());
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SimplePartitionedTable [valueType="
+        + valueType.getName()
+        + ", partitions="
+        + partitions.keySet()
+        + ", parallel="
+        + (executor != null)
+        + "]";
+  }
+}
@@ -0,0 +1,60 @@
+package org.nkjmlab.sorm4j.internal.table.orm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.nkjmlab.sorm4j.table.orm.TableLoader;
+import org.nkjmlab.sorm4j.table.orm.TableOrm;
+
+public final class TableLoaderImpl<T> implements TableLoader<T> {
+
+  private final TableOrm<T> table;
+  private final Map<List<Object>, Object[]> requested = new LinkedHashMap<>();
+  private final Map<List<Object>, T> loaded = new HashMap<>();
+
+  public TableLoaderImpl(TableOrm<T> table) {
+    this.table = table;
+  }
+
+  @Override
+  public TableLoader<T> request(Object... primaryKeyValues) {
+    List<Object> key = Arrays.asList(primaryKeyValues);
+    if (!loaded.containsKey(key)) {
+      requested.putIfAbsent(key, primaryKeyValues);
+    }
+    return this;
+  }
+
+  @Override
+  public T get(Object... primaryKeyValues) {
+    List<Object> key = Arrays.asList(primaryKeyValues);
+    if (!loaded.containsKey(key)) {
+      requested.putIfAbsent(key, primaryKeyValues);
+      load();
+    }
+    return loaded.get(key);
+  }
+
+  @Override
+  public void load() {
+    if (requested.isEmpty()) {
+      return;
+    }
+    List<Object[]> keys = new ArrayList<>(requested.values());
+    List<T> objects = table.getOrm().selectListByPrimaryKeys(table.getValueType(), keys);
+    for (int i = 0; i < keys.size(); i++) {
+      loaded.put(Arrays.asList(keys.get(i)), objects.get(i));
+    }
+    requested.clear();
+  }
+
+  @Override
+  public void clear() {
+    requested.clear();
+    loaded.clear();
+  }
+}
@@ -0,0 +1,90 @@
+package org.nkjmlab.sorm4j.internal.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.nkjmlab.sorm4j.util.function.exception.Try;
+
+/**
+ * Future based memoization. Unlike {@link ConcurrentHashMap#computeIfAbsent}, a value is computed
+ * outside of the lock of the map, so a slow computation only blocks the threads waiting for the
+ * same key. A failed computation is not cached. A computation requesting its own key is rejected
+ * instead of waiting for itself.
+ *
+ * @author nkjm
+ * @param <K>
+ * @param <V>
+ */
+public final class ConcurrentMemoizer<K, V> {
+
+  private final ConcurrentMap<K, Computation<V>> futures = new ConcurrentHashMap<>();
+
+  /**
+   * Gets the value of the key. If the value is absent, the calling thread computes it with the
+   * given function and the other threads requesting the same key wait for the result.
+   *
+   * @param key
+   * @param function
+   * @return
+   * @throws IllegalStateException if the function requests the same key recursively
+   */
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+    Computation<V> future = futures.get(key);
+    if (future == null) {
+      Computation<V> newFuture = new Computation<>(Thread.currentThread());
+      future = futures.putIfAbsent(key, newFuture);
+      if (future == null) {
+        try {
+          V value = function.apply(key);
+          newFuture.owner = null;
+          newFuture.complete(value);
+          return value;
+        } catch (Throwable e) {
+          newFuture.owner = null;
+          futures.remove(key, newFuture);
+          newFuture.completeExceptionally(e);
+          throw e;
+        }
+      }
+    }
+    if (!future.isDone() && future.owner == Thread.currentThread()) {
+      throw new IllegalStateException("Recursive computation of the key " + key);
+    }
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw Try.rethrow(e.getCause());
+    }
+  }
+
+  /**
+   * Returns a snapshot of the computed values.
+   *
+   * @return
+   */
+  public Map<K, V> toMap() {
+    Map<K, V> ret = new LinkedHashMap<>();
+    futures.forEach(
+        (k, v) -> {
+          if (v.isDone() && !v.isCompletedExceptionally()) {
+            ret.put(k, v.join());
+          }
+        });
+    return ret;
+  }
+
+  /** A future of a value with the thread computing it. */
+  private static final class Computation<V> extends CompletableFuture<V> {
+    // cleared on completion not to retain the thread.
+    private volatile Thread owner;
+
+    private Computation(Thread owner) {
+      this.owner = owner;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package org.nkjmlab.sorm4j.internal.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative long values such as latencies in nanoseconds.
+ *
+ * <p>Values are counted in log-linear buckets in the manner of HdrHistogram: each power of two is
+ * divided into 16 linear sub-buckets, so that a recorded value is reported with a relative error
+ * of at most 1/16. Recording is a few atomic increments and does not allocate.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalValue = new LongAdder();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong max = new AtomicLong(0);
+
+  /**
+   * Records the given value. A negative value is recorded as 0.
+   *
+   * @param value
+   */
+  public void record(long value) {
+    long v = Math.max(0, value);
+    counts.incrementAndGet(toIndex(v));
+    totalCount.increment();
+    totalValue.add(v);
+    long cur;
+    while (v < (cur = min.get()) && !min.compareAndSet(cur, v)) {}
+    while (v > (cur = max.get()) && !max.compareAndSet(cur, v)) {}
+  }
+
+  public long getCount() {
+    return totalCount.sum();
+  }
+
+  /**
+   * Returns the minimum recorded value.
+   *
+   * @return 0 if no value is recorded.
+   */
+  public long getMin() {
+    long ret = min.get();
+    return ret == Long.MAX_VALUE ? 0 : ret;
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public double getMean() {
+    long count = totalCount.sum();
+    return count == 0 ? 0 : (double) totalValue.sum() / count;
+  }
+
+  /**
+   * Returns the value at the given percentile. The value is the highest value equivalent to the
+   * bucket where the percentile falls, and is not greater than the maximum recorded value.
+   *
+   * @param percentile in the range of 0 to 100
+   * @return 0 if no value is recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    long count = 0;
+    long[] snapshot = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highestEquivalentValue(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  static int toIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exp = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return (exp - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + sub;
+  }
+
+  static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int exp = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+    if (exp >= 63) {
+      return Long.MAX_VALUE;
+    }
+    int sub = index % SUB_BUCKET_COUNT;
+    long lowest = (long) (SUB_BUCKET_COUNT + sub) << (exp - SUB_BUCKET_BITS);
+    return lowest + (1L << (exp - SUB_BUCKET_BITS)) - 1;
+  }
+}
@@ -60,6 +60,22 @@ public final class MethodInvokerInfoUtils {
     return stackTrace.length == 0 ? "" : getInvoker(stackTrace[stackTrace.length - 1]);
   }
 
+  /**
+   * Returns the stack trace of the current thread without the leading frames of the library.
+   *
+   * @param libPrefix
+   * @param maxDepth
+   * @return
+   */
+  public static StackTraceElement[] getOutsideStackTrace(String libPrefix, int maxDepth) {
+    StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+    int from = 0;
+    while (from < stackTrace.length && stackTrace[from].getClassName().startsWith(libPrefix)) {
+      from++;
+    }
+    return Arrays.copyOfRange(stackTrace, from, Math.min(stackTrace.length, from + maxDepth));
+  }
+
   public static String getInvoker(StackTraceElement se) {
     return se.getClassName()
         + "."
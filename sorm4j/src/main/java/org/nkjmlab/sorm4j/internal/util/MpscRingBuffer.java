@@ -0,0 +1,83 @@
+package org.nkjmlab.sorm4j.internal.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free ring buffer for multiple producers and a single consumer. {@link
+ * #offer(Object)} never blocks and returns false when the buffer is full. {@link #poll()} must be
+ * called from only one thread at a time.
+ *
+ * @param <E>
+ */
+public final class MpscRingBuffer<E> {
+
+  private final AtomicReferenceArray<E> slots;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private volatile long head;
+
+  /**
+   * Creates a ring buffer whose capacity is the given capacity rounded up to a power of two.
+   *
+   * @param capacity
+   */
+  public MpscRingBuffer(int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("capacity should be in [1, 2^30] but was " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    size = size < capacity ? size << 1 : size;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Adds the element if the buffer is not full.
+   *
+   * @param element not null
+   * @return false if the buffer is full
+   */
+  public boolean offer(E element) {
+    while (true) {
+      long t = tail.get();
+      if (t - head > mask) {
+        return false;
+      }
+      if (tail.compareAndSet(t, t + 1)) {
+        slots.lazySet((int) t & mask, element);
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Removes and returns the oldest element.
+   *
+   * @return null if the buffer is empty or the oldest element is still being written
+   */
+  public E poll() {
+    long h = head;
+    int index = (int) h & mask;
+    E ret = slots.get(index);
+    if (ret == null) {
+      return null;
+    }
+    slots.lazySet(index, null);
+    head = h + 1;
+    return ret;
+  }
+
+  /**
+   * Returns whether the buffer has no element. The result could be stale under concurrent access.
+   *
+   * @return
+   */
+  public boolean isEmpty() {
+    return tail.get() == head;
+  }
+}
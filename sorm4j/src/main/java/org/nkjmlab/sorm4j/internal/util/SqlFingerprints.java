@@ -0,0 +1,106 @@
+package org.nkjmlab.sorm4j.internal.util;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Computes the fingerprint of a SQL statement. The fingerprint is the statement with its literals
+ * replaced by {@code ?}, its whitespaces collapsed and its parameter lists folded, so that
+ * statements which differ only in values or in the length of an IN-list share one fingerprint.
+ *
+ * <pre>
+ * SqlFingerprints.of("select * from players where id in (1, 2, 3) and name='Alice'");
+ * // "select * from players where id in (?...) and name=?"
+ * </pre>
+ */
+public final class SqlFingerprints {
+
+  private static final Pattern PARAMETER_LIST =
+      Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+  private static final Pattern REPEATED_PARAMETER_LISTS =
+      Pattern.compile("\\(\\?\\.\\.\\.\\)(?:\\s*,\\s*\\(\\?\\.\\.\\.\\))+");
+
+  private static final Map<String, String> cache = new ConcurrentCache<>(1024);
+
+  private SqlFingerprints() {}
+
+  /**
+   * Returns the fingerprint of the given SQL statement.
+   *
+   * @param sql
+   * @return
+   */
+  public static String of(String sql) {
+    if (sql == null) {
+      return null;
+    }
+    String ret = cache.get(sql);
+    if (ret == null) {
+      ret = create(sql);
+      cache.put(sql, ret);
+    }
+    return ret;
+  }
+
+  private static String create(String sql) {
+    StringBuilder sb = new StringBuilder(sql.length());
+    int len = sql.length();
+    int i = 0;
+    while (i < len) {
+      char c = sql.charAt(i);
+      if (c == '\'') {
+        i = skipQuoted(sql, i, '\'');
+        sb.append('?');
+      } else if (c == '"') {
+        int end = skipQuoted(sql, i, '"');
+        sb.append(sql, i, end);
+        i = end;
+      } else if (Character.isWhitespace(c)) {
+        while (i < len && Character.isWhitespace(sql.charAt(i))) {
+          i++;
+        }
+        if (sb.length() > 0) {
+          sb.append(' ');
+        }
+      } else if (Character.isDigit(c) && !isIdentifierPart(sb)) {
+        while (i < len && isNumberPart(sql.charAt(i))) {
+          i++;
+        }
+        sb.append('?');
+      } else {
+        sb.append(c);
+        i++;
+      }
+    }
+    String ret = sb.toString().trim();
+    ret = PARAMETER_LIST.matcher(ret).replaceAll("(?...)");
+    return REPEATED_PARAMETER_LISTS.matcher(ret).replaceAll("(?...)");
+  }
+
+  private static int skipQuoted(String sql, int start, char quote) {
+    int i = start + 1;
+    while (i < sql.length()) {
+      if (sql.charAt(i) == quote) {
+        if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+          i += 2;
+          continue;
+        }
+        return i + 1;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isIdentifierPart(StringBuilder sb) {
+    if (sb.length() == 0) {
+      return false;
+    }
+    char c = sb.charAt(sb.length() - 1);
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+  }
+
+  private static boolean isNumberPart(char c) {
+    return Character.isDigit(c) || c == '.' || c == 'e' || c == 'E';
+  }
+}
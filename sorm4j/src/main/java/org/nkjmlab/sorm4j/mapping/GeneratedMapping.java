@@ -0,0 +1,76 @@
+package org.nkjmlab.sorm4j.mapping;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A mapping of a container class generated at compile time by {@code
+ * org.nkjmlab.sorm4j.processor.SormMappingProcessor}. When a generated mapping of a class is
+ * found, it is used instead of the reflective mapping.
+ *
+ * <p>The generated class is placed in the package of the container class and named by replacing
+ * {@code $} in the binary name with {@code _} and appending {@link #CLASS_NAME_SUFFIX} (e.g. {@code
+ * Outer_Inner_SormMapping} for {@code Outer.Inner}).
+ *
+ * @author nkjm
+ * @param <T>
+ */
+public interface GeneratedMapping<T> {
+
+  String CLASS_NAME_SUFFIX = "_SormMapping";
+
+  /**
+   * Gets the container class.
+   *
+   * @return
+   */
+  Class<T> getObjectClass();
+
+  /**
+   * Gets the accessors of the columns. The names are written in the canonical case.
+   *
+   * @return
+   */
+  List<Column<T>> getColumns();
+
+  /**
+   * Gets the parameter names of the constructor used for mapping results. If the results are set
+   * by the setters after calling the default constructor, returns {@code null}.
+   *
+   * @return
+   */
+  String[] getConstructorParameterNames();
+
+  /**
+   * Gets the parameter types of the constructor used for mapping results.
+   *
+   * @return
+   */
+  Class<?>[] getConstructorParameterTypes();
+
+  /**
+   * Creates a new instance with the constructor used for mapping results.
+   *
+   * @param args ordered by {@link #getConstructorParameterNames()}. Empty for the default
+   *     constructor.
+   * @return
+   */
+  T newInstance(Object[] args);
+
+  /**
+   * Accessor of a column.
+   *
+   * @param name the canonical name of the column
+   * @param getterReturnType
+   * @param getter null if the column has no getter
+   * @param setterParameterType
+   * @param setter null if the column has no setter
+   */
+  record Column<T>(
+      String name,
+      Class<?> getterReturnType,
+      Function<T, Object> getter,
+      Class<?> setterParameterType,
+      BiConsumer<T, Object> setter) {}
+}
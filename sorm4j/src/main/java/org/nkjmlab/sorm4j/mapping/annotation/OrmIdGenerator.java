@@ -0,0 +1,42 @@
+package org.nkjmlab.sorm4j.mapping.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.nkjmlab.sorm4j.context.IdGenerator;
+import org.nkjmlab.sorm4j.context.SormContext;
+
+/**
+ * Specifies that the value of the annotated field is assigned by the {@link IdGenerator}
+ * registered with the given name by {@link SormContext.Builder#addIdGenerator(String,
+ * IdGenerator)}.
+ *
+ * <p>Before an object is inserted or merged, an id is assigned to the field if the value is null
+ * or 0. The column of the field should not be an auto-generated column. The type of the field
+ * should be {@code long}, {@code int} or their wrapper class.
+ *
+ * <p>Example usage:
+ *
+ * <pre>
+ * public class Order {
+ *   {@literal @}OrmIdGenerator("ORDERS_SEQ")
+ *   public long id;
+ *   public String name;
+ * }
+ *
+ * SormContext.builder().addIdGenerator("ORDERS_SEQ", IdGenerator.ofSequence("ORDERS_SEQ", 50));
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface OrmIdGenerator {
+
+  /**
+   * The name of the {@link IdGenerator} registered in {@link SormContext}.
+   *
+   * @return the generator name
+   */
+  String value();
+}
@@ -0,0 +1,527 @@
+package org.nkjmlab.sorm4j.processor;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import org.nkjmlab.sorm4j.internal.mapping.GeneratedMappings;
+import org.nkjmlab.sorm4j.internal.util.CanonicalStringUtils;
+import org.nkjmlab.sorm4j.mapping.GeneratedMapping;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmColumn;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmConstructor;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmGetter;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmIgnore;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmRecordCompatibleConstructor;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmSetter;
+
+/**
+ * Generates the source of {@link GeneratedMapping} of a type. The columns and the constructor are
+ * resolved by the same rules as {@code DefaultColumnToFieldAccessorMapper} and {@code
+ * ReflectionConstrucorsUtils}.
+ *
+ * @author nkjm
+ */
+final class MappingSourceGenerator {
+
+  private static final Set<String> IGNORE_METHODS =
+      Set.of("NOTIFY", "NOTIFYALL", "WAIT", "TOSTRING", "HASHCODE");
+
+  private final Elements elements;
+  private final Types types;
+  private final TypeElement type;
+  private final DeclaredType declaredType;
+  private final String packageName;
+  private final String mappingClassName;
+  private String skippedReason;
+
+  MappingSourceGenerator(ProcessingEnvironment processingEnv, TypeElement type) {
+    this.elements = processingEnv.getElementUtils();
+    this.types = processingEnv.getTypeUtils();
+    this.type = type;
+    this.declaredType = (DeclaredType) type.asType();
+    this.packageName = elements.getPackageOf(type).getQualifiedName().toString();
+    this.mappingClassName =
+        GeneratedMappings.toMappingClassName(elements.getBinaryName(type).toString());
+  }
+
+  String getMappingClassName() {
+    return mappingClassName;
+  }
+
+  String getSkippedReason() {
+    return skippedReason;
+  }
+
+  /**
+   * Generates the source.
+   *
+   * @return empty if the mapping could not be generated. See {@link #getSkippedReason()}.
+   */
+  Optional<String> generate() {
+    if (!type.getTypeParameters().isEmpty()) {
+      return skip("the type has type parameters.");
+    }
+    if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+      return skip("the type is abstract.");
+    }
+    if (type.getNestingKind() == NestingKind.MEMBER
+        && type.getKind() == ElementKind.CLASS
+        && !type.getModifiers().contains(Modifier.STATIC)) {
+      return skip("the type is an inner class.");
+    }
+    if (!isAccessible(type)) {
+      return skip("the type is not accessible from the package.");
+    }
+    Map<String, String> columns = createColumns();
+    if (columns == null) {
+      return Optional.empty();
+    }
+    Optional<ExecutableElement> constructor = getConstructor();
+    if (constructor.isEmpty()) {
+      return skip("no constructor for mapping is found.");
+    }
+    String[] parameterNames = getParameterNames(constructor.get());
+    if (parameterNames != null
+        && parameterNames.length != constructor.get().getParameters().size()) {
+      return skip("the parameter names do not match the constructor.");
+    }
+    List<TypeMirror> parameterTypes =
+        constructor.get().getParameters().stream()
+            .map(p -> erasure(p.asType()))
+            .collect(Collectors.toList());
+    if (!parameterTypes.stream().allMatch(this::isAccessible)) {
+      return skip("the constructor parameter types are not accessible from the package.");
+    }
+    return Optional.of(toSource(columns, parameterNames, parameterTypes));
+  }
+
+  private Optional<String> skip(String reason) {
+    this.skippedReason = reason;
+    return Optional.empty();
+  }
+
+  /**
+   * Creates column name to the source of the column expression.
+   *
+   * @return null if a column could not be generated.
+   */
+  private Map<String, String> createColumns() {
+    List<VariableElement> publicFields =
+        ElementFilter.fieldsIn(elements.getAllMembers(type)).stream()
+            .filter(f -> f.getModifiers().contains(Modifier.PUBLIC))
+            .collect(Collectors.toList());
+    List<ExecutableElement> publicMethods =
+        ElementFilter.methodsIn(elements.getAllMembers(type)).stream()
+            .filter(m -> m.getModifiers().contains(Modifier.PUBLIC))
+            .collect(Collectors.toList());
+
+    Map<String, VariableElement> fields = new HashMap<>();
+    publicFields.stream()
+        .filter(
+            f ->
+                !f.getModifiers().contains(Modifier.STATIC)
+                    && !f.getSimpleName().toString().startsWith("this$")
+                    && f.getAnnotation(OrmIgnore.class) == null)
+        .forEach(f -> fields.put(canonicalize(f.getSimpleName().toString()), f));
+
+    Map<String, VariableElement> annotatedFields = new HashMap<>();
+    publicFields.stream()
+        .filter(f -> f.getAnnotation(OrmColumn.class) != null)
+        .forEach(f -> annotatedFields.put(canonicalize(f.getAnnotation(OrmColumn.class).value()), f));
+
+    Map<String, ExecutableElement> getters = new HashMap<>();
+    extractMethodsStartWith(publicMethods, "get").entrySet().stream()
+        .filter(e -> isValidGetter(e.getValue()))
+        .forEach(e -> getters.put(e.getKey(), e.getValue()));
+
+    Map<String, ExecutableElement> setters = new HashMap<>();
+    extractMethodsStartWith(publicMethods, "set").entrySet().stream()
+        .filter(e -> isValidSetter(e.getValue()))
+        .forEach(e -> setters.put(e.getKey(), e.getValue()));
+
+    Map<String, ExecutableElement> recordAccessors = new HashMap<>();
+    if (type.getKind() == ElementKind.RECORD) {
+      for (RecordComponentElement component : getRecordComponents()) {
+        recordAccessors.put(component.getSimpleName().toString(), component.getAccessor());
+      }
+    }
+
+    Map<String, ExecutableElement> annotatedGetters = new HashMap<>();
+    publicMethods.stream()
+        .filter(m -> m.getAnnotation(OrmGetter.class) != null && isValidGetter(m))
+        .forEach(m -> annotatedGetters.put(canonicalize(m.getAnnotation(OrmGetter.class).value()), m));
+
+    Map<String, ExecutableElement> annotatedSetters = new HashMap<>();
+    publicMethods.stream()
+        .filter(m -> m.getAnnotation(OrmSetter.class) != null && isValidSetter(m))
+        .forEach(m -> annotatedSetters.put(canonicalize(m.getAnnotation(OrmSetter.class).value()), m));
+
+    Set<String> acceptableColumnNames = new LinkedHashSet<>();
+    Stream.of(
+            fields,
+            getters,
+            setters,
+            recordAccessors,
+            annotatedFields,
+            annotatedGetters,
+            annotatedSetters)
+        .forEach(m -> acceptableColumnNames.addAll(m.keySet()));
+    acceptableColumnNames.removeAll(IGNORE_METHODS);
+
+    Map<String, String> ret = new LinkedHashMap<>();
+    for (String name : acceptableColumnNames.stream().sorted().collect(Collectors.toList())) {
+      VariableElement f = firstNonNull(annotatedFields.get(name), fields.get(name));
+      ExecutableElement g =
+          firstNonNull(annotatedGetters.get(name), recordAccessors.get(name), getters.get(name));
+      ExecutableElement s = firstNonNull(annotatedSetters.get(name), setters.get(name));
+      if (f == null && g == null && s == null) {
+        continue;
+      }
+      String column = toColumnSource(name, f, g, s);
+      if (column == null) {
+        return null;
+      }
+      ret.put(name, column);
+    }
+    return ret;
+  }
+
+  private Map<String, ExecutableElement> extractMethodsStartWith(
+      List<ExecutableElement> publicMethods, String prefix) {
+    Map<String, ExecutableElement> ret = new HashMap<>();
+    publicMethods.stream()
+        .filter(
+            m -> {
+              String name = m.getSimpleName().toString();
+              return m.getAnnotation(OrmIgnore.class) == null
+                  && !m.getModifiers().contains(Modifier.STATIC)
+                  && name.length() > prefix.length()
+                  && name.startsWith(prefix);
+            })
+        .forEach(
+            m -> ret.put(canonicalize(m.getSimpleName().toString().substring(prefix.length())), m));
+    return ret;
+  }
+
+  private boolean isValidGetter(ExecutableElement method) {
+    return !method.getSimpleName().contentEquals("getClass")
+        && method.getParameters().isEmpty()
+        && method.getReturnType().getKind() != TypeKind.VOID;
+  }
+
+  private boolean isValidSetter(ExecutableElement method) {
+    return method.getParameters().size() == 1;
+  }
+
+  private String toColumnSource(
+      String name, VariableElement field, ExecutableElement getter, ExecutableElement setter) {
+    String typeName = type.getQualifiedName().toString();
+    TypeMirror getterType = null;
+    String getterSource = "null";
+    if (getter != null || field != null) {
+      boolean isStatic =
+          (getter != null ? getter : field).getModifiers().contains(Modifier.STATIC);
+      getterType =
+          getter != null
+              ? erasure(((ExecutableType) types.asMemberOf(declaredType, getter)).getReturnType())
+              : erasure(types.asMemberOf(declaredType, field));
+      String receiver = isStatic ? typeName : "o";
+      getterSource =
+          "o -> "
+              + receiver
+              + "."
+              + (getter != null
+                  ? getter.getSimpleName() + "()"
+                  : field.getSimpleName().toString());
+    }
+    TypeMirror setterType = null;
+    String setterSource = "null";
+    if (setter != null || field != null) {
+      boolean isStatic =
+          (setter != null ? setter : field).getModifiers().contains(Modifier.STATIC);
+      setterType =
+          setter != null
+              ? erasure(
+                  ((ExecutableType) types.asMemberOf(declaredType, setter))
+                      .getParameterTypes()
+                      .get(0))
+              : erasure(types.asMemberOf(declaredType, field));
+      String receiver = isStatic ? typeName : "o";
+      if (setter != null) {
+        setterSource =
+            "(o, v) -> " + receiver + "." + setter.getSimpleName() + "((" + setterType + ") v)";
+      } else if (field.getModifiers().contains(Modifier.FINAL)) {
+        // same as the reflective access to a final field.
+        setterSource =
+            "(o, v) -> { throw new IllegalArgumentException(\"Final field ["
+                + field.getSimpleName()
+                + "] could not be set.\"); }";
+      } else {
+        setterSource =
+            "(o, v) -> " + receiver + "." + field.getSimpleName() + " = (" + setterType + ") v";
+      }
+    }
+    if ((getterType != null && !isAccessible(getterType))
+        || (setterType != null && !isAccessible(setterType))) {
+      skippedReason = "the type of [" + name + "] is not accessible from the package.";
+      return null;
+    }
+    return "new "
+        + GeneratedMapping.Column.class.getCanonicalName()
+        + "<"
+        + typeName
+        + ">(\""
+        + escape(name)
+        + "\", "
+        + (getterType == null ? "null" : getterType + ".class")
+        + ", "
+        + getterSource
+        + ", "
+        + (setterType == null ? "null" : setterType + ".class")
+        + ", "
+        + setterSource
+        + ")";
+  }
+
+  private Optional<ExecutableElement> getConstructor() {
+    List<ExecutableElement> constructors =
+        ElementFilter.constructorsIn(type.getEnclosedElements());
+    Optional<ExecutableElement> annotated =
+        constructors.stream()
+            .filter(
+                c ->
+                    c.getModifiers().contains(Modifier.PUBLIC)
+                        && c.getAnnotation(OrmConstructor.class) != null
+                        && c.getAnnotation(OrmIgnore.class) == null)
+            .findFirst();
+    if (annotated.isPresent()) {
+      return annotated;
+    }
+    Optional<ExecutableElement> recordCompatible =
+        constructors.stream()
+            .filter(
+                c ->
+                    c.getModifiers().contains(Modifier.PUBLIC)
+                        && c.getAnnotation(OrmRecordCompatibleConstructor.class) != null
+                        && c.getAnnotation(OrmIgnore.class) == null)
+            .findFirst();
+    if (recordCompatible.isPresent()) {
+      return recordCompatible;
+    }
+    if (type.getKind() == ElementKind.RECORD) {
+      List<TypeMirror> componentTypes =
+          getRecordComponents().stream()
+              .map(c -> erasure(c.asType()))
+              .collect(Collectors.toList());
+      Optional<ExecutableElement> canonical =
+          constructors.stream()
+              .filter(c -> !c.getModifiers().contains(Modifier.PRIVATE))
+              .filter(c -> sameTypes(componentTypes, c))
+              .findFirst();
+      if (canonical.isPresent()) {
+        return canonical.get().getAnnotation(OrmIgnore.class) == null
+            ? canonical
+            : Optional.empty();
+      }
+    }
+    return constructors.stream()
+        .filter(c -> c.getModifiers().contains(Modifier.PUBLIC) && c.getParameters().isEmpty())
+        .findFirst();
+  }
+
+  /**
+   * @return null if the default constructor is used.
+   */
+  private String[] getParameterNames(ExecutableElement constructor) {
+    OrmConstructor ormConstructor = constructor.getAnnotation(OrmConstructor.class);
+    if (ormConstructor != null) {
+      return ormConstructor.value();
+    }
+    if (constructor.getAnnotation(OrmRecordCompatibleConstructor.class) != null) {
+      return ElementFilter.fieldsIn(type.getEnclosedElements()).stream()
+          .filter(
+              f ->
+                  !f.getModifiers().contains(Modifier.STATIC)
+                      && f.getAnnotation(OrmIgnore.class) == null)
+          .map(f -> f.getSimpleName().toString())
+          .toArray(String[]::new);
+    }
+    if (type.getKind() == ElementKind.RECORD && !constructor.getParameters().isEmpty()) {
+      return getRecordComponents().stream()
+          .map(c -> c.getSimpleName().toString())
+          .toArray(String[]::new);
+    }
+    return constructor.getParameters().isEmpty() ? null : new String[0];
+  }
+
+  /** Gets the record components without the ones annotated with {@link OrmIgnore}. */
+  private List<? extends RecordComponentElement> getRecordComponents() {
+    return type.getRecordComponents().stream()
+        .filter(c -> c.getAnnotation(OrmIgnore.class) == null)
+        .collect(Collectors.toList());
+  }
+
+  private boolean sameTypes(List<TypeMirror> expected, ExecutableElement constructor) {
+    if (expected.size() != constructor.getParameters().size()) {
+      return false;
+    }
+    for (int i = 0; i < expected.size(); i++) {
+      if (!types.isSameType(
+          expected.get(i), erasure(constructor.getParameters().get(i).asType()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String toSource(
+      Map<String, String> columns, String[] parameterNames, List<TypeMirror> parameterTypes) {
+    String typeName = type.getQualifiedName().toString();
+    String simpleName = mappingClassName.substring(mappingClassName.lastIndexOf('.') + 1);
+    StringBuilder sb = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      sb.append("package ").append(packageName).append(";\n\n");
+    }
+    sb.append("@javax.annotation.processing.Generated(\"")
+        .append(SormMappingProcessor.class.getName())
+        .append("\")\n");
+    sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+    sb.append("public final class ")
+        .append(simpleName)
+        .append(" implements ")
+        .append(GeneratedMapping.class.getCanonicalName())
+        .append("<")
+        .append(typeName)
+        .append("> {\n\n");
+    sb.append("  private static final java.util.List<")
+        .append(GeneratedMapping.Column.class.getCanonicalName())
+        .append("<")
+        .append(typeName)
+        .append(">> COLUMNS =\n      java.util.List.of(");
+    sb.append(
+        columns.values().stream()
+            .map(c -> "\n          " + c)
+            .collect(Collectors.joining(",")));
+    sb.append(");\n\n");
+
+    sb.append("  @Override\n  public Class<").append(typeName).append("> getObjectClass() {\n");
+    sb.append("    return ").append(typeName).append(".class;\n  }\n\n");
+
+    sb.append("  @Override\n  public java.util.List<")
+        .append(GeneratedMapping.Column.class.getCanonicalName())
+        .append("<")
+        .append(typeName)
+        .append(">> getColumns() {\n    return COLUMNS;\n  }\n\n");
+
+    sb.append("  @Override\n  public String[] getConstructorParameterNames() {\n    return ");
+    sb.append(
+        parameterNames == null
+            ? "null"
+            : Stream.of(parameterNames)
+                .map(n -> "\"" + escape(n) + "\"")
+                .collect(Collectors.joining(", ", "new String[] {", "}")));
+    sb.append(";\n  }\n\n");
+
+    sb.append("  @Override\n  public Class<?>[] getConstructorParameterTypes() {\n    return ");
+    sb.append(
+        parameterTypes.stream()
+            .map(t -> t + ".class")
+            .collect(Collectors.joining(", ", "new Class<?>[] {", "}")));
+    sb.append(";\n  }\n\n");
+
+    sb.append("  @Override\n  public ")
+        .append(typeName)
+        .append(" newInstance(Object[] args) {\n    return new ")
+        .append(typeName)
+        .append("(");
+    StringBuilder args = new StringBuilder();
+    for (int i = 0; i < parameterTypes.size(); i++) {
+      args.append(i == 0 ? "" : ", ")
+          .append("(")
+          .append(parameterTypes.get(i))
+          .append(") args[")
+          .append(i)
+          .append("]");
+    }
+    sb.append(args).append(");\n  }\n}\n");
+    return sb.toString();
+  }
+
+  private boolean isAccessible(TypeMirror typeMirror) {
+    if (typeMirror.getKind().isPrimitive()) {
+      return true;
+    }
+    if (typeMirror.getKind() == TypeKind.ARRAY) {
+      return isAccessible(((ArrayType) typeMirror).getComponentType());
+    }
+    if (typeMirror.getKind() != TypeKind.DECLARED) {
+      return false;
+    }
+    return isAccessible((TypeElement) ((DeclaredType) typeMirror).asElement());
+  }
+
+  private boolean isAccessible(TypeElement typeElement) {
+    for (Element e = typeElement; e instanceof TypeElement; e = e.getEnclosingElement()) {
+      Set<Modifier> modifiers = e.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)) {
+        return false;
+      }
+      if (!modifiers.contains(Modifier.PUBLIC) && !isInPackage(e)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isInPackage(Element element) {
+    PackageElement pkg = elements.getPackageOf(element);
+    return pkg.getQualifiedName().contentEquals(packageName);
+  }
+
+  private TypeMirror erasure(TypeMirror typeMirror) {
+    return types.erasure(typeMirror);
+  }
+
+  private static String canonicalize(String name) {
+    return CanonicalStringUtils.canonicalize(name);
+  }
+
+  private static String escape(String s) {
+    return s.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  @SafeVarargs
+  private static <T> T firstNonNull(T... values) {
+    for (T value : values) {
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,146 @@
+package org.nkjmlab.sorm4j.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.StandardLocation;
+
+import org.nkjmlab.sorm4j.mapping.GeneratedMapping;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmTableName;
+
+/**
+ * An annotation processor which generates {@link GeneratedMapping} for records and classes
+ * annotated with {@link OrmTableName}. The generated mappings access the fields, the methods and
+ * the constructors directly instead of reflection. A class which could not be accessed from the
+ * generated code is skipped and mapped by reflection at runtime.
+ *
+ * <p>The processor is not registered as a service. Specify it explicitly, for example:
+ *
+ * <pre><code>
+ * &lt;annotationProcessorPaths&gt;
+ *   &lt;path&gt;
+ *     &lt;groupId&gt;org.nkjmlab&lt;/groupId&gt;
+ *     &lt;artifactId&gt;sorm4j&lt;/artifactId&gt;
+ *     &lt;version&gt;${sorm4j.version}&lt;/version&gt;
+ *   &lt;/path&gt;
+ * &lt;/annotationProcessorPaths&gt;
+ * &lt;annotationProcessors&gt;
+ *   &lt;annotationProcessor&gt;org.nkjmlab.sorm4j.processor.SormMappingProcessor&lt;/annotationProcessor&gt;
+ * &lt;/annotationProcessors&gt;
+ * </code></pre>
+ *
+ * <p>The processor also writes {@value #REFLECT_CONFIG} for GraalVM native image. It registers
+ * the container classes and the generated mappings for reflection. Set the {@value
+ * #NATIVE_IMAGE_METADATA_OPTION} option to {@code false} to disable it.
+ *
+ * @author nkjm
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(SormMappingProcessor.NATIVE_IMAGE_METADATA_OPTION)
+public final class SormMappingProcessor extends AbstractProcessor {
+
+  public static final String NATIVE_IMAGE_METADATA_OPTION = "sorm4j.nativeImageMetadata";
+
+  public static final String REFLECT_CONFIG =
+      "META-INF/native-image/org.nkjmlab.sorm4j.generated/reflect-config.json";
+
+  private final Set<String> containerClasses = new TreeSet<>();
+  private final Set<String> mappingClasses = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      writeReflectConfig();
+      return false;
+    }
+    for (TypeElement type : collectTypes(roundEnv.getRootElements())) {
+      if (type.getKind() != ElementKind.RECORD && type.getAnnotation(OrmTableName.class) == null) {
+        continue;
+      }
+      containerClasses.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+      MappingSourceGenerator generator = new MappingSourceGenerator(processingEnv, type);
+      Optional<String> source = generator.generate();
+      if (source.isEmpty()) {
+        processingEnv
+            .getMessager()
+            .printMessage(
+                Kind.NOTE,
+                "Mapping is not generated because " + generator.getSkippedReason(),
+                type);
+        continue;
+      }
+      try (Writer writer =
+          processingEnv
+              .getFiler()
+              .createSourceFile(generator.getMappingClassName(), type)
+              .openWriter()) {
+        writer.write(source.get());
+        mappingClasses.add(generator.getMappingClassName());
+      } catch (IOException e) {
+        processingEnv.getMessager().printMessage(Kind.ERROR, e.toString(), type);
+      }
+    }
+    return false;
+  }
+
+  private void writeReflectConfig() {
+    if (containerClasses.isEmpty()
+        || "false".equalsIgnoreCase(processingEnv.getOptions().get(NATIVE_IMAGE_METADATA_OPTION))) {
+      return;
+    }
+    List<String> entries = new ArrayList<>();
+    containerClasses.forEach(
+        name ->
+            entries.add(
+                "  {\"name\": \""
+                    + name
+                    + "\", \"allDeclaredFields\": true, \"allPublicFields\": true,"
+                    + " \"allDeclaredMethods\": true, \"allPublicMethods\": true,"
+                    + " \"allDeclaredConstructors\": true, \"allPublicConstructors\": true}"));
+    mappingClasses.forEach(
+        name ->
+            entries.add(
+                "  {\"name\": \""
+                    + name
+                    + "\", \"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]}"));
+    try (Writer writer =
+        processingEnv
+            .getFiler()
+            .createResource(StandardLocation.CLASS_OUTPUT, "", REFLECT_CONFIG)
+            .openWriter()) {
+      writer.write(entries.stream().collect(Collectors.joining(",\n", "[\n", "\n]\n")));
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Kind.ERROR, e.toString());
+    }
+  }
+
+  private static List<TypeElement> collectTypes(Iterable<? extends Element> elements) {
+    List<TypeElement> ret = new ArrayList<>();
+    for (TypeElement type : ElementFilter.typesIn(elements)) {
+      ret.add(type);
+      ret.addAll(collectTypes(type.getEnclosedElements()));
+    }
+    return ret;
+  }
+}
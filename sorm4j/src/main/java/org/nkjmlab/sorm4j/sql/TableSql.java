@@ -1,6 +1,9 @@
 package org.nkjmlab.sorm4j.sql;
 
+import java.util.List;
+
 import org.nkjmlab.sorm4j.common.container.RowMap;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
 
 public interface TableSql {
 
@@ -23,4 +26,23 @@ public interface TableSql {
   String getExistsSql();
 
   String getUpdateSql(RowMap object);
-}
\ No newline at end of file
+
+  /**
+   * Gets the update statement which sets the given columns of the row identified by the primary
+   * keys.
+   *
+   * @param columns
+   * @return
+   */
+  String getUpdateSql(List<String> columns);
+
+  /**
+   * Gets the update statement which sets the columns of the given object to the rows satisfying
+   * the condition.
+   *
+   * @param setValues
+   * @param condition
+   * @return e.g. "update PLAYERS set NAME=? where ADDRESS=?"
+   */
+  String getUpdateSql(RowMap setValues, ConditionSql condition);
+}
@@ -1,5 +1,7 @@
 package org.nkjmlab.sorm4j.sql.result;
 
+import java.util.List;
+
 import org.nkjmlab.sorm4j.common.container.RowMap;
 
 /** Represents a result from an insert operation with the auto-generated keys. */
@@ -19,9 +21,17 @@ public interface InsertResult {
   int countRowsModified();
 
   /**
-   * Returns the auto-generated keys.
+   * Returns the auto-generated keys of the last inserted row.
    *
    * @return
    */
   RowMap getGeneratedKeys();
+
+  /**
+   * Returns the auto-generated keys of all the inserted rows. The order of the keys is the same as
+   * the order of the inserted objects.
+   *
+   * @return
+   */
+  List<RowMap> getGeneratedKeysList();
 }
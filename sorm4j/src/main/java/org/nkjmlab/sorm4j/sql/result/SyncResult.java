@@ -0,0 +1,26 @@
+package org.nkjmlab.sorm4j.sql.result;
+
+/** Represents a result from a synchronization of objects with a table. */
+public interface SyncResult {
+
+  /**
+   * Returns the count of inserted rows.
+   *
+   * @return
+   */
+  int countInserted();
+
+  /**
+   * Returns the count of updated rows.
+   *
+   * @return
+   */
+  int countUpdated();
+
+  /**
+   * Returns the count of deleted rows.
+   *
+   * @return
+   */
+  int countDeleted();
+}
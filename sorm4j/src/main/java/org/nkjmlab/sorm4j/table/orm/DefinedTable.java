@@ -1,6 +1,10 @@
 package org.nkjmlab.sorm4j.table.orm;
 
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
 import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.internal.table.orm.BulkLoader;
 import org.nkjmlab.sorm4j.internal.table.orm.SimpleDefinedTable;
 import org.nkjmlab.sorm4j.table.definition.TableDefinition;
 
@@ -23,6 +27,48 @@ public interface DefinedTable<T> extends Table<T> {
     return this;
   }
 
+  /**
+   * Creates the indexes in parallel by the given executor. Each index is created on its own
+   * connection.
+   *
+   * @param executor
+   * @return
+   */
+  default DefinedTable<T> createIndexesIfNotExists(Executor executor) {
+    BulkLoader.createIndexesIfNotExists(
+        getOrm(), getTableDefinition().getCreateIndexIfNotExistsStatements(), executor);
+    return this;
+  }
+
+  /**
+   * Loads the objects into the table before creating the indexes. The table is created if not
+   * exists, the objects are inserted by the multi-row statements in chunks, and then the indexes
+   * are created. The indexes are created even if the load fails.
+   *
+   * @param objects
+   * @param chunkSize the number of objects inserted at once
+   * @return
+   */
+  default DefinedTable<T> bulkLoad(Stream<T> objects, int chunkSize) {
+    BulkLoader.load(this, objects, chunkSize, null);
+    return this;
+  }
+
+  /**
+   * Loads the objects into the table before creating the indexes in parallel by the given
+   * executor.
+   *
+   * @param objects
+   * @param chunkSize the number of objects inserted at once
+   * @param executor
+   * @return
+   * @see #bulkLoad(Stream, int)
+   */
+  default DefinedTable<T> bulkLoad(Stream<T> objects, int chunkSize, Executor executor) {
+    BulkLoader.load(this, objects, chunkSize, executor);
+    return this;
+  }
+
   default DefinedTable<T> dropTableIfExists() {
     getTableDefinition().dropTableIfExists(getOrm());
     return this;
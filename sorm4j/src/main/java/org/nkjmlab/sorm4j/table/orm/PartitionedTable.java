@@ -0,0 +1,117 @@
+package org.nkjmlab.sorm4j.table.orm;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.internal.table.orm.SimplePartitionedTable;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
+
+/**
+ * A set of tables which have the same structure and store the objects routed by a function, e.g.
+ * per-month tables like {@code EVENTS_202610}. Writes are grouped per partition and each group is
+ * executed by the multi-row statements of the partition. Reads fan out across the given partitions
+ * and the results are concatenated in the order of the partitions.
+ *
+ * <p>Without an {@link Executor}, the partitions are processed sequentially and the writes of all
+ * the partitions are committed in one transaction. If an {@link Executor} is given, the partitions
+ * are processed in parallel, each on its own connection. In that case, the writes of each partition
+ * are committed independently, so a failure in one partition does not roll back the others.
+ *
+ * <p>Example usage:
+ *
+ * <pre>
+ * PartitionedTable&lt;Event&gt; events =
+ *     PartitionedTable.of(sorm, Event.class, e -&gt; "EVENTS_" + e.getYearMonth());
+ * events.insert(eventList);
+ * events.selectList(List.of("EVENTS_202609", "EVENTS_202610"), cond("TYPE=?"), "login");
+ * </pre>
+ *
+ * @param <T>
+ */
+public interface PartitionedTable<T> {
+
+  /**
+   * Creates a partitioned table which processes the partitions sequentially.
+   *
+   * @param <T>
+   * @param orm
+   * @param valueType
+   * @param router the function from an object to the table name of the partition
+   * @return
+   */
+  static <T> PartitionedTable<T> of(Sorm orm, Class<T> valueType, Function<T, String> router) {
+    return new SimplePartitionedTable<>(orm, valueType, router, null);
+  }
+
+  /**
+   * Creates a partitioned table which processes the partitions in parallel by the given executor.
+   *
+   * @param <T>
+   * @param orm
+   * @param valueType
+   * @param router the function from an object to the table name of the partition
+   * @param executor
+   * @return
+   */
+  static <T> PartitionedTable<T> of(
+      Sorm orm, Class<T> valueType, Function<T, String> router, Executor executor) {
+    return new SimplePartitionedTable<>(orm, valueType, router, executor);
+  }
+
+  Sorm getOrm();
+
+  Class<T> getValueType();
+
+  /**
+   * Gets the table name of the partition which the given object is routed to.
+   *
+   * @param object
+   * @return
+   */
+  String getTableName(T object);
+
+  /**
+   * Gets the partition of the given table name.
+   *
+   * @param tableName
+   * @return
+   */
+  Table<T> getPartition(String tableName);
+
+  /**
+   * Inserts the objects into their partitions.
+   *
+   * @param objects
+   * @return the results of each partition concatenated in the order of first appearance
+   */
+  int[] insert(List<T> objects);
+
+  /**
+   * Merges the objects into their partitions.
+   *
+   * @param objects
+   * @return the results of each partition concatenated in the order of first appearance
+   */
+  int[] merge(List<T> objects);
+
+  /**
+   * Selects all the rows of the given partitions.
+   *
+   * @param tableNames
+   * @return
+   */
+  List<T> selectAll(Collection<String> tableNames);
+
+  /**
+   * Selects the rows satisfying the condition from the given partitions.
+   *
+   * @param tableNames
+   * @param condition
+   * @param parameters the parameters for the placeholders in the condition.
+   * @return
+   */
+  List<T> selectList(Collection<String> tableNames, ConditionSql condition, Object... parameters);
+}
@@ -0,0 +1,48 @@
+package org.nkjmlab.sorm4j.table.orm;
+
+/**
+ * Collects primary keys and reads the corresponding objects by one query instead of one query per
+ * key. This resolves N+1 query problems, e.g. reading the player of each order in a loop.
+ *
+ * <p>The keys registered by {@link #request(Object...)} are read together at the first {@link
+ * #get(Object...)} of a key which is not read yet. The read objects are kept in the loader, so an
+ * instance should be used in a limited scope such as one request or one transaction.
+ *
+ * <p>An instance of this class is not thread-safe.
+ *
+ * <p>Example usage:
+ *
+ * <pre>
+ * TableLoader&lt;Player&gt; loader = playersTable.loader();
+ * orders.forEach(order -&gt; loader.request(order.playerId()));
+ * orders.forEach(order -&gt; process(order, loader.get(order.playerId())));
+ * </pre>
+ *
+ * @param <T>
+ * @see TableOrm#loader()
+ */
+public interface TableLoader<T> {
+
+  /**
+   * Registers the primary key to be read by the next query.
+   *
+   * @param primaryKeyValues the order should be the same as the column order.
+   * @return this loader
+   */
+  TableLoader<T> request(Object... primaryKeyValues);
+
+  /**
+   * Returns the object with the given primary key. If the object is not read yet, it is read with
+   * all the requested keys by one query.
+   *
+   * @param primaryKeyValues the order should be the same as the column order.
+   * @return null if the object is not found.
+   */
+  T get(Object... primaryKeyValues);
+
+  /** Reads the objects with the requested keys which are not read yet by one query. */
+  void load();
+
+  /** Discards the read objects and the requested keys. */
+  void clear();
+}
@@ -4,6 +4,7 @@ import static org.nkjmlab.sorm4j.sql.statement.SqlKeyword.AND;
 import static org.nkjmlab.sorm4j.sql.statement.SqlKeyword.WHERE;
 
 import java.sql.PreparedStatement;
+import java.util.Collection;
 import java.util.List;
 
 import org.nkjmlab.sorm4j.Orm;
@@ -11,12 +12,15 @@ import org.nkjmlab.sorm4j.common.container.RowMap;
 import org.nkjmlab.sorm4j.common.container.Tuple.Tuple2;
 import org.nkjmlab.sorm4j.common.container.Tuple.Tuple3;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
+import org.nkjmlab.sorm4j.internal.table.orm.TableLoaderImpl;
 import org.nkjmlab.sorm4j.mapping.ResultSetTraverser;
 import org.nkjmlab.sorm4j.mapping.RowMapper;
 import org.nkjmlab.sorm4j.sql.metadata.OrmTableMetaData;
 import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
 import org.nkjmlab.sorm4j.sql.result.InsertResult;
 import org.nkjmlab.sorm4j.sql.result.ResultSetStream;
+import org.nkjmlab.sorm4j.sql.result.SyncResult;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
 import org.nkjmlab.sorm4j.sql.statement.SelectSql;
 
 public interface TableOrm<T> {
@@ -103,6 +107,18 @@ public interface TableOrm<T> {
     return getOrm().deleteAllIn(getTableName());
   }
 
+  /**
+   * Deletes the rows satisfying the condition by one statement.
+   *
+   * @param condition
+   * @param parameters the parameters for the placeholders in the condition.
+   * @return the number of deleted rows
+   * @see Orm#deleteWhereIn(String, ConditionSql, Object...)
+   */
+  default int deleteWhere(ConditionSql condition, Object... parameters) {
+    return getOrm().deleteWhereIn(getTableName(), condition, parameters);
+  }
+
   default int deleteByPrimaryKey(Object... primaryKeyValues) {
     return getOrm().deleteByPrimaryKey(getValueType(), primaryKeyValues);
   }
@@ -171,10 +187,48 @@ public interface TableOrm<T> {
     return getOrm().updateWith(getTableName(), objects);
   }
 
+  /**
+   * Synchronizes the table with the given objects by inserting, updating and deleting only the
+   * differences.
+   *
+   * @param objects all the objects which the table should have
+   * @return
+   * @see Orm#syncIn(String, Class, Collection)
+   */
+  default SyncResult sync(Collection<T> objects) {
+    return getOrm().syncIn(getTableName(), getValueType(), objects);
+  }
+
+  /**
+   * Synchronizes the rows satisfying the condition with the given objects by inserting, updating
+   * and deleting only the differences.
+   *
+   * @param objects all the objects which the rows satisfying the condition should be
+   * @param condition
+   * @return
+   * @see Orm#syncIn(String, Class, Collection, ConditionSql)
+   */
+  default SyncResult sync(Collection<T> objects, ConditionSql condition) {
+    return getOrm().syncIn(getTableName(), getValueType(), objects, condition);
+  }
+
   default int updateByPrimaryKey(RowMap object, Object... primaryKeyValues) {
     return getOrm().updateByPrimaryKeyIn(getTableName(), object, primaryKeyValues);
   }
 
+  /**
+   * Updates the rows satisfying the condition by one statement.
+   *
+   * @param setValues the column names and the values to set.
+   * @param condition
+   * @param parameters the parameters for the placeholders in the condition.
+   * @return the number of updated rows
+   * @see Orm#updateWhereIn(String, RowMap, ConditionSql, Object...)
+   */
+  default int updateWhere(RowMap setValues, ConditionSql condition, Object... parameters) {
+    return getOrm().updateWhereIn(getTableName(), setValues, condition, parameters);
+  }
+
   default <S> List<Tuple2<T, S>> joinUsing(TableOrm<S> other, String... columns) {
     return getOrm().joinUsing(getValueType(), other.getValueType(), columns);
   }
@@ -195,6 +249,16 @@ public interface TableOrm<T> {
     return getOrm().selectByPrimaryKey(getValueType(), primaryKeyValues);
   }
 
+  /**
+   * Creates a loader which collects primary keys and reads the corresponding objects by one query.
+   *
+   * @return
+   * @see TableLoader
+   */
+  default TableLoader<T> loader() {
+    return new TableLoaderImpl<>(this);
+  }
+
   /**
    * @see {@link #getAllEqualSql(List)}
    * @param tupplesOfNameAndValue
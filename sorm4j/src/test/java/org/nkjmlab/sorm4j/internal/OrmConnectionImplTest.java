@@ -6,17 +6,22 @@ import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.GUEST_ALICE;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.GUEST_BOB;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_ALICE;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_BOB;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_CAROL;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.TENNIS;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -633,4 +638,40 @@ class OrmConnectionImplTest {
           assertThat(p.readAddress()).isEqualTo("UPDATED");
         });
   }
+
+  @Test
+  void testMultiRowWriteInTransaction() throws SQLException {
+    Connection con = Mockito.spy(orm.getDataSource().getConnection());
+    try (OrmTransactionImpl tr =
+        new OrmTransactionImpl(
+            con, (SormContextImpl) SormContext.getDefaultContext(), TRANSACTION_READ_COMMITTED)) {
+      Mockito.clearInvocations(con);
+      tr.insert(PLAYER_ALICE);
+      tr.insert(PLAYER_BOB, PLAYER_CAROL);
+      tr.merge(PLAYER_BOB, PLAYER_CAROL);
+      tr.insertMapInto("players", RowMap.of("id", 4, "name", "Dave"), RowMap.of("id", 5));
+      tr.setAutoCommit(false);
+      verify(con, never()).setAutoCommit(Mockito.anyBoolean());
+      verify(con, never()).getAutoCommit();
+      verify(con, never()).commit();
+      verify(con, never()).rollback();
+      tr.commit();
+    }
+    assertThat(orm.selectAll(Player.class)).hasSize(5);
+  }
+
+  @Test
+  void testMultiRowWriteRollbackOnFailure() {
+    List<Player> players =
+        IntStream.range(0, 40)
+            .mapToObj(i -> new Player(i % 35, "Name" + i, "Address" + i))
+            .collect(Collectors.toList());
+    try (OrmConnection conn = orm.open()) {
+      assertThrows(Exception.class, () -> conn.insert(players));
+      assertThat(conn.getJdbcConnection().getAutoCommit()).isTrue();
+    } catch (SQLException e) {
+      fail(e);
+    }
+    assertThat(orm.selectAll(Player.class)).isEmpty();
+  }
 }
@@ -11,6 +11,7 @@ import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_CAROL;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.nkjmlab.sorm4j.Sorm;
@@ -372,6 +373,29 @@ class OrmImplTest {
     sorm.insertMapInto(PLAYERS1, new RowMap[] {map});
   }
 
+  @Test
+  void testInsertMapInMultiRow() {
+    List<RowMap> maps =
+        IntStream.range(0, 100)
+            .mapToObj(
+                i ->
+                    i % 3 == 0
+                        ? RowMap.of("id", i, "name", "Name" + i, "address", "Address" + i)
+                        : i % 3 == 1
+                            ? RowMap.of("address", "Address" + i, "ID", i, "name", "Name" + i)
+                            : RowMap.of("id", i, "name", "Name" + i, "unknown", "x"))
+            .collect(Collectors.toList());
+    sorm.insertMapInto(PLAYERS1, maps);
+
+    List<Player> players = sorm.readList(Player.class, "select * from " + PLAYERS1);
+    assertThat(players).hasSize(100);
+    assertThat(players)
+        .contains(
+            new Player(0, "Name0", "Address0"),
+            new Player(1, "Name1", "Address1"),
+            new Player(2, "Name2", null));
+  }
+
   @Test
   void testAcceptPreparedStatementHandler() {
     sorm.executeQuery(
@@ -23,6 +23,7 @@ import org.nkjmlab.sorm4j.internal.context.PreparedStatementSupplier;
 import org.nkjmlab.sorm4j.internal.context.SqlParametersSetter;
 import org.nkjmlab.sorm4j.internal.context.TableSqlFactory;
 import org.nkjmlab.sorm4j.internal.context.impl.DefaultTableNameMapper;
+import org.nkjmlab.sorm4j.internal.context.metrics.SlowQueryLogImpl;
 import org.nkjmlab.sorm4j.mapping.annotation.OrmConstructor;
 import org.nkjmlab.sorm4j.test.common.Guest;
 import org.nkjmlab.sorm4j.test.common.Player;
@@ -92,9 +93,35 @@ class SormContextImplTest {
     assertThat(context.toString());
   }
 
+  @Test
+  void testPreloadTableMetaData() {
+    Sorm sorm = SormTestUtils.createSormWithNewDatabaseAndCreateTables();
+    sorm.preloadTableMetaData();
+    sorm.insert(SormTestUtils.PLAYER_ALICE);
+    assertThat(sorm.selectByPrimaryKey(Player.class, 1)).isEqualTo(SormTestUtils.PLAYER_ALICE);
+    sorm.insert(SormTestUtils.GUEST_ALICE);
+    assertThat(sorm.selectAll(Guest.class)).hasSize(1);
+
+    sorm.executeUpdate("alter table players add column age int");
+    Sorm migrated = Sorm.create(sorm.getDataSource(), SormContext.builder().build());
+    migrated.preloadTableMetaData();
+    assertThat(migrated.getOrmTableMetaData(Player.class).getColumns()).contains("AGE");
+  }
+
+  @Test
+  void testPreloadTableMetaDataAfterPrimaryKeyChange() {
+    Sorm sorm = SormTestUtils.createSormWithNewDatabaseAndCreateTables();
+    sorm.executeUpdate("alter table players drop primary key");
+    sorm.executeUpdate("alter table players alter column name set not null");
+    sorm.executeUpdate("alter table players add primary key (id, name)");
+    sorm.preloadTableMetaData();
+    assertThat(sorm.getTableSql(Player.class).getDeleteSql()).contains("ID=?", "NAME=?");
+  }
+
   @Test
   void testBuilder() {
     SormConfig mockConfig = mock(SormConfig.class);
+    when(mockConfig.getSlowQueryLog()).thenReturn(SlowQueryLogImpl.DISABLED);
     SormContextImpl sormContextImpl = new SormContextImpl(mockConfig);
     ColumnToFieldAccessorMapper mockColumnFieldMapper = mock(ColumnToFieldAccessorMapper.class);
     ColumnValueToJavaObjectConverters mockColumnValueToJavaObjectConverter =
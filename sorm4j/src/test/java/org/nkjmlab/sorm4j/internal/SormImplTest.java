@@ -18,6 +18,8 @@ import org.nkjmlab.sorm4j.OrmConnection;
 import org.nkjmlab.sorm4j.Sorm;
 import org.nkjmlab.sorm4j.common.container.Tuple.Tuple2;
 import org.nkjmlab.sorm4j.common.container.Tuple.Tuple3;
+import org.nkjmlab.sorm4j.common.exception.SormException;
+import org.nkjmlab.sorm4j.context.SormContext;
 import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
 import org.nkjmlab.sorm4j.table.orm.Table;
 import org.nkjmlab.sorm4j.test.common.Guest;
@@ -41,6 +43,26 @@ class SormImplTest {
     Sorm.getDefaultContext().toString();
   }
 
+  @Test
+  void testWarmUp() {
+    Sorm warmed = Sorm.create(sorm.getDataSource(), SormContext.builder().build());
+    assertThat(warmed.getContext().toString()).doesNotContain(Player.class.getName() + ":");
+    warmed.warmUp(Guest.class, Player.class, Sport.class);
+    assertThat(warmed.getContext().toString())
+        .contains(Guest.class.getName() + ":")
+        .contains(Player.class.getName() + ":")
+        .contains(Sport.class.getName() + ":");
+    warmed.insert(PLAYER_ALICE);
+    assertThat(warmed.selectAll(Player.class)).containsExactly(PLAYER_ALICE);
+
+    try {
+      warmed.warmUp(Player.class, SormImplTest.class);
+      failBecauseExceptionWasNotThrown(SormException.class);
+    } catch (SormException e) {
+      assertThat(e.getMessage()).contains("SORM_IMPL_TESTS");
+    }
+  }
+
   @Test
   void testJoin() {
     List<Tuple2<Guest, Player>> ret =
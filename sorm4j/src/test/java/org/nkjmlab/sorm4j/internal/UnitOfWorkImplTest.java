@@ -0,0 +1,88 @@
+package org.nkjmlab.sorm4j.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.UnitOfWork;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmTableName;
+
+class UnitOfWorkImplTest {
+
+  private Sorm sorm;
+
+  @BeforeEach
+  void setUp() {
+    sorm = Sorm.create("jdbc:h2:mem:uow" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+    sorm.executeUpdate("create table CUSTOMERS (ID int primary key, NAME varchar)");
+    sorm.executeUpdate(
+        "create table ORDERS (ID int primary key, CUSTOMER_ID int references CUSTOMERS(ID))");
+    sorm.executeUpdate(
+        "create table ORDER_LINES (ID int primary key, ORDER_ID int references ORDERS(ID))");
+  }
+
+  @Test
+  void testFlushInForeignKeyOrder() {
+    UnitOfWork uow = UnitOfWork.of(sorm);
+    uow.insert(new OrderLine(1, 1), new OrderLine(2, 1));
+    uow.insert(List.of(new Order(1, 1)));
+    uow.insert(new Customer(1, "Alice"));
+    assertThat(uow.size()).isEqualTo(4);
+    uow.flush();
+    assertThat(uow.size()).isZero();
+    assertThat(sorm.selectAll(OrderLine.class)).hasSize(2);
+
+    uow.delete(new Customer(1, "Alice"));
+    uow.delete(new Order(1, 1));
+    uow.delete(new OrderLine(1, 1), new OrderLine(2, 1));
+    uow.insert(new Customer(2, "Bob"));
+    uow.update(new Customer(2, "Bobby"));
+    uow.flush();
+    assertThat(sorm.selectAll(Order.class)).isEmpty();
+    assertThat(sorm.selectAll(Customer.class)).containsExactly(new Customer(2, "Bobby"));
+  }
+
+  @Test
+  void testFlushInForeignKeyOrderWithLowerCaseTableNames() {
+    // A new context because the table names of the classes are cached in a context.
+    Sorm sorm =
+        Sorm.create(
+            "jdbc:h2:mem:uow" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+            SormContext.builder().build());
+    sorm.executeUpdate("create table customers (id int primary key, name varchar)");
+    sorm.executeUpdate(
+        "create table orders (id int primary key, customer_id int references customers(id))");
+
+    UnitOfWork uow = UnitOfWork.of(sorm);
+    uow.insertInto("orders", new Order(1, 1));
+    uow.insert(new Customer(1, "Alice"));
+    uow.flush();
+    assertThat(sorm.selectAll(Order.class)).containsExactly(new Order(1, 1));
+  }
+
+  @Test
+  void testRollback() {
+    UnitOfWork uow = UnitOfWork.of(sorm);
+    uow.insert(new Customer(1, "Alice"));
+    uow.insertInto("ORDERS", new Order(1, 2));
+    assertThatThrownBy(() -> uow.flush()).isInstanceOf(Exception.class);
+    assertThat(sorm.selectAll(Customer.class)).isEmpty();
+    assertThat(uow.size()).isEqualTo(2);
+    uow.clear();
+    assertThat(uow.size()).isZero();
+  }
+
+  @OrmTableName("CUSTOMERS")
+  public static record Customer(int id, String name) {}
+
+  @OrmTableName("ORDERS")
+  public static record Order(int id, int customerId) {}
+
+  @OrmTableName("ORDER_LINES")
+  public static record OrderLine(int id, int orderId) {}
+}
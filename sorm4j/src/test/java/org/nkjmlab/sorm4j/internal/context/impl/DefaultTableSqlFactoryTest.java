@@ -0,0 +1,97 @@
+package org.nkjmlab.sorm4j.internal.context.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_ALICE;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_BOB;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_CAROL;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.SqlDialect;
+import org.nkjmlab.sorm4j.sql.TableSql;
+import org.nkjmlab.sorm4j.test.common.Player;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+class DefaultTableSqlFactoryTest {
+
+  @Test
+  void testSqlDialectOf() {
+    assertThat(SqlDialect.of("H2")).isSameAs(SqlDialect.H2);
+    assertThat(SqlDialect.of("PostgreSQL")).isSameAs(SqlDialect.POSTGRESQL);
+    assertThat(SqlDialect.of("MySQL")).isSameAs(SqlDialect.MYSQL);
+    assertThat(SqlDialect.of("MariaDB")).isSameAs(SqlDialect.MYSQL);
+    assertThat(SqlDialect.of("Oracle")).isSameAs(SqlDialect.DEFAULT);
+  }
+
+  @Test
+  void testH2() {
+    Sorm sorm = SormTestUtils.createSormWithNewDatabaseAndCreateTables();
+    TableSql sql = sorm.getTableSql(Player.class);
+    assertThat(sql.getMergeSql())
+        .isEqualTo("merge into PLAYERS (ID, NAME, ADDRESS) key (ID) values (?,?,?) ");
+  }
+
+  @Test
+  void testPostgreSql() {
+    Sorm sorm = createSorm("PostgreSQL", SqlDialect.POSTGRESQL);
+    TableSql sql = sorm.getTableSql(Player.class);
+    assertThat(sql.getMergeSql())
+        .isEqualTo(
+            "insert into PLAYERS (ID, NAME, ADDRESS) values (?,?,?) "
+                + " on conflict (ID) do update set NAME=excluded.NAME, ADDRESS=excluded.ADDRESS");
+    assertThat(sql.getMultirowMergeSql(2))
+        .isEqualTo(
+            "insert into PLAYERS (ID, NAME, ADDRESS) values (?,?,?) , (?,?,?) "
+                + " on conflict (ID) do update set NAME=excluded.NAME, ADDRESS=excluded.ADDRESS");
+    assertThat(SqlDialect.POSTGRESQL.getPlaceholder("jsonb")).isEqualTo("?::jsonb");
+
+    // H2 in PostgreSQL mode does not support "on conflict do update", so only insert is executed.
+    sorm.insert(PLAYER_ALICE, PLAYER_BOB, PLAYER_CAROL);
+    assertThat(sorm.selectAll(Player.class)).hasSize(3);
+  }
+
+  @Test
+  void testMySql() {
+    Sorm sorm = createSorm("MySQL", SqlDialect.MYSQL);
+    assertThat(sorm.getTableSql(Player.class).getMultirowMergeSql(2))
+        .isEqualTo(
+            "insert into PLAYERS (ID, NAME, ADDRESS) values (?,?,?) , (?,?,?) "
+                + " on duplicate key update NAME=values(NAME), ADDRESS=values(ADDRESS)");
+
+    sorm.merge(PLAYER_ALICE, PLAYER_BOB);
+    Player bob = new Player(PLAYER_BOB.getId(), "Bobby", "Nara");
+    sorm.merge(List.of(bob, PLAYER_CAROL));
+    sorm.merge(new Player(PLAYER_ALICE.getId(), "Alicia", "Kobe"));
+
+    assertThat(sorm.selectAll(Player.class))
+        .containsExactlyInAnyOrder(
+            new Player(PLAYER_ALICE.getId(), "Alicia", "Kobe"), bob, PLAYER_CAROL);
+  }
+
+  @Test
+  void testMySqlMultiRowInsertAfterMerge() {
+    Sorm sorm = createSorm("MySQL", SqlDialect.MYSQL);
+    sorm.merge(List.of(PLAYER_ALICE, PLAYER_BOB));
+    assertThat(sorm.getTableSql(Player.class).getMultirowInsertSql(2))
+        .isEqualTo("insert into PLAYERS (ID, NAME, ADDRESS) values (?,?,?) , (?,?,?) ");
+
+    Player bob = new Player(PLAYER_BOB.getId(), "Bobby", "Nara");
+    assertThatThrownBy(() -> sorm.insert(List.of(bob, PLAYER_CAROL)))
+        .isInstanceOf(SQLIntegrityConstraintViolationException.class);
+    assertThat(sorm.selectByPrimaryKey(Player.class, PLAYER_BOB.getId())).isEqualTo(PLAYER_BOB);
+  }
+
+  private static Sorm createSorm(String mode, SqlDialect dialect) {
+    Sorm sorm =
+        Sorm.create(
+            "jdbc:h2:mem:dialect" + mode + System.nanoTime() + ";DB_CLOSE_DELAY=-1;MODE=" + mode,
+            SormContext.builder().setSqlDialect(dialect).build());
+    SormTestUtils.createPlayersTable(sorm);
+    return sorm;
+  }
+}
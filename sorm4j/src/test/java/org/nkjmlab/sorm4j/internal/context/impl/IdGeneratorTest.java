@@ -0,0 +1,177 @@
+package org.nkjmlab.sorm4j.internal.context.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.OrmTransaction;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.common.exception.SormException;
+import org.nkjmlab.sorm4j.context.IdGenerator;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.SqlDialect;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmIdGenerator;
+import org.nkjmlab.sorm4j.mapping.annotation.OrmTableName;
+
+class IdGeneratorTest {
+
+  @Test
+  void testSequence() {
+    DataSource ds = createDataSource();
+    Sorm sorm =
+        Sorm.create(
+            ds,
+            SormContext.builder()
+                .addIdGenerator("ORDERS_SEQ", IdGenerator.ofSequence("ORDERS_SEQ", 3))
+                .build());
+    sorm.executeUpdate("create sequence ORDERS_SEQ start with 1 increment by 3");
+    sorm.executeUpdate("create table ORDERS (ID bigint primary key, NAME varchar)");
+
+    List<Order> orders = List.of(new Order("a"), new Order("b"), new Order("c"), new Order("d"));
+    sorm.insert(orders);
+    assertThat(orders.stream().map(o -> o.id).collect(Collectors.toList()))
+        .containsExactly(1L, 2L, 3L, 4L);
+
+    Order e = new Order("e");
+    sorm.insert(e);
+    assertThat(e.id).isEqualTo(5L);
+
+    Order assigned = new Order("f");
+    assigned.id = 100;
+    sorm.merge(assigned);
+    assertThat(assigned.id).isEqualTo(100L);
+
+    assertThat(sorm.selectAll(Order.class)).hasSize(6);
+    // the second block [4, 7) is reserved by the sequence value 4
+    assertThat(sorm.readFirst(Long.class, "select next value for ORDERS_SEQ")).isEqualTo(7L);
+  }
+
+  @Test
+  void testSequenceWithSqlDialect() {
+    List<String> sequenceNames = new CopyOnWriteArrayList<>();
+    SqlDialect dialect =
+        new DefaultSqlDialect() {
+          @Override
+          public String getNextSequenceValueSql(String sequenceName) {
+            sequenceNames.add(sequenceName);
+            return super.getNextSequenceValueSql(sequenceName);
+          }
+        };
+    Sorm sorm =
+        Sorm.create(
+            createDataSource(),
+            SormContext.builder()
+                .setSqlDialect(dialect)
+                .addIdGenerator("ORDERS_SEQ", IdGenerator.ofSequence("ORDERS_SEQ", 3))
+                .build());
+    sorm.executeUpdate("create sequence ORDERS_SEQ start with 1 increment by 3");
+    sorm.executeUpdate("create table ORDERS (ID bigint primary key, NAME varchar)");
+
+    sorm.insert(List.of(new Order("a"), new Order("b"), new Order("c"), new Order("d")));
+    assertThat(sequenceNames).containsExactly("ORDERS_SEQ", "ORDERS_SEQ");
+  }
+
+  @Test
+  void testSequenceConcurrently() throws Exception {
+    DataSource ds = createDataSource();
+    Sorm.create(ds).executeUpdate("create sequence ORDERS_SEQ start with 1 increment by 5");
+    IdGenerator idGenerator = IdGenerator.ofSequence("ORDERS_SEQ", 5);
+
+    Set<Long> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures =
+          IntStream.range(0, 8)
+              .mapToObj(
+                  i ->
+                      executor.submit(
+                          () -> {
+                            try (Connection con = ds.getConnection()) {
+                              for (int j = 0; j < 100; j++) {
+                                ids.add(idGenerator.nextId(con));
+                              }
+                            } catch (SQLException e) {
+                              throw new IllegalStateException(e);
+                            }
+                          }))
+              .collect(Collectors.toList());
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    assertThat(ids).hasSize(800);
+  }
+
+  @Test
+  void testHiLoTable() {
+    DataSource ds = createDataSource();
+    Sorm sorm =
+        Sorm.create(
+            ds,
+            SormContext.builder()
+                .addIdGenerator("ORDERS_SEQ", IdGenerator.ofHiLoTable(ds, "ORDERS_HI", 10))
+                .build());
+    sorm.executeUpdate("create table ORDERS_HI (NEXT_HI bigint not null)");
+    sorm.executeUpdate("insert into ORDERS_HI values (0)");
+    sorm.executeUpdate("create table ORDERS (ID bigint primary key, NAME varchar)");
+
+    Order[] orders = new Order[12];
+    for (int i = 0; i < orders.length; i++) {
+      orders[i] = new Order("o" + i);
+    }
+    try (OrmTransaction tr = sorm.open(Connection.TRANSACTION_READ_COMMITTED)) {
+      tr.insert(orders);
+    }
+    assertThat(orders[0].id).isEqualTo(10L);
+    assertThat(orders[11].id).isEqualTo(21L);
+    assertThat(sorm.selectAll(Order.class)).isEmpty();
+    // hi values are committed regardless of the transaction of the caller
+    assertThat(sorm.readFirst(Long.class, "select NEXT_HI from ORDERS_HI")).isEqualTo(2L);
+  }
+
+  @Test
+  void testNotRegistered() {
+    Sorm sorm = Sorm.create(createDataSource());
+    sorm.executeUpdate("create table ORDERS (ID bigint primary key, NAME varchar)");
+    assertThatThrownBy(() -> sorm.insert(new Order("a")))
+        .isInstanceOf(SormException.class)
+        .hasMessageContaining("ORDERS_SEQ");
+  }
+
+  private static DataSource createDataSource() {
+    return Sorm.create("jdbc:h2:mem:idgen" + System.nanoTime() + ";DB_CLOSE_DELAY=-1")
+        .getDataSource();
+  }
+
+  @OrmTableName("ORDERS")
+  public static class Order {
+    @OrmIdGenerator("ORDERS_SEQ")
+    public long id;
+
+    public String name;
+
+    public Order() {}
+
+    public Order(String name) {
+      this.name = name;
+    }
+  }
+}
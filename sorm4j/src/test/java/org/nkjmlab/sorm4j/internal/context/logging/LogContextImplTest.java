@@ -0,0 +1,167 @@
+package org.nkjmlab.sorm4j.internal.context.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.logging.LogContext;
+import org.nkjmlab.sorm4j.context.logging.LogContext.Category;
+import org.nkjmlab.sorm4j.internal.context.logging.logger.AbstractSormLogger;
+import org.nkjmlab.sorm4j.internal.util.ParameterizedStringFormatter;
+import org.nkjmlab.sorm4j.test.common.Player;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+class LogContextImplTest {
+
+  @Test
+  void testAsync() {
+    RecordingLogger logger = new RecordingLogger();
+    LogContext lc =
+        LogContext.builder()
+            .enable(Category.EXECUTE_QUERY, Category.EXECUTE_UPDATE)
+            .setLoggerSupplier(() -> logger)
+            .setAsyncBufferSize(64)
+            .build();
+    assertThat(lc.isAsync()).isTrue();
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder().setLogContext(lc).build());
+
+    sorm.insert(SormTestUtils.PLAYER_ALICE);
+    Object[] params = {"Alice"};
+    sorm.readList(Player.class, "select * from players where name=?", params);
+    // the parameters are copied when the record is captured.
+    params[0] = "Bob";
+    sorm.executeUpdate("update players set address=? where id=?", "Tokyo", 1);
+
+    assertThat(((LogContextImpl) lc).awaitAsyncWrite(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(logger.messages)
+        .anyMatch(m -> m.contains("select * from players where name='Alice'"))
+        .anyMatch(m -> m.contains("Read [1] objects"))
+        .anyMatch(m -> m.contains("update players set address='Tokyo' where id=1"))
+        .anyMatch(m -> m.contains("Affect [1] rows"));
+    assertThat(logger.threads).doesNotContain(Thread.currentThread().getName());
+    assertThat(lc.getDroppedCount()).isZero();
+  }
+
+  @Test
+  void testDropped() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingLogger logger =
+        new RecordingLogger() {
+          @Override
+          public void debug(String format, Object... params) {
+            await(release);
+            super.debug(format, params);
+          }
+        };
+    LogContext lc =
+        LogContext.builder()
+            .enable(Category.EXECUTE_UPDATE)
+            .setLoggerSupplier(() -> logger)
+            .setAsyncBufferSize(4)
+            .build();
+    LogPoint lp = lc.createLogPoint(Category.EXECUTE_UPDATE, getClass()).orElseThrow();
+    for (int i = 0; i < 100; i++) {
+      lp.logAfterUpdate(i);
+    }
+    assertThat(lc.getDroppedCount()).isBetween(100L - 4 - 1, 100L - 4);
+    release.countDown();
+    assertThat(((LogContextImpl) lc).awaitAsyncWrite(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(logger.warnings).anyMatch(m -> m.contains("log records are dropped"));
+  }
+
+  @Test
+  void testSharedWriterThread() throws InterruptedException {
+    RecordingLogger logger = new RecordingLogger();
+    for (int i = 0; i < 3; i++) {
+      LogContext lc =
+          LogContext.builder()
+              .enable(Category.EXECUTE_UPDATE)
+              .setLoggerSupplier(() -> logger)
+              .setAsyncBufferSize(4)
+              .build();
+      lc.createLogPoint(Category.EXECUTE_UPDATE, getClass()).orElseThrow().logAfterUpdate(i);
+      assertThat(((LogContextImpl) lc).awaitAsyncWrite(10, TimeUnit.SECONDS)).isTrue();
+    }
+    assertThat(logger.messages).hasSize(3);
+
+    Set<Thread> writers = Thread.getAllStackTraces().keySet();
+    writers.removeIf(t -> !t.getName().equals("sorm4j-async-logger"));
+    assertThat(writers).hasSize(1);
+    Thread writer = writers.iterator().next();
+    // the idle writer thread parks without a timeout instead of polling.
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (writer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(writer.getState()).isEqualTo(Thread.State.WAITING);
+  }
+
+  @Test
+  void testSync() {
+    LogContext lc = LogContext.builder().enableAll().build();
+    assertThat(lc.isAsync()).isFalse();
+    assertThat(lc.getDroppedCount()).isZero();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class RecordingLogger extends AbstractSormLogger {
+    final List<String> messages = new CopyOnWriteArrayList<>();
+    final List<String> warnings = new CopyOnWriteArrayList<>();
+    final List<String> threads = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void trace(String format, Object... params) {}
+
+    @Override
+    public void debug(String format, Object... params) {
+      threads.add(Thread.currentThread().getName());
+      messages.add(ParameterizedStringFormatter.LENGTH_256.format(format, params));
+    }
+
+    @Override
+    public void info(String format, Object... params) {}
+
+    @Override
+    public void warn(String format, Object... params) {
+      warnings.add(ParameterizedStringFormatter.LENGTH_256.format(format, params));
+    }
+
+    @Override
+    public void error(String format, Object... params) {}
+
+    @Override
+    public void trace(int depth, String format, Object... params) {}
+
+    @Override
+    public void debug(int depth, String format, Object... params) {
+      debug(format, params);
+    }
+
+    @Override
+    public void info(int depth, String format, Object... params) {}
+
+    @Override
+    public void warn(int depth, String format, Object... params) {
+      warn(format, params);
+    }
+
+    @Override
+    public void error(int depth, String format, Object... params) {}
+  }
+}
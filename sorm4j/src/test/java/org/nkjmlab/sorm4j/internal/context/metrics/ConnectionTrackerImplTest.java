@@ -0,0 +1,125 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.OrmConnection;
+import org.nkjmlab.sorm4j.OrmTransaction;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.logging.LogContext;
+import org.nkjmlab.sorm4j.context.logging.SormLogger;
+import org.nkjmlab.sorm4j.context.metrics.ConnectionTracker;
+import org.nkjmlab.sorm4j.context.metrics.ConnectionTracker.OpenConnection;
+import org.nkjmlab.sorm4j.test.common.Player;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+class ConnectionTrackerImplTest {
+
+  @Test
+  void testDisabled() {
+    Sorm sorm = SormTestUtils.createSormWithNewDatabaseAndCreateTables();
+    assertThat(sorm.getConnectionTracker().isEnabled()).isFalse();
+    try (OrmConnection conn = sorm.open()) {
+      assertThat(sorm.getConnectionTracker().getOpenConnections()).isEmpty();
+    }
+    assertThat(sorm.getConnectionTracker().getHoldTimes().count()).isZero();
+  }
+
+  @Test
+  void testTrack() {
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder()
+                .setConnectionTracker(ConnectionTracker.builder().build())
+                .build());
+    ConnectionTracker tracker = sorm.getConnectionTracker();
+    assertThat(tracker.isEnabled()).isTrue();
+    tracker.reset();
+
+    try (OrmConnection conn = sorm.open();
+        OrmTransaction tran = sorm.open(java.sql.Connection.TRANSACTION_READ_COMMITTED)) {
+      assertThat(tracker.getOpenConnections()).hasSize(2);
+      OpenConnection open = tracker.getOpenConnections().get(0);
+      assertThat(open.threadName()).isEqualTo(Thread.currentThread().getName());
+      assertThat(open.heldTime()).isPositive();
+      assertThat(open.callerStack()).isNotEmpty();
+      assertThat(open.callerStack().get(0).getClassName()).doesNotStartWith("org.nkjmlab.sorm4j.");
+    }
+    assertThat(tracker.getOpenConnections()).isEmpty();
+    assertThat(tracker.getHoldTimes().count()).isEqualTo(2);
+
+    sorm.readList(Player.class, "select * from players");
+    sorm.stream(Player.class, "select * from players").accept(st -> st.count());
+    assertThat(tracker.getOpenConnections()).isEmpty();
+    assertThat(tracker.getHoldTimes().count()).isEqualTo(4);
+    assertThat(tracker.getLeakedCount()).isZero();
+  }
+
+  @Test
+  void testHoldTimeThreshold() {
+    SormLogger logger = mock(SormLogger.class);
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder()
+                .setLogContext(LogContext.builder().setLoggerSupplier(() -> logger).build())
+                .setConnectionTracker(
+                    ConnectionTracker.builder().setHoldTimeThreshold(Duration.ZERO).build())
+                .build());
+    try (OrmConnection conn = sorm.open()) {
+      sorm.readList(Player.class, "select * from players");
+      verify(logger, atLeastOnce()).warn(contains("has been held"), any(), any(), any(), any());
+    }
+  }
+
+  @Test
+  void testHoldTimeThresholdOnClose() throws InterruptedException {
+    SormLogger logger = mock(SormLogger.class);
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder()
+                .setLogContext(LogContext.builder().setLoggerSupplier(() -> logger).build())
+                .setConnectionTracker(
+                    ConnectionTracker.builder().setHoldTimeThreshold(Duration.ofMillis(50)).build())
+                .build());
+    try (OrmConnection conn = sorm.open()) {
+      Thread.sleep(100);
+    }
+    verify(logger).warn(contains("was held"), any(), any(), any(), any());
+    verify(logger, never()).warn(contains("has been held"), any(), any(), any(), any());
+  }
+
+  @Test
+  void testLeak() throws InterruptedException {
+    SormLogger logger = mock(SormLogger.class);
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder()
+                .setLogContext(LogContext.builder().setLoggerSupplier(() -> logger).build())
+                .setConnectionTracker(ConnectionTracker.builder().build())
+                .build());
+    ConnectionTracker tracker = sorm.getConnectionTracker();
+    openWithoutClose(sorm);
+    assertThat(tracker.getOpenConnections()).hasSize(1);
+
+    for (int i = 0; i < 100 && tracker.getLeakedCount() == 0; i++) {
+      System.gc();
+      Thread.sleep(50);
+    }
+    assertThat(tracker.getLeakedCount()).isEqualTo(1);
+    assertThat(tracker.getOpenConnections()).isEmpty();
+    verify(logger).warn(contains("garbage-collected"), any(), any(), any(), any());
+  }
+
+  private static void openWithoutClose(Sorm sorm) {
+    sorm.open().readList(Player.class, "select * from players");
+  }
+}
@@ -0,0 +1,99 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.common.exception.SormException;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.metrics.QueryPlanAdvisor;
+import org.nkjmlab.sorm4j.context.metrics.QueryPlanAdvisor.IndexRecommendation;
+import org.nkjmlab.sorm4j.context.metrics.QueryPlanAdvisor.QueryPlan;
+import org.nkjmlab.sorm4j.context.metrics.SlowQueryLog;
+import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
+import org.nkjmlab.sorm4j.table.orm.DefinedTable;
+import org.nkjmlab.sorm4j.test.common.Guest;
+import org.nkjmlab.sorm4j.test.common.Player;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+class QueryPlanAdvisorImplTest {
+
+  @Test
+  void testExplain() {
+    Sorm sorm = SormTestUtils.createSormWithNewDatabaseAndCreateTables();
+    QueryPlanAdvisor advisor = QueryPlanAdvisor.of(sorm);
+
+    QueryPlan scan = advisor.explain("select * from players where address=?", "Kyoto");
+    assertThat(scan.hasTableScan()).isTrue();
+    assertThat(scan.scannedTables()).containsExactly("PLAYERS");
+
+    QueryPlan lookup = advisor.explain("select * from players where id=?", 1);
+    assertThat(lookup.hasTableScan()).isFalse();
+    assertThat(lookup.usedIndexes()).hasSize(1);
+
+    QueryPlan byName = advisor.explain("select * from players where name=?", "Alice");
+    assertThat(byName.usedIndexes()).containsExactly("INDEX_IN_PLAYERS_ON_NAME");
+
+    assertThat(QueryPlanAdvisor.withAnalyze(sorm).explain("select * from players").plan())
+        .contains("scanCount");
+    assertThatThrownBy(() -> advisor.explain("delete from players"))
+        .isInstanceOf(SormException.class);
+  }
+
+  @Test
+  void testRecommendIndexes() {
+    Sorm sorm = SormTestUtils.createSormWithNewDatabaseAndCreateTables();
+    DefinedTable<Player> players = SormTestUtils.createPlayersTable(sorm);
+    DefinedTable<Guest> guests = SormTestUtils.createGuestsTable(sorm);
+    QueryPlanAdvisor advisor = QueryPlanAdvisor.of(sorm);
+
+    List<IndexRecommendation> recommendations =
+        advisor.recommendIndexes(
+            players.getAllEqualSql("address", "Kyoto"),
+            players.getAllEqualSql("address", "Kyoto", "id", 1),
+            players.getAllEqualSql("address", "Kyoto", "name", "Alice"),
+            guests.getAllEqualSql("address", "Kyoto", "name", "Alice"),
+            ParameterizedSql.of(
+                "select * from players p join guests g on p.name=g.name where p.address='Kyoto'"));
+    assertThat(recommendations).hasSize(1);
+    IndexRecommendation recommendation = recommendations.get(0);
+    assertThat(recommendation.tableName()).isEqualTo("players");
+    assertThat(recommendation.columns()).containsExactly("address");
+    assertThat(recommendation.plan().hasTableScan()).isTrue();
+    assertThat(recommendation.createIndexStatement())
+        .isEqualTo("create index if not exists INDEX_IN_PLAYERS_ON_ADDRESS on players(address)");
+
+    sorm.executeUpdate(recommendation.createIndexStatement());
+    assertThat(advisor.recommendIndexes(players.getAllEqualSql("address", "Nara"))).isEmpty();
+  }
+
+  @Test
+  void testSlowQueryLog() {
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder()
+                .setSlowQueryLog(SlowQueryLog.builder().setThreshold(Duration.ZERO).build())
+                .build());
+    sorm.insert(SormTestUtils.PLAYER_ALICE);
+    sorm.readList(Player.class, "select * from players where address in (?, ?)", "Kyoto", "Nara");
+    sorm.readList(Player.class, "select * from players where address in (?)", "Tokyo");
+    sorm.readList(Player.class, "select * from players where id=?", 1);
+
+    QueryPlanAdvisor advisor = QueryPlanAdvisor.of(sorm);
+    SlowQueryLog log = sorm.getSlowQueryLog();
+    assertThat(advisor.explain(log))
+        .extracting(QueryPlan::sql)
+        .contains(
+            "select * from players where address in (?, ?)", "select * from players where id=?");
+
+    List<IndexRecommendation> recommendations = advisor.recommendIndexes(log);
+    assertThat(recommendations)
+        .extracting(IndexRecommendation::createIndexStatement)
+        .containsExactly(
+            "create index if not exists INDEX_IN_PLAYERS_ON_ADDRESS on players(address)");
+  }
+}
@@ -0,0 +1,69 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.OrmConnection;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.logging.LogContext;
+import org.nkjmlab.sorm4j.context.logging.SormLogger;
+import org.nkjmlab.sorm4j.test.common.Player;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+class RepeatedQueryDetectorTest {
+
+  @Test
+  void testCount() {
+    SormLogger logger = mock(SormLogger.class);
+    RepeatedQueryDetector detector = new RepeatedQueryDetector(3, logger);
+    assertThat(detector.count("select * from players where id=1")).isFalse();
+    assertThat(detector.count("select * from players where id=2")).isFalse();
+    assertThat(detector.count("select * from guests where id=?")).isFalse();
+    assertThat(detector.count("select * from players where id=3")).isTrue();
+    assertThat(detector.count("select * from players where id=4")).isFalse();
+    assertThat(detector.getCount("select * from players where id=?")).isEqualTo(4);
+    verify(logger, times(1))
+        .warn(anyString(), eq(3), eq("select * from players where id=?"), any());
+
+    detector.reset();
+    assertThat(detector.getCount("select * from players where id=?")).isZero();
+  }
+
+  @Test
+  void testConnection() {
+    SormLogger logger = mock(SormLogger.class);
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder()
+                .setLogContext(LogContext.builder().setLoggerSupplier(() -> logger).build())
+                .setRepeatedQueryThreshold(2)
+                .build());
+    sorm.insert(SormTestUtils.PLAYER_ALICE, SormTestUtils.PLAYER_BOB);
+
+    sorm.selectByPrimaryKey(Player.class, 1);
+    sorm.selectByPrimaryKey(Player.class, 2);
+    verify(logger, never()).warn(anyString(), any(), any(), any());
+
+    try (OrmConnection conn = sorm.open()) {
+      conn.setAutoCommit(false);
+      conn.selectByPrimaryKey(Player.class, 1);
+      conn.commit();
+      conn.selectByPrimaryKey(Player.class, 2);
+      verify(logger, never()).warn(anyString(), any(), any(), any());
+      conn.selectByPrimaryKey(Player.class, 1);
+      verify(logger, times(1)).warn(anyString(), eq(2), anyString(), anyString());
+    }
+
+    assertThatThrownBy(() -> SormContext.builder().setRepeatedQueryThreshold(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,120 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.logging.LogContext.Category;
+import org.nkjmlab.sorm4j.context.metrics.SlowQueryLog;
+import org.nkjmlab.sorm4j.context.metrics.SlowQueryLog.QueryStats;
+import org.nkjmlab.sorm4j.context.metrics.SlowQueryLog.SlowQuery;
+import org.nkjmlab.sorm4j.test.common.Player;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+class SlowQueryLogImplTest {
+
+  @Test
+  void testDisabled() {
+    Sorm sorm = SormTestUtils.createSormWithNewDatabaseAndCreateTables();
+    assertThat(sorm.getSlowQueryLog().isEnabled()).isFalse();
+    sorm.readList(Player.class, "select * from players");
+    assertThat(sorm.getSlowQueryLog().getSlowQueries()).isEmpty();
+    assertThat(sorm.getSlowQueryLog().getTopByCount(10)).isEmpty();
+  }
+
+  @Test
+  void testSlowQueries() {
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder()
+                .setSlowQueryLog(SlowQueryLog.builder().setThreshold(Duration.ZERO).build())
+                .build());
+    SlowQueryLog log = sorm.getSlowQueryLog();
+    assertThat(log.isEnabled()).isTrue();
+    log.reset();
+
+    sorm.insert(SormTestUtils.PLAYER_ALICE, SormTestUtils.PLAYER_BOB);
+    sorm.readList(Player.class, "select * from players where id=?", 1);
+    sorm.readList(Player.class, "select * from players where id=?", 2);
+    sorm.executeUpdate("delete from players where id=?", 1);
+
+    List<SlowQuery> queries = log.getSlowQueries();
+    assertThat(queries).hasSize(4);
+    assertThat(queries.get(0).category()).isEqualTo(Category.EXECUTE_MULTI_ROW_UPDATE);
+    assertThat(queries.get(0).parameters()).isEmpty();
+    assertThat(queries.get(0).rows()).isEqualTo(2);
+
+    SlowQuery query = queries.get(2);
+    assertThat(query.category()).isEqualTo(Category.EXECUTE_QUERY);
+    assertThat(query.sql()).isEqualTo("select * from players where id=?");
+    assertThat(query.parameters()).containsExactly(2);
+    assertThat(query.rows()).isEqualTo(1);
+    assertThat(query.callerStack()).isNotEmpty();
+    assertThat(query.callerStack().get(0).getClassName()).doesNotStartWith("org.nkjmlab.sorm4j.");
+
+    assertThat(queries.get(3).category()).isEqualTo(Category.EXECUTE_UPDATE);
+    assertThat(queries.get(3).parameters()).containsExactly(1);
+    assertThat(log.getSampledQueries()).isEmpty();
+
+    QueryStats top = log.getTopByCount(1).get(0);
+    assertThat(top.sqlFingerprint()).isEqualTo("select * from players where id=?");
+    assertThat(top.count()).isEqualTo(2);
+    assertThat(top.totalNanos()).isGreaterThanOrEqualTo(top.maxNanos());
+    assertThat(log.getTopByTotalTime(10)).hasSize(3);
+
+    String dump = log.dump(2);
+    assertThat(dump)
+        .contains("[Top 2 by total time]", "[Top 2 by count]", "[Slow queries]")
+        .contains("2 times", "[select * from players where id=?] [2]");
+
+    log.reset();
+    assertThat(log.getSlowQueries()).isEmpty();
+    assertThat(log.getTopByCount(10)).isEmpty();
+  }
+
+  @Test
+  void testSampling() {
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder()
+                .setSlowQueryLog(SlowQueryLog.builder().setSampleRate(1).setCapacity(2).build())
+                .build());
+    SlowQueryLog log = sorm.getSlowQueryLog();
+    log.reset();
+    for (int i = 0; i < 3; i++) {
+      sorm.readList(Player.class, "select * from players where id=?", i);
+    }
+    assertThat(log.getSlowQueries()).isEmpty();
+    assertThat(log.getSampledQueries())
+        .extracting(q -> q.parameters().get(0))
+        .containsExactly(1, 2);
+    assertThat(log.getTopByCount(1).get(0).count()).isEqualTo(3);
+  }
+
+  @Test
+  void testWindow() {
+    SlowQueryLogImpl log =
+        new SlowQueryLogImpl(Duration.ofSeconds(1), 0, 10, Duration.ofNanos(100));
+    log.record(Category.EXECUTE_QUERY, "select 1", "select ?", null, 1, 0, 10);
+    log.record(Category.EXECUTE_QUERY, "select 1", "select ?", null, 1, 0, 20);
+    assertThat(log.getTopByCount(1).get(0).count()).isEqualTo(2);
+    long later = System.nanoTime() + 1_000;
+    log.record(Category.EXECUTE_QUERY, "select 1", "select ?", null, 1, later, later + 30);
+    assertThat(log.getTopByCount(1).get(0).count()).isEqualTo(3);
+    log.record(Category.EXECUTE_QUERY, "select 1", "select ?", null, 1, later, later + 1_000);
+    QueryStats stats = log.getTopByCount(1).get(0);
+    assertThat(stats.count()).isEqualTo(2);
+    assertThat(stats.maxNanos()).isEqualTo(1_000);
+  }
+
+  @Test
+  void testBuilder() {
+    assertThatThrownBy(() -> SlowQueryLog.builder().setSampleRate(1.5))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
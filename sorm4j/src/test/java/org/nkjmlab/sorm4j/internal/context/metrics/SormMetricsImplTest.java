@@ -0,0 +1,74 @@
+package org.nkjmlab.sorm4j.internal.context.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.logging.LogContext.Category;
+import org.nkjmlab.sorm4j.context.metrics.SormMetricsSnapshot;
+import org.nkjmlab.sorm4j.context.metrics.SormMetricsSnapshot.StatementMetrics;
+import org.nkjmlab.sorm4j.test.common.Player;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+class SormMetricsImplTest {
+
+  @Test
+  void testDisabled() {
+    Sorm sorm = SormTestUtils.createSormWithNewDatabaseAndCreateTables();
+    assertThat(sorm.getMetrics().isEnabled()).isFalse();
+    sorm.readList(Player.class, "select * from players");
+    assertThat(sorm.getMetrics().getSnapshot().statements()).isEmpty();
+  }
+
+  @Test
+  void testMetrics() {
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder().setMetricsEnabled(true).build());
+    assertThat(sorm.getMetrics().isEnabled()).isTrue();
+
+    sorm.insert(SormTestUtils.PLAYER_ALICE, SormTestUtils.PLAYER_BOB);
+    sorm.readList(Player.class, "select * from players where id=?", 1);
+    sorm.readList(Player.class, "select * from players where id=2");
+    sorm.stream(Player.class, "select * from players").accept(st -> st.count());
+    sorm.executeUpdate("delete from players where id=?", 1);
+    assertThatThrownBy(() -> sorm.readList(Player.class, "select * from no_table where id=3"))
+        .isNotNull();
+
+    SormMetricsSnapshot snapshot = sorm.getMetrics().getSnapshot();
+
+    StatementMetrics query =
+        snapshot.get(Category.EXECUTE_QUERY, "select * from players where id=?");
+    assertThat(query.count()).isEqualTo(2);
+    assertThat(query.errors()).isZero();
+    assertThat(query.rows()).isEqualTo(2);
+    assertThat(query.jdbcTime().count()).isEqualTo(2);
+    assertThat(query.jdbcTime().max()).isPositive();
+    assertThat(query.mappingTime().count()).isEqualTo(2);
+
+    assertThat(snapshot.get(Category.EXECUTE_QUERY, "select * from players").rows()).isEqualTo(2);
+    assertThat(snapshot.get(Category.EXECUTE_UPDATE, "delete from players where id=?").rows())
+        .isEqualTo(1);
+    assertThat(
+            snapshot
+                .get(
+                    Category.EXECUTE_MULTI_ROW_UPDATE,
+                    "insert into PLAYERS (ID, NAME, ADDRESS) values (?...)")
+                .rows())
+        .isEqualTo(2);
+    assertThat(snapshot.get(Category.MAPPING_TO_COLUMNS, Player.class.getName()).count())
+        .isEqualTo(1);
+
+    StatementMetrics error =
+        snapshot.get(Category.EXECUTE_QUERY, "select * from no_table where id=?");
+    assertThat(error.count()).isEqualTo(1);
+    assertThat(error.errors()).isEqualTo(1);
+
+    assertThat(snapshot.toTsv().lines().count()).isEqualTo(snapshot.statements().size() + 1);
+
+    sorm.getMetrics().reset();
+    assertThat(sorm.getMetrics().getSnapshot().statements()).isEmpty();
+  }
+}
@@ -0,0 +1,140 @@
+package org.nkjmlab.sorm4j.internal.context.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.context.tracing.InMemorySpanExporter;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer.Span;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer.SpanKind;
+import org.nkjmlab.sorm4j.context.tracing.SormTracer.TraceContext;
+import org.nkjmlab.sorm4j.test.common.Player;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+class SormTracerImplTest {
+
+  @Test
+  void testDisabled() {
+    Sorm sorm = SormTestUtils.createSormWithNewDatabaseAndCreateTables();
+    assertThat(sorm.getTracer().isEnabled()).isFalse();
+    assertThat(SormTracerImpl.DISABLED.start(SpanKind.PREPARE, "select 1"))
+        .isSameAs(SormTracerImpl.SpanRecorder.NOOP);
+  }
+
+  @Test
+  void testSpans() {
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder().setTracer(SormTracer.builder().build()).build());
+    InMemorySpanExporter exporter = (InMemorySpanExporter) sorm.getTracer().getExporter();
+    sorm.insert(SormTestUtils.PLAYER_ALICE, SormTestUtils.PLAYER_BOB);
+
+    exporter.reset();
+    sorm.readList(Player.class, "select * from players");
+    List<Span> spans = exporter.getSpans();
+    assertThat(spans)
+        .extracting(Span::kind)
+        .containsExactly(
+            SpanKind.ACQUIRE_CONNECTION, SpanKind.PREPARE, SpanKind.EXECUTE, SpanKind.MAP);
+    assertThat(spans.get(0).sql()).isNull();
+    assertThat(spans.get(1).traceId()).isEqualTo(spans.get(3).traceId()).hasSize(32);
+    assertThat(spans.get(1).parentSpanId()).isNull();
+    assertThat(spans.get(3).rows()).isEqualTo(2);
+    assertThat(spans.get(3).name()).isEqualTo("sorm4j.map");
+    assertThat(spans).allMatch(s -> s.error() == null && !s.duration().isNegative());
+    assertThat(spans.get(2).startTime()).isBeforeOrEqualTo(spans.get(3).startTime());
+
+    exporter.reset();
+    sorm.stream(Player.class, "select * from players").apply(stream -> stream.count());
+    assertThat(exporter.getSpans())
+        .extracting(Span::kind)
+        .containsExactly(
+            SpanKind.ACQUIRE_CONNECTION, SpanKind.PREPARE, SpanKind.EXECUTE, SpanKind.MAP);
+
+    exporter.reset();
+    sorm.executeUpdate("delete from players where id=?", 1);
+    assertThat(exporter.getSpans())
+        .extracting(Span::kind)
+        .containsExactly(SpanKind.ACQUIRE_CONNECTION, SpanKind.PREPARE, SpanKind.EXECUTE);
+
+    exporter.reset();
+    assertThatThrownBy(() -> sorm.readList(Player.class, "select * from no_such_table"));
+    Span failed = exporter.getSpans().get(exporter.getSpans().size() - 1);
+    assertThat(failed.kind()).isEqualTo(SpanKind.PREPARE);
+    assertThat(failed.error()).isNotNull();
+  }
+
+  @Test
+  void testMultiRowSpans() {
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder().setTracer(SormTracer.builder().build()).build());
+    InMemorySpanExporter exporter = (InMemorySpanExporter) sorm.getTracer().getExporter();
+    exporter.reset();
+
+    sorm.insert(List.of(SormTestUtils.PLAYER_ALICE, SormTestUtils.PLAYER_BOB));
+    List<Span> spans = exporter.getSpans();
+    assertThat(spans)
+        .extracting(Span::kind)
+        .containsExactly(SpanKind.ACQUIRE_CONNECTION, SpanKind.MULTI_ROW_UPDATE);
+    assertThat(spans.get(1).rows()).isEqualTo(2);
+    assertThat(spans.get(1).sql()).startsWith("insert into PLAYERS");
+
+    exporter.reset();
+    assertThatThrownBy(
+        () -> sorm.insert(List.of(SormTestUtils.PLAYER_CAROL, SormTestUtils.PLAYER_ALICE)));
+    Span failed = exporter.getSpans().get(exporter.getSpans().size() - 1);
+    assertThat(failed.kind()).isEqualTo(SpanKind.MULTI_ROW_UPDATE);
+    assertThat(failed.error()).isNotNull();
+  }
+
+  @Test
+  void testSpanEndsOnce() {
+    InMemorySpanExporter exporter = InMemorySpanExporter.of(8);
+    SormTracerImpl tracer = new SormTracerImpl(() -> null, exporter);
+    SormTracerImpl.SpanRecorder span = tracer.start(SpanKind.EXECUTE, "select 1");
+    span.end(1);
+    // e.g. logging fails after the span ends.
+    span.fail(new IllegalStateException());
+    span.next(SpanKind.MAP);
+    assertThat(exporter.getSpans()).hasSize(1);
+    assertThat(exporter.getSpans().get(0).error()).isNull();
+  }
+
+  @Test
+  void testParent() {
+    ThreadLocal<TraceContext> current = new ThreadLocal<>();
+    InMemorySpanExporter exporter = InMemorySpanExporter.of(3);
+    Sorm sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder()
+                .setTracer(
+                    SormTracer.builder()
+                        .setParentSupplier(current::get)
+                        .setExporter(exporter)
+                        .build())
+                .build());
+
+    TraceContext parent = new TraceContext(TraceContext.newTrace().traceId(), "00f067aa0ba902b7");
+    current.set(parent);
+    try {
+      sorm.readList(Player.class, "select * from players");
+    } finally {
+      current.remove();
+    }
+    List<Span> spans = exporter.getSpans();
+    assertThat(spans).hasSize(3);
+    assertThat(spans)
+        .extracting(Span::kind)
+        .containsExactly(SpanKind.PREPARE, SpanKind.EXECUTE, SpanKind.MAP);
+    assertThat(spans)
+        .allMatch(
+            s -> s.traceId().equals(parent.traceId()) && s.parentSpanId().equals(parent.spanId()));
+    assertThat(spans).extracting(Span::spanId).doesNotHaveDuplicates();
+  }
+}
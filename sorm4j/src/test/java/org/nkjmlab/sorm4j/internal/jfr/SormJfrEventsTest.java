@@ -0,0 +1,76 @@
+package org.nkjmlab.sorm4j.internal.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.test.common.Player;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class SormJfrEventsTest {
+
+  @Test
+  void testEvents() throws Exception {
+    Sorm sorm = SormTestUtils.createSormWithNewDatabaseAndCreateTables();
+    List<RecordedEvent> events;
+    Path file = Files.createTempFile("sorm4j", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (String name : List.of("Query", "Update", "StreamQuery", "MultiRowUpdate", "Mapping")) {
+        recording.enable("org.nkjmlab.sorm4j." + name);
+      }
+      recording.start();
+      sorm.insert(SormTestUtils.PLAYER_ALICE, SormTestUtils.PLAYER_BOB);
+      sorm.readList(Player.class, "select * from players where id > ?", 0);
+      sorm.stream(Player.class, "select * from players").accept(st -> st.count());
+      sorm.executeUpdate("delete from players where name = 'Alice'");
+      recording.stop();
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+
+    RecordedEvent multiRow = findOne(events, "org.nkjmlab.sorm4j.MultiRowUpdate");
+    assertThat(multiRow.getLong("rows")).isEqualTo(2);
+    assertThat(multiRow.getInt("objects")).isEqualTo(2);
+    assertThat(multiRow.getString("tableName")).isEqualTo("PLAYERS");
+    assertThat(multiRow.getString("sqlFingerprint")).startsWith("insert into PLAYERS");
+
+    RecordedEvent query = findOne(events, "org.nkjmlab.sorm4j.Query");
+    assertThat(query.getString("sqlFingerprint")).isEqualTo("select * from players where id > ?");
+    assertThat(query.getLong("rows")).isEqualTo(2);
+    assertThat(query.getLong("jdbcTime")).isPositive();
+    assertThat(query.getLong("mappingTime")).isNotNegative();
+    assertThat(query.getInt("connectionHash")).isNotZero();
+
+    RecordedEvent stream = findOne(events, "org.nkjmlab.sorm4j.StreamQuery");
+    assertThat(stream.getLong("rows")).isEqualTo(2);
+
+    RecordedEvent update = findOne(events, "org.nkjmlab.sorm4j.Update");
+    assertThat(update.getString("sqlFingerprint")).isEqualTo("delete from players where name = ?");
+    assertThat(update.getLong("rows")).isEqualTo(1);
+
+    assertThat(
+            events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.nkjmlab.sorm4j.Mapping"))
+                .map(e -> e.getString("kind"))
+                .collect(Collectors.toSet()))
+        .contains(MappingEvent.TO_TABLE, MappingEvent.TO_COLUMNS);
+  }
+
+  private static RecordedEvent findOne(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> ret =
+        events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    assertThat(ret).hasSize(1);
+    return ret.get(0);
+  }
+}
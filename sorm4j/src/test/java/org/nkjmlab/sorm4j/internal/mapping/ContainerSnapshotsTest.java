@@ -0,0 +1,187 @@
+package org.nkjmlab.sorm4j.internal.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_ALICE;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_BOB;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_CAROL;
+
+import java.sql.Connection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.OrmTransaction;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.common.container.RowMap;
+import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
+import org.nkjmlab.sorm4j.test.common.Player;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+class ContainerSnapshotsTest {
+
+  private Sorm sorm;
+
+  @BeforeEach
+  void setUp() {
+    sorm =
+        SormTestUtils.createSormWithNewDatabaseAndCreateTables(
+            SormContext.builder().setChangeTrackingEnabled(true).build());
+    sorm.insert(PLAYER_ALICE, PLAYER_BOB, PLAYER_CAROL);
+  }
+
+  @Test
+  void testUpdateChangedColumnsOnly() {
+    Player alice = sorm.selectByPrimaryKey(Player.class, PLAYER_ALICE.getId());
+    assertThat(sorm.update(alice)).isEqualTo(0);
+
+    sorm.executeUpdate("update players set name='Alicia' where id=?", alice.getId());
+    alice.address = "Kobe";
+    assertThat(sorm.update(alice)).isEqualTo(1);
+    assertThat(sorm.update(alice)).isEqualTo(0);
+
+    assertThat(sorm.selectByPrimaryKey(Player.class, alice.getId()))
+        .isEqualTo(new Player(alice.getId(), "Alicia", "Kobe"));
+  }
+
+  @Test
+  void testBatchUpdateGroupedByChangedColumns() {
+    List<Player> players = sorm.readList(Player.class, "select * from players order by id");
+    sorm.executeUpdate("update players set name='X', address='Y'");
+    players.get(1).address = "Nagoya";
+    players.get(2).address = "Nagoya";
+    Player dave = new Player(4, "Dave", "Nara");
+    sorm.insert(dave);
+
+    assertThat(sorm.update(players.get(0), players.get(1), dave, players.get(2)))
+        .containsExactly(0, 1, 1, 1);
+    assertThat(sorm.readList(Player.class, "select * from players order by id"))
+        .containsExactly(
+            new Player(PLAYER_ALICE.getId(), "X", "Y"),
+            new Player(PLAYER_BOB.getId(), "X", "Nagoya"),
+            new Player(PLAYER_CAROL.getId(), "X", "Nagoya"),
+            dave);
+  }
+
+  @Test
+  void testRollback() {
+    Player alice = sorm.selectByPrimaryKey(Player.class, PLAYER_ALICE.getId());
+    alice.address = "Kobe";
+    try (OrmTransaction tr = sorm.open(Connection.TRANSACTION_READ_COMMITTED)) {
+      assertThat(tr.update(alice)).isEqualTo(1);
+      assertThat(tr.update(alice)).isEqualTo(0);
+      tr.rollback();
+    }
+    assertThat(sorm.update(alice)).isEqualTo(1);
+    assertThat(sorm.selectByPrimaryKey(Player.class, alice.getId()).address).isEqualTo("Kobe");
+
+    alice.address = "Nara";
+    try (OrmTransaction tr = sorm.open(Connection.TRANSACTION_READ_COMMITTED)) {
+      assertThat(tr.update(alice)).isEqualTo(1);
+      tr.commit();
+    }
+    assertThat(sorm.update(alice)).isEqualTo(0);
+  }
+
+  @Test
+  void testMutableValue() {
+    sorm.executeUpdate("create table documents (id int primary key, data binary(2))");
+    Document document = new Document();
+    document.id = 1;
+    document.data = new byte[] {1, 2};
+    sorm.insert(document);
+
+    Document loaded = sorm.selectByPrimaryKey(Document.class, 1);
+    loaded.data[0] = 3;
+    assertThat(sorm.update(loaded)).isEqualTo(1);
+    assertThat(sorm.update(loaded)).isEqualTo(0);
+    assertThat(sorm.selectByPrimaryKey(Document.class, 1).data).containsExactly(3, 2);
+  }
+
+  @Test
+  void testUpdateWithOtherTable() {
+    sorm.executeUpdate(
+        "create table players_backup (id int primary key, name varchar, address varchar)");
+    sorm.executeUpdate("insert into players_backup select * from players");
+    Player alice = sorm.selectByPrimaryKey(Player.class, PLAYER_ALICE.getId());
+    alice.address = "Kobe";
+    assertThat(sorm.update(alice)).isEqualTo(1);
+
+    assertThat(sorm.updateWith("players_backup", alice)).isEqualTo(1);
+    assertThat(sorm.updateWith("players_backup", alice)).isEqualTo(0);
+    assertThat(sorm.readFirst(Player.class, "select * from players_backup where id=?", 1))
+        .isEqualTo(alice);
+  }
+
+  @Test
+  void testMergeThenUpdate() {
+    Player alice = sorm.selectByPrimaryKey(Player.class, PLAYER_ALICE.getId());
+    String address = alice.address;
+    alice.address = "Kobe";
+    assertThat(sorm.merge(alice)).isEqualTo(1);
+
+    alice.address = address;
+    assertThat(sorm.update(alice)).isEqualTo(1);
+    assertThat(sorm.selectByPrimaryKey(Player.class, alice.getId()).address).isEqualTo(address);
+  }
+
+  @Test
+  void testUpdateWhereThenUpdate() {
+    Player alice = sorm.selectByPrimaryKey(Player.class, PLAYER_ALICE.getId());
+    sorm.updateWhereIn(
+        "players", RowMap.of("address", "Kobe"), ConditionSql.cond("id=?"), PLAYER_ALICE.getId());
+
+    assertThat(sorm.update(alice)).isEqualTo(1);
+    assertThat(sorm.update(alice)).isEqualTo(0);
+    assertThat(sorm.selectByPrimaryKey(Player.class, alice.getId())).isEqualTo(PLAYER_ALICE);
+  }
+
+  @Test
+  void testUpdateNotLoadedObject() {
+    sorm.executeUpdate("update players set address='Kobe'");
+    Player alice = new Player(PLAYER_ALICE.getId(), "Alicia", "Kyoto");
+    assertThat(sorm.update(alice)).isEqualTo(1);
+    assertThat(sorm.selectByPrimaryKey(Player.class, alice.getId())).isEqualTo(alice);
+  }
+
+  @Test
+  void testSnapshotsOfCollectedObjects() throws InterruptedException {
+    ContainerSnapshots snapshots = new ContainerSnapshots();
+    ColumnToAccessorMapping accessors =
+        new ColumnToAccessorMapping(
+            Player.class,
+            new org.nkjmlab.sorm4j.internal.context.impl.DefaultColumnToFieldAccessorMapper()
+                .createMapping(Player.class),
+            "");
+    ContainerSnapshots.SnapshotColumns columns =
+        snapshots.createSnapshotColumns(accessors, new String[] {"ID", "NAME", "ADDRESS"});
+    Player player = new Player(1, "Alice", "Kyoto");
+    snapshots.put(accessors, columns, player);
+    assertThat(
+            snapshots.getDirtyColumns(
+                "PLAYERS", true, List.of("NAME"), new Object[] {"Alice"}, player))
+        .isEmpty();
+    assertThat(
+            snapshots.getDirtyColumns(
+                "PLAYERS", true, List.of("NAME"), new Object[] {"Bob"}, player))
+        .containsExactly("NAME");
+    assertThat(
+            snapshots.getDirtyColumns(
+                "PLAYERS_BACKUP", false, List.of("NAME"), new Object[] {"Alice"}, player))
+        .isNull();
+    assertThat(
+            snapshots.getDirtyColumns(
+                "PLAYERS",
+                true,
+                List.of("NAME"),
+                new Object[] {"Alice"},
+                new Player(1, "Alice", "Kyoto")))
+        .isNull();
+    assertThat(snapshots.size()).isEqualTo(1);
+  }
+
+  public static class Document {
+    public int id;
+    public byte[] data;
+  }
+}
@@ -8,12 +8,15 @@ import static org.nkjmlab.sorm4j.context.MultiRowProcessorFactory.ProcessorType.
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.nkjmlab.sorm4j.Sorm;
 import org.nkjmlab.sorm4j.context.MultiRowProcessorFactory;
 import org.nkjmlab.sorm4j.context.SormContext;
+import org.nkjmlab.sorm4j.sql.result.InsertResult;
+import org.nkjmlab.sorm4j.test.common.Guest;
 import org.nkjmlab.sorm4j.test.common.Player;
 import org.nkjmlab.sorm4j.test.common.SormTestUtils;
 
@@ -75,6 +78,26 @@ class MultiRowInOneStatementProcessorTest {
                     .collect(Collectors.toList())));
   }
 
+  @Test
+  void testMultiRowInsertAndGet() {
+    sorms.forEach(
+        sorm -> {
+          sorm.deleteAll(Guest.class);
+          int start =
+              sorm.insertAndGet(SormTestUtils.GUEST_ALICE).getGeneratedKeys().getInteger("id");
+          InsertResult ret =
+              sorm.insertAndGet(
+                  Stream.generate(() -> SormTestUtils.GUEST_BOB)
+                      .limit(200)
+                      .collect(Collectors.toList()));
+          assertThat(ret.countRowsModified()).isEqualTo(200);
+          assertThat(ret.getGeneratedKeysList().stream().map(k -> k.getInteger("id")))
+              .containsExactlyElementsOf(
+                  IntStream.rangeClosed(start + 1, start + 200).boxed().toList());
+          assertThat(ret.getGeneratedKeys().getInteger("id")).isEqualTo(start + 200);
+        });
+  }
+
   @Test
   void testMultiRowMerge() {
     sorms.forEach(
@@ -0,0 +1,81 @@
+package org.nkjmlab.sorm4j.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentMemoizerTest {
+
+  @Test
+  void testComputeIfAbsent() throws Exception {
+    ConcurrentMemoizer<String, Integer> memoizer = new ConcurrentMemoizer<>();
+    AtomicInteger count = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Integer> slow =
+        CompletableFuture.supplyAsync(
+            () ->
+                memoizer.computeIfAbsent(
+                    "slow",
+                    k -> {
+                      started.countDown();
+                      await(release);
+                      return count.incrementAndGet();
+                    }));
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<Integer> waiting =
+        CompletableFuture.supplyAsync(
+            () -> memoizer.computeIfAbsent("slow", k -> count.incrementAndGet()));
+
+    // another key is not blocked by the slow computation.
+    assertThat(memoizer.computeIfAbsent("fast", k -> 100)).isEqualTo(100);
+    assertThat(memoizer.toMap()).containsOnlyKeys("fast");
+
+    release.countDown();
+    assertThat(slow.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+    assertThat(waiting.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+    assertThat(count.get()).isEqualTo(1);
+    assertThat(memoizer.toMap()).containsOnlyKeys("fast", "slow");
+  }
+
+  @Test
+  void testFailureIsNotCached() {
+    ConcurrentMemoizer<String, String> memoizer = new ConcurrentMemoizer<>();
+    assertThatThrownBy(
+            () ->
+                memoizer.computeIfAbsent(
+                    "a",
+                    k -> {
+                      throw new IllegalStateException("failed");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(memoizer.computeIfAbsent("a", k -> "ok")).isEqualTo("ok");
+  }
+
+  @Test
+  void testRecursiveComputation() {
+    ConcurrentMemoizer<String, String> memoizer = new ConcurrentMemoizer<>();
+    assertThatThrownBy(
+            () -> memoizer.computeIfAbsent("a", k -> memoizer.computeIfAbsent("a", k2 -> "b")))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Recursive");
+    assertThat(memoizer.computeIfAbsent("a", k -> memoizer.computeIfAbsent("b", k2 -> "b")))
+        .isEqualTo("b");
+    assertThat(memoizer.toMap()).containsOnlyKeys("a", "b");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package org.nkjmlab.sorm4j.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void testIndex() {
+    for (long v : new long[] {0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456_789L, Long.MAX_VALUE}) {
+      int index = LatencyHistogram.toIndex(v);
+      assertThat(LatencyHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(v);
+      if (index > 0) {
+        assertThat(LatencyHistogram.highestEquivalentValue(index - 1)).isLessThan(v);
+      }
+    }
+  }
+
+  @Test
+  void testRecord() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertThat(histogram.getValueAtPercentile(50)).isZero();
+    assertThat(histogram.getMin()).isZero();
+
+    IntStream.rangeClosed(1, 1000).parallel().forEach(i -> histogram.record(i * 1000L));
+    assertThat(histogram.getCount()).isEqualTo(1000);
+    assertThat(histogram.getMin()).isEqualTo(1000);
+    assertThat(histogram.getMax()).isEqualTo(1_000_000);
+    assertThat(histogram.getMean()).isCloseTo(500_500, within(0.1));
+    assertThat(histogram.getValueAtPercentile(50)).isBetween(500_000L, 500_000L * 17 / 16);
+    assertThat(histogram.getValueAtPercentile(99)).isBetween(990_000L, 1_000_000L);
+    assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1_000_000);
+  }
+}
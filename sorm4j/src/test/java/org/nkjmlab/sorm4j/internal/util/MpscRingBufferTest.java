@@ -0,0 +1,54 @@
+package org.nkjmlab.sorm4j.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+
+  @Test
+  void testOfferAndPoll() {
+    assertThatThrownBy(() -> new MpscRingBuffer<>(0)).isInstanceOf(IllegalArgumentException.class);
+    MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+    assertThat(buffer.capacity()).isEqualTo(4);
+    assertThat(buffer.isEmpty()).isTrue();
+    assertThat(buffer.poll()).isNull();
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+    assertThat(buffer.offer(4)).isFalse();
+    assertThat(buffer.poll()).isEqualTo(0);
+    assertThat(buffer.offer(5)).isTrue();
+    assertThat(buffer.poll()).isEqualTo(1);
+    assertThat(buffer.poll()).isEqualTo(2);
+    assertThat(buffer.poll()).isEqualTo(3);
+    assertThat(buffer.poll()).isEqualTo(5);
+    assertThat(buffer.isEmpty()).isTrue();
+  }
+
+  @Test
+  void testConcurrentOffer() {
+    MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1 << 14);
+    CompletableFuture.allOf(
+            IntStream.range(0, 4)
+                .mapToObj(
+                    t ->
+                        CompletableFuture.runAsync(
+                            () ->
+                                IntStream.range(0, 1000).forEach(i -> buffer.offer(t * 1000 + i))))
+                .toArray(CompletableFuture[]::new))
+        .join();
+    Set<Integer> polled = new HashSet<>();
+    Integer e;
+    while ((e = buffer.poll()) != null) {
+      polled.add(e);
+    }
+    assertThat(polled).hasSize(4000);
+  }
+}
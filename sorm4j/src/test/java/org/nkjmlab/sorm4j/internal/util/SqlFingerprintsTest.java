@@ -0,0 +1,23 @@
+package org.nkjmlab.sorm4j.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SqlFingerprintsTest {
+
+  @Test
+  void testOf() {
+    assertThat(SqlFingerprints.of(null)).isNull();
+    assertThat(SqlFingerprints.of("select *\n  from  players where id=1 and name='O''Brien' "))
+        .isEqualTo("select * from players where id=? and name=?");
+    assertThat(SqlFingerprints.of("select * from t2 where \"COL1\" = 1.5e3"))
+        .isEqualTo("select * from t2 where \"COL1\" = ?");
+    assertThat(SqlFingerprints.of("select * from players where id in (1, 2, 3)"))
+        .isEqualTo(SqlFingerprints.of("select * from players where id in (?,?)"))
+        .isEqualTo("select * from players where id in (?...)");
+    assertThat(SqlFingerprints.of("insert into players values (?,?),(?,?), (?,?)"))
+        .isEqualTo(SqlFingerprints.of("insert into players values (?, ?)"))
+        .isEqualTo("insert into players values (?...)");
+  }
+}
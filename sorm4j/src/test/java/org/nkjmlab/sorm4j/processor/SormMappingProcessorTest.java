@@ -0,0 +1,181 @@
+package org.nkjmlab.sorm4j.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.internal.context.logging.logger.Log4jSormLogger;
+import org.nkjmlab.sorm4j.internal.context.logging.logger.Slf4jSormLogger;
+import org.nkjmlab.sorm4j.internal.mapping.GeneratedMappings;
+import org.nkjmlab.sorm4j.mapping.GeneratedMapping;
+import org.nkjmlab.sorm4j.test.common.SormTestUtils;
+
+class SormMappingProcessorTest {
+
+  private static final String CUSTOMER =
+      String.join(
+          "\n",
+          "package gen;",
+          "@org.nkjmlab.sorm4j.mapping.annotation.OrmTableName(\"GEN_CUSTOMERS\")",
+          "public class GenCustomer {",
+          "  private int id;",
+          "  private String name;",
+          "  public int getId() { return id; }",
+          "  public void setId(int id) { this.id = id; }",
+          "  public String getName() { return name; }",
+          "  public void setName(String name) { this.name = name; }",
+          "}");
+
+  private static final String ORDER =
+      String.join(
+          "\n",
+          "package gen;",
+          "public record GenOrder(int id, String customerName) {",
+          "  private record Hidden(int id) {}",
+          "}");
+
+  private static final String NOTE =
+      String.join(
+          "\n",
+          "package gen;",
+          "public record GenNote(int id, String text) {",
+          "  public GenNote {",
+          "    java.util.Objects.requireNonNull(text, \"text is null\");",
+          "  }",
+          "}");
+
+  @Test
+  void testGeneratedMapping() throws Exception {
+    Path dir = Files.createTempDirectory("sorm4j-processor");
+    Path src = Files.createDirectories(dir.resolve("src/gen"));
+    Path out = Files.createDirectories(dir.resolve("out"));
+    Files.writeString(src.resolve("GenCustomer.java"), CUSTOMER);
+    Files.writeString(src.resolve("GenOrder.java"), ORDER);
+
+    List<Diagnostic<? extends JavaFileObject>> diagnostics =
+        compile(out, src.resolve("GenCustomer.java"), src.resolve("GenOrder.java"));
+    assertThat(
+            diagnostics.stream().map(d -> d.getMessage(Locale.ROOT)).collect(Collectors.toList()))
+        .anyMatch(m -> m.contains("Mapping is not generated") && m.contains("not accessible"));
+    assertThat(out.resolve("gen/GenCustomer_SormMapping.class")).exists();
+    assertThat(out.resolve("gen/GenOrder_SormMapping.class")).exists();
+    assertThat(out.resolve("gen/GenOrder_Hidden_SormMapping.class")).doesNotExist();
+    assertThat(Files.readString(out.resolve(SormMappingProcessor.REFLECT_CONFIG)))
+        .contains(
+            "\"gen.GenCustomer\"",
+            "\"gen.GenOrder\"",
+            "\"gen.GenOrder$Hidden\"",
+            "\"gen.GenCustomer_SormMapping\"",
+            "\"gen.GenOrder_SormMapping\"")
+        .doesNotContain("GenOrder_Hidden_SormMapping");
+
+    try (URLClassLoader loader =
+        new URLClassLoader(new URL[] {out.toUri().toURL()}, getClass().getClassLoader())) {
+      Class<?> customerClass = loader.loadClass("gen.GenCustomer");
+      Class<?> orderClass = loader.loadClass("gen.GenOrder");
+      GeneratedMapping<?> customerMapping = GeneratedMappings.get(customerClass);
+      assertThat(customerMapping.getColumns().stream().map(c -> c.name()))
+          .containsExactly("ID", "NAME");
+      assertThat(customerMapping.getConstructorParameterNames()).isNull();
+      assertThat(GeneratedMappings.get(orderClass).getConstructorParameterNames())
+          .containsExactly("id", "customerName");
+      assertThat(GeneratedMappings.get(loader.loadClass("gen.GenOrder$Hidden"))).isNull();
+
+      Sorm sorm = SormTestUtils.createSormWithNewContext();
+      sorm.executeUpdate("create table gen_customers(id int primary key, name varchar)");
+      sorm.executeUpdate("create table gen_orders(id int primary key, customer_name varchar)");
+
+      Object customer = customerClass.getConstructor().newInstance();
+      customerClass.getMethod("setId", int.class).invoke(customer, 1);
+      customerClass.getMethod("setName", String.class).invoke(customer, "Alice");
+      sorm.insert(customer);
+      Object selectedCustomer = sorm.selectAll(customerClass).get(0);
+      assertThat(customerClass.getMethod("getName").invoke(selectedCustomer)).isEqualTo("Alice");
+
+      Object order = orderClass.getConstructor(int.class, String.class).newInstance(10, "Alice");
+      sorm.insert(order);
+      assertThat(List.<Object>copyOf(sorm.selectAll(orderClass))).containsExactly(order);
+      assertThat(sorm.readFirst(orderClass, "select * from gen_orders where id=?", 10))
+          .isEqualTo(order);
+    }
+  }
+
+  @Test
+  void testConstructorExceptionIsNotMappingFailure() throws Exception {
+    Path dir = Files.createTempDirectory("sorm4j-processor");
+    Path src = Files.createDirectories(dir.resolve("src/gen"));
+    Path out = Files.createDirectories(dir.resolve("out"));
+    Files.writeString(src.resolve("GenNote.java"), NOTE);
+    compile(out, src.resolve("GenNote.java"));
+
+    try (URLClassLoader loader =
+        new URLClassLoader(new URL[] {out.toUri().toURL()}, getClass().getClassLoader())) {
+      Class<?> noteClass = loader.loadClass("gen.GenNote");
+      assertThat(GeneratedMappings.get(noteClass)).isNotNull();
+
+      Sorm sorm = SormTestUtils.createSormWithNewContext();
+      sorm.executeUpdate("create table gen_notes(id int primary key, text varchar)");
+      sorm.executeUpdate("insert into gen_notes values(1, null)");
+      assertThatThrownBy(() -> sorm.readFirst(noteClass, "select * from gen_notes"))
+          .isInstanceOf(NullPointerException.class)
+          .hasMessage("text is null");
+    }
+  }
+
+  @Test
+  void testShippedNativeImageMetadata() throws IOException {
+    try (var in =
+        getClass()
+            .getResourceAsStream(
+                "/META-INF/native-image/org.nkjmlab/sorm4j/native-image.properties")) {
+      assertThat(new String(in.readAllBytes()))
+          .contains("--initialize-at-build-time=")
+          .contains(Log4jSormLogger.class.getName(), Slf4jSormLogger.class.getName());
+    }
+  }
+
+  private List<Diagnostic<? extends JavaFileObject>> compile(Path out, Path... sources)
+      throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, null, null)) {
+      String classPath =
+          Path.of(
+                  GeneratedMapping.class
+                      .getProtectionDomain()
+                      .getCodeSource()
+                      .getLocation()
+                      .getPath())
+              .toString();
+      JavaCompiler.CompilationTask task =
+          compiler.getTask(
+              null,
+              fileManager,
+              diagnostics,
+              List.of("-classpath", classPath, "-d", out.toString()),
+              null,
+              fileManager.getJavaFileObjects(sources));
+      task.setProcessors(List.of(new SormMappingProcessor()));
+      assertThat(task.call()).as(diagnostics.getDiagnostics().toString()).isTrue();
+    }
+    return diagnostics.getDiagnostics();
+  }
+}
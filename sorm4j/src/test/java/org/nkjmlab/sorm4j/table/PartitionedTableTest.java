@@ -0,0 +1,81 @@
+package org.nkjmlab.sorm4j.table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_ALICE;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_BOB;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_CAROL;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_DAVE;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.createPlayersTable;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.createSormWithNewContext;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.nkjmlab.sorm4j.Sorm;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
+import org.nkjmlab.sorm4j.table.orm.PartitionedTable;
+import org.nkjmlab.sorm4j.test.common.Player;
+
+class PartitionedTableTest {
+
+  private static final Function<Player, String> ROUTER =
+      p -> p.getId() % 2 == 0 ? "PLAYERS_EVEN" : "PLAYERS_ODD";
+
+  @Test
+  void testSequential() {
+    Sorm sorm = createSorm();
+    PartitionedTable<Player> table = PartitionedTable.of(sorm, Player.class, ROUTER);
+    table.insert(List.of(PLAYER_ALICE, PLAYER_BOB, PLAYER_CAROL));
+
+    assertThat(table.selectAll(List.of("PLAYERS_ODD")))
+        .containsExactlyInAnyOrder(PLAYER_ALICE, PLAYER_CAROL);
+    assertThat(table.getPartition("PLAYERS_EVEN").count()).isEqualTo(1);
+
+    Player bob = new Player(PLAYER_BOB.getId(), "Bob", "Nara");
+    table.merge(List.of(bob, PLAYER_DAVE));
+    assertThat(table.selectAll(List.of("PLAYERS_EVEN", "PLAYERS_ODD")))
+        .containsExactlyInAnyOrder(PLAYER_ALICE, bob, PLAYER_CAROL, PLAYER_DAVE);
+    assertThat(
+            table.selectList(
+                List.of("PLAYERS_EVEN", "PLAYERS_ODD"), ConditionSql.cond("ADDRESS=?"), "Nara"))
+        .containsExactlyInAnyOrder(bob, PLAYER_DAVE);
+  }
+
+  @Test
+  void testSequentialInOneTransaction() {
+    Sorm sorm = createSorm();
+    PartitionedTable<Player> table = PartitionedTable.of(sorm, Player.class, ROUTER);
+    table.insert(List.of(PLAYER_BOB));
+
+    assertThatThrownBy(() -> table.insert(List.of(PLAYER_ALICE, PLAYER_BOB)))
+        .isInstanceOf(SQLException.class);
+    assertThat(table.selectAll(List.of("PLAYERS_EVEN", "PLAYERS_ODD"))).containsExactly(PLAYER_BOB);
+  }
+
+  @Test
+  void testParallel() {
+    Sorm sorm = createSorm();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      PartitionedTable<Player> table = PartitionedTable.of(sorm, Player.class, ROUTER, executor);
+      int[] result = table.insert(List.of(PLAYER_ALICE, PLAYER_BOB, PLAYER_CAROL, PLAYER_DAVE));
+      assertThat(result).isNotEmpty();
+      assertThat(table.selectAll(List.of("PLAYERS_ODD", "PLAYERS_EVEN")))
+          .containsExactly(PLAYER_ALICE, PLAYER_CAROL, PLAYER_BOB, PLAYER_DAVE);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static Sorm createSorm() {
+    Sorm sorm = createSormWithNewContext();
+    createPlayersTable(sorm, "PLAYERS_EVEN");
+    createPlayersTable(sorm, "PLAYERS_ODD");
+    return sorm;
+  }
+}
@@ -13,6 +13,8 @@ import static org.mockito.Mockito.when;
 import static org.nkjmlab.sorm4j.sql.statement.SelectSql.selectCountFrom;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_ALICE;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_BOB;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_CAROL;
+import static org.nkjmlab.sorm4j.test.common.SormTestUtils.PLAYER_DAVE;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.TENNIS;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.createGuestsTable;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.createPlayersTable;
@@ -20,20 +22,29 @@ import static org.nkjmlab.sorm4j.test.common.SormTestUtils.createSormWithNewCont
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.createSormWithNewDatabaseAndCreateTables;
 import static org.nkjmlab.sorm4j.test.common.SormTestUtils.createSportsTable;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.nkjmlab.sorm4j.OrmConnection;
 import org.nkjmlab.sorm4j.Sorm;
 import org.nkjmlab.sorm4j.common.container.RowMap;
+import org.nkjmlab.sorm4j.common.exception.SormException;
 import org.nkjmlab.sorm4j.common.handler.ConsumerHandler;
 import org.nkjmlab.sorm4j.common.handler.FunctionHandler;
 import org.nkjmlab.sorm4j.internal.table.orm.SimpleTable;
 import org.nkjmlab.sorm4j.sql.metadata.jdbc.JdbcDatabaseMetaData.TableName;
 import org.nkjmlab.sorm4j.sql.parameterize.ParameterizedSql;
+import org.nkjmlab.sorm4j.sql.result.SyncResult;
+import org.nkjmlab.sorm4j.sql.statement.ConditionSql;
+import org.nkjmlab.sorm4j.table.definition.TableDefinition;
 import org.nkjmlab.sorm4j.table.orm.DefinedTable;
 import org.nkjmlab.sorm4j.table.orm.Table;
 import org.nkjmlab.sorm4j.table.orm.TableConnection;
+import org.nkjmlab.sorm4j.table.orm.TableLoader;
 import org.nkjmlab.sorm4j.test.common.Guest;
 import org.nkjmlab.sorm4j.test.common.Player;
 import org.nkjmlab.sorm4j.test.common.Sport;
@@ -64,6 +75,135 @@ class TableTest {
     assertThat(gt.getValueType()).isEqualTo(Guest.class);
   }
 
+  @Test
+  void testLoader() {
+    playersTable.insert(PLAYER_ALICE, PLAYER_BOB, PLAYER_CAROL);
+    TableLoader<Player> loader = playersTable.loader();
+    loader.request(1).request(2L).request(5);
+    assertThat(loader.get(2L)).isEqualTo(PLAYER_BOB);
+    assertThat(loader.get(1)).isEqualTo(PLAYER_ALICE);
+    assertThat(loader.get(5)).isNull();
+    assertThat(loader.get(3)).isEqualTo(PLAYER_CAROL);
+    loader.clear();
+    assertThat(loader.get(3)).isEqualTo(PLAYER_CAROL);
+
+    assertThat(
+            playersTable
+                .getOrm()
+                .selectListByPrimaryKeys(
+                    Player.class, List.of(new Object[] {3}, new Object[] {9}, new Object[] {1})))
+        .containsExactly(PLAYER_CAROL, null, PLAYER_ALICE);
+    assertThat(playersTable.getOrm().selectListByPrimaryKeys(Player.class, List.of())).isEmpty();
+  }
+
+  @Test
+  void testSync() {
+    playersTable.insert(PLAYER_ALICE, PLAYER_BOB, PLAYER_CAROL);
+    Player bob = new Player(PLAYER_BOB.getId(), "Bob", "Nara");
+    SyncResult result = playersTable.sync(List.of(PLAYER_ALICE, bob, PLAYER_DAVE));
+    assertThat(result.countInserted()).isEqualTo(1);
+    assertThat(result.countUpdated()).isEqualTo(1);
+    assertThat(result.countDeleted()).isEqualTo(1);
+    assertThat(playersTable.selectAll()).containsExactlyInAnyOrder(PLAYER_ALICE, bob, PLAYER_DAVE);
+
+    result = playersTable.sync(List.of(PLAYER_ALICE, bob, PLAYER_DAVE));
+    assertThat(result.countInserted() + result.countUpdated() + result.countDeleted()).isZero();
+
+    assertThrows(SormException.class, () -> playersTable.sync(List.of(PLAYER_ALICE, PLAYER_ALICE)));
+    assertThat(playersTable.count()).isEqualTo(3);
+  }
+
+  @Test
+  void testSyncWithCondition() {
+    playersTable.insert(PLAYER_ALICE, PLAYER_BOB, PLAYER_CAROL);
+    Player dave = new Player(PLAYER_DAVE.getId(), "Dave", "Tokyo");
+    SyncResult result = playersTable.sync(List.of(dave), ConditionSql.cond("address='Tokyo'"));
+    assertThat(result.countInserted()).isEqualTo(1);
+    assertThat(result.countDeleted()).isEqualTo(1);
+    assertThat(playersTable.selectAll())
+        .containsExactlyInAnyOrder(PLAYER_ALICE, PLAYER_CAROL, dave);
+  }
+
+  @Test
+  void testSyncDeletesInBatches() {
+    List<Player> players =
+        IntStream.rangeClosed(1, 2500)
+            .mapToObj(i -> new Player(i, "name" + i, "Tokyo"))
+            .collect(Collectors.toList());
+    playersTable.insert(players);
+    SyncResult result = playersTable.sync(players.subList(0, 10));
+    assertThat(result.countDeleted()).isEqualTo(2490);
+    assertThat(playersTable.selectAll())
+        .containsExactlyInAnyOrderElementsOf(players.subList(0, 10));
+  }
+
+  @Test
+  void testUpdateWhereAndDeleteWhere() {
+    playersTable.insert(PLAYER_ALICE, PLAYER_BOB, PLAYER_CAROL);
+    int updated =
+        playersTable.updateWhere(
+            RowMap.of("address", "Nara"), ConditionSql.cond("id>=?"), PLAYER_BOB.getId());
+    assertThat(updated).isEqualTo(2);
+    assertThat(playersTable.selectListAllEqual("address", "Nara")).hasSize(2);
+    assertThrows(
+        SormException.class,
+        () -> playersTable.updateWhere(RowMap.of("age", 1), ConditionSql.cond("id=1")));
+
+    assertThat(playersTable.deleteWhere(ConditionSql.cond("address='Nara'"))).isEqualTo(2);
+    assertThat(playersTable.selectAll()).containsExactly(PLAYER_ALICE);
+  }
+
+  @Test
+  void testBulkLoad() {
+    Sorm sorm = playersTable.getOrm();
+    TableDefinition def =
+        TableDefinition.builder("BULK_PLAYERS")
+            .addColumnDefinition("id", "int", "primary key")
+            .addColumnDefinition("name", "varchar")
+            .addColumnDefinition("address", "varchar")
+            .addIndexDefinition("name")
+            .addIndexDefinition("address")
+            .build();
+    DefinedTable<Player> table = DefinedTable.of(sorm, Player.class, def);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      table.bulkLoad(
+          IntStream.rangeClosed(1, 250).mapToObj(i -> new Player(i, "P" + i, "Kyoto")),
+          100,
+          executor);
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(table.count()).isEqualTo(250);
+    assertThat(getIndexNames(sorm, "BULK_PLAYERS"))
+        .contains("INDEX_IN_BULK_PLAYERS_ON_NAME", "INDEX_IN_BULK_PLAYERS_ON_ADDRESS");
+
+    table.dropTableIfExists();
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            table.bulkLoad(
+                IntStream.rangeClosed(1, 250)
+                    .mapToObj(
+                        i -> {
+                          if (i == 150) {
+                            throw new IllegalStateException();
+                          }
+                          return new Player(i, "P" + i, "Kyoto");
+                        }),
+                100));
+    assertThat(table.count()).isEqualTo(100);
+    assertThat(getIndexNames(sorm, "BULK_PLAYERS"))
+        .contains("INDEX_IN_BULK_PLAYERS_ON_NAME", "INDEX_IN_BULK_PLAYERS_ON_ADDRESS");
+  }
+
+  private static Set<String> getIndexNames(Sorm sorm, String tableName) {
+    return sorm.getJdbcDatabaseMetaData()
+        .getJdbcIndexesMetaData()
+        .get(TableName.of(tableName))
+        .keySet();
+  }
+
   @Test
   void testTableCon() {
     try (OrmConnection con = playersTable.getOrm().open()) {